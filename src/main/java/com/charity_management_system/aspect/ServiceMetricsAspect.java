@@ -0,0 +1,155 @@
+package com.charity_management_system.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a Micrometer timer (with a percentile histogram) and an error counter for every service layer call.
+ *
+ * <p>Arguments and return values are never rendered with {@code toString()}: entities such as {@code Case} walk
+ * their lazy associations when printed. They are only summarised (type, size, scalar value) at DEBUG level, and
+ * only for a sampled fraction of calls.</p>
+ */
+@Aspect
+@Configuration
+@Slf4j
+public class ServiceMetricsAspect {
+
+    public static final String TIMER_NAME = "service.method";
+    public static final String ERROR_COUNTER_NAME = "service.method.errors";
+
+    private static final int MAX_LOGGED_STRING_LENGTH = 64;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean percentileHistogram;
+    private final double argumentLogSampleRate;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry,
+                                @Value("${monitoring.service-metrics.percentile-histogram:true}") boolean percentileHistogram,
+                                @Value("${monitoring.service-metrics.argument-log-sample-rate:0.01}") double argumentLogSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.percentileHistogram = percentileHistogram;
+        this.argumentLogSampleRate = argumentLogSampleRate;
+    }
+
+    /**
+     * Pointcut that matches all methods in the service layer.
+     */
+    @Pointcut("execution(* com.charity_management_system.service.*.*(..))")
+    public void serviceLayerExecution() {}
+
+    /**
+     * Times the method, counts its failures and, for sampled calls at DEBUG level, logs a summary of its arguments
+     * and return value.
+     *
+     * @param joinPoint The join point providing access to the method signature and arguments.
+     * @return The result of the method execution.
+     * @throws Throwable Any exceptions thrown by the method, rethrown unchanged.
+     */
+    @Around("serviceLayerExecution()")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        boolean sampled = isSampled();
+        if (sampled) {
+            log.debug("Entering method: {} with arguments: {}", signature.toShortString(), describeAll(joinPoint.getArgs()));
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            if (sampled) {
+                log.debug("Exiting method: {} after {} us with return value: {}", signature.toShortString(),
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime), describe(result));
+            }
+            return result;
+        } catch (Throwable error) {
+            errorCounter(signature, error).increment();
+            log.error("Exception in method: {} with message: {}", signature.toShortString(), error.getMessage());
+            throw error;
+        } finally {
+            timer(signature).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Renders a value without calling {@code toString()} on anything but scalars: collections, maps and arrays are
+     * reduced to their size, and any other object to its simple class name.
+     *
+     * @param value The value to describe.
+     * @return A short, bounded description of the value.
+     */
+    public static String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() <= MAX_LOGGED_STRING_LENGTH
+                    ? "\"" + text + "\""
+                    : "\"" + text.subSequence(0, MAX_LOGGED_STRING_LENGTH) + "...\"(" + text.length() + " chars)";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum<?>) {
+            return String.valueOf(value);
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "[size=" + collection.size() + "]";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "[size=" + map.size() + "]";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private static String describeAll(Object[] args) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Object arg : args) {
+            joiner.add(describe(arg));
+        }
+        return joiner.toString();
+    }
+
+    private boolean isSampled() {
+        return argumentLogSampleRate > 0
+                && log.isDebugEnabled()
+                && ThreadLocalRandom.current().nextDouble() < argumentLogSampleRate;
+    }
+
+    private Timer timer(MethodSignature signature) {
+        return timers.computeIfAbsent(signature.getMethod(), method -> Timer.builder(TIMER_NAME)
+                .description("Execution time of service layer methods")
+                .tag("class", signature.getDeclaringType().getSimpleName())
+                .tag("method", method.getName())
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry));
+    }
+
+    private Counter errorCounter(MethodSignature signature, Throwable error) {
+        return Counter.builder(ERROR_COUNTER_NAME)
+                .description("Exceptions thrown by service layer methods")
+                .tag("class", signature.getDeclaringType().getSimpleName())
+                .tag("method", signature.getMethod().getName())
+                .tag("exception", error.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+}
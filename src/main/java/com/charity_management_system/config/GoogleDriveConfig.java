@@ -2,50 +2,62 @@ package com.charity_management_system.config;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpRequestInitializer;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.DriveScopes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.util.Collections;
 
 @Configuration
+@ConditionalOnProperty(name = "images.storage.backend", havingValue = "drive", matchIfMissing = true)
 public class GoogleDriveConfig {
-    private static final String SERVICE_ACCOUNT_KEY_PATH = getPathToGoogleCredentials();
 
     /**
-     * Retrieves the path to the Google credentials file.
+     * Bean to create and return a Google Drive service instance. Socket timeouts keep a stalled connection from
+     * holding one of the {@link com.charity_management_system.storage.ResilientDriveClient} permits forever.
      *
-     * @return The path to the credentials file.
-     */
-    private static String getPathToGoogleCredentials(){
-        String currentDirectory = System.getProperty("user.dir");
-        Path filePath = Paths.get(currentDirectory, "cred.json");
-        return filePath.toString();
-    }
-
-    /**
-     * Bean to create and return a Google Drive service instance.
+     * <p>The bean is lazy: reading the credentials and building the trusted transport happen on the first Drive
+     * call rather than during startup, so nodes that never upload do not pay for it, and a missing credentials file
+     * fails the uploads instead of the whole application.</p>
      *
+     * @param credentialsPath  The service account key file.
+     * @param connectTimeoutMs The connect timeout of every Drive request.
+     * @param readTimeoutMs    The read and write timeout of every Drive request.
      * @return A configured Google Drive service instance.
      * @throws GeneralSecurityException If security setup fails.
      * @throws IOException              If there is an error reading the credentials file.
      */
     @Bean
-    public Drive driveService() throws GeneralSecurityException, IOException {
-        GoogleCredential credential = GoogleCredential.fromStream(new FileInputStream(SERVICE_ACCOUNT_KEY_PATH))
-                .createScoped(Collections.singleton(DriveScopes.DRIVE));
+    @Lazy
+    public Drive driveService(@Value("${images.storage.drive.credentials-path:${user.dir}/cred.json}") Path credentialsPath,
+                              @Value("${images.storage.drive.connect-timeout-ms:5000}") int connectTimeoutMs,
+                              @Value("${images.storage.drive.read-timeout-ms:20000}") int readTimeoutMs) throws GeneralSecurityException, IOException {
+        GoogleCredential credential;
+        try (InputStream credentials = Files.newInputStream(credentialsPath)) {
+            credential = GoogleCredential.fromStream(credentials).createScoped(Collections.singleton(DriveScopes.DRIVE));
+        }
+        HttpRequestInitializer requestInitializer = request -> {
+            credential.initialize(request);
+            request.setConnectTimeout(connectTimeoutMs);
+            request.setReadTimeout(readTimeoutMs);
+            request.setWriteTimeout(readTimeoutMs);
+        };
 
         return new Drive.Builder(
                 GoogleNetHttpTransport.newTrustedTransport(),
                 GsonFactory.getDefaultInstance(),
-                credential)
+                requestInitializer)
                 .build();
     }
 }
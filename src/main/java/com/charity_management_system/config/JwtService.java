@@ -1,52 +1,57 @@
 package com.charity_management_system.config;
 
+import com.charity_management_system.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
 
+    /**
+     * Claim holding the granted authority names of the subject.
+     */
+    public static final String AUTHORITIES_CLAIM = "authorities";
+
+    /**
+     * Claim holding the subject's token version at issue time, compared against revocations.
+     */
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${security.jwt.secret-key}")
     private String secretKey;
 
     @Value("${security.jwt.expiration-time}")
     private long jwtExpiration;
 
+    @Value("${security.jwt.verification-cache.max-entries:10000}")
+    private int verificationCacheMaxEntries;
 
-    /**
-     * Extracts the username from the JWT token.
-     *
-     * @param token The JWT token.
-     * @return The username extracted from the token.
-     */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    private static final long ALLOWED_CLOCK_SKEW_SECONDS = 5;
+
+    private volatile Key signingKey;
+    private volatile JwtParser parser;
 
     /**
-     * Extracts a specific claim from the JWT token.
-     *
-     * @param token          The JWT token.
-     * @param claimsResolver A function to resolve the claim.
-     * @param <T>            The type of the claim.
-     * @return The extracted claim.
+     * Recently verified tokens keyed by the SHA-256 digest of the token, so a forged token can never hit an entry.
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
 
     /**
      * Generates a new JWT token for the given user details.
@@ -76,6 +81,8 @@ public class JwtService {
 
     /**
      * Builds a JWT token with extra claims and expiration time.
+     * The subject's authorities and token version are always embedded, so the token alone is enough to
+     * authenticate later requests without loading the user.
      *
      * @param extraClaims Additional claims.
      * @param userDetails The user details.
@@ -87,9 +94,15 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(AUTHORITIES_CLAIM, authorityNames(userDetails));
+        if (userDetails instanceof User user) {
+            claims.putIfAbsent(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        }
+
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
@@ -98,38 +111,159 @@ public class JwtService {
     }
 
     /**
-     * Checks if a JWT token is valid for the given user details.
+     * Verifies a JWT token and extracts everything needed to authenticate its subject.
+     * A token is parsed and its signature checked at most once while it stays in the bounded verification cache;
+     * repeated requests with the same token only pay for a digest lookup.
      *
-     * @param token       The JWT token.
-     * @param userDetails The user details.
-     * @return True if the token is valid, false otherwise.
+     * @param token The JWT token.
+     * @return The verified token.
+     * @throws io.jsonwebtoken.JwtException If the token is malformed, wrongly signed or expired.
      */
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public VerifiedToken verify(String token) {
+        if (verificationCacheMaxEntries <= 0) {
+            return parseAndVerify(token);
+        }
+
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (isUsable(cached, System.currentTimeMillis())) {
+                return cached;
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+
+        VerifiedToken verified = parseAndVerify(token);
+        if (verifiedTokens.size() >= verificationCacheMaxEntries) {
+            evictVerifiedTokens();
+        }
+        verifiedTokens.put(digest, verified);
+        return verified;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private VerifiedToken parseAndVerify(String token) {
+        Claims claims = extractAllClaims(token);
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                extractAuthorities(claims),
+                extractTokenVersion(claims),
+                expiration == null ? Long.MAX_VALUE : expiration.getTime()
+        );
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static boolean isUsable(VerifiedToken token, long now) {
+        // saturating, so a token without an expiration (Long.MAX_VALUE) does not wrap around and count as expired
+        long skewMillis = ALLOWED_CLOCK_SKEW_SECONDS * 1000;
+        long deadline = token.expiresAtMillis() > Long.MAX_VALUE - skewMillis
+                ? Long.MAX_VALUE
+                : token.expiresAtMillis() + skewMillis;
+        return now < deadline;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .setAllowedClockSkewSeconds(5)
-                .build()
+    private void evictVerifiedTokens() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(token -> !isUsable(token, now));
+
+        // still full of live tokens: drop an arbitrary tenth rather than grow past the bound
+        int excess = verifiedTokens.size() - verificationCacheMaxEntries + Math.max(1, verificationCacheMaxEntries / 10);
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Reads the granted authorities embedded in verified claims.
+     *
+     * @param claims The verified token claims.
+     * @return The authorities of the token subject, empty if none were embedded.
+     */
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        Object raw = claims.get(AUTHORITIES_CLAIM);
+        if (!(raw instanceof Collection<?> names)) {
+            return Collections.emptyList();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size());
+        for (Object name : names) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(name)));
+        }
+        return authorities;
+    }
+
+    /**
+     * Reads the token version embedded in verified claims.
+     *
+     * @param claims The verified token claims.
+     * @return The token version, 0 for tokens issued without one.
+     */
+    public int extractTokenVersion(Claims claims) {
+        Object version = claims.get(TOKEN_VERSION_CLAIM);
+        return version instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static List<String> authorityNames(UserDetails userDetails) {
+        Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
+        if (authorities == null) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            names.add(authority.getAuthority());
+        }
+        return names;
+    }
+
+    /**
+     * Parses a JWT token, verifying its signature and expiration, and returns all of its claims.
+     *
+     * @param token The JWT token.
+     * @return The verified claims.
+     */
+    public Claims extractAllClaims(String token) {
+        return getParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
 
+    /**
+     * Returns the parser bound to the signing key, building it on first use.
+     * The parser is immutable and thread-safe, so one instance serves every request.
+     */
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts
+                    .parserBuilder()
+                    .setSigningKey(getSignInKey())
+                    .setAllowedClockSkewSeconds(ALLOWED_CLOCK_SKEW_SECONDS)
+                    .build();
+            parser = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the HMAC signing key, decoding the configured Base64 secret only once.
+     */
     private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key current = signingKey;
+        if (current == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+            current = Keys.hmacShaKeyFor(keyBytes);
+            signingKey = current;
+        }
+        return current;
     }
 
 }
@@ -44,7 +44,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(requests -> requests
-                .requestMatchers("api/v1/users/account",  "/api/v1/cases/createCase", "api/v1/donations/makeDonation", "/api/v1/cases/deleteCase", "/api/v1/cases/updateCase").authenticated()
+                .requestMatchers("api/v1/users/account", "/api/v1/users/revokeTokens", "/api/v1/cases/createCase", "api/v1/donations/makeDonation", "/api/v1/donations/bulk", "/api/v1/cases/deleteCase", "/api/v1/cases/updateCase", "/api/v1/cases/image").authenticated()
+                        .requestMatchers("/actuator/metrics/**", "/api/v1/categories/cacheStats", "/api/v1/stats/reconcile").hasRole("ADMIN_USER")
                         .anyRequest().permitAll());
         http.httpBasic(withDefaults());
         return http.build();
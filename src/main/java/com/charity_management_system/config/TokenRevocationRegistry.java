@@ -0,0 +1,109 @@
+package com.charity_management_system.config;
+
+import com.charity_management_system.repository.UserRepository;
+import com.charity_management_system.repository.projection.TokenRevocation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, in-memory view of recently revoked JWTs, consulted by the authentication filter without touching the
+ * database.
+ *
+ * <p>A revocation is stored as the minimum token version still accepted for a user. Entries only need to live as
+ * long as a token does: once the token lifetime has passed, every token carrying an older version has expired on
+ * its own. Revocations made on this node apply immediately; revocations made on other nodes are picked up by a
+ * periodic refresh from the {@code users} table.</p>
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long tokenLifetimeMs;
+    private final Map<String, Revocation> revocations = new ConcurrentHashMap<>();
+
+    private record Revocation(int minimumVersion, long expiresAtMillis) {
+    }
+
+    public TokenRevocationRegistry(UserRepository userRepository,
+                                   @Value("${security.jwt.revocation.enabled:true}") boolean enabled,
+                                   @Value("${security.jwt.revocation.max-entries:10000}") int maxEntries,
+                                   @Value("${security.jwt.expiration-time}") long tokenLifetimeMs) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param username     The subject of the token.
+     * @param tokenVersion The token version claim.
+     * @return True if the user revoked their tokens after this one was issued, false otherwise.
+     */
+    public boolean isRevoked(String username, int tokenVersion) {
+        if (!enabled) {
+            return false;
+        }
+        Revocation revocation = revocations.get(username);
+        return revocation != null
+                && revocation.expiresAtMillis() > System.currentTimeMillis()
+                && tokenVersion < revocation.minimumVersion();
+    }
+
+    /**
+     * Records that tokens of a user below the given version must be rejected.
+     *
+     * @param username       The username of the user.
+     * @param minimumVersion The lowest token version that is still valid.
+     */
+    public void revoke(String username, int minimumVersion) {
+        if (!enabled) {
+            return;
+        }
+        revocations.merge(username, new Revocation(minimumVersion, System.currentTimeMillis() + tokenLifetimeMs),
+                (current, latest) -> latest.minimumVersion() >= current.minimumVersion() ? latest : current);
+        if (revocations.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    /**
+     * Reloads the revocations issued within the last token lifetime, including those made on other nodes.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(tokenLifetimeMs));
+        List<TokenRevocation> recent = userRepository.findTokenRevocationsSince(since, Limit.of(maxEntries));
+        for (TokenRevocation revocation : recent) {
+            revoke(revocation.getUsername(), revocation.getTokenVersion());
+        }
+        log.debug("Token revocation registry refreshed, {} entries", revocations.size());
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        revocations.values().removeIf(revocation -> revocation.expiresAtMillis() <= now);
+        while (revocations.size() > maxEntries) {
+            revocations.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().expiresAtMillis()))
+                    .ifPresent(oldest -> revocations.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.charity_management_system.config;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Immutable result of verifying a JWT: everything the authentication filter needs, extracted in a single parse.
+ *
+ * @param username        The token subject.
+ * @param authorities     The authorities embedded in the token.
+ * @param tokenVersion    The token version, compared against revocations.
+ * @param expiresAtMillis The expiration time of the token in epoch milliseconds.
+ */
+public record VerifiedToken(String username, List<GrantedAuthority> authorities, int tokenVersion, long expiresAtMillis) {
+
+    public VerifiedToken {
+        authorities = List.copyOf(authorities);
+    }
+}
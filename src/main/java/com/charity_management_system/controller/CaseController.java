@@ -1,15 +1,24 @@
 package com.charity_management_system.controller;
 
+import com.charity_management_system.dto.CaseBrowseRequest;
 import com.charity_management_system.dto.CaseDto;
+import com.charity_management_system.dto.CasePage;
+import com.charity_management_system.dto.CaseSearchResult;
 import com.charity_management_system.model.Case;
+import com.charity_management_system.service.CaseFundingService;
 import com.charity_management_system.service.CaseService;
+import com.charity_management_system.storage.ImageStager;
+import com.charity_management_system.storage.StagedImage;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,6 +27,8 @@ import java.util.List;
 public class CaseController {
 
     private final CaseService caseService;
+    private final ImageStager imageStager;
+    private final CaseFundingService caseFundingService;
 
     /**
      * Fetches a case by its ID.
@@ -31,13 +42,25 @@ public class CaseController {
     }
 
     /**
-     * Searches for cases by a search query.
+     * Streams the raised amount of a case as Server-Sent Events: the current total right away, then the new total
+     * after donations, at most a few times per second.
      *
-     * @param query The search query.
-     * @return A list of cases matching the query.
+     * @param caseId The ID of the case.
+     * @return The event stream of "funding" events.
+     */
+    @GetMapping(value = "/funding/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCaseFunding(@RequestParam("caseId") int caseId){
+        return caseFundingService.subscribe(caseId);
+    }
+
+    /**
+     * Searches for cases by a search query, best matches first.
+     *
+     * @param query The search query (supports quoted phrases, "or" and -exclusions).
+     * @return A list of cases matching the query with highlighted snippets.
      */
     @GetMapping("/search")
-    public List<CaseDto> searchCases(@RequestParam String query) {
+    public List<CaseSearchResult> searchCases(@RequestParam String query) {
         return caseService.searchCases(query);
     }
 
@@ -70,13 +93,17 @@ public class CaseController {
      * @param categoryName The category of the case.
      * @param file The image file for the case.
      * @return A success message.
-     * @throws IOException If an error occurs while saving the image.
+     * @throws IOException If an error occurs while staging the image.
      */
     @PostMapping("/createCase")
     public ResponseEntity<String> createCase(@RequestBody CaseDto userCase, @RequestParam String categoryName, @RequestParam("image") MultipartFile file) throws IOException {
-        File tempFile = File.createTempFile("temp", null);
-        file.transferTo(tempFile);
-        caseService.createCase(userCase, categoryName, tempFile);
+        StagedImage image = stage(file);
+        try {
+            caseService.createCase(userCase, categoryName, image);
+        } catch (RuntimeException ex) {
+            imageStager.discard(image);
+            throw ex;
+        }
         return ResponseEntity.ok("done creating case");
     }
 
@@ -90,6 +117,31 @@ public class CaseController {
         return ResponseEntity.ok(caseService.showCases());
     }
 
+    /**
+     * Fetches one page of the case feed, newest cases first.
+     *
+     * @param cursor The continuation token returned with the previous page (omit for the first page).
+     * @param size The number of cases per page (optional, capped by the server).
+     * @return A page of cases and the cursor for the next page.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<CasePage> getCaseFeed(@RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size){
+        return ResponseEntity.ok(caseService.getCaseFeed(cursor, size));
+    }
+
+    /**
+     * Browses cases with optional filters, sorted by newest, most funded or closest to goal.
+     *
+     * @param request The category, status (APPROVED by default), goal range, sort (NEWEST by default), cursor of
+     *                the previous page and page size, all optional.
+     * @return A page of cases and the cursor for the next page.
+     */
+    @GetMapping("/browse")
+    public ResponseEntity<CasePage> browseCases(@ModelAttribute CaseBrowseRequest request){
+        return ResponseEntity.ok(caseService.browseCases(request));
+    }
+
     /**
      * Updates an existing case.
      *
@@ -97,14 +149,44 @@ public class CaseController {
      * @param userCase The updated case details.
      * @param file The updated image file (optional).
      * @return The updated case.
-     * @throws IOException If an error occurs while saving the image.
+     * @throws IOException If an error occurs while staging the image.
      */
     @PutMapping("/updateCase")
     public ResponseEntity<Case> updateCase(@RequestParam int caseId, @ModelAttribute CaseDto userCase,
                                            @RequestParam(value = "image", required = false) MultipartFile file) throws IOException {
-        File tempFile = File.createTempFile("tmep", null);
-        file.transferTo(tempFile);
-        return ResponseEntity.ok(caseService.updateCase( caseId , userCase, tempFile));
+        StagedImage image = file == null || file.isEmpty() ? null : stage(file);
+        try {
+            return ResponseEntity.ok(caseService.updateCase( caseId , userCase, image));
+        } catch (RuntimeException ex) {
+            imageStager.discard(image);
+            throw ex;
+        }
+    }
+
+    /**
+     * Replaces the image of a case with the raw request body (for example {@code Content-Type: image/jpeg}).
+     * The body is streamed straight into the upload staging area without multipart parsing.
+     *
+     * @param caseId The ID of the case.
+     * @param request The request whose body is the image.
+     * @return The case, with its image marked as pending until the upload completes.
+     * @throws IOException If an error occurs while staging the image.
+     */
+    @PutMapping(value = "/image", consumes = "image/*")
+    public ResponseEntity<Case> replaceCaseImage(@RequestParam int caseId, HttpServletRequest request) throws IOException {
+        StagedImage image = imageStager.stage(request.getInputStream());
+        try {
+            return ResponseEntity.accepted().body(caseService.replaceCaseImage(caseId, image));
+        } catch (RuntimeException ex) {
+            imageStager.discard(image);
+            throw ex;
+        }
+    }
+
+    private StagedImage stage(MultipartFile file) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return imageStager.stage(content);
+        }
     }
 
 
@@ -1,6 +1,9 @@
 package com.charity_management_system.controller;
 
+import com.charity_management_system.dto.CategoryCacheStats;
+import com.charity_management_system.dto.CategoryDto;
 import com.charity_management_system.model.Category;
+import com.charity_management_system.repository.projection.CategorySummary;
 import com.charity_management_system.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,17 +26,44 @@ public class CategoryController {
      * @return list of all categories
      * */
     @GetMapping("/getAll")
-    public ResponseEntity<List<Category>> getAll(){
+    public ResponseEntity<List<CategoryDto>> getAll(){
         return ResponseEntity.ok(categoryService.getAllCategories());
     }
 
+    /**
+     * gets all the categories with their number of cases and the total raised by them
+     * @return list of category summaries
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<List<CategorySummary>> getSummary(){
+        return ResponseEntity.ok(categoryService.getCategorySummaries());
+    }
+
+    /**
+     * gets all the categories together with all of their cases, prefer getAll or summary unless the cases are needed
+     * @return list of all categories with their cases
+     */
+    @GetMapping("/getAllWithCases")
+    public ResponseEntity<List<Category>> getAllWithCases(){
+        return ResponseEntity.ok(categoryService.getAllCategoriesWithCases());
+    }
+
     /**
      * get a specific category by its id
      * @param categoryId the id of the category
-     * @return the category object with that specified id
+     * @return the id and name of the category, served from the category cache; use getAllWithCases for its cases
      */
     @GetMapping("/getById")
-    public ResponseEntity<Category> getCategoryById(@RequestParam int categoryId){
+    public ResponseEntity<CategoryDto> getCategoryById(@RequestParam int categoryId){
         return ResponseEntity.ok(categoryService.getCategoryById(categoryId));
     }
+
+    /**
+     * statistics of the in-memory category cache, for admins
+     * @return the number of cached categories, hits, misses and reloads
+     */
+    @GetMapping("/cacheStats")
+    public ResponseEntity<CategoryCacheStats> getCacheStats(){
+        return ResponseEntity.ok(categoryService.getCacheStats());
+    }
 }
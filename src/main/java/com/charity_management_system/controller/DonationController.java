@@ -1,6 +1,9 @@
 package com.charity_management_system.controller;
 
+import com.charity_management_system.dto.BulkDonationResult;
+import com.charity_management_system.dto.CaseLeaderboard;
 import com.charity_management_system.dto.DonationDto;
+import com.charity_management_system.dto.DonationPage;
 import com.charity_management_system.model.Donation;
 import com.charity_management_system.service.DonationService;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +20,7 @@ public class DonationController {
     private final DonationService donationService;
 
     /**
-     * gets all the donations of a specific case by its id
+     * gets all the donations of a specific case by its id; prefer /history/{caseId}, which is paginated
      * @param caseId the id of the case
      * @return List of the donations that were made to that case
      */
@@ -26,6 +29,30 @@ public class DonationController {
         return ResponseEntity.ok(donationService.getDonationsByCaseId(caseId));
     }
 
+    /**
+     * gets one page of the donation history of a case, newest first
+     * @param caseId the id of the case
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size the page size, capped by the server
+     * @return the donations of the page with the cursor of the next one
+     */
+    @GetMapping("/history/{caseId}")
+    public ResponseEntity<DonationPage> getDonationHistory(@PathVariable int caseId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer size){
+        return ResponseEntity.ok(donationService.getDonationHistory(caseId, cursor, size));
+    }
+
+    /**
+     * gets the top donors and the most recent donations of a case
+     * @param caseId the id of the case
+     * @return the donors who gave the most, largest total first, and the newest donations
+     */
+    @GetMapping("/leaderboard/{caseId}")
+    public ResponseEntity<CaseLeaderboard> getLeaderboard(@PathVariable int caseId){
+        return ResponseEntity.ok(donationService.getLeaderboard(caseId));
+    }
+
     /**
      * makes a new donation to a case
      * @param donation the donation dto object containing the case id
@@ -36,6 +63,16 @@ public class DonationController {
         return ResponseEntity.ok(donationService.makeDonation(donation));
     }
 
+    /**
+     * records a burst of donations (e.g. a payment provider settlement) in a single call
+     * @param donations the donation dto objects, each containing its case id
+     * @return how many donations were accepted and which case ids were unknown
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkDonationResult> ingestDonations(@RequestBody List<DonationDto> donations){
+        return ResponseEntity.ok(donationService.ingestDonations(donations));
+    }
+
     /**
      * gets all the donations that the user made by the user's username
      * @param username the username of the user
@@ -0,0 +1,39 @@
+package com.charity_management_system.controller;
+
+import com.charity_management_system.exception.custom.ImageNotFoundException;
+import com.charity_management_system.storage.LocalImageStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/v1/images")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "images.storage.backend", havingValue = "local")
+public class ImageController {
+
+    private final LocalImageStore localImageStore;
+
+    /**
+     * Serves an image stored on this node without copying it through the JVM heap. Keys are random and never reused,
+     * so the key itself is a strong ETag for the content.
+     *
+     * @param key      The image key.
+     * @param request  The current request.
+     * @param response The response the image is written to.
+     * @throws IOException If the image cannot be read or written.
+     */
+    @GetMapping("/{key}")
+    public void getImage(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path image = localImageStore.resolve(key).orElseThrow(() -> new ImageNotFoundException("Image not found: " + key));
+        ImageResponses.send(image, localImageStore.contentTypeOf(key), "\"" + key + "\"", request, response);
+    }
+}
@@ -0,0 +1,49 @@
+package com.charity_management_system.controller;
+
+import com.charity_management_system.exception.custom.ImageFetchException;
+import com.charity_management_system.exception.custom.ImageNotFoundException;
+import com.charity_management_system.storage.ImageCache;
+import com.charity_management_system.storage.ImageCache.CachedImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+
+@RestController
+@RequestMapping("/api/v1/images")
+@RequiredArgsConstructor
+@Slf4j
+public class ImageProxyController {
+
+    private final ImageCache imageCache;
+
+    /**
+     * Serves a case image from this node's disk cache, fetching it from the storage backend on the first request.
+     * Only URLs issued by the active storage backend are accepted, so this is not an open proxy.
+     *
+     * @param src      The image URL as found on a case ({@code imagePath} or one of its variant URLs).
+     * @param request  The current request.
+     * @param response The response the image is written to.
+     * @throws IOException If the cached image cannot be read or written.
+     */
+    @GetMapping("/proxy")
+    public void getImage(@RequestParam String src, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CachedImage image;
+        try {
+            image = imageCache.get(src).orElseThrow(() -> new ImageNotFoundException("Unknown image: " + src));
+        } catch (NoSuchFileException ex) {
+            throw new ImageNotFoundException("Image not found: " + src);
+        } catch (IOException ex) {
+            log.warn("Could not fetch image {}: {}", src, ex.getMessage());
+            throw new ImageFetchException("Image could not be fetched from storage");
+        }
+        ImageResponses.send(image.path(), image.contentType(), image.etag(), request, response);
+    }
+}
@@ -0,0 +1,133 @@
+package com.charity_management_system.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes immutable image files to HTTP responses: strong ETag validation, a year long {@code immutable} cache
+ * lifetime, single byte ranges, and zero-copy transfer.
+ */
+final class ImageResponses {
+
+    static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d{0,18})-(\\d{0,18})");
+
+    private ImageResponses() {
+    }
+
+    /**
+     * Answers a GET or HEAD request with an image file. Conditional requests matching the ETag get a 304, a single
+     * satisfiable byte range gets a 206, and an unsatisfiable one a 416. Multiple ranges are answered with the whole
+     * file, which HTTP allows. The body is handed to Tomcat's sendfile when the connector supports it, otherwise it is
+     * written with {@link FileChannel#transferTo}.
+     *
+     * @param file        The image file.
+     * @param contentType The MIME type of the image.
+     * @param etag        The strong, quoted entity tag of the image.
+     * @param request     The current request.
+     * @param response    The response the image is written to.
+     * @throws IOException If the image cannot be read or written.
+     */
+    static void send(Path file, String contentType, String etag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            long end = size;
+
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            Matcher range = rangeOf(request.getHeader(HttpHeaders.RANGE));
+            if (range != null && (ifRange == null || ifRange.equals(etag))) {
+                String first = range.group(1);
+                String last = range.group(2);
+                if (first.isEmpty()) {
+                    // suffix range: the last N bytes
+                    start = Math.max(0, size - Long.parseLong(last));
+                } else {
+                    start = Long.parseLong(first);
+                    end = last.isEmpty() ? size : Math.min(size, Long.parseLong(last) + 1);
+                }
+                if (start >= end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+            }
+
+            response.setContentType(contentType);
+            response.setContentLengthLong(end - start);
+            if ("HEAD".equals(request.getMethod())) {
+                return;
+            }
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toString());
+                request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+                request.setAttribute(SENDFILE_END_ATTRIBUTE, end);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Matcher rangeOf(String header) {
+        if (header == null) {
+            return null;
+        }
+        Matcher matcher = RANGE_PATTERN.matcher(header.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        if (!matcher.group(1).isEmpty() && !matcher.group(2).isEmpty()
+                && Long.parseLong(matcher.group(2)) < Long.parseLong(matcher.group(1))) {
+            // "bytes=5-3" is not a valid range at all, and an invalid Range header is ignored (RFC 9110 14.2)
+            return null;
+        }
+        return matcher;
+    }
+}
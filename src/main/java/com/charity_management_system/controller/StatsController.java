@@ -0,0 +1,52 @@
+package com.charity_management_system.controller;
+
+import com.charity_management_system.dto.CaseDonationStats;
+import com.charity_management_system.dto.DonationStatsSummary;
+import com.charity_management_system.dto.ReconciliationReport;
+import com.charity_management_system.service.DonationStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("api/v1/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final DonationStatsService donationStatsService;
+
+    /**
+     * gets the donation totals overall, per payment method and per category
+     * @return the donation totals
+     */
+    @GetMapping("/donations")
+    public ResponseEntity<DonationStatsSummary> getDonationStats(){
+        return ResponseEntity.ok(donationStatsService.getDonationStats());
+    }
+
+    /**
+     * gets the donation totals of a case with its totals per day
+     * @param caseId the id of the case
+     * @param from the first day (ISO date), 30 days before the last day when omitted
+     * @param to the last day (ISO date), today when omitted
+     * @return the case totals and the days with donations
+     */
+    @GetMapping("/cases/{caseId}")
+    public ResponseEntity<CaseDonationStats> getCaseDonationStats(@PathVariable int caseId,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        return ResponseEntity.ok(donationStatsService.getCaseDonationStats(caseId, from, to));
+    }
+
+    /**
+     * recomputes the donation totals from the donations and reports where they drifted
+     * @return the reconciliation report
+     */
+    @PostMapping("/reconcile")
+    public ResponseEntity<ReconciliationReport> reconcile(){
+        return ResponseEntity.ok(donationStatsService.reconcile());
+    }
+}
@@ -24,4 +24,14 @@ public class UserController {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         return ResponseEntity.ok(userService.getUserAccount(username));
     }
+
+    /**
+     * signs the current user out everywhere by revoking every token issued to them so far
+     * @return a confirmation message
+     */
+    @PostMapping("/revokeTokens")
+    public ResponseEntity<String> revokeTokens(){
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(userService.revokeTokens(username));
+    }
 }
@@ -0,0 +1,16 @@
+package com.charity_management_system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDonationResult {
+
+    private int accepted;
+    private int rejected;
+    private List<Integer> unknownCaseIds;
+}
@@ -0,0 +1,23 @@
+package com.charity_management_system.dto;
+
+import com.charity_management_system.enums.CaseSort;
+import com.charity_management_system.enums.CaseStatus;
+import lombok.*;
+
+/**
+ * Filters, order and page of a case browse request. Every filter is optional.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseBrowseRequest {
+
+    private Integer categoryId;
+    private CaseStatus status = CaseStatus.APPROVED;
+    private Double minGoal;
+    private Double maxGoal;
+    private CaseSort sort = CaseSort.NEWEST;
+    private String cursor;
+    private Integer size;
+}
@@ -0,0 +1,16 @@
+package com.charity_management_system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseDonationStats {
+
+    private int caseId;
+    private DonationStats total;
+    private List<DailyDonationStats> days;
+}
@@ -14,4 +14,8 @@ public class CaseDto {
     private String imagePath;
     private double goal;
     private double amountRaised;
+    private String thumbnailUrl;
+    private String cardUrl;
+    private String fullUrl;
+    private String imagePlaceholder;
 }
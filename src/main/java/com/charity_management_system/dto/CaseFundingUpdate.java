@@ -0,0 +1,14 @@
+package com.charity_management_system.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseFundingUpdate {
+
+    private int caseId;
+    private double amountRaised;
+    private double goal;
+}
@@ -0,0 +1,15 @@
+package com.charity_management_system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseLeaderboard {
+
+    private List<TopDonor> topDonors;
+    private List<DonationHistoryEntry> recentDonations;
+}
@@ -0,0 +1,13 @@
+package com.charity_management_system.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CaseSearchResult extends CaseDto {
+
+    private float rank;
+    private String highlightedTitle;
+    private String highlightedDescription;
+}
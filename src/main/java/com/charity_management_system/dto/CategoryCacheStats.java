@@ -0,0 +1,19 @@
+package com.charity_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryCacheStats {
+
+    private int entries;
+    private long hits;
+    private long misses;
+    private long reloads;
+    private Instant loadedAt;
+}
@@ -0,0 +1,16 @@
+package com.charity_management_system.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyDonationStats {
+
+    private LocalDate day;
+    private long donationCount;
+    private double totalAmount;
+}
@@ -0,0 +1,21 @@
+package com.charity_management_system.dto;
+
+import com.charity_management_system.enums.PaymentMethod;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationHistoryEntry {
+
+    @JsonIgnore
+    private int id;
+    private double amount;
+    private PaymentMethod paymentMethod;
+    private LocalDateTime createdAt;
+    private String donorName;
+}
@@ -0,0 +1,16 @@
+package com.charity_management_system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationPage {
+
+    private List<DonationHistoryEntry> donations;
+    private String nextCursor;
+    private boolean hasMore;
+}
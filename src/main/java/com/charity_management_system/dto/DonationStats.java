@@ -0,0 +1,13 @@
+package com.charity_management_system.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationStats {
+
+    private long donationCount;
+    private double totalAmount;
+}
@@ -0,0 +1,17 @@
+package com.charity_management_system.dto;
+
+import com.charity_management_system.enums.PaymentMethod;
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationStatsSummary {
+
+    private DonationStats total;
+    private Map<PaymentMethod, DonationStats> byPaymentMethod;
+    private Map<Integer, DonationStats> byCategory;
+}
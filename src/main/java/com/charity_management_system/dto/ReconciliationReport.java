@@ -0,0 +1,21 @@
+package com.charity_management_system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconciliationReport {
+
+    private int chunks;
+    private long donationsScanned;
+    private int caseDayDrifts;
+    private int paymentMethodDrifts;
+    private int categoryDrifts;
+    private boolean globalDrift;
+    private List<String> samples;
+    private long durationMs;
+}
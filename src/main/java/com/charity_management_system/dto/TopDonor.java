@@ -0,0 +1,17 @@
+package com.charity_management_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TopDonor {
+
+    @JsonIgnore
+    private String donorId;
+    private String donorName;
+    private long donationCount;
+    private double totalAmount;
+}
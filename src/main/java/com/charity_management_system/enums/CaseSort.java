@@ -0,0 +1,14 @@
+package com.charity_management_system.enums;
+
+/**
+ * Orders of the case browse API. Ties are broken by id, newest first.
+ */
+public enum CaseSort {
+
+    /** Newest cases first. */
+    NEWEST,
+    /** Cases with the highest amount raised first. */
+    MOST_FUNDED,
+    /** Cases with the smallest amount left to raise first; cases that reached their goal are left out. */
+    CLOSEST_TO_GOAL
+}
@@ -0,0 +1,8 @@
+package com.charity_management_system.enums;
+
+public enum ImageStatus {
+
+    PENDING,
+    READY,
+    FAILED
+}
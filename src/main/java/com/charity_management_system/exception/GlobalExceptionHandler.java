@@ -2,12 +2,22 @@ package com.charity_management_system.exception;
 
 import com.charity_management_system.exception.custom.CaseNotFoundException;
 import com.charity_management_system.exception.custom.CategoryNotFoundException;
+import com.charity_management_system.exception.custom.ImageFetchException;
+import com.charity_management_system.exception.custom.ImageNotFoundException;
+import com.charity_management_system.exception.custom.ImageTooLargeException;
+import com.charity_management_system.exception.custom.ImageUploadsDisabledException;
+import com.charity_management_system.exception.custom.InvalidCursorException;
+import com.charity_management_system.exception.custom.InvalidDateRangeException;
+import com.charity_management_system.exception.custom.TooManyDonationsException;
+import com.charity_management_system.exception.custom.TooManySubscribersException;
+import com.charity_management_system.exception.custom.UnsupportedImageTypeException;
 import com.charity_management_system.exception.custom.UserNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -23,8 +33,97 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
     }
 
-    @ExceptionHandler({CaseNotFoundException.class, UserNotFoundException.class, CategoryNotFoundException.class})
+    @ExceptionHandler({CaseNotFoundException.class, UserNotFoundException.class, CategoryNotFoundException.class, ImageNotFoundException.class})
     public ResponseEntity<String> handleNotFoundExceptions(RuntimeException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
+
+    /**
+     * Handles malformed pagination cursors and returns a response with HTTP status 400.
+     *
+     * @param ex The InvalidCursorException.
+     * @return A response entity with the exception message and HTTP status 400.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * Handles reversed date ranges and returns a response with HTTP status 400.
+     *
+     * @param ex The InvalidDateRangeException.
+     * @return A response entity with the exception message and HTTP status 400.
+     */
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<String> handleInvalidDateRange(InvalidDateRangeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * Handles uploads over the image size limit and returns a response with HTTP status 413.
+     *
+     * @param ex The ImageTooLargeException, or the multipart resolver's MaxUploadSizeExceededException.
+     * @return A response entity with the exception message and HTTP status 413.
+     */
+    @ExceptionHandler({ImageTooLargeException.class, MaxUploadSizeExceededException.class})
+    public ResponseEntity<String> handleImageTooLarge(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(ex.getMessage());
+    }
+
+    /**
+     * Handles uploads that are not a supported image format and returns a response with HTTP status 415.
+     *
+     * @param ex The UnsupportedImageTypeException.
+     * @return A response entity with the exception message and HTTP status 415.
+     */
+    @ExceptionHandler(UnsupportedImageTypeException.class)
+    public ResponseEntity<String> handleUnsupportedImageType(UnsupportedImageTypeException ex) {
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(ex.getMessage());
+    }
+
+    /**
+     * Handles images the storage backend could not deliver and returns a response with HTTP status 502.
+     *
+     * @param ex The ImageFetchException.
+     * @return A response entity with the exception message and HTTP status 502.
+     */
+    @ExceptionHandler(ImageFetchException.class)
+    public ResponseEntity<String> handleImageFetch(ImageFetchException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(ex.getMessage());
+    }
+
+    /**
+     * Handles image uploads sent to a read-only node and returns a response with HTTP status 503.
+     *
+     * @param ex The ImageUploadsDisabledException.
+     * @return A response entity with the exception message and HTTP status 503.
+     */
+    @ExceptionHandler(ImageUploadsDisabledException.class)
+    public ResponseEntity<String> handleImageUploadsDisabled(ImageUploadsDisabledException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    /**
+     * Handles live update subscriptions refused because this node holds too many, and returns a response with
+     * HTTP status 503.
+     *
+     * @param ex The TooManySubscribersException.
+     * @return A response entity with the exception message and HTTP status 503.
+     */
+    @ExceptionHandler(TooManySubscribersException.class)
+    public ResponseEntity<String> handleTooManySubscribers(TooManySubscribersException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    /**
+     * Handles donation batches over the bulk size limit and returns a response with HTTP status 400.
+     *
+     * @param ex The TooManyDonationsException.
+     * @return A response entity with the exception message and HTTP status 400.
+     */
+    @ExceptionHandler(TooManyDonationsException.class)
+    public ResponseEntity<String> handleTooManyDonations(TooManyDonationsException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
 }
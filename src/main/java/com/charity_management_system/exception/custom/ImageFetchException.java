@@ -0,0 +1,8 @@
+package com.charity_management_system.exception.custom;
+
+public class ImageFetchException extends RuntimeException{
+
+    public ImageFetchException(String message){
+        super(message);
+    }
+}
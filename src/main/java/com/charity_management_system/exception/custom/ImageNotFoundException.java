@@ -0,0 +1,8 @@
+package com.charity_management_system.exception.custom;
+
+public class ImageNotFoundException extends RuntimeException{
+
+    public ImageNotFoundException(String message){
+        super(message);
+    }
+}
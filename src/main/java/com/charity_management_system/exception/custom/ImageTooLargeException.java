@@ -0,0 +1,8 @@
+package com.charity_management_system.exception.custom;
+
+public class ImageTooLargeException extends RuntimeException{
+
+    public ImageTooLargeException(String message){
+        super(message);
+    }
+}
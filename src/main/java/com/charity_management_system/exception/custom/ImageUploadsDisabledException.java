@@ -0,0 +1,8 @@
+package com.charity_management_system.exception.custom;
+
+public class ImageUploadsDisabledException extends RuntimeException{
+
+    public ImageUploadsDisabledException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.charity_management_system.exception.custom;
+
+public class InvalidCursorException extends RuntimeException{
+
+    public InvalidCursorException(String message){
+        super(message);
+    }
+}
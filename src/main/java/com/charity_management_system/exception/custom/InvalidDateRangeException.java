@@ -0,0 +1,8 @@
+package com.charity_management_system.exception.custom;
+
+public class InvalidDateRangeException extends RuntimeException{
+
+    public InvalidDateRangeException(String message){
+        super(message);
+    }
+}
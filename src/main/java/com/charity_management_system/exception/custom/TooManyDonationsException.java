@@ -0,0 +1,8 @@
+package com.charity_management_system.exception.custom;
+
+public class TooManyDonationsException extends RuntimeException{
+
+    public TooManyDonationsException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.charity_management_system.exception.custom;
+
+public class TooManySubscribersException extends RuntimeException{
+
+    public TooManySubscribersException(String message){
+        super(message);
+    }
+}
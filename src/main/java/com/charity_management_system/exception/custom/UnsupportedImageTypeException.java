@@ -0,0 +1,8 @@
+package com.charity_management_system.exception.custom;
+
+public class UnsupportedImageTypeException extends RuntimeException{
+
+    public UnsupportedImageTypeException(String message){
+        super(message);
+    }
+}
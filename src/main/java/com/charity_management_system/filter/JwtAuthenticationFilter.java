@@ -1,6 +1,8 @@
 package com.charity_management_system.filter;
 
 import com.charity_management_system.config.JwtService;
+import com.charity_management_system.config.TokenRevocationRegistry;
+import com.charity_management_system.config.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,8 +12,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -25,10 +25,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final HandlerExceptionResolver handlerExceptionResolver;
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     /**
      * Validates the JWT token and sets the authentication in the security context if valid.
+     * The authentication is built from the verified token claims alone, so no user lookup hits the database.
      *
      * @param request     The incoming HTTP request.
      * @param response    The outgoing HTTP response.
@@ -47,18 +48,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
 
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            if (userEmail != null && authentication == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (authentication == null) {
+                // verification checks the signature and the expiration
+                VerifiedToken token = jwtService.verify(jwt);
+                String username = token.username();
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                if (username != null && !tokenRevocationRegistry.isRevoked(username, token.tokenVersion())) {
+                    UsernamePasswordAuthenticationToken authToken = UsernamePasswordAuthenticationToken.authenticated(
+                            username,
                             null,
-                            userDetails.getAuthorities()
+                            token.authorities()
                     );
 
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -1,6 +1,7 @@
 package com.charity_management_system.model;
 
 import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.enums.ImageStatus;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
@@ -14,7 +15,8 @@ import java.util.List;
 public class Case {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cases_seq")
+    @SequenceGenerator(name = "cases_seq", sequenceName = "cases_id_seq", allocationSize = 50)
     @Column(name = "id")
     private int id;
 
@@ -27,6 +29,13 @@ public class Case {
     @Column(name = "image_path")
     private String imagePath;
 
+    @Embedded
+    private ImageVariants imageVariants;
+
+    @Column(name = "image_status")
+    @Enumerated(EnumType.STRING)
+    private ImageStatus imageStatus;
+
     @Column(name = "goal")
     private double goal;
 
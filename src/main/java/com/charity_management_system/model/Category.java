@@ -11,6 +11,7 @@ import java.util.List;
 @Entity
 @Data
 @Table(name = "categories")
+@EntityListeners(CategoryChangeListener.class)
 @AllArgsConstructor
 @NoArgsConstructor
 public class Category {
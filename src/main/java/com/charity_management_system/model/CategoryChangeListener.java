@@ -0,0 +1,43 @@
+package com.charity_management_system.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts committed changes to categories made through JPA, so the category cache can tell its snapshot is stale.
+ *
+ * <p>The counter is static because Hibernate instantiates entity listeners itself; a plain counter avoids tying the
+ * persistence unit to the service beans that read it.</p>
+ */
+public class CategoryChangeListener {
+
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    /**
+     * @return A number that changes whenever a category change is committed.
+     */
+    public static long version() {
+        return VERSION.get();
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Category category) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    VERSION.incrementAndGet();
+                }
+            });
+        } else {
+            VERSION.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.charity_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "image_digests")
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ImageDigestId.class)
+public class ImageDigest {
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    @JdbcTypeCode(SqlTypes.CHAR)
+    private String sha256;
+
+    @Id
+    @Column(name = "backend")
+    private String backend;
+
+    @Column(name = "url")
+    private String url;
+
+    @Column(name = "size")
+    private long size;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Embedded
+    private ImageVariants imageVariants;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
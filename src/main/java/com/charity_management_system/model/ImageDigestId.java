@@ -0,0 +1,19 @@
+package com.charity_management_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Primary key of {@link ImageDigest}: an image has at most one stored copy per backend.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageDigestId implements Serializable {
+
+    private String sha256;
+    private String backend;
+}
@@ -0,0 +1,29 @@
+package com.charity_management_system.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariants {
+
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "card_url")
+    private String cardUrl;
+
+    @Column(name = "full_url")
+    private String fullUrl;
+
+    /**
+     * A tiny, blurred JPEG inlined as a data URI, shown while the real image loads.
+     */
+    @Column(name = "image_placeholder")
+    private String placeholder;
+}
@@ -1,7 +1,9 @@
 package com.charity_management_system.model;
 
 import com.charity_management_system.enums.Role;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +11,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -27,6 +30,7 @@ public class User implements UserDetails {
     private String username;
 
     @Column(name = "password", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     @Column(name = "email", nullable = false, unique = true)
@@ -47,6 +51,14 @@ public class User implements UserDetails {
     @Column(name = "zip_code", nullable = false)
     private int zipCode;
 
+    @Column(name = "token_version", nullable = false)
+    @JsonIgnore
+    private int tokenVersion;
+
+    @Column(name = "tokens_revoked_at")
+    @JsonIgnore
+    private LocalDateTime tokensRevokedAt;
+
     @OneToMany(mappedBy = "user")
     private List<Case> caseList;
 
@@ -56,7 +68,7 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority(role.name()));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 
 }
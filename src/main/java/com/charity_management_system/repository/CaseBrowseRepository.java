@@ -0,0 +1,24 @@
+package com.charity_management_system.repository;
+
+import com.charity_management_system.dto.CaseDto;
+import com.charity_management_system.enums.CaseSort;
+import com.charity_management_system.model.Case;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Dynamic case queries built with the Criteria API, mixed into {@link CaseRepository}.
+ */
+public interface CaseBrowseRepository {
+
+    /**
+     * Selects the {@link CaseDto} columns of the cases matching a specification, in the order of a {@link CaseSort}.
+     *
+     * @param specification The filters, including the seek predicate of the page; may be null.
+     * @param sort          The order.
+     * @param limit         The maximum number of cases to return.
+     * @return The matching cases, in order.
+     */
+    List<CaseDto> browse(Specification<Case> specification, CaseSort sort, int limit);
+}
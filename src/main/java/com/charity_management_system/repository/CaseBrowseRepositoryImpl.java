@@ -0,0 +1,42 @@
+package com.charity_management_system.repository;
+
+import com.charity_management_system.dto.CaseDto;
+import com.charity_management_system.enums.CaseSort;
+import com.charity_management_system.model.Case;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public class CaseBrowseRepositoryImpl implements CaseBrowseRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CaseDto> browse(Specification<Case> specification, CaseSort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CaseDto> query = cb.createQuery(CaseDto.class);
+        Root<Case> root = query.from(Case.class);
+
+        Path<Object> variants = root.get("imageVariants");
+        query.select(cb.construct(CaseDto.class, root.get("id"), root.get("title"), root.get("description"),
+                root.get("imagePath"), root.get("goal"), root.get("amountRaised"), variants.get("thumbnailUrl"),
+                variants.get("cardUrl"), variants.get("fullUrl"), variants.get("placeholder")));
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(CaseSpecifications.orderBy(sort, root, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
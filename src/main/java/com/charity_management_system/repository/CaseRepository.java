@@ -1,14 +1,246 @@
 package com.charity_management_system.repository;
 
+import com.charity_management_system.dto.CaseDto;
+import com.charity_management_system.dto.CaseFundingUpdate;
 import com.charity_management_system.model.Case;
+import com.charity_management_system.model.ImageVariants;
+import com.charity_management_system.repository.projection.CaseCategory;
+import com.charity_management_system.repository.projection.CaseSearchHit;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface CaseRepository extends JpaRepository<Case, Integer> {
+public interface CaseRepository extends JpaRepository<Case, Integer>, CaseBrowseRepository {
+
+    /**
+     * Constructor expression selecting exactly the columns of a {@link CaseDto}.
+     */
+    String CASE_DTO_COLUMNS = """
+            new com.charity_management_system.dto.CaseDto(c.id, c.title, c.description, c.imagePath, c.goal,
+                c.amountRaised, c.imageVariants.thumbnailUrl, c.imageVariants.cardUrl, c.imageVariants.fullUrl,
+                c.imageVariants.placeholder)""";
 
     List<Case> findAllByTitle(String title);
     List<Case> findAllByUserUsername(String username);
     List<Case> findAllByCategoryId(int categoryId);
-    List<Case> findByTitleContainingOrDescriptionContaining(String title, String description);
+
+    /**
+     * Selects the {@link CaseDto} columns of every case. The rows are mapped straight into DTOs, so neither the
+     * case entities nor their user and category associations are loaded or tracked by the persistence context.
+     *
+     * @return All cases.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + CASE_DTO_COLUMNS + " FROM Case c")
+    List<CaseDto> findAllCaseDtos();
+
+    /**
+     * Selects the {@link CaseDto} columns of the cases of a user.
+     *
+     * @param username The username of the owner.
+     * @return The user's cases, empty if the user has none or does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + CASE_DTO_COLUMNS + " FROM Case c WHERE c.user.username = :username")
+    List<CaseDto> findCaseDtosByUsername(@Param("username") String username);
+
+    /**
+     * Selects the {@link CaseDto} columns of the cases in a category.
+     *
+     * @param categoryId The ID of the category.
+     * @return The cases of the category, empty if it has none or does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + CASE_DTO_COLUMNS + " FROM Case c WHERE c.category.id = :categoryId")
+    List<CaseDto> findCaseDtosByCategoryId(@Param("categoryId") int categoryId);
+
+    /**
+     * Selects the {@link CaseDto} columns of one case.
+     *
+     * @param caseId The ID of the case.
+     * @return The case, or empty if it does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + CASE_DTO_COLUMNS + " FROM Case c WHERE c.id = :caseId")
+    Optional<CaseDto> findCaseDtoById(@Param("caseId") int caseId);
+
+    /**
+     * Keyset page of cases, newest first: seeks on the primary key index past the last id the client has seen.
+     * Only the {@link CaseDto} columns are selected.
+     *
+     * @param id    The id of the last case of the previous page (exclusive).
+     * @param limit The maximum number of cases to return.
+     * @return Cases with an id lower than the given one, ordered by id descending.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + CASE_DTO_COLUMNS + " FROM Case c WHERE c.id < :id ORDER BY c.id DESC")
+    List<CaseDto> findCaseDtoPage(@Param("id") int id, Limit limit);
+
+    /**
+     * Selects the category id of each of the given cases, without loading the cases.
+     *
+     * @param caseIds The IDs of the cases.
+     * @return One row per existing case.
+     */
+    @Query("SELECT c.id AS id, c.category.id AS categoryId FROM Case c WHERE c.id IN :caseIds")
+    List<CaseCategory> findCategoryIds(@Param("caseIds") Collection<Integer> caseIds);
+
+    /**
+     * Selects the raised amount and goal of each of the given cases, without loading the cases.
+     *
+     * @param caseIds The IDs of the cases.
+     * @return One row per existing case.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.charity_management_system.dto.CaseFundingUpdate(c.id, c.amountRaised, c.goal) FROM Case c WHERE c.id IN :caseIds")
+    List<CaseFundingUpdate> findFundingByIds(@Param("caseIds") Collection<Integer> caseIds);
+
+    /**
+     * Locks a case row for the rest of the transaction. Donations queue on the same lock through
+     * {@link #incrementAmountRaised}.
+     *
+     * @param caseId The ID of the case.
+     * @return The ID of the locked case, or empty if it does not exist.
+     */
+    @Query(value = "SELECT id FROM cases WHERE id = :caseId FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockById(@Param("caseId") int caseId);
+
+    /**
+     * Atomically adds an amount to a case's raised total with a single server-side UPDATE, so concurrent
+     * donations serialize on the row lock instead of overwriting each other's read-modify-write.
+     *
+     * @param caseId The ID of the case.
+     * @param amount The amount to add.
+     * @return The number of updated rows, 0 if the case does not exist.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE cases SET amount_raised = amount_raised + :amount WHERE id = :caseId", nativeQuery = true)
+    int incrementAmountRaised(@Param("caseId") int caseId, @Param("amount") double amount);
+
+    /**
+     * Records a finished image upload: stores the image URL and marks the image ready. Variants of a previous image
+     * are cleared until the new ones have been generated.
+     * Only these columns are written, so concurrent donation increments are kept.
+     *
+     * @param caseId    The ID of the case.
+     * @param imagePath The URL of the uploaded image.
+     * @return The number of updated rows, 0 if the case no longer exists.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Case c SET c.imagePath = :imagePath,
+                c.imageStatus = com.charity_management_system.enums.ImageStatus.READY,
+                c.imageVariants.thumbnailUrl = NULL, c.imageVariants.cardUrl = NULL,
+                c.imageVariants.fullUrl = NULL, c.imageVariants.placeholder = NULL
+            WHERE c.id = :caseId
+            """)
+    int markImageReady(@Param("caseId") int caseId, @Param("imagePath") String imagePath);
+
+    /**
+     * Stores the resized variants of a case's image. Only the variant columns are written, and only while the case
+     * still shows the image they were made from, so variants finishing after the image was replaced are dropped.
+     *
+     * @param caseId    The ID of the case.
+     * @param sourceUrl The URL of the image the variants were made from.
+     * @param variants  The variant URLs and placeholder.
+     * @return The number of updated rows, 0 if the case no longer exists or shows another image.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Case c SET c.imageVariants.thumbnailUrl = :#{#variants.thumbnailUrl},
+                c.imageVariants.cardUrl = :#{#variants.cardUrl},
+                c.imageVariants.fullUrl = :#{#variants.fullUrl},
+                c.imageVariants.placeholder = :#{#variants.placeholder}
+            WHERE c.id = :caseId AND c.imagePath = :sourceUrl
+            """)
+    int updateImageVariants(@Param("caseId") int caseId, @Param("sourceUrl") String sourceUrl,
+                            @Param("variants") ImageVariants variants);
+
+    /**
+     * Writes the details a case owner can edit, and marks the image as being replaced if a new one was submitted.
+     * Only these columns are written, so concurrent donation increments and image uploads are kept.
+     *
+     * @param caseId       The ID of the case.
+     * @param title        The new title.
+     * @param description  The new description.
+     * @param goal         The new goal.
+     * @param imagePending Whether a new image has been queued for upload.
+     * @return The number of updated rows, 0 if the case does not exist.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Case c SET c.title = :title, c.description = :description, c.goal = :goal,
+                c.imageStatus = CASE WHEN :imagePending = TRUE
+                                     THEN com.charity_management_system.enums.ImageStatus.PENDING
+                                     ELSE c.imageStatus END
+            WHERE c.id = :caseId
+            """)
+    int updateDetails(@Param("caseId") int caseId, @Param("title") String title,
+                      @Param("description") String description, @Param("goal") double goal,
+                      @Param("imagePending") boolean imagePending);
+
+    /**
+     * Marks a case's image as being replaced. Only the status column is written.
+     *
+     * @param caseId The ID of the case.
+     * @return The number of updated rows, 0 if the case does not exist.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Case c SET c.imageStatus = com.charity_management_system.enums.ImageStatus.PENDING WHERE c.id = :caseId")
+    int markImagePending(@Param("caseId") int caseId);
+
+    /**
+     * Records an image upload that gave up after its retries. The previous image path, if any, is left in place.
+     *
+     * @param caseId The ID of the case.
+     * @return The number of updated rows, 0 if the case no longer exists.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Case c SET c.imageStatus = com.charity_management_system.enums.ImageStatus.FAILED WHERE c.id = :caseId")
+    int markImageFailed(@Param("caseId") int caseId);
+
+    /**
+     * Full-text search over case titles and descriptions using the GIN-indexed {@code search_vector} column.
+     * The query accepts web-search syntax (quoted phrases, {@code or}, {@code -exclusion}) and is stemmed with
+     * the English configuration. Snippets are only highlighted for the rows that survive the limit. The snippets are
+     * HTML: the title and description are escaped before the matches are wrapped in {@code <mark>} tags.
+     *
+     * @param query The user supplied search query.
+     * @param limit The maximum number of hits to return.
+     * @return The best matching cases, highest rank first.
+     */
+    @Query(value = """
+            SELECT hit.id AS "id", hit.title AS "title", hit.description AS "description",
+                   hit.image_path AS "imagePath", hit.goal AS "goal", hit.amount_raised AS "amountRaised",
+                   hit.thumbnail_url AS "thumbnailUrl", hit.card_url AS "cardUrl", hit.full_url AS "fullUrl",
+                   hit.image_placeholder AS "imagePlaceholder",
+                   hit.rank AS "rank",
+                   ts_headline('english', html_escape(coalesce(hit.title, '')), hit.tsq,
+                               'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') AS "highlightedTitle",
+                   ts_headline('english', html_escape(coalesce(hit.description, '')), hit.tsq,
+                               'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MinWords=10, MaxWords=30') AS "highlightedDescription"
+            FROM (
+                SELECT c.id, c.title, c.description, c.image_path, c.goal, c.amount_raised,
+                       c.thumbnail_url, c.card_url, c.full_url, c.image_placeholder, tsq,
+                       ts_rank_cd(c.search_vector, tsq) AS rank
+                FROM cases c, websearch_to_tsquery('english', :query) tsq
+                WHERE c.search_vector @@ tsq
+                ORDER BY rank DESC, c.id DESC
+                LIMIT :limit
+            ) hit
+            ORDER BY hit.rank DESC, hit.id DESC
+            """, nativeQuery = true)
+    List<CaseSearchHit> searchFullText(@Param("query") String query, @Param("limit") int limit);
 }
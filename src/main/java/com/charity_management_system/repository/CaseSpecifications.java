@@ -0,0 +1,94 @@
+package com.charity_management_system.repository;
+
+import com.charity_management_system.enums.CaseSort;
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.model.Case;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Building blocks of the case browse query. Factories for optional filters return {@code null} when the filter is
+ * not set, which {@link Specification#and(Specification)} ignores.
+ *
+ * <p>Each {@link CaseSort} has a sort key and a seek predicate that match the partial indexes of
+ * {@code V8__case_browse_indexes.sql}; keep them in sync when changing either.</p>
+ */
+public final class CaseSpecifications {
+
+    private CaseSpecifications() {
+    }
+
+    public static Specification<Case> inCategory(Integer categoryId) {
+        return categoryId == null ? null : (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Case> hasStatus(CaseStatus status) {
+        // a literal rather than a parameter, so PostgreSQL can match the status = 'APPROVED' partial indexes
+        // even when it switches to a generic plan for the prepared statement
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("caseStatus"), cb.literal(status));
+    }
+
+    public static Specification<Case> goalAtLeast(Double minGoal) {
+        return minGoal == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("goal"), minGoal);
+    }
+
+    public static Specification<Case> goalAtMost(Double maxGoal) {
+        return maxGoal == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("goal"), maxGoal);
+    }
+
+    /**
+     * The cases a sort applies to: {@link CaseSort#CLOSEST_TO_GOAL} leaves out cases that reached their goal.
+     */
+    public static Specification<Case> sortable(CaseSort sort) {
+        return sort != CaseSort.CLOSEST_TO_GOAL ? null
+                : (root, query, cb) -> cb.lessThan(root.get("amountRaised"), root.get("goal"));
+    }
+
+    /**
+     * Seeks past the last row of the previous page in the given order. The key is the sort key of that row and is
+     * ignored for {@link CaseSort#NEWEST}.
+     *
+     * <p>The leading range condition on the sort key alone is redundant, but lets the database start the index scan
+     * at the seek point instead of filtering every row before it.</p>
+     */
+    public static Specification<Case> after(CaseSort sort, double key, int id) {
+        return (root, query, cb) -> {
+            Expression<Integer> caseId = root.get("id");
+            return switch (sort) {
+                case NEWEST -> cb.lessThan(caseId, id);
+                case MOST_FUNDED -> cb.and(cb.lessThanOrEqualTo(sortKey(sort, root, cb), key),
+                        cb.or(cb.lessThan(sortKey(sort, root, cb), key), cb.lessThan(caseId, id)));
+                case CLOSEST_TO_GOAL -> cb.and(cb.greaterThanOrEqualTo(sortKey(sort, root, cb), key),
+                        cb.or(cb.greaterThan(sortKey(sort, root, cb), key), cb.lessThan(caseId, id)));
+            };
+        };
+    }
+
+    /**
+     * @return The order of the given sort, with the id as tie breaker.
+     */
+    public static List<Order> orderBy(CaseSort sort, Root<Case> root, CriteriaBuilder cb) {
+        Order newestFirst = cb.desc(root.get("id"));
+        return switch (sort) {
+            case NEWEST -> List.of(newestFirst);
+            case MOST_FUNDED -> List.of(cb.desc(sortKey(sort, root, cb)), newestFirst);
+            case CLOSEST_TO_GOAL -> List.of(cb.asc(sortKey(sort, root, cb)), newestFirst);
+        };
+    }
+
+    /**
+     * @return The value a sort orders by before the id: the amount raised or the amount left to raise.
+     */
+    private static Expression<Double> sortKey(CaseSort sort, Root<Case> root, CriteriaBuilder cb) {
+        return switch (sort) {
+            case NEWEST -> throw new IllegalArgumentException("NEWEST orders by id only");
+            case MOST_FUNDED -> root.get("amountRaised");
+            case CLOSEST_TO_GOAL -> cb.diff(root.<Double>get("goal"), root.<Double>get("amountRaised"));
+        };
+    }
+}
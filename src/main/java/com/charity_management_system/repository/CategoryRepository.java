@@ -1,9 +1,37 @@
 package com.charity_management_system.repository;
 
 import com.charity_management_system.model.Category;
+import com.charity_management_system.repository.projection.CategorySummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
     Category findByName(String name);
+
+    /**
+     * Every category with its case count and total raised, aggregated by the database in a single query.
+     * Categories without cases are included with a count and total of zero.
+     */
+    @Query("""
+            SELECT c.id AS id, c.name AS name, COUNT(k.id) AS caseCount, COALESCE(SUM(k.amountRaised), 0.0) AS totalRaised
+            FROM Category c LEFT JOIN c.caseList k
+            GROUP BY c.id, c.name
+            ORDER BY c.name
+            """)
+    List<CategorySummary> findAllSummaries();
+
+    /**
+     * Every category with its cases and their owners fetched in the same query, for callers that really need the
+     * entity graph.
+     */
+    @Query("""
+            SELECT DISTINCT c FROM Category c
+            LEFT JOIN FETCH c.caseList k
+            LEFT JOIN FETCH k.user
+            ORDER BY c.name
+            """)
+    List<Category> findAllWithCases();
 }
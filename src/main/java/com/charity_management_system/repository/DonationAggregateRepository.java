@@ -0,0 +1,129 @@
+package com.charity_management_system.repository;
+
+import com.charity_management_system.model.Donation;
+import com.charity_management_system.repository.projection.DailyDonationTotals;
+import com.charity_management_system.repository.projection.DonationTotals;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Donation rollups of {@code V12__donation_aggregates.sql}: per case and day in {@code case_donation_daily}, and
+ * striped global, per payment method and per category totals in {@code donation_rollups}.
+ */
+public interface DonationAggregateRepository extends Repository<Donation, Integer> {
+
+    String GLOBAL = "GLOBAL";
+    String PAYMENT_METHOD = "PAYMENT_METHOD";
+    String CATEGORY = "CATEGORY";
+
+    /**
+     * Adds donations to the totals of a case on one day, creating the row on the first donation of the day.
+     *
+     * @param caseId The ID of the case.
+     * @param day    The day the donations were made.
+     * @param count  The number of donations to add.
+     * @param amount The amount to add.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO case_donation_daily (case_id, day, donation_count, total_amount)
+            VALUES (:caseId, :day, :count, :amount)
+            ON CONFLICT (case_id, day) DO UPDATE
+            SET donation_count = case_donation_daily.donation_count + EXCLUDED.donation_count,
+                total_amount = case_donation_daily.total_amount + EXCLUDED.total_amount""", nativeQuery = true)
+    void addToCaseDay(@Param("caseId") int caseId, @Param("day") LocalDate day,
+                      @Param("count") long count, @Param("amount") double amount);
+
+    /**
+     * Adds donations to one stripe of a shared total, creating the stripe on first use.
+     *
+     * @param dimension    {@link #GLOBAL}, {@link #PAYMENT_METHOD} or {@link #CATEGORY}.
+     * @param dimensionKey The payment method name or category id; empty for {@link #GLOBAL}.
+     * @param stripe       The stripe to add to.
+     * @param count        The number of donations to add.
+     * @param amount       The amount to add.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO donation_rollups (dimension, dimension_key, stripe, donation_count, total_amount)
+            VALUES (:dimension, :dimensionKey, :stripe, :count, :amount)
+            ON CONFLICT (dimension, dimension_key, stripe) DO UPDATE
+            SET donation_count = donation_rollups.donation_count + EXCLUDED.donation_count,
+                total_amount = donation_rollups.total_amount + EXCLUDED.total_amount""", nativeQuery = true)
+    void addToRollup(@Param("dimension") String dimension, @Param("dimensionKey") String dimensionKey,
+                     @Param("stripe") int stripe, @Param("count") long count, @Param("amount") double amount);
+
+    /**
+     * Deletes the daily totals of a case, before the case itself is deleted.
+     *
+     * @param caseId The ID of the case.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM case_donation_daily WHERE case_id = :caseId", nativeQuery = true)
+    void deleteCaseDays(@Param("caseId") int caseId);
+
+    /**
+     * Sums the donations of a case per payment method, straight from the donations table.
+     *
+     * @param caseId The ID of the case.
+     * @return One row per payment method, ordered by it, with a null key for donations without one.
+     */
+    @Query(value = """
+            SELECT payment_method AS dimensionKey, count(*) AS donationCount, sum(amount)::float8 AS totalAmount
+            FROM donations
+            WHERE case_id = :caseId
+            GROUP BY payment_method
+            ORDER BY payment_method""", nativeQuery = true)
+    List<DonationTotals> findCaseTotalsByPaymentMethod(@Param("caseId") int caseId);
+
+    /**
+     * Sums the stripes of every total of a dimension.
+     *
+     * @param dimension {@link #GLOBAL}, {@link #PAYMENT_METHOD} or {@link #CATEGORY}.
+     * @return One row per key of the dimension.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT dimension_key AS dimensionKey, sum(donation_count)::bigint AS donationCount,
+                   sum(total_amount)::float8 AS totalAmount
+            FROM donation_rollups
+            WHERE dimension = :dimension
+            GROUP BY dimension_key""", nativeQuery = true)
+    List<DonationTotals> findRollups(@Param("dimension") String dimension);
+
+    /**
+     * Selects the daily totals of a case within a date range.
+     *
+     * @param caseId The ID of the case.
+     * @param from   The first day (inclusive).
+     * @param to     The last day (inclusive).
+     * @return The days with donations, in date order.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT day, donation_count AS donationCount, total_amount AS totalAmount
+            FROM case_donation_daily
+            WHERE case_id = :caseId AND day BETWEEN :from AND :to
+            ORDER BY day""", nativeQuery = true)
+    List<DailyDonationTotals> findCaseDays(@Param("caseId") int caseId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Sums the daily totals of a case; one row per day the case received donations, however many it received.
+     *
+     * @param caseId The ID of the case.
+     * @return The totals of the case, zero if it has no donations.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT '' AS dimensionKey, coalesce(sum(donation_count), 0)::bigint AS donationCount,
+                   coalesce(sum(total_amount), 0)::float8 AS totalAmount
+            FROM case_donation_daily
+            WHERE case_id = :caseId""", nativeQuery = true)
+    DonationTotals findCaseTotals(@Param("caseId") int caseId);
+}
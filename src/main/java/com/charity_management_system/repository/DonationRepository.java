@@ -1,12 +1,93 @@
 package com.charity_management_system.repository;
 
+import com.charity_management_system.dto.DonationHistoryEntry;
+import com.charity_management_system.dto.TopDonor;
 import com.charity_management_system.model.Donation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface DonationRepository extends JpaRepository<Donation, Integer> {
 
+    /**
+     * How a donor {@code u} is shown publicly: first name and last initial.
+     */
+    String DONOR_NAME = "CONCAT(u.firstName, ' ', SUBSTRING(u.lastName, 1, 1), '.')";
+
+    /**
+     * Constructor expression selecting exactly the columns of a {@link DonationHistoryEntry}. Donations whose donor
+     * no longer exists have no name.
+     */
+    String HISTORY_ENTRY_COLUMNS = "new com.charity_management_system.dto.DonationHistoryEntry(d.id, d.amount, "
+            + "d.paymentMethod, d.createdAt, " + DONOR_NAME + ")";
+
+    /**
+     * Constructor expression selecting a {@link TopDonor} from donations {@code d} grouped by donor {@code u}.
+     */
+    String TOP_DONOR_COLUMNS = "new com.charity_management_system.dto.TopDonor(u.id, " + DONOR_NAME
+            + ", COUNT(d), SUM(d.amount))";
+
     List<Donation> findByCaseEntityId(int caseId);
     List<Donation> findAllByUserUsername(String username);
+
+    /**
+     * First page of the donation history of a case, newest first.
+     *
+     * @param caseId The ID of the case.
+     * @param limit  The maximum number of donations to return.
+     * @return The newest donations of the case, empty if it has none or does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + HISTORY_ENTRY_COLUMNS + " FROM Donation d LEFT JOIN d.user u WHERE d.caseEntity.id = :caseId "
+            + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DonationHistoryEntry> findDonationHistory(@Param("caseId") int caseId, Limit limit);
+
+    /**
+     * Keyset page of the donation history of a case, newest first: seeks on {@code idx_donations_case_created} past
+     * the last donation the client has seen.
+     *
+     * @param caseId    The ID of the case.
+     * @param createdAt The time of the last donation of the previous page.
+     * @param id        The id of the last donation of the previous page, breaking ties on time.
+     * @param limit     The maximum number of donations to return.
+     * @return Donations of the case older than the given one, ordered by time and id descending.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + HISTORY_ENTRY_COLUMNS + " FROM Donation d LEFT JOIN d.user u WHERE d.caseEntity.id = :caseId "
+            + "AND d.createdAt <= :createdAt AND (d.createdAt < :createdAt OR d.id < :id) "
+            + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DonationHistoryEntry> findDonationHistoryAfter(@Param("caseId") int caseId,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") int id, Limit limit);
+
+    /**
+     * The donors who gave the most to a case, with their totals. Aggregates every donation of the case, so it is
+     * only used to build the cached leaderboard of a case.
+     *
+     * @param caseId The ID of the case.
+     * @param limit  The maximum number of donors to return.
+     * @return Donors ordered by the total donated, largest first.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + TOP_DONOR_COLUMNS + " FROM Donation d JOIN d.user u WHERE d.caseEntity.id = :caseId "
+            + "GROUP BY u.id, u.firstName, u.lastName ORDER BY SUM(d.amount) DESC, u.id")
+    List<TopDonor> findTopDonors(@Param("caseId") int caseId, Limit limit);
+
+    /**
+     * The total one donor gave to a case, read through {@code idx_donations_user_id}.
+     *
+     * @param caseId The ID of the case.
+     * @param userId The ID of the donor.
+     * @return The donor's total, empty if they never donated to the case.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + TOP_DONOR_COLUMNS + " FROM Donation d JOIN d.user u WHERE d.caseEntity.id = :caseId "
+            + "AND u.id = :userId GROUP BY u.id, u.firstName, u.lastName")
+    Optional<TopDonor> findDonorTotal(@Param("caseId") int caseId, @Param("userId") String userId);
 }
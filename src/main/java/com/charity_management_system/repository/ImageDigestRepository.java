@@ -0,0 +1,19 @@
+package com.charity_management_system.repository;
+
+import com.charity_management_system.model.ImageDigest;
+import com.charity_management_system.model.ImageDigestId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ImageDigestRepository extends JpaRepository<ImageDigest, ImageDigestId> {
+
+    /**
+     * Looks up a stored image by content.
+     *
+     * @param sha256  The hex encoded SHA-256 digest of the image.
+     * @param backend The image store backend the copy must live in.
+     * @return The stored copy, if this image has been stored in that backend before.
+     */
+    Optional<ImageDigest> findBySha256AndBackend(String sha256, String backend);
+}
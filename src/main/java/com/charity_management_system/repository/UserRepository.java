@@ -1,8 +1,15 @@
 package com.charity_management_system.repository;
 
 import com.charity_management_system.model.User;
+import com.charity_management_system.repository.projection.TokenRevocation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
@@ -12,4 +19,26 @@ public interface UserRepository extends JpaRepository<User, String> {
     Boolean existsByEmail(String email);
     Boolean existsByUsername(String username);
 
+    /**
+     * Bumps a user's token version so every JWT issued before is rejected.
+     *
+     * @param username  The username of the user.
+     * @param revokedAt The time of the revocation.
+     * @return The number of updated rows, 0 if the user does not exist.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1, u.tokensRevokedAt = :revokedAt WHERE u.username = :username")
+    int incrementTokenVersion(@Param("username") String username, @Param("revokedAt") LocalDateTime revokedAt);
+
+    /**
+     * Lists the users whose tokens were revoked after the given time, most recent first.
+     *
+     * @param since The lower bound of the revocation time.
+     * @param limit The maximum number of revocations to return.
+     * @return The usernames and current token versions.
+     */
+    @Query("SELECT u.username AS username, u.tokenVersion AS tokenVersion FROM User u " +
+            "WHERE u.tokensRevokedAt > :since ORDER BY u.tokensRevokedAt DESC")
+    List<TokenRevocation> findTokenRevocationsSince(@Param("since") LocalDateTime since, Limit limit);
+
 }
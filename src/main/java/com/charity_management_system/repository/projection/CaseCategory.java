@@ -0,0 +1,10 @@
+package com.charity_management_system.repository.projection;
+
+/**
+ * Row returned by {@code CaseRepository.findCategoryIds}: a case id with the id of its category, if any.
+ */
+public interface CaseCategory {
+
+    Integer getId();
+    Integer getCategoryId();
+}
@@ -0,0 +1,23 @@
+package com.charity_management_system.repository.projection;
+
+/**
+ * Row returned by the full-text case search: the CaseDto columns plus the rank and highlighted snippets
+ * computed by PostgreSQL. The snippets are HTML-escaped text with the matches wrapped in {@code <mark>} tags; the
+ * plain title and description are not escaped.
+ */
+public interface CaseSearchHit {
+
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    String getImagePath();
+    Double getGoal();
+    Double getAmountRaised();
+    String getThumbnailUrl();
+    String getCardUrl();
+    String getFullUrl();
+    String getImagePlaceholder();
+    Float getRank();
+    String getHighlightedTitle();
+    String getHighlightedDescription();
+}
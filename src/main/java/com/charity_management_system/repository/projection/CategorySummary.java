@@ -0,0 +1,12 @@
+package com.charity_management_system.repository.projection;
+
+/**
+ * Row returned by the category summary query: a category with the number of its cases and the total they raised.
+ */
+public interface CategorySummary {
+
+    Integer getId();
+    String getName();
+    Long getCaseCount();
+    Double getTotalRaised();
+}
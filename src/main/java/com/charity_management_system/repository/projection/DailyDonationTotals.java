@@ -0,0 +1,13 @@
+package com.charity_management_system.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Row returned by the per-case daily rollup query: the number and total amount of donations to a case on one day.
+ */
+public interface DailyDonationTotals {
+
+    LocalDate getDay();
+    Long getDonationCount();
+    Double getTotalAmount();
+}
@@ -0,0 +1,12 @@
+package com.charity_management_system.repository.projection;
+
+/**
+ * Row returned by the donation rollup queries: the number and total amount of donations under one key (a payment
+ * method, a category id, or empty for the global totals).
+ */
+public interface DonationTotals {
+
+    String getDimensionKey();
+    Long getDonationCount();
+    Double getTotalAmount();
+}
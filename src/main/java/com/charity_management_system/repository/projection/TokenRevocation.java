@@ -0,0 +1,10 @@
+package com.charity_management_system.repository.projection;
+
+/**
+ * A user's current token version, used to refresh the in-memory revocation registry.
+ */
+public interface TokenRevocation {
+
+    String getUsername();
+    int getTokenVersion();
+}
@@ -0,0 +1,10 @@
+package com.charity_management_system.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface CaseFundingService {
+
+    SseEmitter subscribe(int caseId);
+
+    int getSubscriberCount();
+}
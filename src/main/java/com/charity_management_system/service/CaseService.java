@@ -1,19 +1,25 @@
 package com.charity_management_system.service;
 
+import com.charity_management_system.dto.CaseBrowseRequest;
 import com.charity_management_system.dto.CaseDto;
+import com.charity_management_system.dto.CasePage;
+import com.charity_management_system.dto.CaseSearchResult;
 import com.charity_management_system.model.Case;
+import com.charity_management_system.storage.StagedImage;
 
-import java.io.File;
 import java.util.List;
 
 public interface CaseService {
 
     List<CaseDto> showCases();
+    CasePage getCaseFeed(String cursor, Integer size);
+    CasePage browseCases(CaseBrowseRequest request);
     CaseDto getCase(int caseId);
-    Case createCase(CaseDto caseDTO, String categoryName, File image);
-    Case updateCase(int caseId, CaseDto theCase, File image);
+    Case createCase(CaseDto caseDTO, String categoryName, StagedImage image);
+    Case updateCase(int caseId, CaseDto theCase, StagedImage image);
+    Case replaceCaseImage(int caseId, StagedImage image);
     String deleteCase(int caseId);
     List<CaseDto> getUserCasesByUsername(String username);
     List<CaseDto> getCasesByCategory(int categoryId);
-    List<CaseDto> searchCases(String query);
+    List<CaseSearchResult> searchCases(String query);
 }
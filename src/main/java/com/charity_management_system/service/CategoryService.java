@@ -1,12 +1,24 @@
 package com.charity_management_system.service;
 
+import com.charity_management_system.dto.CategoryCacheStats;
+import com.charity_management_system.dto.CategoryDto;
 import com.charity_management_system.model.Category;
+import com.charity_management_system.repository.projection.CategorySummary;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface CategoryService {
 
-    List<Category> getAllCategories();
+    List<CategoryDto> getAllCategories();
 
-    Category getCategoryById(int categoryId);
+    List<CategorySummary> getCategorySummaries();
+
+    List<Category> getAllCategoriesWithCases();
+
+    CategoryDto getCategoryById(int categoryId);
+
+    Optional<Integer> findCategoryIdByName(String name);
+
+    CategoryCacheStats getCacheStats();
 }
@@ -1,6 +1,9 @@
 package com.charity_management_system.service;
 
+import com.charity_management_system.dto.BulkDonationResult;
+import com.charity_management_system.dto.CaseLeaderboard;
 import com.charity_management_system.dto.DonationDto;
+import com.charity_management_system.dto.DonationPage;
 import com.charity_management_system.model.Donation;
 
 import java.util.List;
@@ -8,6 +11,9 @@ import java.util.List;
 public interface DonationService {
 
     List<Donation> getDonationsByCaseId(int caseId);
+    DonationPage getDonationHistory(int caseId, String cursor, Integer size);
+    CaseLeaderboard getLeaderboard(int caseId);
     Donation makeDonation(DonationDto donation);
+    BulkDonationResult ingestDonations(List<DonationDto> donations);
     List<DonationDto> getUserDonationsByUsername(String username);
 }
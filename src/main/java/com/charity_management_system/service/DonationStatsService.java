@@ -0,0 +1,14 @@
+package com.charity_management_system.service;
+
+import com.charity_management_system.dto.CaseDonationStats;
+import com.charity_management_system.dto.DonationStatsSummary;
+import com.charity_management_system.dto.ReconciliationReport;
+
+import java.time.LocalDate;
+
+public interface DonationStatsService {
+
+    DonationStatsSummary getDonationStats();
+    CaseDonationStats getCaseDonationStats(int caseId, LocalDate from, LocalDate to);
+    ReconciliationReport reconcile();
+}
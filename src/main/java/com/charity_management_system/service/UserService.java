@@ -6,5 +6,6 @@ public interface UserService {
 
 
     UserProfile getUserAccount(String username);
+    String revokeTokens(String username);
 //    User updateUserProfile(User user);
 }
@@ -0,0 +1,379 @@
+package com.charity_management_system.service.impl;
+
+import com.charity_management_system.dto.CaseFundingUpdate;
+import com.charity_management_system.exception.custom.CaseNotFoundException;
+import com.charity_management_system.exception.custom.TooManySubscribersException;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.service.CaseFundingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes the raised amount of a case to the clients watching it, as Server-Sent Events, instead of having every case
+ * page poll the case.
+ *
+ * <p>Committed donations only mark their case as changed. A ticker runs at the configured maximum event rate, reads
+ * the current totals of all changed cases that have subscribers in one query and fans them out, so a case emits at
+ * most that many events per second and the database is read once per tick, however many donations came in and
+ * however many clients are watching.</p>
+ *
+ * <p>The streams are held by the servlet container's asynchronous requests and take no thread while idle; events are
+ * written by a small sender pool. Every subscriber holds at most one pending event, which a newer one replaces, and
+ * has at most one write in flight, so a slow client only ever falls behind to the latest total and never queues
+ * events or holds more than one sender thread. Clients whose writes fail are dropped and reconnect on their own.</p>
+ *
+ * <p>Writes block, so a client that stops reading would keep its sender thread until the container's write timeout
+ * gives up on the connection. A write still in flight after the send timeout is therefore written off: its subscriber
+ * is dropped and the pool gets a thread to replace the one that hangs, up to a limit, so the other subscribers keep
+ * receiving events. The stream is ended once the hung write returns.</p>
+ */
+@Component
+@Slf4j
+public class CaseFundingHub implements CaseFundingService {
+
+    private static final Object HEARTBEAT = new Object();
+
+    /**
+     * A write in flight since the given time.
+     */
+    private record Write(long startedNanos) {
+    }
+
+    // marks a write that took longer than the send timeout; compared by identity
+    private static final Write STALLED = new Write(0);
+
+    private final CaseRepository caseRepository;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final long sendTimeoutNanos;
+    private final int senderThreads;
+    private final int maxStalledSends;
+    private int stalledSends; // guarded by senders
+
+    private final Map<Integer, Set<Subscriber>> subscribersByCase = new ConcurrentHashMap<>();
+    private final Set<Integer> changedCases = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> writing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolExecutor senders;
+
+    private final Counter sentCounter;
+    private final Counter supersededCounter;
+    private final Counter failedCounter;
+    private final Counter stalledCounter;
+
+    public CaseFundingHub(CaseRepository caseRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${cases.funding.stream.max-events-per-second:2}") int maxEventsPerSecond,
+                          @Value("${cases.funding.stream.timeout-ms:1800000}") long timeoutMs,
+                          @Value("${cases.funding.stream.heartbeat-interval-ms:25000}") long heartbeatIntervalMs,
+                          @Value("${cases.funding.stream.max-subscribers:30000}") int maxSubscribers,
+                          @Value("${cases.funding.stream.sender-threads:4}") int senderThreads,
+                          @Value("${cases.funding.stream.send-timeout-ms:5000}") long sendTimeoutMs,
+                          @Value("${cases.funding.stream.max-stalled-sends:64}") int maxStalledSends) {
+        this.caseRepository = caseRepository;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.senderThreads = Math.max(1, senderThreads);
+        this.maxStalledSends = Math.max(0, maxStalledSends);
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "case-funding-ticker"));
+        AtomicInteger threadNumber = new AtomicInteger();
+        // the core size grows by one for every write that hangs, and shrinks again once it returns
+        this.senders = new ThreadPoolExecutor(this.senderThreads, this.senderThreads + this.maxStalledSends,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> daemon(runnable, "case-funding-sender-" + threadNumber.getAndIncrement()));
+
+        Gauge.builder("cases.funding.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open live case funding streams")
+                .register(meterRegistry);
+        this.sentCounter = eventCounter(meterRegistry, "sent");
+        this.supersededCounter = eventCounter(meterRegistry, "superseded");
+        this.failedCounter = eventCounter(meterRegistry, "failed");
+        this.stalledCounter = eventCounter(meterRegistry, "stalled");
+
+        long tickMs = Math.max(1, 1000 / Math.max(1, maxEventsPerSecond));
+        ticker.scheduleAtFixedRate(this::publishChanges, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        ticker.scheduleAtFixedRate(this::sendHeartbeats, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        long checkMs = Math.max(1, sendTimeoutMs / 4);
+        ticker.scheduleAtFixedRate(this::dropStalledSubscribers, checkMs, checkMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cases.funding.events")
+                .description("Live case funding events, by whether they were written, replaced by a newer one before "
+                        + "the client could take them, failed to be written, or were still being written after the "
+                        + "send timeout")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a live funding stream for a case. The current total is sent right away.
+     *
+     * @param caseId The ID of the case.
+     * @return The emitter backing the stream.
+     * @throws CaseNotFoundException       If the case does not exist.
+     * @throws TooManySubscribersException If this node already holds the maximum number of streams.
+     */
+    @Override
+    public SseEmitter subscribe(int caseId) {
+        CaseFundingUpdate current = caseRepository.findFundingByIds(List.of(caseId)).stream().findFirst()
+                .orElseThrow(() -> new CaseNotFoundException("Case Not Found With Id: " + caseId));
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(caseId, emitter, current);
+        return emitter;
+    }
+
+    /**
+     * Adds an emitter to the subscribers of a case and sends it the current total.
+     *
+     * @param caseId  The ID of the case.
+     * @param emitter The emitter to write the events to.
+     * @param current The current total of the case.
+     * @throws TooManySubscribersException If this node already holds the maximum number of streams.
+     */
+    public void register(int caseId, SseEmitter emitter, CaseFundingUpdate current) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TooManySubscribersException("Too many live updates open, try again later");
+        }
+        Subscriber subscriber = new Subscriber(caseId, emitter);
+        subscribersByCase.compute(caseId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(error -> subscriber.remove());
+        subscriber.offer(current);
+    }
+
+    /**
+     * Marks the total of a case as changed, once the current transaction commits, or right away when there is none.
+     * Cases nobody watches are ignored.
+     *
+     * @param caseId The ID of the case.
+     */
+    public void caseFunded(int caseId) {
+        if (!subscribersByCase.containsKey(caseId)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changedCases.add(caseId);
+                }
+            });
+        } else {
+            changedCases.add(caseId);
+        }
+    }
+
+    /**
+     * @return The number of open streams on this node.
+     */
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Reads the totals of the cases changed since the last tick and hands them to their subscribers.
+     */
+    private void publishChanges() {
+        try {
+            List<Integer> caseIds = new ArrayList<>();
+            for (Iterator<Integer> iterator = changedCases.iterator(); iterator.hasNext(); ) {
+                Integer caseId = iterator.next();
+                iterator.remove();
+                if (subscribersByCase.containsKey(caseId)) {
+                    caseIds.add(caseId);
+                }
+            }
+            if (caseIds.isEmpty()) {
+                return;
+            }
+            for (CaseFundingUpdate update : caseRepository.findFundingByIds(caseIds)) {
+                subscribersByCase.getOrDefault(update.getCaseId(), Set.of()).forEach(subscriber -> subscriber.offer(update));
+            }
+        } catch (RuntimeException ex) {
+            // a failed tick must not cancel the schedule; the cases are marked again by their next donation
+            log.warn("Could not publish case funding updates: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes a comment to idle streams, so proxies keep them open and closed connections are noticed.
+     */
+    private void sendHeartbeats() {
+        subscribersByCase.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+    }
+
+    /**
+     * Drops the subscribers whose current write has taken longer than the send timeout, and gives the sender pool a
+     * thread for each, so the hung writes do not hold up the other subscribers.
+     */
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : writing) {
+            Write write = subscriber.write.get();
+            if (write != null && write != STALLED && now - write.startedNanos() > sendTimeoutNanos
+                    && subscriber.write.compareAndSet(write, STALLED)) {
+                stalledCounter.increment();
+                subscriber.remove();
+                resizeSenders(1);
+            }
+        }
+    }
+
+    private void resizeSenders(int stalledDelta) {
+        synchronized (senders) {
+            stalledSends += stalledDelta;
+            senders.setCorePoolSize(senderThreads + Math.min(stalledSends, maxStalledSends));
+        }
+    }
+
+    /**
+     * Ends every open stream; clients reconnect to another node.
+     */
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        subscribersByCase.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * One open stream: the latest event not yet written, and whether a sender is writing to it.
+     */
+    private final class Subscriber {
+
+        private final int caseId;
+        private final SseEmitter emitter;
+        private final AtomicReference<Object> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private final AtomicReference<Write> write = new AtomicReference<>();
+
+        private Subscriber(int caseId, SseEmitter emitter) {
+            this.caseId = caseId;
+            this.emitter = emitter;
+        }
+
+        private void offer(CaseFundingUpdate update) {
+            Object previous = pending.getAndSet(update);
+            if (previous != null && previous != HEARTBEAT) {
+                supersededCounter.increment();
+            }
+            schedule();
+        }
+
+        private void heartbeat() {
+            if (pending.compareAndSet(null, HEARTBEAT)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (!removed.get() && sending.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    sending.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Object event = pending.getAndSet(null);
+                if (event == null) {
+                    sending.set(false);
+                    // an event offered after the swap above but before the flag was cleared has not been scheduled
+                    if (pending.get() == null || !sending.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (!write(event)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Writes one event.
+         *
+         * @return Whether the subscriber can be written to again; not after a failed write or one that was written
+         * off as stalled while it was in flight.
+         */
+        private boolean write(Object event) {
+            boolean written;
+            write.set(new Write(System.nanoTime()));
+            writing.add(this);
+            try {
+                if (event == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    emitter.send(SseEmitter.event().name("funding").data(event, MediaType.APPLICATION_JSON));
+                    sentCounter.increment();
+                }
+                written = true;
+            } catch (IOException | IllegalStateException ex) {
+                // the container completes the request of a failed write itself
+                failedCounter.increment();
+                written = false;
+            }
+            writing.remove(this);
+
+            if (write.getAndSet(null) == STALLED) {
+                // already dropped; the pool no longer needs the thread that replaced this one
+                resizeSenders(-1);
+                if (written) {
+                    emitter.complete();
+                }
+                return false;
+            }
+            if (!written) {
+                remove();
+            }
+            return written;
+        }
+
+        private void remove() {
+            if (removed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                subscribersByCase.computeIfPresent(caseId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+            }
+        }
+    }
+}
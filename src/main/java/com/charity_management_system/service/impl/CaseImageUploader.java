@@ -0,0 +1,311 @@
+package com.charity_management_system.service.impl;
+
+import com.charity_management_system.model.ImageDigest;
+import com.charity_management_system.model.ImageVariants;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.ImageDigestRepository;
+import com.charity_management_system.storage.ImageStore;
+import com.charity_management_system.storage.StagedImage;
+import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uploads case images to the configured {@link ImageStore} in the background, so creating or updating a case never
+ * waits on the storage backend.
+ *
+ * <p>Uploads run on a bounded pool with a bounded queue (on virtual threads when the runtime has them). Each upload
+ * is retried with jittered exponential backoff; once it succeeds the case's image path is patched and its image is
+ * marked ready. An upload that exhausts its attempts, or that does not fit in the queue, marks the image as failed
+ * instead of leaving a silent null. The case itself is listed all along: its image status carries the upload state.</p>
+ *
+ * <p>Images are deduplicated by their SHA-256 digest: an image that has been stored before is linked to the existing
+ * copy without any call to the store, and identical images uploaded at the same time are stored once.</p>
+ *
+ * <p>Once the original is stored, the staged image is handed to the {@link ImageVariantGenerator} for resizing.</p>
+ */
+@Component
+@Slf4j
+public class CaseImageUploader {
+
+    private static final String THREAD_NAME_PREFIX = "image-upload-";
+
+    private final ImageStore imageStore;
+    private final CaseRepository caseRepository;
+    private final ImageDigestRepository imageDigestRepository;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<String>> inFlightUploads = new ConcurrentHashMap<>();
+
+    private final Timer uploadTimer;
+    private final Timer failedUploadTimer;
+    private final Counter retryCounter;
+    private final Counter rejectedCounter;
+    private final Counter dedupHitCounter;
+    private final Counter dedupMissCounter;
+
+    public CaseImageUploader(ImageStore imageStore,
+                             CaseRepository caseRepository,
+                             ImageDigestRepository imageDigestRepository,
+                             ImageVariantGenerator imageVariantGenerator,
+                             MeterRegistry meterRegistry,
+                             @Value("${images.upload.pool-size:4}") int poolSize,
+                             @Value("${images.upload.queue-capacity:200}") int queueCapacity,
+                             @Value("${images.upload.max-attempts:2}") int maxAttempts,
+                             @Value("${images.upload.initial-backoff-ms:500}") long initialBackoffMs,
+                             @Value("${images.upload.max-backoff-ms:10000}") long maxBackoffMs) {
+        this.imageStore = imageStore;
+        this.caseRepository = caseRepository;
+        this.imageDigestRepository = imageDigestRepository;
+        this.imageVariantGenerator = imageVariantGenerator;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), uploadThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.uploadTimer = Timer.builder("images.upload")
+                .description("Time from submitting a case image until it is stored")
+                .tag("backend", imageStore.backend())
+                .tag("outcome", "success")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failedUploadTimer = Timer.builder("images.upload")
+                .description("Time from submitting a case image until it is stored")
+                .tag("backend", imageStore.backend())
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("images.upload.retries")
+                .description("Image upload attempts that were retried")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("images.upload.rejected")
+                .description("Image uploads rejected because the upload queue was full")
+                .register(meterRegistry);
+        this.dedupHitCounter = Counter.builder("images.upload.dedup")
+                .description("Uploaded images that reused an already stored copy")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.dedupMissCounter = Counter.builder("images.upload.dedup")
+                .description("Uploaded images that reused an already stored copy")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("images.upload.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Image uploads waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("images.upload.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Image uploads in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the upload of a case image. Returns immediately; the staging file is deleted once the image and its
+     * variants have been stored.
+     *
+     * @param caseId The ID of the case the image belongs to.
+     * @param image  The staged image to upload.
+     */
+    public void submit(int caseId, StagedImage image) {
+        Optional<ImageDigest> storedCopy = findStoredCopy(image);
+        if (storedCopy.isPresent()) {
+            dedupHitCounter.increment();
+            caseRepository.markImageReady(caseId, storedCopy.get().getUrl());
+            ImageVariants variants = storedCopy.get().getImageVariants();
+            if (variants != null && variants.getFullUrl() != null) {
+                caseRepository.updateImageVariants(caseId, storedCopy.get().getUrl(), variants);
+                deleteStagingFile(image);
+            } else {
+                imageVariantGenerator.submit(caseId, storedCopy.get().getUrl(), image);
+            }
+            log.debug("Image of case {} is a duplicate of {}", caseId, storedCopy.get().getUrl());
+            return;
+        }
+
+        long submittedAt = System.nanoTime();
+        try {
+            executor.execute(() -> upload(caseId, image, submittedAt));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Image upload queue is full, dropping the image of case {}", caseId);
+            rejectedCounter.increment();
+            caseRepository.markImageFailed(caseId);
+            deleteStagingFile(image);
+        }
+    }
+
+    private void upload(int caseId, StagedImage image, long submittedAt) {
+        boolean handedOver = false;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    String imageUrl = storeOnce(image);
+                    caseRepository.markImageReady(caseId, imageUrl);
+                    uploadTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                    log.info("Image of case {} stored in {}. URL: {}", caseId, imageStore.backend(), imageUrl);
+                    imageVariantGenerator.submit(caseId, imageUrl, image);
+                    handedOver = true;
+                    return;
+                } catch (IOException ex) {
+                    if (attempt >= maxAttempts || !isRetryable(ex)) {
+                        throw ex;
+                    }
+                    long backoff = backoffFor(attempt);
+                    log.debug("Image upload of case {} failed on attempt {}/{}, retrying in {} ms: {}", caseId, attempt, maxAttempts, backoff, ex.getMessage());
+                    retryCounter.increment();
+                    Thread.sleep(backoff);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.error("Image upload of case {} failed: {}", caseId, ex.getMessage());
+            caseRepository.markImageFailed(caseId);
+            failedUploadTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            caseRepository.markImageFailed(caseId);
+        } finally {
+            if (!handedOver) {
+                deleteStagingFile(image);
+            }
+        }
+    }
+
+    /**
+     * Stores the image unless an identical one is already stored or being stored by another worker, in which case
+     * that copy's URL is returned.
+     */
+    private String storeOnce(StagedImage image) throws IOException, InterruptedException {
+        if (image.sha256() == null) {
+            dedupMissCounter.increment();
+            return store(image);
+        }
+
+        CompletableFuture<String> upload = new CompletableFuture<>();
+        CompletableFuture<String> concurrentUpload = inFlightUploads.putIfAbsent(image.sha256(), upload);
+        if (concurrentUpload != null) {
+            try {
+                String url = concurrentUpload.get();
+                dedupHitCounter.increment();
+                return url;
+            } catch (ExecutionException ex) {
+                throw new IOException("Concurrent upload of the same image failed", ex.getCause());
+            }
+        }
+
+        try {
+            Optional<ImageDigest> storedCopy = findStoredCopy(image);
+            String url;
+            if (storedCopy.isPresent()) {
+                // stored by an upload that finished while this one was queued
+                dedupHitCounter.increment();
+                url = storedCopy.get().getUrl();
+            } else {
+                dedupMissCounter.increment();
+                url = store(image);
+                rememberStoredCopy(image, url);
+            }
+            upload.complete(url);
+            return url;
+        } catch (IOException | RuntimeException ex) {
+            upload.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightUploads.remove(image.sha256(), upload);
+        }
+    }
+
+    private String store(StagedImage image) throws IOException {
+        return imageStore.store(image.path().getFileName().toString(), image.contentType(), image.path());
+    }
+
+    private Optional<ImageDigest> findStoredCopy(StagedImage image) {
+        if (image.sha256() == null) {
+            return Optional.empty();
+        }
+        try {
+            return imageDigestRepository.findBySha256AndBackend(image.sha256(), imageStore.backend());
+        } catch (DataAccessException ex) {
+            log.warn("Image digest lookup failed, uploading without deduplication: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void rememberStoredCopy(StagedImage image, String url) {
+        try {
+            imageDigestRepository.save(new ImageDigest(image.sha256(), imageStore.backend(), url, image.size(),
+                    image.contentType(), null, LocalDateTime.now()));
+        } catch (DataAccessException ex) {
+            log.warn("Could not index stored image {}: {}", url, ex.getMessage());
+        }
+    }
+
+    private static void deleteStagingFile(StagedImage image) {
+        try {
+            Files.deleteIfExists(image.path());
+        } catch (IOException ex) {
+            log.warn("Could not delete staging file {}: {}", image.path(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Client errors other than timeouts and rate limiting will fail the same way again, so they are not retried.
+     */
+    private static boolean isRetryable(IOException ex) {
+        if (ex instanceof HttpResponseException response) {
+            int status = response.getStatusCode();
+            return status >= 500 || status == 408 || status == 429;
+        }
+        return true;
+    }
+
+    private long backoffFor(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    /**
+     * Uploads are I/O bound, so they run on virtual threads when the runtime provides them (Java 21+). The pool size
+     * still caps how many uploads hit the storage backend at once.
+     */
+    private static ThreadFactory uploadThreadFactory() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+
+    /**
+     * Stops accepting uploads and gives the queued ones a short grace period to finish.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.charity_management_system.service.impl;
+
+import com.charity_management_system.dto.CaseLeaderboard;
+import com.charity_management_system.dto.DonationHistoryEntry;
+import com.charity_management_system.dto.TopDonor;
+import com.charity_management_system.exception.custom.CaseNotFoundException;
+import com.charity_management_system.model.Donation;
+import com.charity_management_system.model.User;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.DonationRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Top donors and most recent donations of the cases people are looking at, kept in memory so a leaderboard does not
+ * aggregate the donations of a case on every page view.
+ *
+ * <p>A case's leaderboard is built from the database the first time it is read, and after that kept current by the
+ * donations committed on this node. Each holds at most a fixed number of top donors, in a min-heap, and of recent
+ * donations, so its size is capped; the least recently used cases are dropped beyond a maximum and rebuilt when read
+ * again.</p>
+ *
+ * <p>Updates carry the donor's total as read in the donation's transaction, while the case row is locked, not an
+ * increment, and recent donations are keyed by id. They are applied once that transaction commits. Applying one twice
+ * or late, or racing with a rebuild, therefore leaves the same result.</p>
+ */
+@Component
+public class CaseLeaderboards {
+
+    private static final Comparator<DonationHistoryEntry> NEWEST_FIRST = Comparator
+            .comparing(DonationHistoryEntry::getCreatedAt)
+            .thenComparingInt(DonationHistoryEntry::getId)
+            .reversed();
+
+    private final DonationRepository donationRepository;
+    private final CaseRepository caseRepository;
+    private final int topDonors;
+    private final int recentDonations;
+
+    // access ordered, so iteration order is least recently used first; guarded by itself
+    private final LinkedHashMap<Integer, Leaderboard> leaderboards;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CaseLeaderboards(DonationRepository donationRepository,
+                            CaseRepository caseRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${donations.leaderboard.top-donors:10}") int topDonors,
+                            @Value("${donations.leaderboard.recent-donations:10}") int recentDonations,
+                            @Value("${donations.leaderboard.max-cases:10000}") int maxCases) {
+        this.donationRepository = donationRepository;
+        this.caseRepository = caseRepository;
+        this.topDonors = Math.max(1, topDonors);
+        this.recentDonations = Math.max(1, recentDonations);
+        this.leaderboards = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Leaderboard> eldest) {
+                return size() > maxCases;
+            }
+        };
+
+        FunctionCounter.builder("donations.leaderboard.requests", hits, AtomicLong::get)
+                .description("Leaderboard reads, by whether the case's leaderboard was already in memory")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("donations.leaderboard.requests", misses, AtomicLong::get)
+                .description("Leaderboard reads, by whether the case's leaderboard was already in memory")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("donations.leaderboard.cases", leaderboards, this::cachedCases)
+                .description("Cases whose leaderboard is held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the leaderboard of a case, building it from the database if it is not in memory.
+     *
+     * @param caseId The ID of the case.
+     * @return A CaseLeaderboard with the top donors, largest total first, and the recent donations, newest first.
+     * @throws CaseNotFoundException If the case does not exist.
+     */
+    public CaseLeaderboard getLeaderboard(int caseId) {
+        Leaderboard leaderboard;
+        synchronized (leaderboards) {
+            leaderboard = leaderboards.computeIfAbsent(caseId, id -> new Leaderboard());
+        }
+        if (leaderboard.loaded) {
+            hits.incrementAndGet();
+        } else {
+            // one reader builds it; donations committed meanwhile are already applied to it and merge with the load
+            synchronized (leaderboard.loadLock) {
+                if (!leaderboard.loaded) {
+                    misses.incrementAndGet();
+                    load(caseId, leaderboard);
+                }
+            }
+        }
+        return leaderboard.snapshot();
+    }
+
+    private void load(int caseId, Leaderboard leaderboard) {
+        List<TopDonor> donors = donationRepository.findTopDonors(caseId, Limit.of(topDonors));
+        List<DonationHistoryEntry> recent = donationRepository.findDonationHistory(caseId, Limit.of(recentDonations));
+        if (donors.isEmpty() && recent.isEmpty() && !caseRepository.existsById(caseId)) {
+            evict(caseId, leaderboard);
+            throw new CaseNotFoundException("Case Not Found With Id: " + caseId);
+        }
+        donors.forEach(leaderboard::offerDonor);
+        recent.forEach(leaderboard::offerDonation);
+        leaderboard.loaded = true;
+    }
+
+    /**
+     * Updates the leaderboards of the donations' cases once the current transaction commits, or right away when there
+     * is none. Must be called in the transaction that recorded the donations, after the case rows were locked: the
+     * donor's totals are read there, so the read needs no connection of its own and sees no later donation. Cases
+     * whose leaderboard is not in memory are skipped; it will be built with the donations.
+     *
+     * @param donor     The donor of all the donations.
+     * @param donations The saved donations.
+     */
+    public void donationsRecorded(User donor, List<Donation> donations) {
+        if (donations.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<Donation>> donationsByCase = new HashMap<>();
+        for (Donation donation : donations) {
+            donationsByCase.computeIfAbsent(donation.getCaseEntity().getId(), id -> new ArrayList<>()).add(donation);
+        }
+
+        String donorName = donorName(donor);
+        List<Runnable> updates = new ArrayList<>();
+        donationsByCase.forEach((caseId, caseDonations) -> {
+            Leaderboard leaderboard;
+            synchronized (leaderboards) {
+                leaderboard = leaderboards.get(caseId);
+            }
+            if (leaderboard == null) {
+                return;
+            }
+            Optional<TopDonor> total = donationRepository.findDonorTotal(caseId, donor.getId());
+            List<DonationHistoryEntry> entries = new ArrayList<>(caseDonations.size());
+            for (Donation donation : caseDonations) {
+                entries.add(new DonationHistoryEntry(donation.getId(), donation.getAmount(),
+                        donation.getPaymentMethod(), donation.getCreatedAt(), donorName));
+            }
+            updates.add(() -> {
+                total.ifPresent(leaderboard::offerDonor);
+                entries.forEach(leaderboard::offerDonation);
+            });
+        });
+
+        afterCommit(() -> updates.forEach(Runnable::run));
+    }
+
+    /**
+     * Drops the leaderboard of a deleted case once the current transaction commits, or right away when there is none.
+     *
+     * @param caseId The ID of the deleted case.
+     */
+    public void caseDeleted(int caseId) {
+        afterCommit(() -> {
+            synchronized (leaderboards) {
+                leaderboards.remove(caseId);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void evict(int caseId, Leaderboard leaderboard) {
+        synchronized (leaderboards) {
+            leaderboards.remove(caseId, leaderboard);
+        }
+    }
+
+    private int cachedCases(Map<Integer, Leaderboard> map) {
+        synchronized (leaderboards) {
+            return map.size();
+        }
+    }
+
+    /**
+     * Same format as {@link DonationRepository#DONOR_NAME}, which also turns a missing name into an empty one.
+     */
+    private static String donorName(User donor) {
+        String firstName = donor.getFirstName() == null ? "" : donor.getFirstName();
+        String lastName = donor.getLastName() == null ? "" : donor.getLastName();
+        return firstName + " " + lastName.substring(0, Math.min(1, lastName.length())) + ".";
+    }
+
+    /**
+     * The leaderboard of one case.
+     */
+    private final class Leaderboard {
+
+        private final Object loadLock = new Object();
+        private volatile boolean loaded;
+
+        // smallest total on top, so a donor who overtakes it replaces it
+        private final PriorityQueue<TopDonor> donorHeap = new PriorityQueue<>(
+                Comparator.comparingDouble(TopDonor::getTotalAmount).thenComparing(TopDonor::getDonorId, Comparator.reverseOrder()));
+        private final Map<String, TopDonor> donorsById = new HashMap<>();
+        private final DonationHistoryEntry[] recent = new DonationHistoryEntry[recentDonations];
+        private int recentCount;
+
+        private synchronized void offerDonor(TopDonor donor) {
+            TopDonor current = donorsById.get(donor.getDonorId());
+            if (current != null) {
+                if (donor.getTotalAmount() <= current.getTotalAmount()) {
+                    return;
+                }
+                donorHeap.remove(current);
+            } else if (donorHeap.size() == topDonors) {
+                if (donorHeap.comparator().compare(donor, donorHeap.peek()) <= 0) {
+                    return;
+                }
+                donorsById.remove(donorHeap.poll().getDonorId());
+            }
+            donorHeap.add(donor);
+            donorsById.put(donor.getDonorId(), donor);
+        }
+
+        /**
+         * Keeps the donation if it is among the newest; when full, it replaces the oldest one held.
+         */
+        private synchronized void offerDonation(DonationHistoryEntry donation) {
+            int oldest = 0;
+            for (int i = 0; i < recentCount; i++) {
+                if (recent[i].getId() == donation.getId()) {
+                    return;
+                }
+                if (NEWEST_FIRST.compare(recent[i], recent[oldest]) > 0) {
+                    oldest = i;
+                }
+            }
+            if (recentCount < recent.length) {
+                recent[recentCount++] = donation;
+            } else if (NEWEST_FIRST.compare(donation, recent[oldest]) < 0) {
+                recent[oldest] = donation;
+            }
+        }
+
+        private synchronized CaseLeaderboard snapshot() {
+            List<TopDonor> donors = new ArrayList<>(donorHeap);
+            donors.sort(donorHeap.comparator().reversed());
+            List<DonationHistoryEntry> donations = new ArrayList<>(Arrays.asList(recent).subList(0, recentCount));
+            donations.sort(NEWEST_FIRST);
+            return new CaseLeaderboard(donors, donations);
+        }
+    }
+}
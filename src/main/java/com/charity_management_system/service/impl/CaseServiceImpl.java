@@ -1,45 +1,82 @@
 package com.charity_management_system.service.impl;
 
-import com.charity_management_system.constant.ApplicationConstants;
+import com.charity_management_system.dto.CaseBrowseRequest;
 import com.charity_management_system.dto.CaseDto;
-import com.charity_management_system.dto.ImageSavingResponse;
+import com.charity_management_system.dto.CasePage;
+import com.charity_management_system.dto.CaseSearchResult;
+import com.charity_management_system.enums.CaseSort;
 import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.enums.ImageStatus;
 import com.charity_management_system.exception.custom.CaseNotFoundException;
 import com.charity_management_system.exception.custom.CategoryNotFoundException;
+import com.charity_management_system.exception.custom.InvalidCursorException;
 import com.charity_management_system.exception.custom.UserNotFoundException;
 import com.charity_management_system.model.Case;
-import com.charity_management_system.model.Category;
 import com.charity_management_system.model.User;
 import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.CaseSpecifications;
 import com.charity_management_system.repository.CategoryRepository;
 import com.charity_management_system.repository.UserRepository;
+import com.charity_management_system.repository.projection.CaseSearchHit;
 import com.charity_management_system.service.CaseService;
-import com.google.api.client.http.FileContent;
-import com.google.api.services.drive.Drive;
-import com.google.api.services.drive.model.Permission;
-import lombok.RequiredArgsConstructor;
+import com.charity_management_system.service.CategoryService;
+import com.charity_management_system.storage.StagedImage;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.util.*;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CaseServiceImpl implements CaseService {
 
     private final CaseRepository caseRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
-    private final Drive drive;
+    private final CategoryService categoryService;
+    private final CaseImageUploader caseImageUploader;
     private final CommonService commonService;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final DonationAggregates donationAggregates;
+    private final CaseLeaderboards caseLeaderboards;
+    private final int defaultFeedPageSize;
+    private final int maxFeedPageSize;
+    private final int maxSearchResults;
 
     private static final Logger logger = LoggerFactory.getLogger(CaseServiceImpl.class);
 
+    public CaseServiceImpl(CaseRepository caseRepository,
+                           UserRepository userRepository,
+                           CategoryRepository categoryRepository,
+                           CategoryService categoryService,
+                           CaseImageUploader caseImageUploader,
+                           CommonService commonService,
+                           RetryingTransactionExecutor retryingTransactionExecutor,
+                           DonationAggregates donationAggregates,
+                           CaseLeaderboards caseLeaderboards,
+                           @Value("${cases.feed.default-page-size:20}") int defaultFeedPageSize,
+                           @Value("${cases.feed.max-page-size:100}") int maxFeedPageSize,
+                           @Value("${cases.search.max-results:50}") int maxSearchResults) {
+        this.caseRepository = caseRepository;
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryService = categoryService;
+        this.caseImageUploader = caseImageUploader;
+        this.commonService = commonService;
+        this.retryingTransactionExecutor = retryingTransactionExecutor;
+        this.donationAggregates = donationAggregates;
+        this.caseLeaderboards = caseLeaderboards;
+        this.defaultFeedPageSize = defaultFeedPageSize;
+        this.maxFeedPageSize = maxFeedPageSize;
+        this.maxSearchResults = maxSearchResults;
+    }
+
     /**
      * Retrieves a list of all cases.
      *
@@ -47,17 +84,94 @@ public class CaseServiceImpl implements CaseService {
      */
     @Override
     public List<CaseDto> showCases() {
-        List<Case> cases = caseRepository.findAll();
+        return caseRepository.findAllCaseDtos();
+    }
 
-        List<CaseDto> caseDtos = new ArrayList<>();
-        cases.forEach(c -> log.info(String.format("Case ID: %d" , c.getId())));
+    /**
+     * Retrieves one page of the case feed, newest cases first.
+     * The page is located by seeking past the id carried in the cursor, so the cost of a page does not
+     * depend on how deep into the feed the client is or on the total number of cases.
+     *
+     * @param cursor The continuation token returned with the previous page, or null for the first page.
+     * @param size   The requested page size, or null for the configured default.
+     * @return A CasePage holding the cases and the cursor of the next page, if any.
+     */
+    @Override
+    public CasePage getCaseFeed(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        int afterId = cursor == null || cursor.isBlank() ? Integer.MAX_VALUE : CursorCodec.decodeInt(cursor);
+
+        // fetch one extra row to find out whether another page exists without a count query
+        List<CaseDto> caseDtos = caseRepository.findCaseDtoPage(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = caseDtos.size() > pageSize;
+        if (hasMore) {
+            caseDtos = caseDtos.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore ? CursorCodec.encode(caseDtos.get(caseDtos.size() - 1).getId()) : null;
+        return new CasePage(caseDtos, nextCursor, hasMore);
+    }
 
-        for (Case c : cases){
-            CaseDto caseDTO = commonService.convertCaseToCaseDTO(c);
-            caseDtos.add(caseDTO);
+    /**
+     * Retrieves one page of cases matching the optional category, status and goal range filters, in the requested
+     * order. Like the feed, pages are located by seeking past the sort key and id carried in the cursor.
+     *
+     * @param request The filters, order, cursor and page size.
+     * @return A CasePage holding the cases and the cursor of the next page, if any.
+     */
+    @Override
+    public CasePage browseCases(CaseBrowseRequest request) {
+        CaseSort sort = request.getSort() == null ? CaseSort.NEWEST : request.getSort();
+        int pageSize = resolvePageSize(request.getSize());
+
+        Specification<Case> specification = Specification.where(CaseSpecifications.hasStatus(request.getStatus()))
+                .and(CaseSpecifications.inCategory(request.getCategoryId()))
+                .and(CaseSpecifications.goalAtLeast(request.getMinGoal()))
+                .and(CaseSpecifications.goalAtMost(request.getMaxGoal()))
+                .and(CaseSpecifications.sortable(sort));
+        String cursor = request.getCursor();
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = CursorCodec.decode(cursor, 3);
+            if (!sort.name().equals(keys[0])) {
+                throw new InvalidCursorException("Cursor was issued for another sort order: " + cursor);
+            }
+            try {
+                specification = specification.and(CaseSpecifications.after(sort, Double.parseDouble(keys[1]), Integer.parseInt(keys[2])));
+            } catch (NumberFormatException ex) {
+                throw new InvalidCursorException("Malformed cursor: " + cursor);
+            }
         }
 
-        return caseDtos;
+        List<CaseDto> caseDtos = caseRepository.browse(specification, sort, pageSize + 1);
+        boolean hasMore = caseDtos.size() > pageSize;
+        if (hasMore) {
+            caseDtos = caseDtos.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            CaseDto last = caseDtos.get(caseDtos.size() - 1);
+            nextCursor = CursorCodec.encode(sort.name(), sortKeyOf(sort, last), last.getId());
+        }
+        return new CasePage(caseDtos, nextCursor, hasMore);
+    }
+
+    /**
+     * Must compute the same value as {@link CaseSpecifications#orderBy} sorts on.
+     */
+    private static double sortKeyOf(CaseSort sort, CaseDto caseDto) {
+        return switch (sort) {
+            case NEWEST -> caseDto.getId();
+            case MOST_FUNDED -> caseDto.getAmountRaised();
+            case CLOSEST_TO_GOAL -> caseDto.getGoal() - caseDto.getAmountRaised();
+        };
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultFeedPageSize;
+        }
+        return Math.min(size, maxFeedPageSize);
     }
 
     private Case getCaseOrThrow(int caseId) {
@@ -73,29 +187,29 @@ public class CaseServiceImpl implements CaseService {
      */
     @Override
     public CaseDto getCase(int caseId) {
-         Case userCase = getCaseOrThrow(caseId);
-        return new CaseDto(userCase.getId(), userCase.getTitle(), userCase.getDescription(), userCase.getImagePath(), userCase.getGoal(), userCase.getAmountRaised());
+        return caseRepository.findCaseDtoById(caseId)
+                .orElseThrow(() -> new CaseNotFoundException("Case not found with ID: " + caseId));
     }
 
     /**
-     * Creates a new case with the specified details and uploads an image to Google Drive.
+     * Creates a new case with the specified details and queues its image for upload to Google Drive.
+     * The case is returned right away, approved, with its image status PENDING until the upload has finished; a
+     * failed upload only marks the image FAILED, so the case stays listed either way.
      *
      * @param caseDTO      The case details.
      * @param categoryName The category of the case.
-     * @param image        The image file to upload.
+     * @param image        The staged image to upload.
      * @return The created Case entity.
      */
     @Override
-    public Case createCase(CaseDto caseDTO, String categoryName, File image) {
-
-        ImageSavingResponse res = processingSavingImagesToDrive(image);
+    public Case createCase(CaseDto caseDTO, String categoryName, StagedImage image) {
 
         Case userCase = new Case();
 
         userCase.setGoal(caseDTO.getGoal());
         userCase.setTitle(caseDTO.getTitle());
         userCase.setDescription(caseDTO.getDescription());
-        userCase.setImagePath(res.getUrl());
+        userCase.setImageStatus(ImageStatus.PENDING);
         userCase.setCaseStatus(CaseStatus.APPROVED);
         userCase.setAmountRaised(0);
 
@@ -107,90 +221,73 @@ public class CaseServiceImpl implements CaseService {
         User caseUser = userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("User Not Found With Username: " + username));
         userCase.setUser(caseUser);
 
-        Category category = categoryRepository.findByName(categoryName);
-        if (category == null) {
-            throw new IllegalArgumentException("Category not found: " + categoryName);
-        }
-        category.getCaseList().add(userCase);
-        userCase.setCategory(category);
-
+        // resolved from the category cache; the reference only carries the id for the foreign key
+        int categoryId = categoryService.findCategoryIdByName(categoryName)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found: " + categoryName));
+        userCase.setCategory(categoryRepository.getReferenceById(categoryId));
 
-        return caseRepository.save(userCase);
+        Case savedCase = caseRepository.save(userCase);
+        caseImageUploader.submit(savedCase.getId(), image);
+        return savedCase;
     }
 
     /**
-     * Updates an existing case with the specified details and uploads an image to Google Drive if provided.
+     * Updates an existing case with the specified details and queues a new image for upload to Google Drive if
+     * provided. The current image stays in place until the new one has been uploaded.
+     * Only the edited columns are written, so donations and image uploads that land meanwhile are kept.
      *
      * @param caseId The ID of the case to update.
      * @param theCase The updated case details.
-     * @param image   The new image file to upload (optional).
+     * @param image   The new staged image to upload (optional).
      * @return The updated Case entity.
      */
     @Override
-    public Case updateCase(int caseId, CaseDto theCase, File image) {
-        Case targetedCase = getCaseOrThrow(caseId);
-        targetedCase.setTitle(theCase.getTitle());
-        targetedCase.setDescription(theCase.getDescription());
-        targetedCase.setGoal(theCase.getGoal());
+    public Case updateCase(int caseId, CaseDto theCase, StagedImage image) {
+        if (caseRepository.updateDetails(caseId, theCase.getTitle(), theCase.getDescription(), theCase.getGoal(), image != null) == 0) {
+            throw new CaseNotFoundException("Case not found with ID: " + caseId);
+        }
         if (image != null){
-            ImageSavingResponse res = processingSavingImagesToDrive(image);
-            targetedCase.setImagePath(res.getUrl());
+            caseImageUploader.submit(caseId, image);
         }
-        return caseRepository.save(targetedCase);
+        return getCaseOrThrow(caseId);
     }
 
     /**
-     * Handles uploading images to Google Drive.
+     * Queues a new image for an existing case without touching its other details.
+     * The current image stays in place until the new one has been uploaded.
      *
-     * @param file The image file to upload.
-     * @return An ImageSavingResponse containing the status and URL of the uploaded image.
+     * @param caseId The ID of the case.
+     * @param image  The staged image to upload.
+     * @return The case, with its image marked as pending.
      */
-    public ImageSavingResponse processingSavingImagesToDrive(File file){
-        ImageSavingResponse res = new ImageSavingResponse();
-        try {
-            String folderId = ApplicationConstants.FOLDER_ID;
-            com.google.api.services.drive.model.File fileMetaData = new com.google.api.services.drive.model.File();
-            fileMetaData.setName(file.getName());
-            fileMetaData.setParents(Collections.singletonList(folderId));
-            FileContent fileContent = new FileContent("image/jpeg", file);
-            com.google.api.services.drive.model.File uploadedFile = drive.files().create(fileMetaData, fileContent)
-                    .setFields("id").execute();
-
-            Permission permission = new Permission();
-            permission.setType("anyone");
-            permission.setRole("reader");
-            drive.permissions().create(uploadedFile.getId(), permission).execute();
-
-            String imageUrl = "https://drive.google.com/thumbnail?id="+uploadedFile.getId()+"&sz=w1000";
-            log.info("Image uploaded to Google Drive. URL: {}", imageUrl);
-            file.delete();
-            res.setStatus(200);
-            res.setMessage("image uploaded successfully to drive");
-            res.setUrl(imageUrl);
-
-        }catch (Exception e){
-            log.debug(e.getMessage());
-            res.setStatus(500);
-            res.setMessage(e.getMessage());
-        }
-
-        return res;
+    @Override
+    public Case replaceCaseImage(int caseId, StagedImage image) {
+        Case targetedCase = getCaseOrThrow(caseId);
+        caseRepository.markImagePending(caseId);
+        targetedCase.setImageStatus(ImageStatus.PENDING);
+        caseImageUploader.submit(caseId, image);
+        return targetedCase;
     }
 
     /**
-     * Deletes a case by its ID.
+     * Deletes a case by its ID, together with its donations.
+     * The case row is locked first, so no donation can be recorded while the case's donations are taken out of the
+     * donation rollups; both happen in the transaction that deletes the case.
      *
      * @param caseId The ID of the case to delete.
      * @return A message indicating whether the case was deleted successfully.
      */
     @Override
     public String deleteCase(int caseId) {
-        if (caseRepository.existsById(caseId)){
+        return retryingTransactionExecutor.execute(status -> {
+            if (caseRepository.lockById(caseId).isEmpty()) {
+                throw new CaseNotFoundException("Case not found with ID: " + caseId);
+            }
+            donationAggregates.remove(caseId);
             caseRepository.deleteById(caseId);
+            caseLeaderboards.caseDeleted(caseId);
             return "Case Deleted Successfully";
-        }else {
-            throw new CaseNotFoundException("Case not found with ID: " + caseId);
-        }
+        });
     }
 
     /**
@@ -201,19 +298,11 @@ public class CaseServiceImpl implements CaseService {
      */
     @Override
     public List<CaseDto> getUserCasesByUsername(String username) {
-
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("User Not Found With Username: " + username));
-        List<Case> cases = user.getCaseList();
-
-        List<CaseDto> caseDtos = new ArrayList<>();
-
-
-        for (Case c : cases){
-            CaseDto caseDTO = commonService.convertCaseToCaseDTO(c);
-            caseDtos.add(caseDTO);
+        List<CaseDto> caseDtos = caseRepository.findCaseDtosByUsername(username);
+        // an empty result does not tell a user without cases from an unknown one
+        if (caseDtos.isEmpty() && !userRepository.existsByUsername(username)) {
+            throw new UserNotFoundException("User Not Found With Username: " + username);
         }
-
-
         return caseDtos;
     }
 
@@ -225,34 +314,33 @@ public class CaseServiceImpl implements CaseService {
      */
     @Override
     public List<CaseDto> getCasesByCategory(int categoryId) {
-        Category category = categoryRepository.findById(categoryId).orElseThrow(() -> new CategoryNotFoundException("Category Not Found With Id: " + categoryId));
-        List<Case> cases = category.getCaseList();
-        List<CaseDto> caseDtos = new ArrayList<>();
-
-        for (Case c: cases){
-            CaseDto caseDTO = commonService.convertCaseToCaseDTO(c);
-            caseDtos.add(caseDTO);
+        List<CaseDto> caseDtos = caseRepository.findCaseDtosByCategoryId(categoryId);
+        if (caseDtos.isEmpty() && !categoryRepository.existsById(categoryId)) {
+            throw new CategoryNotFoundException("Category Not Found With Id: " + categoryId);
         }
-
         return caseDtos;
     }
 
     /**
-     * Searches for cases by their title or description.
+     * Searches for cases by their title or description using the PostgreSQL full-text index.
+     * Results are stemmed, ranked (title matches weigh more than description matches) and highlighted.
      *
      * @param query The search query.
-     * @return A list of CaseDto objects matching the query.
+     * @return A list of CaseSearchResult objects matching the query, best match first.
      */
     @Override
-    public List<CaseDto> searchCases(String query) {
-        List<Case> cases = caseRepository.findByTitleContainingOrDescriptionContaining(query, query);
-        List<CaseDto> caseDtos = new ArrayList<>();
+    public List<CaseSearchResult> searchCases(String query) {
+        if (query == null || query.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        List<CaseSearchHit> hits = caseRepository.searchFullText(query.trim(), maxSearchResults);
+        List<CaseSearchResult> results = new ArrayList<>(hits.size());
 
-        for (Case c: cases){
-            CaseDto caseDTO = commonService.convertCaseToCaseDTO(c);
-            caseDtos.add(caseDTO);
+        for (CaseSearchHit hit : hits){
+            results.add(commonService.convertSearchHitToSearchResult(hit));
         }
 
-        return caseDtos;
+        return results;
     }
 }
@@ -1,39 +1,217 @@
 package com.charity_management_system.service.impl;
 
+import com.charity_management_system.dto.CategoryCacheStats;
+import com.charity_management_system.dto.CategoryDto;
 import com.charity_management_system.exception.custom.CategoryNotFoundException;
 import com.charity_management_system.model.Category;
+import com.charity_management_system.model.CategoryChangeListener;
 import com.charity_management_system.repository.CategoryRepository;
+import com.charity_management_system.repository.projection.CategorySummary;
 import com.charity_management_system.service.CategoryService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Category lookups served from a fully preloaded, immutable in-memory snapshot.
+ *
+ * <p>Categories almost never change, so the whole table is loaded at startup and swapped in as one snapshot
+ * (name to id, id to category, and the sorted list). It is reloaded after a category change is committed through JPA,
+ * and on a configurable interval to pick up changes made elsewhere. A name that is not in the snapshot is looked up
+ * in the database once and triggers a reload when found; so does an unknown id.</p>
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class CategoryServiceImpl implements CategoryService {
 
+    private record Snapshot(Map<String, Integer> idsByName, Map<Integer, CategoryDto> categoriesById,
+                            List<CategoryDto> categories, long version, Instant loadedAt) {
+    }
+
     private final CategoryRepository categoryRepository;
+    private volatile Snapshot snapshot;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    public CategoryServiceImpl(CategoryRepository categoryRepository, MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+
+        FunctionCounter.builder("categories.cache.requests", hits, AtomicLong::get)
+                .description("Category lookups, by whether the category cache could answer them")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("categories.cache.requests", misses, AtomicLong::get)
+                .description("Category lookups, by whether the category cache could answer them")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("categories.cache.reloads", reloads, AtomicLong::get)
+                .description("Reloads of the category cache from the database")
+                .register(meterRegistry);
+    }
 
+    /**
+     * Retrieves all categories from the cache, without querying the database.
+     *
+     * @return A list of all categories, sorted by name.
+     */
+    @Override
+    public List<CategoryDto> getAllCategories() {
+        hits.incrementAndGet();
+        return snapshot().categories();
+    }
 
     /**
-     * Retrieves all categories.
+     * Retrieves every category with the number of its cases and the total they raised, computed by one aggregate
+     * query. Not cached, since the totals move with every donation.
      *
-     * @return A list of all Category entities.
+     * @return A list of category summaries, sorted by name.
      */
     @Override
-    public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+    public List<CategorySummary> getCategorySummaries() {
+        return categoryRepository.findAllSummaries();
     }
 
     /**
-     * Retrieves a category by its ID.
+     * Retrieves all categories with their cases, fetched together in one query.
+     *
+     * @return A list of all categories with their case lists initialized.
+     */
+    @Override
+    public List<Category> getAllCategoriesWithCases() {
+        return categoryRepository.findAllWithCases();
+    }
+
+    /**
+     * Retrieves a category by its ID, from the cache when possible.
      *
      * @param categoryId The ID of the category to retrieve.
-     * @return The Category entity.
+     * @return The ID and name of the category.
+     * @throws CategoryNotFoundException If no category has that ID.
+     */
+    @Override
+    public CategoryDto getCategoryById(int categoryId) {
+        CategoryDto category = snapshot().categoriesById().get(categoryId);
+        if (category != null) {
+            hits.incrementAndGet();
+            return category;
+        }
+
+        misses.incrementAndGet();
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new CategoryNotFoundException("Category Not Found With Id: " + categoryId);
+        }
+        // created since the last reload, without going through this node's persistence context
+        CategoryDto reloaded = reload().categoriesById().get(categoryId);
+        if (reloaded == null) {
+            throw new CategoryNotFoundException("Category Not Found With Id: " + categoryId);
+        }
+        return reloaded;
+    }
+
+    /**
+     * Resolves a category name to its ID, from the cache when possible.
+     *
+     * @param name The name of the category.
+     * @return The ID of the category, or empty if no category has that name.
+     */
+    @Override
+    public Optional<Integer> findCategoryIdByName(String name) {
+        Integer categoryId = snapshot().idsByName().get(name);
+        if (categoryId != null) {
+            hits.incrementAndGet();
+            return Optional.of(categoryId);
+        }
+
+        misses.incrementAndGet();
+        Category category = categoryRepository.findByName(name);
+        if (category == null) {
+            return Optional.empty();
+        }
+        // created since the last reload, without going through this node's persistence context
+        reload();
+        return Optional.of(category.getId());
+    }
+
+    /**
+     * @return Statistics of the category cache.
      */
     @Override
-    public Category getCategoryById(int categoryId) {
-        return categoryRepository.findById(categoryId).orElseThrow(() -> new CategoryNotFoundException("Category Not Found With Id: " + categoryId));
+    public CategoryCacheStats getCacheStats() {
+        Snapshot current = snapshot;
+        return new CategoryCacheStats(current == null ? 0 : current.categories().size(), hits.get(), misses.get(),
+                reloads.get(), current == null ? null : current.loadedAt());
+    }
+
+    /**
+     * Loads the categories as soon as the application is ready, so the first requests do not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        reload();
+    }
+
+    /**
+     * Reloads the categories periodically, to pick up changes that did not go through JPA on this node.
+     */
+    @Scheduled(fixedDelayString = "${categories.cache.refresh-interval-ms:300000}",
+            initialDelayString = "${categories.cache.refresh-interval-ms:300000}")
+    public void refresh() {
+        reload();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || current.version() != CategoryChangeListener.version()) {
+            current = reloadIfStale();
+        }
+        return current;
+    }
+
+    private synchronized Snapshot reloadIfStale() {
+        // another caller may have reloaded while this one waited for the lock
+        Snapshot current = snapshot;
+        if (current != null && current.version() == CategoryChangeListener.version()) {
+            return current;
+        }
+        return reload();
+    }
+
+    private synchronized Snapshot reload() {
+        // read the version first: a change committed during the load leaves the snapshot stale, not silently current
+        long version = CategoryChangeListener.version();
+        List<Category> categories = categoryRepository.findAll();
+
+        Map<String, Integer> idsByName = new HashMap<>();
+        for (Category category : categories) {
+            idsByName.put(category.getName(), category.getId());
+        }
+        List<CategoryDto> sorted = categories.stream()
+                .map(category -> new CategoryDto(category.getId(), category.getName()))
+                .sorted(Comparator.comparing(CategoryDto::getName, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        Map<Integer, CategoryDto> categoriesById = new HashMap<>();
+        for (CategoryDto category : sorted) {
+            categoriesById.put(category.getId(), category);
+        }
+
+        Snapshot loaded = new Snapshot(Map.copyOf(idsByName), Map.copyOf(categoriesById), sorted, version, Instant.now());
+        snapshot = loaded;
+        reloads.incrementAndGet();
+        log.debug("Category cache reloaded, {} categories", sorted.size());
+        return loaded;
     }
 }
@@ -1,9 +1,9 @@
 package com.charity_management_system.service.impl;
 
-import com.charity_management_system.dto.CaseDto;
+import com.charity_management_system.dto.CaseSearchResult;
 import com.charity_management_system.dto.DonationDto;
-import com.charity_management_system.model.Case;
 import com.charity_management_system.model.Donation;
+import com.charity_management_system.repository.projection.CaseSearchHit;
 import org.springframework.stereotype.Service;
 
 /**
@@ -13,20 +13,27 @@ import org.springframework.stereotype.Service;
 public class CommonService {
 
     /**
-     * Converts a Case entity to a CaseDto.
+     * Converts a full-text search hit to a CaseSearchResult.
      *
-     * @param c The Case entity to convert.
-     * @return A CaseDto representing the case.
+     * @param hit The search hit to convert.
+     * @return A CaseSearchResult carrying the case fields, rank and highlighted snippets.
      */
-    public CaseDto convertCaseToCaseDTO(Case c){
-        CaseDto caseDTO = new CaseDto();
-        caseDTO.setId(c.getId());
-        caseDTO.setTitle(c.getTitle());
-        caseDTO.setGoal(c.getGoal());
-        caseDTO.setDescription(c.getDescription());
-        caseDTO.setImagePath(c.getImagePath());
-        caseDTO.setAmountRaised(c.getAmountRaised());
-        return caseDTO;
+    public CaseSearchResult convertSearchHitToSearchResult(CaseSearchHit hit){
+        CaseSearchResult result = new CaseSearchResult();
+        result.setId(hit.getId());
+        result.setTitle(hit.getTitle());
+        result.setGoal(hit.getGoal());
+        result.setDescription(hit.getDescription());
+        result.setImagePath(hit.getImagePath());
+        result.setAmountRaised(hit.getAmountRaised());
+        result.setThumbnailUrl(hit.getThumbnailUrl());
+        result.setCardUrl(hit.getCardUrl());
+        result.setFullUrl(hit.getFullUrl());
+        result.setImagePlaceholder(hit.getImagePlaceholder());
+        result.setRank(hit.getRank());
+        result.setHighlightedTitle(hit.getHighlightedTitle());
+        result.setHighlightedDescription(hit.getHighlightedDescription());
+        return result;
     }
 
     /**
@@ -0,0 +1,77 @@
+package com.charity_management_system.service.impl;
+
+import com.charity_management_system.exception.custom.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used by keyset-paginated endpoints.
+ *
+ * <p>A cursor carries the sort key values of the last row of the previous page, so the next page can be
+ * fetched with a {@code WHERE key < :last} seek on an index instead of an {@code OFFSET} scan.
+ * Clients must treat the token as opaque; its layout may change between versions.</p>
+ */
+public final class CursorCodec {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encodes the given key values into a URL-safe cursor token.
+     *
+     * @param keys The sort key values of the last row of the current page.
+     * @return An opaque cursor token.
+     */
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder(VERSION);
+        for (Object key : keys) {
+            raw.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token back into its key values.
+     *
+     * @param cursor        The cursor token received from the client.
+     * @param expectedParts The number of key values the caller expects.
+     * @return The raw key values, in the order they were encoded.
+     * @throws InvalidCursorException If the token is malformed or was not produced by {@link #encode(Object...)}.
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        if (parts.length != expectedParts + 1 || !VERSION.equals(parts[0])) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+
+        String[] keys = new String[expectedParts];
+        System.arraycopy(parts, 1, keys, 0, expectedParts);
+        return keys;
+    }
+
+    /**
+     * Decodes a single integer key from a cursor token.
+     *
+     * @param cursor The cursor token received from the client.
+     * @return The integer key stored in the cursor.
+     * @throws InvalidCursorException If the token is malformed.
+     */
+    public static int decodeInt(String cursor) {
+        try {
+            return Integer.parseInt(decode(cursor, 1)[0]);
+        } catch (NumberFormatException ex) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+    }
+}
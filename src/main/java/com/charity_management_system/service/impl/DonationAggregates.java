@@ -0,0 +1,153 @@
+package com.charity_management_system.service.impl;
+
+import com.charity_management_system.model.Category;
+import com.charity_management_system.model.Donation;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.DonationAggregateRepository;
+import com.charity_management_system.repository.projection.CaseCategory;
+import com.charity_management_system.repository.projection.DonationTotals;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.charity_management_system.repository.DonationAggregateRepository.*;
+
+/**
+ * Adds recorded donations to the rollups behind the stats API, in the caller's transaction, so the rollups commit
+ * or roll back together with the donations.
+ *
+ * <p>Donations are first summed per row in memory, so a batch writes each rollup row once. The per-case rows are
+ * written first; the shared totals follow in a fixed order (global, payment methods, categories) on one stripe
+ * picked at random, so concurrent writers neither deadlock nor all queue on the same row. Deleting a case takes its
+ * donations back out in the same order.</p>
+ */
+@Component
+public class DonationAggregates {
+
+    private final DonationAggregateRepository aggregateRepository;
+    private final CaseRepository caseRepository;
+    private final int stripes;
+
+    private record CaseDay(int caseId, LocalDate day) {
+    }
+
+    private static final class Totals {
+
+        private long count;
+        private double amount;
+
+        private void add(double donation) {
+            count++;
+            amount += donation;
+        }
+    }
+
+    public DonationAggregates(DonationAggregateRepository aggregateRepository,
+                              CaseRepository caseRepository,
+                              @Value("${donations.aggregates.stripes:8}") int stripes) {
+        this.aggregateRepository = aggregateRepository;
+        this.caseRepository = caseRepository;
+        this.stripes = Math.max(1, stripes);
+    }
+
+    /**
+     * Adds donations to the rollups. Must run in the transaction that saves them.
+     *
+     * @param donations The saved donations, each with its case and creation time set.
+     */
+    public void record(List<Donation> donations) {
+        if (donations.isEmpty()) {
+            return;
+        }
+        Map<Integer, Integer> categoryIds = categoryIdsOf(donations);
+
+        Map<CaseDay, Totals> caseDays = new TreeMap<>(Comparator.comparingInt(CaseDay::caseId).thenComparing(CaseDay::day));
+        Map<String, Totals> paymentMethods = new TreeMap<>();
+        Map<Integer, Totals> categories = new TreeMap<>();
+        Totals global = new Totals();
+        for (Donation donation : donations) {
+            int caseId = donation.getCaseEntity().getId();
+            caseDays.computeIfAbsent(new CaseDay(caseId, donation.getCreatedAt().toLocalDate()), key -> new Totals()).add(donation.getAmount());
+            if (donation.getPaymentMethod() != null) {
+                paymentMethods.computeIfAbsent(donation.getPaymentMethod().name(), key -> new Totals()).add(donation.getAmount());
+            }
+            Integer categoryId = categoryIds.get(caseId);
+            if (categoryId != null) {
+                categories.computeIfAbsent(categoryId, key -> new Totals()).add(donation.getAmount());
+            }
+            global.add(donation.getAmount());
+        }
+
+        caseDays.forEach((key, totals) -> aggregateRepository.addToCaseDay(key.caseId(), key.day(), totals.count, totals.amount));
+
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        aggregateRepository.addToRollup(GLOBAL, "", stripe, global.count, global.amount);
+        paymentMethods.forEach((method, totals) -> aggregateRepository.addToRollup(PAYMENT_METHOD, method, stripe, totals.count, totals.amount));
+        categories.forEach((categoryId, totals) -> aggregateRepository.addToRollup(CATEGORY, categoryId.toString(), stripe, totals.count, totals.amount));
+    }
+
+    /**
+     * Takes the donations of a case out of the rollups before the case is deleted: its daily totals are dropped and
+     * its share of the shared totals is subtracted. Must run in the transaction that deletes the case, after the case
+     * row has been locked so that no donation is recorded in between.
+     *
+     * @param caseId The ID of the case about to be deleted.
+     */
+    public void remove(int caseId) {
+        aggregateRepository.deleteCaseDays(caseId);
+
+        List<DonationTotals> paymentMethods = aggregateRepository.findCaseTotalsByPaymentMethod(caseId);
+        if (paymentMethods.isEmpty()) {
+            return;
+        }
+        Totals global = new Totals();
+        for (DonationTotals totals : paymentMethods) {
+            global.count += totals.getDonationCount();
+            global.amount += totals.getTotalAmount();
+        }
+        Integer categoryId = caseRepository.findCategoryIds(List.of(caseId)).stream()
+                .map(CaseCategory::getCategoryId)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        aggregateRepository.addToRollup(GLOBAL, "", stripe, -global.count, -global.amount);
+        for (DonationTotals totals : paymentMethods) {
+            if (totals.getDimensionKey() != null) {
+                aggregateRepository.addToRollup(PAYMENT_METHOD, totals.getDimensionKey(), stripe, -totals.getDonationCount(), -totals.getTotalAmount());
+            }
+        }
+        if (categoryId != null) {
+            aggregateRepository.addToRollup(CATEGORY, categoryId.toString(), stripe, -global.count, -global.amount);
+        }
+    }
+
+    /**
+     * Maps case ids to category ids, reading them from cases that are already loaded and looking up the rest
+     * (cases attached by reference) in one query.
+     */
+    private Map<Integer, Integer> categoryIdsOf(List<Donation> donations) {
+        Map<Integer, Integer> categoryIds = new HashMap<>();
+        Set<Integer> unresolved = new HashSet<>();
+        for (Donation donation : donations) {
+            if (Hibernate.isInitialized(donation.getCaseEntity())) {
+                Category category = donation.getCaseEntity().getCategory();
+                categoryIds.put(donation.getCaseEntity().getId(), category == null ? null : category.getId());
+            } else {
+                unresolved.add(donation.getCaseEntity().getId());
+            }
+        }
+        unresolved.removeAll(categoryIds.keySet());
+        if (!unresolved.isEmpty()) {
+            for (CaseCategory caseCategory : caseRepository.findCategoryIds(unresolved)) {
+                categoryIds.put(caseCategory.getId(), caseCategory.getCategoryId());
+            }
+        }
+        return categoryIds;
+    }
+}
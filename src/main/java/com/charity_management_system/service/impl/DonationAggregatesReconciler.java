@@ -0,0 +1,242 @@
+package com.charity_management_system.service.impl;
+
+import com.charity_management_system.dto.ReconciliationReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.charity_management_system.repository.DonationAggregateRepository.*;
+
+/**
+ * Recomputes the donation rollups maintained by {@link DonationAggregates} from the raw donations and reports where
+ * they drifted apart.
+ *
+ * <p>The donations are read one month at a time, which matches the monthly partitions of {@code donations}, and the
+ * months are processed in parallel. All workers read the same database snapshot, exported by the coordinating
+ * transaction, so donations recorded while the job runs are either counted everywhere or nowhere and never show up
+ * as drift. Only totals per key are kept in memory, and per case and day only for the month being compared.</p>
+ *
+ * <p>Drift is logged and returned; the rollups are not rewritten.</p>
+ */
+@Component
+@Slf4j
+public class DonationAggregatesReconciler {
+
+    private static final int MAX_SAMPLES = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final boolean enabled;
+    private final int parallelism;
+
+    private record Totals(long count, double amount) {
+
+        private Totals plus(Totals other) {
+            return new Totals(count + other.count, amount + other.amount);
+        }
+
+        private boolean differsFrom(Totals other) {
+            return count != other.count || Math.abs(amount - other.amount) > 1e-6 * Math.max(1, Math.abs(amount));
+        }
+    }
+
+    private record CaseDay(int caseId, LocalDate day) {
+    }
+
+    /**
+     * Raw totals of one month, and the case days of that month whose rollup differs.
+     */
+    private record MonthResult(long donations, Totals global, Map<String, Totals> paymentMethods,
+                               Map<String, Totals> categories, List<String> caseDayDrifts) {
+    }
+
+    public DonationAggregatesReconciler(JdbcTemplate jdbcTemplate,
+                                        DataSource dataSource,
+                                        @Value("${donations.aggregates.reconciliation.enabled:true}") boolean enabled,
+                                        @Value("${donations.aggregates.reconciliation.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        // plain JDBC transactions: the snapshot has to be set before anything else runs in them
+        this.snapshotTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Runs the reconciliation on the configured schedule.
+     */
+    @Scheduled(cron = "${donations.aggregates.reconciliation.cron:0 30 4 * * *}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Recomputes every rollup from the donations and compares it with the stored one.
+     *
+     * @return A ReconciliationReport with the number of drifting rollups per kind and a sample of them.
+     */
+    public ReconciliationReport reconcile() {
+        long start = System.currentTimeMillis();
+        ReconciliationReport report = snapshotTransaction.execute(status -> {
+            String snapshot = jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class);
+            List<YearMonth> months = donationMonths();
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, months.size())));
+            try {
+                List<CompletableFuture<MonthResult>> futures = months.stream()
+                        .map(month -> CompletableFuture.supplyAsync(() -> snapshotTransaction.execute(worker -> {
+                            jdbcTemplate.execute("SET TRANSACTION SNAPSHOT '" + snapshot + "'");
+                            return reconcileMonth(month);
+                        }), executor))
+                        .toList();
+                // the coordinating transaction stays open until every worker has imported its snapshot
+                return compare(months.size(), futures.stream().map(CompletableFuture::join).toList());
+            } finally {
+                executor.shutdown();
+            }
+        });
+
+        report.setDurationMs(System.currentTimeMillis() - start);
+        if (report.getCaseDayDrifts() + report.getPaymentMethodDrifts() + report.getCategoryDrifts() > 0 || report.isGlobalDrift()) {
+            log.warn("Donation rollups drifted: {} case days, {} payment methods, {} categories, global {}; e.g. {}",
+                    report.getCaseDayDrifts(), report.getPaymentMethodDrifts(), report.getCategoryDrifts(),
+                    report.isGlobalDrift(), report.getSamples());
+        } else {
+            log.info("Donation rollups match {} donations over {} months ({} ms)",
+                    report.getDonationsScanned(), report.getChunks(), report.getDurationMs());
+        }
+        return report;
+    }
+
+    private List<YearMonth> donationMonths() {
+        Map<String, Object> range = jdbcTemplate.queryForMap("SELECT min(created_at) AS first, max(created_at) AS last FROM donations");
+        List<YearMonth> months = new ArrayList<>();
+        if (range.get("first") == null) {
+            return months;
+        }
+        YearMonth last = YearMonth.from(((Timestamp) range.get("last")).toLocalDateTime());
+        for (YearMonth month = YearMonth.from(((Timestamp) range.get("first")).toLocalDateTime()); !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    private MonthResult reconcileMonth(YearMonth month) {
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+
+        Map<CaseDay, Totals> caseDays = new HashMap<>();
+        Map<String, Totals> paymentMethods = new HashMap<>();
+        Map<String, Totals> categories = new HashMap<>();
+        Totals[] global = {new Totals(0, 0)};
+        jdbcTemplate.query("""
+                SELECT d.case_id, d.created_at::date, d.payment_method, c.category_id, count(*), sum(d.amount)
+                FROM donations d LEFT JOIN cases c ON c.id = d.case_id
+                WHERE d.created_at >= ? AND d.created_at < ?
+                GROUP BY 1, 2, 3, 4""", rs -> {
+            Totals totals = new Totals(rs.getLong(5), rs.getDouble(6));
+            global[0] = global[0].plus(totals);
+            int caseId = rs.getInt(1);
+            if (!rs.wasNull()) {
+                caseDays.merge(new CaseDay(caseId, rs.getObject(2, LocalDate.class)), totals, Totals::plus);
+            }
+            String paymentMethod = rs.getString(3);
+            if (paymentMethod != null) {
+                paymentMethods.merge(paymentMethod, totals, Totals::plus);
+            }
+            String categoryId = rs.getString(4);
+            if (categoryId != null) {
+                categories.merge(categoryId, totals, Totals::plus);
+            }
+        }, from, to);
+
+        List<String> drifts = new ArrayList<>();
+        jdbcTemplate.query("SELECT case_id, day, donation_count, total_amount FROM case_donation_daily WHERE day >= ? AND day < ?", rs -> {
+            CaseDay key = new CaseDay(rs.getInt(1), rs.getObject(2, LocalDate.class));
+            Totals stored = new Totals(rs.getLong(3), rs.getDouble(4));
+            Totals raw = caseDays.remove(key);
+            if (raw == null ? stored.count() != 0 || stored.amount() != 0 : raw.differsFrom(stored)) {
+                drifts.add(describe("case " + key.caseId() + " on " + key.day(), raw, stored));
+            }
+        }, month.atDay(1), month.plusMonths(1).atDay(1));
+        caseDays.forEach((key, raw) -> drifts.add(describe("case " + key.caseId() + " on " + key.day(), raw, null)));
+
+        return new MonthResult(global[0].count(), global[0], paymentMethods, categories, drifts);
+    }
+
+    private ReconciliationReport compare(int chunks, List<MonthResult> results) {
+        Totals global = new Totals(0, 0);
+        Map<String, Totals> paymentMethods = new HashMap<>();
+        Map<String, Totals> categories = new HashMap<>();
+        List<String> samples = new ArrayList<>();
+        int caseDayDrifts = 0;
+        for (MonthResult result : results) {
+            global = global.plus(result.global());
+            result.paymentMethods().forEach((key, totals) -> paymentMethods.merge(key, totals, Totals::plus));
+            result.categories().forEach((key, totals) -> categories.merge(key, totals, Totals::plus));
+            caseDayDrifts += result.caseDayDrifts().size();
+            result.caseDayDrifts().stream().limit(MAX_SAMPLES - samples.size()).forEach(samples::add);
+        }
+
+        Totals storedGlobal = storedRollups(GLOBAL).getOrDefault("", new Totals(0, 0));
+        boolean globalDrift = global.differsFrom(storedGlobal);
+        if (globalDrift) {
+            samples.add(0, describe("global", global, storedGlobal));
+        }
+        int paymentMethodDrifts = compareDimension(PAYMENT_METHOD, paymentMethods, samples);
+        int categoryDrifts = compareDimension(CATEGORY, categories, samples);
+
+        return new ReconciliationReport(chunks, global.count(), caseDayDrifts, paymentMethodDrifts, categoryDrifts,
+                globalDrift, samples.subList(0, Math.min(samples.size(), MAX_SAMPLES)), 0);
+    }
+
+    private int compareDimension(String dimension, Map<String, Totals> raw, List<String> samples) {
+        Map<String, Totals> stored = storedRollups(dimension);
+        Set<String> keys = new TreeSet<>(raw.keySet());
+        keys.addAll(stored.keySet());
+        int drifts = 0;
+        for (String key : keys) {
+            Totals expected = raw.getOrDefault(key, new Totals(0, 0));
+            Totals actual = stored.getOrDefault(key, new Totals(0, 0));
+            if (expected.differsFrom(actual)) {
+                drifts++;
+                samples.add(describe(dimension.toLowerCase() + " " + key, expected, actual));
+            }
+        }
+        return drifts;
+    }
+
+    private Map<String, Totals> storedRollups(String dimension) {
+        Map<String, Totals> rollups = new HashMap<>();
+        jdbcTemplate.query("SELECT dimension_key, sum(donation_count), sum(total_amount) FROM donation_rollups "
+                + "WHERE dimension = ? GROUP BY dimension_key", rs -> {
+            rollups.put(rs.getString(1), new Totals(rs.getLong(2), rs.getDouble(3)));
+        }, dimension);
+        return rollups;
+    }
+
+    private static String describe(String rollup, Totals raw, Totals stored) {
+        return String.format("%s: donations say %s, rollup says %s", rollup, format(raw), format(stored));
+    }
+
+    private static String format(Totals totals) {
+        return totals == null ? "nothing" : totals.count() + " / " + totals.amount();
+    }
+}
@@ -0,0 +1,171 @@
+package com.charity_management_system.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps the monthly partitions of the {@code donations} table (see {@code V11__partition_donations_by_month.sql})
+ * in step with time.
+ *
+ * <p>Partitions for the current month and the configured number of months ahead are created in advance, so a
+ * donation never arrives for a month without a partition. Each one is created as a plain table and then attached,
+ * which only takes a {@code SHARE UPDATE EXCLUSIVE} lock on {@code donations}; reads and writes carry on meanwhile.
+ * The attach does briefly lock the tables referenced by the foreign keys, so it gives up after a short lock timeout
+ * and is retried on the next run.</p>
+ *
+ * <p>When a retention is configured, partitions of months that fall out of it are detached with
+ * {@code DETACH PARTITION ... CONCURRENTLY} (PostgreSQL 14 or later). The detached tables keep their names and
+ * data, ready to be archived and dropped.</p>
+ */
+@Component
+@Slf4j
+public class DonationPartitionMaintainer {
+
+    private static final String PARTITION_PREFIX = "donations_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    private record Partition(String name, boolean detachPending) {
+    }
+
+    public DonationPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                       TransactionOperations transactionOperations,
+                                       @Value("${donations.partitions.enabled:true}") boolean enabled,
+                                       @Value("${donations.partitions.months-ahead:3}") int monthsAhead,
+                                       @Value("${donations.partitions.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.enabled = enabled;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Creates missing partitions as soon as the application is ready, in case it was down when they were due.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Creates the upcoming partitions and detaches the expired ones.
+     */
+    @Scheduled(cron = "${donations.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        createUpcomingPartitions(current);
+        if (retentionMonths > 0) {
+            detachExpiredPartitions(current.minusMonths(retentionMonths));
+        }
+    }
+
+    /**
+     * Creates the partitions from the given month through the configured number of months ahead that do not
+     * exist yet.
+     *
+     * @param current The month to start from.
+     * @return The names of the partitions that were created.
+     */
+    public List<String> createUpcomingPartitions(YearMonth current) {
+        Set<YearMonth> existing = partitions().keySet();
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (existing.contains(month)) {
+                continue;
+            }
+            String name = partitionName(month);
+            try {
+                transactionOperations.executeWithoutResult(status -> {
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+                    jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE donations INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                    jdbcTemplate.execute("ALTER TABLE donations ATTACH PARTITION " + name + " FOR VALUES FROM ('"
+                            + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                });
+                created.add(name);
+                log.info("Created donation partition {}", name);
+            } catch (DataAccessException ex) {
+                log.warn("Could not create donation partition {}, retrying on the next run: {}", name, ex.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Detaches the partitions of the months before the given one. A detach that was interrupted earlier is
+     * finalized.
+     *
+     * @param oldestKept The oldest month whose partition is kept attached.
+     * @return The names of the partitions that were detached.
+     */
+    public List<String> detachExpiredPartitions(YearMonth oldestKept) {
+        List<String> detached = new ArrayList<>();
+        for (Map.Entry<YearMonth, Partition> entry : partitions().entrySet()) {
+            if (!entry.getKey().isBefore(oldestKept)) {
+                continue;
+            }
+            Partition partition = entry.getValue();
+            try {
+                // CONCURRENTLY cannot run inside a transaction block, so this runs on an auto-commit connection
+                jdbcTemplate.execute("ALTER TABLE donations DETACH PARTITION " + partition.name()
+                        + (partition.detachPending() ? " FINALIZE" : " CONCURRENTLY"));
+                detached.add(partition.name());
+                log.info("Detached donation partition {} for archival", partition.name());
+            } catch (DataAccessException ex) {
+                log.warn("Could not detach donation partition {}, retrying on the next run: {}", partition.name(), ex.getMessage());
+            }
+        }
+        return detached;
+    }
+
+    /**
+     * Lists the attached partitions of {@code donations} by month. Tables that do not follow the naming scheme are
+     * left alone.
+     */
+    private Map<YearMonth, Partition> partitions() {
+        Map<YearMonth, Partition> partitions = new TreeMap<>();
+        jdbcTemplate.query("SELECT c.relname, i.inhdetachpending FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = 'donations'::regclass", rs -> {
+            String name = rs.getString(1);
+            if (!name.startsWith(PARTITION_PREFIX)) {
+                return;
+            }
+            try {
+                YearMonth month = YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+                partitions.put(month, new Partition(name, rs.getBoolean(2)));
+            } catch (DateTimeParseException ignored) {
+                // not one of ours
+            }
+        });
+        return partitions;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
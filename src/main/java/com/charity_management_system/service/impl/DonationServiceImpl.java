@@ -1,7 +1,13 @@
 package com.charity_management_system.service.impl;
 
+import com.charity_management_system.dto.BulkDonationResult;
+import com.charity_management_system.dto.CaseLeaderboard;
 import com.charity_management_system.dto.DonationDto;
+import com.charity_management_system.dto.DonationHistoryEntry;
+import com.charity_management_system.dto.DonationPage;
 import com.charity_management_system.exception.custom.CaseNotFoundException;
+import com.charity_management_system.exception.custom.InvalidCursorException;
+import com.charity_management_system.exception.custom.TooManyDonationsException;
 import com.charity_management_system.exception.custom.UserNotFoundException;
 import com.charity_management_system.model.Case;
 import com.charity_management_system.model.Donation;
@@ -10,21 +16,53 @@ import com.charity_management_system.repository.CaseRepository;
 import com.charity_management_system.repository.DonationRepository;
 import com.charity_management_system.repository.UserRepository;
 import com.charity_management_system.service.DonationService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
 
 @Service
-@RequiredArgsConstructor
 public class DonationServiceImpl implements DonationService {
 
     private final DonationRepository donationRepository;
     private final UserRepository userRepository;
     private final CaseRepository caseRepository;
     private final CommonService commonService;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final DonationAggregates donationAggregates;
+    private final CaseFundingHub caseFundingHub;
+    private final CaseLeaderboards caseLeaderboards;
+    private final int maxBulkSize;
+    private final int defaultHistoryPageSize;
+    private final int maxHistoryPageSize;
+
+    public DonationServiceImpl(DonationRepository donationRepository,
+                               UserRepository userRepository,
+                               CaseRepository caseRepository,
+                               CommonService commonService,
+                               RetryingTransactionExecutor retryingTransactionExecutor,
+                               DonationAggregates donationAggregates,
+                               CaseFundingHub caseFundingHub,
+                               CaseLeaderboards caseLeaderboards,
+                               @Value("${donations.bulk.max-size:5000}") int maxBulkSize,
+                               @Value("${donations.history.default-page-size:20}") int defaultHistoryPageSize,
+                               @Value("${donations.history.max-page-size:100}") int maxHistoryPageSize) {
+        this.donationRepository = donationRepository;
+        this.userRepository = userRepository;
+        this.caseRepository = caseRepository;
+        this.commonService = commonService;
+        this.retryingTransactionExecutor = retryingTransactionExecutor;
+        this.donationAggregates = donationAggregates;
+        this.caseFundingHub = caseFundingHub;
+        this.caseLeaderboards = caseLeaderboards;
+        this.maxBulkSize = maxBulkSize;
+        this.defaultHistoryPageSize = defaultHistoryPageSize;
+        this.maxHistoryPageSize = maxHistoryPageSize;
+    }
 
     /**
      * Retrieves all donations made to a specific case.
@@ -38,8 +76,71 @@ public class DonationServiceImpl implements DonationService {
         return theCase.getDonations();
     }
 
+    /**
+     * Retrieves one page of the donation history of a case, newest first.
+     * Only the amount, payment method, time and donor name are read, and the page seeks past the cursor on an index,
+     * so the cost of a page does not grow with the number of donations the case has received.
+     *
+     * @param caseId The ID of the case.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size   The requested page size, or null for the default; capped at the configured maximum.
+     * @return A DonationPage with the donations and the cursor of the next page, if any.
+     * @throws CaseNotFoundException  If the case does not exist.
+     * @throws InvalidCursorException If the cursor is malformed.
+     */
+    @Override
+    public DonationPage getDonationHistory(int caseId, String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultHistoryPageSize : Math.min(size, maxHistoryPageSize);
+
+        // fetch one extra row to find out whether another page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<DonationHistoryEntry> donations;
+        if (cursor == null || cursor.isBlank()) {
+            donations = donationRepository.findDonationHistory(caseId, limit);
+        } else {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            try {
+                donations = donationRepository.findDonationHistoryAfter(caseId, LocalDateTime.parse(keys[0]), Integer.parseInt(keys[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw new InvalidCursorException("Malformed cursor: " + cursor);
+            }
+        }
+
+        if (donations.isEmpty() && !caseRepository.existsById(caseId)) {
+            throw new CaseNotFoundException("Case Not Found With Id: " + caseId);
+        }
+
+        boolean hasMore = donations.size() > pageSize;
+        String nextCursor = null;
+        if (hasMore) {
+            donations = donations.subList(0, pageSize);
+            DonationHistoryEntry last = donations.get(donations.size() - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+        return new DonationPage(donations, nextCursor, hasMore);
+    }
+
+    /**
+     * Retrieves the top donors and the most recent donations of a case.
+     * The leaderboard is served from memory and only built from the donations when the case has not been read
+     * recently.
+     *
+     * @param caseId The ID of the case.
+     * @return A CaseLeaderboard with the top donors, largest total first, and the recent donations, newest first.
+     * @throws CaseNotFoundException If the case does not exist.
+     */
+    @Override
+    public CaseLeaderboard getLeaderboard(int caseId) {
+        return caseLeaderboards.getLeaderboard(caseId);
+    }
+
     /**
      * Creates a new donation for a case.
+     * The case total is incremented in the database rather than in Java. The case is then loaded once (with its
+     * user and category, but never its donation collection) because the returned donation carries it with the new
+     * total; the bulk path, which returns no entities, attaches a reference instead. The donation rollups are updated
+     * in the same transaction; once it commits, clients watching the case are sent the new total and the case's
+     * leaderboard is updated. Lock contention on a popular case is retried with backoff.
      *
      * @param donationDTO The details of the donation.
      * @return The created Donation entity.
@@ -48,24 +149,105 @@ public class DonationServiceImpl implements DonationService {
     public Donation makeDonation(DonationDto donationDTO) {
 
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return retryingTransactionExecutor.execute(status -> recordDonation(username, donationDTO));
+    }
+
+    private Donation recordDonation(String username, DonationDto donationDTO) {
         User caseUser = userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("user not found"));
 
         int donationCaseId = donationDTO.getCaseId();
-        Case donationCase = caseRepository.findById(donationCaseId).orElseThrow(() -> new CaseNotFoundException("case not found"));
+        if (caseRepository.incrementAmountRaised(donationCaseId, donationDTO.getAmount()) == 0) {
+            throw new CaseNotFoundException("case not found");
+        }
 
-        double raise = donationCase.getAmountRaised() + donationDTO.getAmount();
-        donationCase.setAmountRaised(raise);
+        // the row is locked by the increment above, so this reads the total including this donation
+        Case donationCase = caseRepository.findById(donationCaseId).orElseThrow(() -> new CaseNotFoundException("case not found"));
 
         Donation donation = new Donation();
         donation.setAmount(donationDTO.getAmount());
         donation.setPaymentMethod(donationDTO.getPaymentMethod());
+        donation.setCreatedAt(LocalDateTime.now());
         donation.setCaseEntity(donationCase);
         donation.setUser(caseUser);
 
-        donationCase.getDonations().add(donation);
+        Donation saved = donationRepository.save(donation);
+        donationAggregates.record(List.of(saved));
+        caseFundingHub.caseFunded(donationCaseId);
+        caseLeaderboards.donationsRecorded(caseUser, List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Records a burst of donations in one transaction.
+     * Amounts are summed per case first, so each case receives exactly one increment per call no matter how many
+     * donations target it, and the donation rows are written with batched inserts. Donations pointing at cases that
+     * do not exist, or whose amount is not positive, are skipped and reported back instead of failing the whole batch. The donation rollups are
+     * updated in the same transaction, once per rollup row for the whole batch, and clients watching the cases are
+     * sent the new totals once it commits.
+     *
+     * @param donations The donations to record.
+     * @return A BulkDonationResult with the accepted and rejected counts.
+     * @throws TooManyDonationsException If more donations than the configured maximum are submitted at once.
+     */
+    @Override
+    public BulkDonationResult ingestDonations(List<DonationDto> donations) {
+        if (donations.size() > maxBulkSize) {
+            throw new TooManyDonationsException("At most " + maxBulkSize + " donations can be submitted at once");
+        }
 
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return retryingTransactionExecutor.execute(status -> recordDonations(username, donations));
+    }
+
+    private BulkDonationResult recordDonations(String username, List<DonationDto> donations) {
+        User donor = userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("user not found"));
+
+        // sorted by case id so concurrent batches lock case rows in the same order and cannot deadlock
+        Map<Integer, Double> deltas = new TreeMap<>();
+        for (DonationDto donationDTO : donations) {
+            if (isAcceptable(donationDTO)) {
+                deltas.merge(donationDTO.getCaseId(), donationDTO.getAmount(), Double::sum);
+            }
+        }
+
+        List<Integer> unknownCaseIds = new ArrayList<>();
+        for (Map.Entry<Integer, Double> delta : deltas.entrySet()) {
+            if (caseRepository.incrementAmountRaised(delta.getKey(), delta.getValue()) == 0) {
+                unknownCaseIds.add(delta.getKey());
+            }
+        }
+
+        Set<Integer> rejectedCaseIds = new HashSet<>(unknownCaseIds);
+        List<Donation> accepted = new ArrayList<>(donations.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (DonationDto donationDTO : donations) {
+            Integer caseId = donationDTO.getCaseId();
+            if (!isAcceptable(donationDTO) || rejectedCaseIds.contains(caseId)) {
+                continue;
+            }
+            Donation donation = new Donation();
+            donation.setAmount(donationDTO.getAmount());
+            donation.setPaymentMethod(donationDTO.getPaymentMethod());
+            donation.setCreatedAt(now);
+            donation.setCaseEntity(caseRepository.getReferenceById(caseId));
+            donation.setUser(donor);
+            accepted.add(donation);
+        }
+
+        donationRepository.saveAll(accepted);
+        donationAggregates.record(accepted);
+        caseLeaderboards.donationsRecorded(donor, accepted);
+        for (Integer caseId : deltas.keySet()) {
+            if (!rejectedCaseIds.contains(caseId)) {
+                caseFundingHub.caseFunded(caseId);
+            }
+        }
+        return new BulkDonationResult(accepted.size(), donations.size() - accepted.size(), unknownCaseIds);
+    }
 
-        return donationRepository.save(donation);
+    private static boolean isAcceptable(DonationDto donationDTO) {
+        // a negative amount would quietly lower the case total
+        return donationDTO.getCaseId() != null && Double.isFinite(donationDTO.getAmount()) && donationDTO.getAmount() > 0;
     }
 
     /**
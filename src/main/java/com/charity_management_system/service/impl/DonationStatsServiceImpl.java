@@ -0,0 +1,100 @@
+package com.charity_management_system.service.impl;
+
+import com.charity_management_system.dto.*;
+import com.charity_management_system.enums.PaymentMethod;
+import com.charity_management_system.exception.custom.CaseNotFoundException;
+import com.charity_management_system.exception.custom.InvalidDateRangeException;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.DonationAggregateRepository;
+import com.charity_management_system.repository.projection.DonationTotals;
+import com.charity_management_system.service.DonationStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.charity_management_system.repository.DonationAggregateRepository.*;
+
+@Service
+@RequiredArgsConstructor
+public class DonationStatsServiceImpl implements DonationStatsService {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final DonationAggregateRepository aggregateRepository;
+    private final CaseRepository caseRepository;
+    private final DonationAggregatesReconciler reconciler;
+
+    /**
+     * Retrieves the global donation totals with their breakdown per payment method and per category.
+     * Read from the rollups, so the cost depends on the number of payment methods and categories, not donations.
+     *
+     * @return A DonationStatsSummary with the totals.
+     */
+    @Override
+    public DonationStatsSummary getDonationStats() {
+        DonationStats total = aggregateRepository.findRollups(GLOBAL).stream()
+                .findFirst()
+                .map(DonationStatsServiceImpl::toStats)
+                .orElseGet(() -> new DonationStats(0, 0));
+
+        Map<PaymentMethod, DonationStats> byPaymentMethod = new EnumMap<>(PaymentMethod.class);
+        for (DonationTotals totals : aggregateRepository.findRollups(PAYMENT_METHOD)) {
+            byPaymentMethod.put(PaymentMethod.valueOf(totals.getDimensionKey()), toStats(totals));
+        }
+
+        Map<Integer, DonationStats> byCategory = new TreeMap<>();
+        for (DonationTotals totals : aggregateRepository.findRollups(CATEGORY)) {
+            byCategory.put(Integer.valueOf(totals.getDimensionKey()), toStats(totals));
+        }
+        return new DonationStatsSummary(total, byPaymentMethod, byCategory);
+    }
+
+    /**
+     * Retrieves the donation totals of a case with its daily totals within a date range.
+     * Read from the daily rollups, so the cost depends on the number of days, not donations.
+     *
+     * @param caseId The ID of the case.
+     * @param from   The first day, or null for 30 days before the last one.
+     * @param to     The last day, or null for today.
+     * @return A CaseDonationStats with the totals and the days with donations.
+     * @throws CaseNotFoundException     If the case does not exist.
+     * @throws InvalidDateRangeException If {@code from} is after {@code to}.
+     */
+    @Override
+    public CaseDonationStats getCaseDonationStats(int caseId, LocalDate from, LocalDate to) {
+        DonationStats total = toStats(aggregateRepository.findCaseTotals(caseId));
+        if (total.getDonationCount() == 0 && !caseRepository.existsById(caseId)) {
+            throw new CaseNotFoundException("Case Not Found With Id: " + caseId);
+        }
+
+        LocalDate last = to == null ? LocalDate.now() : to;
+        LocalDate first = from == null ? last.minusDays(DEFAULT_DAYS) : from;
+        if (first.isAfter(last)) {
+            throw new InvalidDateRangeException("from must not be after to");
+        }
+
+        List<DailyDonationStats> days = aggregateRepository.findCaseDays(caseId, first, last).stream()
+                .map(day -> new DailyDonationStats(day.getDay(), day.getDonationCount(), day.getTotalAmount()))
+                .toList();
+        return new CaseDonationStats(caseId, total, days);
+    }
+
+    /**
+     * Recomputes the rollups from the raw donations and reports where they differ.
+     *
+     * @return A ReconciliationReport with the number of drifting rollups.
+     */
+    @Override
+    public ReconciliationReport reconcile() {
+        return reconciler.reconcile();
+    }
+
+    private static DonationStats toStats(DonationTotals totals) {
+        return new DonationStats(totals.getDonationCount(), totals.getTotalAmount());
+    }
+}
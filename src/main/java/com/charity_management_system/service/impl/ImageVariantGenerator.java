@@ -0,0 +1,238 @@
+package com.charity_management_system.service.impl;
+
+import com.charity_management_system.model.ImageDigest;
+import com.charity_management_system.model.ImageVariants;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.ImageDigestRepository;
+import com.charity_management_system.storage.ImageResizer;
+import com.charity_management_system.storage.ImageResizer.ResizedImage;
+import com.charity_management_system.storage.ImageResizer.Variant;
+import com.charity_management_system.storage.ImageStore;
+import com.charity_management_system.storage.StagedImage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the resized variants of case images once the original has been stored, and stores them next to it.
+ *
+ * <p>Resizing is CPU bound, so it runs on its own small pool (half the cores by default) with a bounded queue,
+ * separate from the I/O bound upload workers. When the queue is full the variants are skipped: clients fall back to
+ * the original image. Variants are recorded in the digest index, so a duplicate upload reuses them, and identical
+ * images submitted while their variants are still being generated wait for that generation instead of repeating
+ * it.</p>
+ */
+@Component
+@Slf4j
+public class ImageVariantGenerator {
+
+    private final ImageStore imageStore;
+    private final ImageResizer imageResizer;
+    private final CaseRepository caseRepository;
+    private final ImageDigestRepository imageDigestRepository;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<ImageVariants>> inFlightGenerations = new ConcurrentHashMap<>();
+
+    private final Timer generationTimer;
+    private final Counter failureCounter;
+    private final Counter rejectedCounter;
+
+    public ImageVariantGenerator(ImageStore imageStore,
+                                 ImageResizer imageResizer,
+                                 CaseRepository caseRepository,
+                                 ImageDigestRepository imageDigestRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${images.variants.pool-size:0}") int poolSize,
+                                 @Value("${images.variants.queue-capacity:100}") int queueCapacity) {
+        this.imageStore = imageStore;
+        this.imageResizer = imageResizer;
+        this.caseRepository = caseRepository;
+        this.imageDigestRepository = imageDigestRepository;
+
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.generationTimer = Timer.builder("images.variants")
+                .description("Time to resize and store the variants of a case image")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("images.variants.failures")
+                .description("Case images whose variants could not be generated")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("images.variants.rejected")
+                .description("Case images skipped because the variant queue was full")
+                .register(meterRegistry);
+        Gauge.builder("images.variants.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Case images waiting for their variants")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues variant generation for a stored case image. Takes over the staging file and deletes it when done.
+     *
+     * @param caseId    The ID of the case the image belongs to.
+     * @param sourceUrl The URL the original image was stored under. The variants are only recorded while the case
+     *                  still shows it.
+     * @param image     The staged original image.
+     */
+    public void submit(int caseId, String sourceUrl, StagedImage image) {
+        CompletableFuture<ImageVariants> generation = new CompletableFuture<>();
+        if (image.sha256() != null) {
+            CompletableFuture<ImageVariants> running = inFlightGenerations.putIfAbsent(image.sha256(), generation);
+            if (running != null) {
+                // an identical image is already being resized; its variants are this case's too
+                deleteQuietly(image.path());
+                running.thenAccept(variants -> applyVariants(caseId, sourceUrl, variants));
+                return;
+            }
+        }
+
+        try {
+            executor.execute(() -> generate(caseId, sourceUrl, image, generation));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Image variant queue is full, skipping variants of case {}", caseId);
+            rejectedCounter.increment();
+            deleteQuietly(image.path());
+            finish(image, generation, null);
+        }
+    }
+
+    private void generate(int caseId, String sourceUrl, StagedImage image, CompletableFuture<ImageVariants> generation) {
+        long startTime = System.nanoTime();
+        ImageVariants variants = null;
+        try {
+            variants = findStoredVariants(image).orElse(null);
+            if (variants == null) {
+                variants = createVariants(image);
+                rememberVariants(image, variants);
+            }
+            generationTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not generate image variants of case {}: {}", caseId, ex.getMessage());
+            failureCounter.increment();
+            variants = null;
+        } finally {
+            deleteQuietly(image.path());
+        }
+        if (variants != null) {
+            applyVariants(caseId, sourceUrl, variants);
+        }
+        finish(image, generation, variants);
+    }
+
+    /**
+     * Hands the variants to the cases waiting on an identical image. Without variants they keep the original.
+     */
+    private void finish(StagedImage image, CompletableFuture<ImageVariants> generation, ImageVariants variants) {
+        if (image.sha256() != null) {
+            inFlightGenerations.remove(image.sha256(), generation);
+        }
+        if (variants != null) {
+            generation.complete(variants);
+        } else {
+            generation.completeExceptionally(new IOException("No variants were generated"));
+        }
+    }
+
+    private void applyVariants(int caseId, String sourceUrl, ImageVariants variants) {
+        try {
+            if (caseRepository.updateImageVariants(caseId, sourceUrl, variants) == 0) {
+                log.debug("Case {} no longer shows {}, dropping its variants", caseId, sourceUrl);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not record image variants of case {}: {}", caseId, ex.getMessage());
+            failureCounter.increment();
+        }
+    }
+
+    private ImageVariants createVariants(StagedImage image) throws IOException {
+        ResizedImage resized = imageResizer.resize(image.path());
+        return new ImageVariants(
+                storeVariant(image, Variant.THUMBNAIL, resized.variants().get(Variant.THUMBNAIL)),
+                storeVariant(image, Variant.CARD, resized.variants().get(Variant.CARD)),
+                storeVariant(image, Variant.FULL, resized.variants().get(Variant.FULL)),
+                resized.placeholder());
+    }
+
+    private String storeVariant(StagedImage image, Variant variant, byte[] jpeg) throws IOException {
+        Path variantFile = Files.createTempFile(image.path().getParent(), "variant-", ".jpg");
+        try {
+            Files.write(variantFile, jpeg);
+            return imageStore.store(variant.name().toLowerCase() + "-" + image.path().getFileName(), "image/jpeg", variantFile);
+        } finally {
+            deleteQuietly(variantFile);
+        }
+    }
+
+    private Optional<ImageVariants> findStoredVariants(StagedImage image) {
+        if (image.sha256() == null) {
+            return Optional.empty();
+        }
+        try {
+            return imageDigestRepository.findBySha256AndBackend(image.sha256(), imageStore.backend())
+                    .map(ImageDigest::getImageVariants)
+                    .filter(variants -> variants.getFullUrl() != null);
+        } catch (DataAccessException ex) {
+            log.warn("Image digest lookup failed, generating variants again: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void rememberVariants(StagedImage image, ImageVariants variants) {
+        if (image.sha256() == null) {
+            return;
+        }
+        try {
+            imageDigestRepository.findBySha256AndBackend(image.sha256(), imageStore.backend()).ifPresent(digest -> {
+                digest.setImageVariants(variants);
+                imageDigestRepository.save(digest);
+            });
+        } catch (DataAccessException ex) {
+            log.warn("Could not index image variants: {}", ex.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}: {}", path, ex.getMessage());
+        }
+    }
+
+    /**
+     * Stops accepting work and gives the queued images a short grace period to finish.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.charity_management_system.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs a unit of work in its own transaction and retries it when the database reports a transient,
+ * contention related failure (lock timeouts, deadlocks, serialization failures).
+ *
+ * <p>Each attempt is a fresh transaction so a retried attempt never sees state from a rolled back one.
+ * Attempts are spaced with exponential backoff and full jitter so that writers colliding on the same hot row
+ * do not retry in lockstep.</p>
+ */
+@Component
+@Slf4j
+public class RetryingTransactionExecutor {
+
+    private final TransactionOperations transactionOperations;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public RetryingTransactionExecutor(TransactionOperations transactionOperations,
+                                       @Value("${transactions.retry.max-attempts:5}") int maxAttempts,
+                                       @Value("${transactions.retry.initial-backoff-ms:10}") long initialBackoffMs,
+                                       @Value("${transactions.retry.max-backoff-ms:500}") long maxBackoffMs) {
+        this.transactionOperations = transactionOperations;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    /**
+     * Executes the given callback in a transaction, retrying on transient data access failures.
+     *
+     * @param action The transactional unit of work.
+     * @param <T>    The result type.
+     * @return The result of the first successful attempt.
+     * @throws TransientDataAccessException If every attempt failed with a transient error.
+     */
+    public <T> T execute(TransactionCallback<T> action) {
+        int attempt = 1;
+        while (true) {
+            try {
+                return transactionOperations.execute(action);
+            } catch (TransientDataAccessException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                long backoff = backoffFor(attempt);
+                log.debug("Transient failure on attempt {}/{}, retrying in {} ms: {}", attempt, maxAttempts, backoff, ex.getMessage());
+                sleep(backoff);
+                attempt++;
+            }
+        }
+    }
+
+    private long backoffFor(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry transaction", ex);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.charity_management_system.service.impl;
 
+import com.charity_management_system.config.TokenRevocationRegistry;
 import com.charity_management_system.dto.UserProfile;
 import com.charity_management_system.exception.custom.UserNotFoundException;
 import com.charity_management_system.model.User;
@@ -7,12 +8,16 @@ import com.charity_management_system.repository.UserRepository;
 import com.charity_management_system.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     /**
      * Retrieves the user profile by username.
@@ -26,4 +31,22 @@ public class UserServiceImpl implements UserService {
 
         return new UserProfile(user.getUsername(), user.getEmail(), user.getCaseList(), user.getDonations());
     }
+
+    /**
+     * Revokes every token issued to the user so far by bumping their token version.
+     *
+     * @param username The username of the user.
+     * @return A message indicating that all sessions were signed out.
+     */
+    @Override
+    @Transactional
+    public String revokeTokens(String username){
+        if (userRepository.incrementTokenVersion(username, LocalDateTime.now()) == 0) {
+            throw new UserNotFoundException("User Not Found With Username: " + username);
+        }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User Not Found With Username: " + username));
+        tokenRevocationRegistry.revoke(username, user.getTokenVersion());
+        return "All sessions signed out";
+    }
 }
@@ -0,0 +1,132 @@
+package com.charity_management_system.storage;
+
+/**
+ * Count based circuit breaker.
+ *
+ * <p>The outcomes of the last {@code windowSize} calls are kept in a ring. Once at least {@code minimumCalls} have
+ * been recorded and the share of failures reaches the threshold, the breaker opens and rejects calls for
+ * {@code openDurationMs}. It then lets a single trial call through (half-open): a success closes it with a fresh
+ * window, a failure opens it again.</p>
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+
+    // guarded by "this"
+    private final boolean[] failures;
+    private int recorded;
+    private int next;
+    private int failureCount;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInProgress;
+
+    /**
+     * @param failureRateThreshold The failure percentage (1-100) at which the breaker opens.
+     * @param windowSize           The number of most recent calls the failure rate is computed over.
+     * @param minimumCalls         The number of calls to record before the failure rate is evaluated.
+     * @param openDurationMs       How long the breaker rejects calls before letting a trial call through.
+     */
+    public CircuitBreaker(int failureRateThreshold, int windowSize, int minimumCalls, long openDurationMs) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.failures = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.min(Math.max(1, minimumCalls), failures.length);
+        this.openDurationNanos = openDurationMs * 1_000_000;
+    }
+
+    /**
+     * Asks for permission to make a call. Every granted permission must be followed by {@link #onSuccess()} or
+     * {@link #onFailure()}.
+     *
+     * @return Whether the call may proceed.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            trialInProgress = false;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInProgress) {
+                    yield false;
+                }
+                trialInProgress = true;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Records a successful call.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Records a failed call, opening the breaker if the failure rate reaches the threshold.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failureCount * 100 >= failureRateThreshold * recorded) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Returns a permission that was granted but not used, without recording an outcome.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            trialInProgress = false;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == failures.length) {
+            if (failures[next]) {
+                failureCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        next = (next + 1) % failures.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failureCount = 0;
+        trialInProgress = false;
+    }
+}
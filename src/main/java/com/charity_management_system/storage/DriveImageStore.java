@@ -0,0 +1,192 @@
+package com.charity_management_system.storage;
+
+import com.charity_management_system.constant.ApplicationConstants;
+import com.google.api.client.http.FileContent;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.drive.model.File;
+import com.google.api.services.drive.model.Permission;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stores case images in a Google Drive folder shared with anyone holding the link. Every call goes through the
+ * {@link ResilientDriveClient}.
+ */
+@Component
+@ConditionalOnProperty(name = "images.storage.backend", havingValue = "drive", matchIfMissing = true)
+@Slf4j
+public class DriveImageStore implements ImageStore {
+
+    private static final Pattern URL_PATTERN = Pattern.compile("https://drive\\.google\\.com/thumbnail\\?id=([A-Za-z0-9_-]+)(&.*)?");
+
+    private final ResilientDriveClient driveClient;
+    private final String folderId;
+
+    public DriveImageStore(ResilientDriveClient driveClient,
+                           @Value("${images.storage.drive.folder-id:" + ApplicationConstants.FOLDER_ID + "}") String folderId) {
+        this.driveClient = driveClient;
+        this.folderId = folderId;
+    }
+
+    /**
+     * Uploads the image to the configured folder and grants read access to anyone. If the permission cannot be
+     * granted the uploaded file is deleted again, so a retried upload does not leave an unreachable copy behind.
+     *
+     * <p>The upload is made once, not retried: creating a file is not idempotent, and an attempt that ran past its
+     * deadline may still complete at Drive. Such a late upload deletes its own file, since the caller has already
+     * given up on it.</p>
+     */
+    @Override
+    public String store(String name, String contentType, Path source) throws IOException {
+        File fileMetaData = new File();
+        fileMetaData.setName(name);
+        fileMetaData.setParents(Collections.singletonList(folderId));
+        FileContent fileContent = new FileContent(contentType, source.toFile());
+        Handoff<String> upload = new Handoff<>();
+        String fileId;
+        try {
+            driveClient.executeOnce("files.create", drive -> {
+                String createdId = drive.files().create(fileMetaData, fileContent)
+                        .setFields("id")
+                        .execute()
+                        .getId();
+                if (!upload.complete(createdId)) {
+                    log.warn("Deleting Drive file {} uploaded after its deadline", createdId);
+                    drive.files().delete(createdId).execute();
+                }
+                return null;
+            });
+            fileId = upload.take();
+        } finally {
+            String abandonedId = upload.abandon();
+            if (abandonedId != null) {
+                deleteQuietly(abandonedId);
+            }
+        }
+
+        try {
+            Permission permission = new Permission();
+            permission.setType("anyone");
+            permission.setRole("reader");
+            driveClient.execute("permissions.create", drive -> drive.permissions().create(fileId, permission).execute());
+        } catch (IOException ex) {
+            deleteQuietly(fileId);
+            throw ex;
+        }
+
+        return "https://drive.google.com/thumbnail?id=" + fileId + "&sz=w1000";
+    }
+
+    @Override
+    public Optional<String> keyOf(String url) {
+        if (url == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = URL_PATTERN.matcher(url);
+        return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    /**
+     * Downloads the file content with {@code alt=media}, which is served from Drive's API quota rather than the
+     * rate-limited thumbnail endpoint. The call downloads into a temporary file of its own, which is copied to the
+     * target only once the call has returned: a call abandoned at its deadline may still be reading from Drive after
+     * the caller has moved on, and must not write to a stream the caller has already closed.
+     */
+    @Override
+    public void fetch(String key, OutputStream target) throws IOException {
+        Handoff<Path> download = new Handoff<>();
+        try {
+            driveClient.executeOnce("files.get", drive -> {
+                Path file = Files.createTempFile("drive-fetch-", ".tmp");
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    drive.files().get(key).executeMediaAndDownloadTo(out);
+                } catch (IOException | RuntimeException ex) {
+                    Files.deleteIfExists(file);
+                    throw ex;
+                }
+                if (!download.complete(file)) {
+                    Files.deleteIfExists(file);
+                }
+                return null;
+            });
+            Path file = download.take();
+            try {
+                Files.copy(file, target);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (HttpResponseException ex) {
+            if (ex.getStatusCode() == 404) {
+                throw new NoSuchFileException(key);
+            }
+            throw ex;
+        } finally {
+            Path abandonedFile = download.abandon();
+            if (abandonedFile != null) {
+                Files.deleteIfExists(abandonedFile);
+            }
+        }
+    }
+
+    @Override
+    public String backend() {
+        return "drive";
+    }
+
+    private void deleteQuietly(String fileId) {
+        try {
+            driveClient.execute("files.delete", drive -> drive.files().delete(fileId).execute());
+        } catch (IOException ex) {
+            log.warn("Could not delete unshared Drive file {}: {}", fileId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Hands what a call produced over to the caller, unless the caller stopped waiting first. Whoever ends up holding
+     * the result cleans it up if it is not used.
+     */
+    private static final class Handoff<T> {
+
+        private T result;
+        private boolean abandoned;
+
+        /**
+         * @return False if the caller has stopped waiting; the call must then clean up the result itself.
+         */
+        synchronized boolean complete(T value) {
+            if (abandoned) {
+                return false;
+            }
+            result = value;
+            return true;
+        }
+
+        synchronized T take() {
+            T taken = result;
+            result = null;
+            return taken;
+        }
+
+        /**
+         * @return A result the call completed but the caller did not take, which the caller must clean up.
+         */
+        synchronized T abandon() {
+            abandoned = true;
+            T left = result;
+            result = null;
+            return left;
+        }
+    }
+}
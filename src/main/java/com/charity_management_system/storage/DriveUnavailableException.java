@@ -0,0 +1,13 @@
+package com.charity_management_system.storage;
+
+import java.io.IOException;
+
+/**
+ * Thrown without contacting Google Drive when the circuit breaker is open or too many calls are already in flight.
+ */
+public class DriveUnavailableException extends IOException {
+
+    public DriveUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,289 @@
+package com.charity_management_system.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Size-capped LRU cache of stored images on the local disk, so each image is fetched from the storage backend once
+ * per node instead of once per page view.
+ *
+ * <p>Concurrent misses for the same image share a single fetch. Cached files are written to a temporary file and
+ * atomically renamed, and carry a strong ETag derived from their content. The cache is disposable: it is emptied on
+ * startup and rebuilt on demand.</p>
+ *
+ * <p>A returned path is opened by the caller (or by Tomcat's sendfile, after the controller has returned) outside this
+ * cache's lock, so evicted files are only deleted after a grace period, and every fetch writes a new file name, so a
+ * re-fetched image never reuses the name of an evicted copy that may still be in use.</p>
+ */
+@Component
+@Slf4j
+public class ImageCache {
+
+    /**
+     * An image held in the cache.
+     *
+     * @param path        The cached file.
+     * @param contentType The MIME type sniffed from the content.
+     * @param size        The size in bytes.
+     * @param etag        A strong, quoted entity tag of the content.
+     */
+    public record CachedImage(Path path, String contentType, long size, String etag) {
+    }
+
+    private record EvictedFile(Path path, long deleteAfterNanos) {
+    }
+
+    private static final int SNIFF_LENGTH = 12;
+
+    private final ImageStore imageStore;
+    private final Path directory;
+    private final long maxBytes;
+    private final long evictionGraceNanos;
+
+    // access-ordered, so iteration starts at the least recently used image; guarded by "this"
+    private final LinkedHashMap<String, CachedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    // evicted files in eviction order, waiting out the grace period; guarded by "this"
+    private final ArrayDeque<EvictedFile> evicted = new ArrayDeque<>();
+    private final AtomicLong fetchSequence = new AtomicLong();
+    private final Map<String, CompletableFuture<CachedImage>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Timer fetchTimer;
+
+    public ImageCache(ImageStore imageStore,
+                      MeterRegistry meterRegistry,
+                      @Value("${images.cache.dir:${java.io.tmpdir}/charity-image-cache}") Path directory,
+                      @Value("${images.cache.max-bytes:536870912}") long maxBytes,
+                      @Value("${images.cache.eviction-grace-ms:30000}") long evictionGraceMs) throws IOException {
+        this.imageStore = imageStore;
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        this.evictionGraceNanos = TimeUnit.MILLISECONDS.toNanos(evictionGraceMs);
+        clear();
+
+        this.hitCounter = Counter.builder("images.cache.requests")
+                .description("Image proxy requests, by whether the image was already cached")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("images.cache.requests")
+                .description("Image proxy requests, by whether the image was already cached")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("images.cache.evictions")
+                .description("Images removed from the cache to stay under its size cap")
+                .register(meterRegistry);
+        this.fetchTimer = Timer.builder("images.cache.fetch")
+                .description("Time to copy an image from the storage backend into the cache")
+                .tag("backend", imageStore.backend())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("images.cache.size", this, ImageCache::totalBytes)
+                .description("Bytes held in the image cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("images.cache.entries", this, ImageCache::entryCount)
+                .description("Images held in the image cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a cached copy of a stored image, fetching it from the storage backend on a miss.
+     *
+     * @param url The image URL as returned by the storage backend.
+     * @return The cached image, or empty if the URL was not issued by the active storage backend.
+     * @throws java.nio.file.NoSuchFileException If the backend has no such image.
+     * @throws IOException                       If the image could not be fetched.
+     */
+    public Optional<CachedImage> get(String url) throws IOException {
+        Optional<String> key = imageStore.keyOf(url);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CachedImage cached = lookup(key.get());
+        if (cached != null) {
+            hitCounter.increment();
+            return Optional.of(cached);
+        }
+
+        CompletableFuture<CachedImage> fetch = new CompletableFuture<>();
+        CompletableFuture<CachedImage> running = inFlight.putIfAbsent(key.get(), fetch);
+        if (running != null) {
+            // another request is already fetching this image
+            hitCounter.increment();
+            return Optional.of(await(running));
+        }
+        try {
+            // the fetch that just finished may have removed its future between our lookup and putIfAbsent
+            cached = lookup(key.get());
+            if (cached != null) {
+                hitCounter.increment();
+            } else {
+                missCounter.increment();
+                cached = fetchTimer.recordCallable(() -> download(key.get()));
+                admit(key.get(), cached);
+                deleteEvicted();
+            }
+            fetch.complete(cached);
+            return Optional.of(cached);
+        } catch (Exception ex) {
+            fetch.completeExceptionally(ex);
+            throw rethrow(ex);
+        } finally {
+            inFlight.remove(key.get(), fetch);
+        }
+    }
+
+    private synchronized CachedImage lookup(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void admit(String key, CachedImage image) {
+        entries.put(key, image);
+        totalBytes += image.size();
+
+        Iterator<Map.Entry<String, CachedImage>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedImage> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                // an image larger than the whole cache is still served once
+                continue;
+            }
+            eldest.remove();
+            totalBytes -= entry.getValue().size();
+            evictionCounter.increment();
+            evicted.add(new EvictedFile(entry.getValue().path(), System.nanoTime() + evictionGraceNanos));
+        }
+    }
+
+    /**
+     * Deletes the evicted files whose grace period is over. Runs after every fetch and on a schedule, so files evicted
+     * just before the cache goes quiet are removed as well.
+     */
+    @Scheduled(fixedDelayString = "${images.cache.eviction-grace-ms:30000}")
+    public void deleteEvicted() {
+        List<Path> due = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            while (!evicted.isEmpty() && evicted.peek().deleteAfterNanos() - now <= 0) {
+                due.add(evicted.poll().path());
+            }
+        }
+        due.forEach(ImageCache::deleteQuietly);
+    }
+
+    private CachedImage download(String key) throws IOException {
+        Path temp = Files.createTempFile(directory, ".fetch-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), digest)) {
+                imageStore.fetch(key, out);
+            }
+            String contentType = sniffContentType(temp);
+            String etag = "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+
+            Path target = directory.resolve(HexFormat.of().formatHex(
+                    sha256().digest((imageStore.backend() + ":" + key).getBytes(StandardCharsets.UTF_8)))
+                    + "-" + fetchSequence.incrementAndGet());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new CachedImage(target, contentType, Files.size(target), etag);
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(temp);
+            throw ex;
+        }
+    }
+
+    private static String sniffContentType(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            String contentType = ImageStager.sniffContentType(in.readNBytes(SNIFF_LENGTH));
+            return contentType != null ? contentType : "application/octet-stream";
+        }
+    }
+
+    private static CachedImage await(CompletableFuture<CachedImage> fetch) throws IOException {
+        try {
+            return fetch.get();
+        } catch (ExecutionException | CompletionException ex) {
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an image fetch", ex);
+        }
+    }
+
+    private static IOException rethrow(Throwable error) {
+        if (error instanceof IOException io) {
+            return io;
+        }
+        if (error instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(error);
+    }
+
+    private synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private void clear() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isRegularFile).forEach(ImageCache::deleteQuietly);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete cached image {}: {}", path, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.charity_management_system.storage;
+
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Produces the resized JPEG variants of a case image and its inline placeholder.
+ *
+ * <p>Large sources are decoded with source subsampling, so decoding a 6000px photo never materialises more than
+ * about twice the largest variant's pixels. Each variant is scaled down from the next larger one in halving steps,
+ * which keeps bilinear filtering sharp without the cost of area averaging. Images are never scaled up.</p>
+ */
+@Component
+public class ImageResizer {
+
+    /**
+     * The generated sizes, by target width in pixels.
+     */
+    public enum Variant {
+        FULL(1000),
+        CARD(480),
+        THUMBNAIL(160);
+
+        private final int width;
+
+        Variant(int width) {
+            this.width = width;
+        }
+
+        public int width() {
+            return width;
+        }
+    }
+
+    /**
+     * The resized images: JPEG bytes per variant and the placeholder as a {@code data:} URI.
+     */
+    public record ResizedImage(Map<Variant, byte[]> variants, String placeholder) {
+    }
+
+    private static final int PLACEHOLDER_WIDTH = 16;
+    private static final float VARIANT_QUALITY = 0.82f;
+    private static final float PLACEHOLDER_QUALITY = 0.5f;
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L;
+
+    /**
+     * Decodes an image and renders every variant.
+     *
+     * @param source The image file (JPEG, PNG or GIF).
+     * @return The encoded variants and placeholder.
+     * @throws IOException If the image cannot be decoded, its format is not supported by ImageIO (WebP) or it is
+     *                     implausibly large.
+     */
+    public ResizedImage resize(Path source) throws IOException {
+        BufferedImage current = decode(source, Variant.FULL.width());
+
+        Map<Variant, byte[]> variants = new EnumMap<>(Variant.class);
+        for (Variant variant : Variant.values()) {
+            current = scaleToWidth(current, variant.width());
+            variants.put(variant, encodeJpeg(current, VARIANT_QUALITY));
+        }
+
+        BufferedImage placeholder = scaleToWidth(current, PLACEHOLDER_WIDTH);
+        String placeholderUri = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(encodeJpeg(placeholder, PLACEHOLDER_QUALITY));
+        return new ResizedImage(variants, placeholderUri);
+    }
+
+    private static BufferedImage decode(Path source, int targetWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + source.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image is too large to resize: " + width + "x" + height);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                // keep at least twice the target width so the final halving step still has detail to filter
+                int subsampling = width / (targetWidth * 2);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scaleToWidth(BufferedImage source, int targetWidth) {
+        BufferedImage current = toRgb(source);
+        if (current.getWidth() <= targetWidth) {
+            return current;
+        }
+        int targetHeight = Math.max(1, (int) Math.round(current.getHeight() * (double) targetWidth / current.getWidth()));
+        int width = current.getWidth();
+        int height = current.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /**
+     * JPEG has no alpha channel: transparent areas are flattened onto white.
+     */
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, source.getWidth(), source.getHeight());
+            graphics.drawImage(source, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,151 @@
+package com.charity_management_system.storage;
+
+import com.charity_management_system.exception.custom.ImageTooLargeException;
+import com.charity_management_system.exception.custom.ImageUploadsDisabledException;
+import com.charity_management_system.exception.custom.UnsupportedImageTypeException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Streams uploaded images into the staging directory, where they wait for the background upload to the image store.
+ *
+ * <p>The image is copied with a fixed-size buffer straight from the request stream, so memory use does not depend on
+ * the image size and the bytes hit the disk once. The content type is sniffed from the leading bytes rather than
+ * trusted from the client, and the size limit is enforced while copying: an oversized upload is cut off as soon as
+ * it crosses the limit instead of after it has been received in full. The SHA-256 digest used for deduplication is
+ * computed in the same pass.</p>
+ */
+@Component
+@Slf4j
+public class ImageStager {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SNIFF_LENGTH = 12;
+
+    private final Path stagingDirectory;
+    private final long maxBytes;
+    private final boolean uploadsEnabled;
+
+    public ImageStager(@Value("${images.upload.staging-dir:${java.io.tmpdir}/charity-image-staging}") Path stagingDirectory,
+                       @Value("${images.upload.max-bytes:10485760}") long maxBytes,
+                       @Value("${images.upload.enabled:true}") boolean uploadsEnabled) {
+        this.stagingDirectory = stagingDirectory;
+        this.maxBytes = maxBytes;
+        this.uploadsEnabled = uploadsEnabled;
+    }
+
+    /**
+     * Copies an image from the given stream into a new staging file. The stream is read to the end (or to the size
+     * limit) but not closed.
+     *
+     * @param content The image bytes, typically the request or multipart part stream.
+     * @return The staged image.
+     * @throws ImageUploadsDisabledException  If this node is read-only ({@code images.upload.enabled=false}).
+     * @throws ImageTooLargeException         If the image is larger than {@code images.upload.max-bytes}.
+     * @throws UnsupportedImageTypeException If the bytes are not a JPEG, PNG, GIF or WebP image.
+     * @throws IOException                   If the stream cannot be read or the staging file written.
+     */
+    public StagedImage stage(InputStream content) throws IOException {
+        if (!uploadsEnabled) {
+            throw new ImageUploadsDisabledException("Image uploads are disabled on this node");
+        }
+        byte[] header = content.readNBytes(SNIFF_LENGTH);
+        String contentType = sniffContentType(header);
+        if (contentType == null) {
+            throw new UnsupportedImageTypeException("Only JPEG, PNG, GIF and WebP images are accepted");
+        }
+
+        Files.createDirectories(stagingDirectory);
+        Path stagingFile = Files.createTempFile(stagingDirectory, "image-", ".upload");
+        MessageDigest digest = sha256();
+        try (OutputStream out = Files.newOutputStream(stagingFile)) {
+            out.write(header);
+            digest.update(header);
+            long size = header.length;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                size += read;
+                if (size > maxBytes) {
+                    throw new ImageTooLargeException("Image exceeds the maximum size of " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+                digest.update(buffer, 0, read);
+            }
+            return new StagedImage(stagingFile, contentType, size, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(stagingFile);
+            throw ex;
+        }
+    }
+
+    /**
+     * Deletes a staged image that will not be uploaded, for example because the case it belonged to was rejected.
+     *
+     * @param image The staged image, may be null.
+     */
+    public void discard(StagedImage image) {
+        if (image == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(image.path());
+        } catch (IOException ex) {
+            log.warn("Could not delete staging file {}: {}", image.path(), ex.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Identifies an image format from its magic number.
+     *
+     * @param header The first bytes of the file.
+     * @return The MIME type, or null if the format is not one of the accepted image types.
+     */
+    static String sniffContentType(byte[] header) {
+        if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(header, 'G', 'I', 'F', '8') && header.length >= 6 && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return "image/gif";
+        }
+        if (startsWith(header, 'R', 'I', 'F', 'F') && header.length >= 12
+                && Arrays.equals(header, 8, 12, new byte[]{'W', 'E', 'B', 'P'}, 0, 4)) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int... magic) {
+        if (header.length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package com.charity_management_system.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Storage backend for case images.
+ *
+ * <p>The active implementation is selected with {@code images.storage.backend} ({@code drive} by default, or
+ * {@code local}). Implementations must be safe to call from several upload workers at once.</p>
+ */
+public interface ImageStore {
+
+    /**
+     * Stores an image and makes it publicly readable.
+     *
+     * @param name        The original file name, used as a hint only.
+     * @param contentType The MIME type of the image.
+     * @param source      The file holding the image bytes. It is not modified or deleted.
+     * @return The URL clients load the stored image from.
+     * @throws IOException If the image could not be stored. Nothing is left behind in that case.
+     */
+    String store(String name, String contentType, Path source) throws IOException;
+
+    /**
+     * Recognises a URL returned by {@link #store}.
+     *
+     * @param url The URL of a stored image.
+     * @return The key the backend stored the image under, or empty if the URL was not issued by this backend.
+     */
+    Optional<String> keyOf(String url);
+
+    /**
+     * Copies a stored image.
+     *
+     * @param key    The key returned by {@link #keyOf}.
+     * @param target The stream the image bytes are written to, on the calling thread and before this method returns.
+     *               It is not closed.
+     * @throws java.nio.file.NoSuchFileException If no image is stored under the key.
+     * @throws IOException                       If the image could not be read.
+     */
+    void fetch(String key, OutputStream target) throws IOException;
+
+    /**
+     * @return A short name of the backend, used to tag metrics.
+     */
+    String backend();
+}
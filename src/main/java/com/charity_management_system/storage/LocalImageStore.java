@@ -0,0 +1,125 @@
+package com.charity_management_system.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Stores case images on the local filesystem and serves them through {@code ImageController}.
+ *
+ * <p>Images are written to a temporary file next to their final location with {@link FileChannel#transferTo}, forced
+ * to disk and then atomically renamed, so readers never see a partially written image. Files are spread over 256
+ * sub-directories keyed by the first two characters of their random name.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "images.storage.backend", havingValue = "local")
+public class LocalImageStore implements ImageStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{32}\\.(jpg|png|gif|webp|img)");
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp");
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp");
+
+    private final Path rootDirectory;
+    private final String publicUrlPrefix;
+
+    public LocalImageStore(@Value("${images.storage.local.root-dir:./data/images}") Path rootDirectory,
+                           @Value("${images.storage.local.public-url:/api/v1/images/}") String publicUrlPrefix) {
+        this.rootDirectory = rootDirectory.toAbsolutePath().normalize();
+        this.publicUrlPrefix = publicUrlPrefix.endsWith("/") ? publicUrlPrefix : publicUrlPrefix + "/";
+    }
+
+    @Override
+    public String store(String name, String contentType, Path source) throws IOException {
+        String key = UUID.randomUUID().toString().replace("-", "") + "." + EXTENSIONS.getOrDefault(contentType, "img");
+        Path target = pathOf(key);
+        Files.createDirectories(target.getParent());
+
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                out.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+
+        return publicUrlPrefix + key;
+    }
+
+    @Override
+    public Optional<String> keyOf(String url) {
+        if (url == null || !url.startsWith(publicUrlPrefix)) {
+            return Optional.empty();
+        }
+        String key = url.substring(publicUrlPrefix.length());
+        return KEY_PATTERN.matcher(key).matches() ? Optional.of(key) : Optional.empty();
+    }
+
+    @Override
+    public void fetch(String key, OutputStream target) throws IOException {
+        Files.copy(resolve(key).orElseThrow(() -> new NoSuchFileException(key)), target);
+    }
+
+    @Override
+    public String backend() {
+        return "local";
+    }
+
+    /**
+     * Resolves a stored image.
+     *
+     * @param key The image key, the last path segment of the URL returned by {@link #store}.
+     * @return The image file, or empty if the key is malformed or no such image exists.
+     */
+    public Optional<Path> resolve(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * @param key The image key.
+     * @return The MIME type matching the key's extension.
+     */
+    public String contentTypeOf(String key) {
+        String extension = key.substring(key.lastIndexOf('.') + 1);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    private Path pathOf(String key) {
+        return rootDirectory.resolve(key.substring(0, 2)).resolve(key);
+    }
+}
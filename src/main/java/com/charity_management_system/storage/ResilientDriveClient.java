@@ -0,0 +1,282 @@
+package com.charity_management_system.storage;
+
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.drive.Drive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs calls against the {@link Drive} client with a deadline per attempt, a bulkhead capping the calls in flight,
+ * jittered exponential retry and a circuit breaker, so a slow or failing Drive cannot tie up the threads calling it.
+ *
+ * <p>Each attempt runs on one of the client's own threads, one per bulkhead permit; the caller waits at most the call
+ * timeout and the attempt is interrupted when it is exceeded. The permit is only returned once the attempt has
+ * actually finished, so the bulkhead bounds the real load on Drive. When all permits are taken, or the breaker is
+ * open, calls fail immediately with a {@link DriveUnavailableException}.</p>
+ *
+ * <p>Network errors, timeouts, 5xx, 408 and 429 count as failures for the breaker and are retried. Other client
+ * errors are returned to the caller as they are.</p>
+ *
+ * <p>The {@link Drive} bean is only created on the first call. If it cannot be created (no credentials on this node)
+ * the call fails like an unreachable Drive would, and creation is attempted again on a later call.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "images.storage.backend", havingValue = "drive", matchIfMissing = true)
+@Slf4j
+public class ResilientDriveClient {
+
+    /**
+     * A call against the Drive API.
+     *
+     * @param <T> The result type.
+     */
+    @FunctionalInterface
+    public interface DriveCall<T> {
+        T execute(Drive drive) throws IOException;
+    }
+
+    private final ObjectFactory<Drive> driveFactory;
+    private volatile Drive drive;
+    private final long callTimeoutMs;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolExecutor executor;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter retryCounter;
+
+    public ResilientDriveClient(ObjectFactory<Drive> driveFactory,
+                                MeterRegistry meterRegistry,
+                                @Value("${images.storage.drive.call-timeout-ms:30000}") long callTimeoutMs,
+                                @Value("${images.storage.drive.max-concurrent-calls:8}") int maxConcurrentCalls,
+                                @Value("${images.storage.drive.max-attempts:3}") int maxAttempts,
+                                @Value("${images.storage.drive.initial-backoff-ms:200}") long initialBackoffMs,
+                                @Value("${images.storage.drive.max-backoff-ms:2000}") long maxBackoffMs,
+                                @Value("${images.storage.drive.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                                @Value("${images.storage.drive.circuit-breaker.window-size:20}") int windowSize,
+                                @Value("${images.storage.drive.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                @Value("${images.storage.drive.circuit-breaker.open-duration-ms:30000}") long openDurationMs) {
+        this.driveFactory = driveFactory;
+        this.callTimeoutMs = callTimeoutMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureRateThreshold, windowSize, minimumCalls, openDurationMs);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "drive-call-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.meterRegistry = meterRegistry;
+        this.retryCounter = Counter.builder("drive.calls.retries")
+                .description("Drive calls that were retried")
+                .register(meterRegistry);
+        Gauge.builder("drive.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Drive calls that can still be started before the bulkhead rejects them")
+                .register(meterRegistry);
+        Gauge.builder("drive.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("State of the Drive circuit breaker: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes a call, retrying it with jittered exponential backoff while it fails with a retryable error.
+     *
+     * @param operation The name of the operation, used to tag metrics.
+     * @param call      The call. It may be invoked again after an attempt that timed out but still went on to
+     *                  succeed, so it must be idempotent.
+     * @param <T>       The result type.
+     * @return The result of the first successful attempt.
+     * @throws DriveUnavailableException If the breaker is open or the bulkhead is full.
+     * @throws SocketTimeoutException    If the last attempt exceeded the call timeout.
+     * @throws IOException               If the last attempt failed.
+     */
+    public <T> T execute(String operation, DriveCall<T> call) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOnce(operation, call);
+            } catch (DriveUnavailableException ex) {
+                throw ex;
+            } catch (IOException ex) {
+                if (attempt >= maxAttempts || !isFailure(ex)) {
+                    throw ex;
+                }
+                long backoff = backoffFor(attempt);
+                log.debug("Drive {} failed on attempt {}/{}, retrying in {} ms: {}", operation, attempt, maxAttempts, backoff, ex.getMessage());
+                retryCounter.increment();
+                sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * Executes a call once, under the deadline, bulkhead and breaker. A call abandoned at its deadline is
+     * interrupted, but a blocking socket read does not notice and keeps the call running until the read returns, so
+     * the call must only write to state it owns until it has returned.
+     *
+     * @param operation The name of the operation, used to tag metrics.
+     * @param call      The call.
+     * @param <T>       The result type.
+     * @return The result of the call.
+     * @throws DriveUnavailableException If the breaker is open or the bulkhead is full.
+     * @throws SocketTimeoutException    If the call exceeded the call timeout.
+     * @throws IOException               If the call failed.
+     */
+    public <T> T executeOnce(String operation, DriveCall<T> call) throws IOException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            timer(operation, "rejected").record(0, TimeUnit.NANOSECONDS);
+            throw new DriveUnavailableException("Drive circuit breaker is open");
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.releasePermission();
+            timer(operation, "rejected").record(0, TimeUnit.NANOSECONDS);
+            throw new DriveUnavailableException("Too many Drive calls in flight");
+        }
+
+        long startTime = System.nanoTime();
+        FutureTask<T> task = new FutureTask<>(() -> call.execute(drive()));
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    bulkhead.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            bulkhead.release();
+            circuitBreaker.releasePermission();
+            throw new DriveUnavailableException("Drive client is shut down");
+        }
+
+        try {
+            T result = task.get(callTimeoutMs, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            timer(operation, "success").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (TimeoutException ex) {
+            task.cancel(true);
+            circuitBreaker.onFailure();
+            timer(operation, "timeout").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            throw new SocketTimeoutException("Drive " + operation + " exceeded its " + callTimeoutMs + " ms deadline");
+        } catch (ExecutionException ex) {
+            if (!(ex.getCause() instanceof IOException failure)) {
+                // a bug on our side, not a sign of Drive's health
+                circuitBreaker.releasePermission();
+                timer(operation, "failure").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                throw ex.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(ex.getCause());
+            }
+            if (isFailure(failure)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            timer(operation, "failure").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            throw failure;
+        } catch (InterruptedException ex) {
+            task.cancel(true);
+            circuitBreaker.releasePermission();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Drive " + operation);
+        }
+    }
+
+    private Drive drive() throws IOException {
+        Drive initialized = drive;
+        if (initialized == null) {
+            synchronized (this) {
+                initialized = drive;
+                if (initialized == null) {
+                    long startTime = System.nanoTime();
+                    try {
+                        initialized = driveFactory.getObject();
+                    } catch (BeansException ex) {
+                        throw new IOException("Google Drive client could not be initialized: " + ex.getMostSpecificCause().getMessage(), ex);
+                    }
+                    drive = initialized;
+                    log.info("Google Drive client initialized in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                }
+            }
+        }
+        return initialized;
+    }
+
+    /**
+     * @return The state of the circuit breaker.
+     */
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    /**
+     * Errors that say nothing about Drive's health (a missing file, a bad request) are not failures.
+     */
+    private static boolean isFailure(IOException ex) {
+        if (ex instanceof HttpResponseException response) {
+            int status = response.getStatusCode();
+            return status >= 500 || status == 408 || status == 429;
+        }
+        return true;
+    }
+
+    private long backoffFor(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry a Drive call");
+        }
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("drive.calls")
+                .description("Calls against the Google Drive API")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Interrupts the calls still in flight.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
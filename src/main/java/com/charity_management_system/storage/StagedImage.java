@@ -0,0 +1,14 @@
+package com.charity_management_system.storage;
+
+import java.nio.file.Path;
+
+/**
+ * An uploaded image that has been streamed to the staging directory and is waiting to be stored.
+ *
+ * @param path        The staging file. It is deleted once the image has been stored or given up on.
+ * @param contentType The MIME type sniffed from the image's leading bytes.
+ * @param size        The image size in bytes.
+ * @param sha256      The hex encoded SHA-256 digest of the image bytes, used to deduplicate uploads.
+ */
+public record StagedImage(Path path, String contentType, long size, String sha256) {
+}
@@ -0,0 +1,10 @@
+-- Donation time, and the index behind the paginated donation history of a case
+-- (GET /api/v1/donations/history/{caseId}). Donations recorded before this migration get the migration time.
+-- The history is read newest first and pages seek on (created_at, id), so the index matches that order and each
+-- page is read straight from it. It also serves every lookup by case_id alone, which makes idx_donations_case_id
+-- (V9) redundant.
+
+ALTER TABLE donations ADD COLUMN created_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE INDEX idx_donations_case_created ON donations (case_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_donations_case_id;
@@ -0,0 +1,46 @@
+-- Move donations to a table range-partitioned by month on created_at, so time-bounded queries only touch the
+-- months they ask for and old months can be detached for archival instead of deleted row by row.
+-- A partitioned table's primary key must contain the partition key, hence (id, created_at); ids still come from
+-- donations_id_seq and stay unique on their own.
+-- Partitions are named donations_pYYYY_MM. This migration creates one per month holding existing donations plus the
+-- coming months; DonationPartitionMaintainer keeps creating them ahead of time and detaches expired ones.
+-- There is deliberately no DEFAULT partition: it would block detaching partitions concurrently.
+
+CREATE TABLE donations_partitioned (
+    id             INTEGER NOT NULL DEFAULT nextval('donations_id_seq'),
+    amount         DOUBLE PRECISION NOT NULL,
+    payment_method VARCHAR(255),
+    case_id        INTEGER REFERENCES cases (id),
+    user_id        VARCHAR(255) REFERENCES users (id),
+    created_at     TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+DO $$
+DECLARE
+    month DATE := date_trunc('month', coalesce((SELECT min(created_at) FROM donations), now()));
+    last  DATE := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    WHILE month <= last LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF donations_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'donations_p' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO donations_partitioned (id, amount, payment_method, case_id, user_id, created_at)
+SELECT id, amount, payment_method, case_id, user_id, created_at FROM donations;
+
+-- keep the sequence when the old table is dropped
+ALTER SEQUENCE donations_id_seq OWNED BY NONE;
+DROP TABLE donations;
+ALTER TABLE donations_partitioned RENAME TO donations;
+ALTER SEQUENCE donations_id_seq OWNED BY donations.id;
+
+ALTER TABLE donations RENAME CONSTRAINT donations_partitioned_pkey TO donations_pkey;
+ALTER TABLE donations RENAME CONSTRAINT donations_partitioned_case_id_fkey TO donations_case_id_fkey;
+ALTER TABLE donations RENAME CONSTRAINT donations_partitioned_user_id_fkey TO donations_user_id_fkey;
+
+-- created on every partition, present and future
+CREATE INDEX idx_donations_case_created ON donations (case_id, created_at DESC, id DESC);
+CREATE INDEX idx_donations_user_id ON donations (user_id);
@@ -0,0 +1,50 @@
+-- Donation rollups kept up to date in the same transaction that records a donation (DonationAggregates), so the
+-- stats API never has to sum the donations table.
+
+-- One row per case and day. Only donations to the same case write the same row, and those already queue on the
+-- case's row lock taken by the amount_raised increment.
+CREATE TABLE case_donation_daily (
+    case_id        INTEGER NOT NULL REFERENCES cases (id),
+    day            DATE NOT NULL,
+    donation_count BIGINT NOT NULL,
+    total_amount   DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (case_id, day)
+);
+
+-- the reconciliation job compares one month at a time
+CREATE INDEX idx_case_donation_daily_day ON case_donation_daily (day);
+
+-- Totals shared by every donation: GLOBAL (key ''), per PAYMENT_METHOD and per CATEGORY (key = category id).
+-- Each total is spread over a few stripes, and a transaction adds to one stripe picked at random, so donations to
+-- different cases rarely wait on each other. A total is the sum of its stripes.
+CREATE TABLE donation_rollups (
+    dimension      VARCHAR(20) NOT NULL,
+    dimension_key  VARCHAR(64) NOT NULL,
+    stripe         SMALLINT NOT NULL,
+    donation_count BIGINT NOT NULL,
+    total_amount   DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (dimension, dimension_key, stripe)
+);
+
+-- start from the donations recorded so far
+INSERT INTO case_donation_daily (case_id, day, donation_count, total_amount)
+SELECT case_id, created_at::date, count(*), sum(amount)
+FROM donations
+WHERE case_id IS NOT NULL
+GROUP BY case_id, created_at::date;
+
+INSERT INTO donation_rollups (dimension, dimension_key, stripe, donation_count, total_amount)
+SELECT 'GLOBAL', '', 0, count(*), sum(amount) FROM donations HAVING count(*) > 0;
+
+INSERT INTO donation_rollups (dimension, dimension_key, stripe, donation_count, total_amount)
+SELECT 'PAYMENT_METHOD', payment_method, 0, count(*), sum(amount)
+FROM donations
+WHERE payment_method IS NOT NULL
+GROUP BY payment_method;
+
+INSERT INTO donation_rollups (dimension, dimension_key, stripe, donation_count, total_amount)
+SELECT 'CATEGORY', c.category_id::text, 0, count(*), sum(d.amount)
+FROM donations d
+JOIN cases c ON c.id = d.case_id
+WHERE c.category_id IS NOT NULL
+GROUP BY c.category_id;
@@ -0,0 +1,5 @@
+-- The digest index is looked up by digest and backend, so the same image can have a stored copy in each backend.
+-- Keyed on the digest alone, recording a copy in a second backend overwrote the first backend's row.
+
+ALTER TABLE image_digests DROP CONSTRAINT image_digests_pkey;
+ALTER TABLE image_digests ADD PRIMARY KEY (sha256, backend);
@@ -0,0 +1,8 @@
+-- Escapes text for use as HTML content. The case search wraps matches in <mark> tags that clients render as HTML,
+-- so the user supplied title and description are escaped before ts_headline adds the tags.
+
+CREATE FUNCTION html_escape(text) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+    AS $$
+        SELECT replace(replace(replace(replace(replace($1, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '"', '&quot;'), '''', '&#39;')
+    $$;
@@ -0,0 +1,39 @@
+-- Baseline schema matching the JPA entity mappings.
+-- Existing databases that were created before migrations were introduced are baselined at this version.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         VARCHAR(255) NOT NULL PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    role       VARCHAR(255),
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    country    VARCHAR(255) NOT NULL,
+    zip_code   INTEGER      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS cases (
+    id            INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title         VARCHAR(255),
+    description   VARCHAR(255),
+    image_path    VARCHAR(255),
+    goal          DOUBLE PRECISION NOT NULL,
+    amount_raised DOUBLE PRECISION NOT NULL,
+    status        VARCHAR(255),
+    user_id       VARCHAR(255) REFERENCES users (id),
+    category_id   INTEGER REFERENCES categories (id)
+);
+
+CREATE TABLE IF NOT EXISTS donations (
+    id             INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount         DOUBLE PRECISION NOT NULL,
+    payment_method VARCHAR(255),
+    case_id        INTEGER REFERENCES cases (id),
+    user_id        VARCHAR(255) REFERENCES users (id)
+);
@@ -0,0 +1,12 @@
+-- Full-text search over case titles and descriptions.
+-- The vector is a stored generated column, so PostgreSQL keeps it in sync on every insert and update
+-- without any application code; titles are weighted above descriptions for ranking.
+
+ALTER TABLE cases
+    ADD COLUMN search_vector TSVECTOR
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX idx_cases_search_vector ON cases USING GIN (search_vector);
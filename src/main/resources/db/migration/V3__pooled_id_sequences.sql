@@ -0,0 +1,17 @@
+-- Move cases and donations from identity columns to sequences that hand out ids in blocks of 50.
+-- Hibernate's pooled optimizer reserves a whole block per nextval() call, which is what allows it to
+-- batch inserts; the sequence increment must match the allocationSize on the entities.
+-- Each sequence is positioned one block past the current max id so reserved ranges never overlap
+-- existing rows.
+
+ALTER TABLE cases ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS cases_id_seq OWNED BY cases.id;
+ALTER SEQUENCE cases_id_seq INCREMENT BY 50;
+SELECT setval('cases_id_seq', (SELECT coalesce(max(id), 0) FROM cases) + 50, false);
+ALTER TABLE cases ALTER COLUMN id SET DEFAULT nextval('cases_id_seq');
+
+ALTER TABLE donations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS donations_id_seq OWNED BY donations.id;
+ALTER SEQUENCE donations_id_seq INCREMENT BY 50;
+SELECT setval('donations_id_seq', (SELECT coalesce(max(id), 0) FROM donations) + 50, false);
+ALTER TABLE donations ALTER COLUMN id SET DEFAULT nextval('donations_id_seq');
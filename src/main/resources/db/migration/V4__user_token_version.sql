@@ -0,0 +1,5 @@
+-- Per-user token version embedded in issued JWTs. Bumping it (and stamping tokens_revoked_at) revokes every
+-- token issued before, without the authentication filter having to look the user up on each request.
+
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN tokens_revoked_at TIMESTAMP;
@@ -0,0 +1,6 @@
+-- Case images are uploaded in the background after the case is saved. image_status tracks that upload so a case
+-- is never shown as approved with a silently missing image.
+
+ALTER TABLE cases ADD COLUMN image_status VARCHAR(20) NOT NULL DEFAULT 'PENDING';
+
+UPDATE cases SET image_status = CASE WHEN image_path IS NULL THEN 'FAILED' ELSE 'READY' END;
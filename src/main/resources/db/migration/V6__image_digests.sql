@@ -0,0 +1,11 @@
+-- Content-addressed index of stored case images: a re-uploaded image with a known SHA-256 digest reuses the stored
+-- copy instead of being uploaded again.
+
+CREATE TABLE image_digests (
+    sha256       CHAR(64) PRIMARY KEY,
+    backend      VARCHAR(20) NOT NULL,
+    url          VARCHAR(512) NOT NULL,
+    size         BIGINT NOT NULL,
+    content_type VARCHAR(50) NOT NULL,
+    created_at   TIMESTAMP NOT NULL
+);
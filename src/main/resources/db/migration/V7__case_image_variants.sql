@@ -0,0 +1,12 @@
+-- Resized variants of case images (list thumbnail, card, full) and an inline placeholder, generated after upload.
+-- The digest index keeps them too, so a duplicate upload reuses the variants along with the original.
+
+ALTER TABLE cases ADD COLUMN thumbnail_url VARCHAR(512);
+ALTER TABLE cases ADD COLUMN card_url VARCHAR(512);
+ALTER TABLE cases ADD COLUMN full_url VARCHAR(512);
+ALTER TABLE cases ADD COLUMN image_placeholder TEXT;
+
+ALTER TABLE image_digests ADD COLUMN thumbnail_url VARCHAR(512);
+ALTER TABLE image_digests ADD COLUMN card_url VARCHAR(512);
+ALTER TABLE image_digests ADD COLUMN full_url VARCHAR(512);
+ALTER TABLE image_digests ADD COLUMN image_placeholder TEXT;
@@ -0,0 +1,21 @@
+-- Indexes behind the case browse API (GET /api/v1/cases/browse).
+-- Browsing defaults to approved cases, so the sort orders get partial indexes over approved cases only: they stay
+-- small and let each page be read in order straight from the index. The status literal in the query
+-- (CaseSpecifications.hasStatus) is what lets the planner use them. Key order and direction match
+-- CaseSpecifications.orderBy, so the seek predicate becomes an index range condition.
+-- amount_raised changes with every donation. Two of these indexes contain it, so those updates are no longer
+-- heap-only (HOT) updates. That write cost is traded for reading the funding orders without a sort.
+
+-- NEWEST, all categories and within one category
+CREATE INDEX idx_cases_approved_newest ON cases (id DESC) WHERE status = 'APPROVED';
+CREATE INDEX idx_cases_approved_category_newest ON cases (category_id, id DESC) WHERE status = 'APPROVED';
+
+-- MOST_FUNDED
+CREATE INDEX idx_cases_approved_most_funded ON cases (amount_raised DESC, id DESC) WHERE status = 'APPROVED';
+
+-- CLOSEST_TO_GOAL: ordered by the amount left to raise, only over cases that have not reached their goal yet
+CREATE INDEX idx_cases_approved_closest_to_goal ON cases ((goal - amount_raised), id DESC)
+    WHERE status = 'APPROVED' AND amount_raised < goal;
+
+-- browsing other statuses (admins reviewing pending or rejected cases), optionally by category
+CREATE INDEX idx_cases_status_category_newest ON cases (status, category_id, id DESC);
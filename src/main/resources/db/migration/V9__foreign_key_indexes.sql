@@ -0,0 +1,12 @@
+-- PostgreSQL does not index the referencing side of a foreign key. Without these, loading a case's donations, a
+-- user's cases or donations and a category's cases (lazy collections and the findBy... queries alike) scans the
+-- whole child table, and so does every delete of a referenced row while it checks for children.
+
+CREATE INDEX IF NOT EXISTS idx_donations_case_id ON donations (case_id);
+CREATE INDEX IF NOT EXISTS idx_donations_user_id ON donations (user_id);
+CREATE INDEX IF NOT EXISTS idx_cases_user_id ON cases (user_id);
+CREATE INDEX IF NOT EXISTS idx_cases_category_id ON cases (category_id);
+
+-- Category lookup by name when creating a case (CategoryRepository.findByName).
+-- Not unique: existing databases may already hold duplicate names.
+CREATE INDEX IF NOT EXISTS idx_categories_name ON categories (name);
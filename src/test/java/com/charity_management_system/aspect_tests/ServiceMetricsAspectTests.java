@@ -0,0 +1,79 @@
+package com.charity_management_system.aspect_tests;
+
+import com.charity_management_system.aspect.ServiceMetricsAspect;
+import com.charity_management_system.dto.CategoryDto;
+import com.charity_management_system.exception.custom.CategoryNotFoundException;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.service.CategoryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CategoryService categoryService;
+    private CategoryService proxiedCategoryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        categoryService = mock(CategoryService.class);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(categoryService);
+        proxyFactory.addInterface(CategoryService.class);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry, true, 1.0));
+        proxiedCategoryService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void shouldRecordTimerPerServiceMethod() {
+        when(categoryService.getAllCategories()).thenReturn(List.of(new CategoryDto(1, "Education")));
+
+        proxiedCategoryService.getAllCategories();
+        proxiedCategoryService.getAllCategories();
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.TIMER_NAME)
+                .tag("class", "CategoryService")
+                .tag("method", "getAllCategories")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void shouldCountErrorsAndRethrow() {
+        when(categoryService.getCategoryById(7)).thenThrow(new CategoryNotFoundException("Category not found"));
+
+        assertThrows(CategoryNotFoundException.class, () -> proxiedCategoryService.getCategoryById(7));
+
+        Counter counter = meterRegistry.find(ServiceMetricsAspect.ERROR_COUNTER_NAME)
+                .tag("method", "getCategoryById")
+                .tag("exception", "CategoryNotFoundException")
+                .counter();
+        assertNotNull(counter);
+        assertEquals(1.0, counter.count());
+        assertEquals(1, meterRegistry.find(ServiceMetricsAspect.TIMER_NAME).tag("method", "getCategoryById").timer().count());
+    }
+
+    @Test
+    void shouldDescribeValuesWithoutCallingToString() {
+        Case entity = new Case();
+
+        assertEquals("Case", ServiceMetricsAspect.describe(entity));
+        assertEquals("ArrayList[size=2]", ServiceMetricsAspect.describe(new ArrayList<>(List.of(entity, entity))));
+        assertEquals("42", ServiceMetricsAspect.describe(42));
+        assertEquals("\"water\"", ServiceMetricsAspect.describe("water"));
+        assertTrue(ServiceMetricsAspect.describe("x".repeat(100)).endsWith("(100 chars)"));
+        assertEquals("byte[3]", ServiceMetricsAspect.describe(new byte[3]));
+    }
+}
@@ -0,0 +1,36 @@
+package com.charity_management_system.benchmark_tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH benchmarks of this package from the regular test build.
+ *
+ * <p>Skipped unless the build is started with {@code -Dbenchmark=true}; narrow the run with
+ * {@code -Dbenchmark.include=<regex>} (defaults to every benchmark class in this package). Benchmarks run in the
+ * surefire JVM (no fork) because surefire hides the test classpath behind a manifest-only jar.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BenchmarkRunnerTests {
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("benchmark.include", BenchmarkRunnerTests.class.getPackageName() + ".*Benchmark"))
+                .forks(0)
+                .shouldFailOnError(true)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty(), "no benchmark matched the include pattern");
+    }
+}
@@ -0,0 +1,219 @@
+package com.charity_management_system.benchmark_tests;
+
+import com.charity_management_system.dto.CaseBrowseRequest;
+import com.charity_management_system.dto.CasePage;
+import com.charity_management_system.enums.CaseSort;
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.service.CaseService;
+import com.charity_management_system.service.impl.CaseServiceImpl;
+import com.charity_management_system.service.impl.CommonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of the case browse API over one million synthetic cases.
+ *
+ * <p>For every sort order, with and without a category filter, it measures the first page and the page
+ * {@link #DEEP_PAGE} pages in (reached through the cursors) through the service. It then compares, in plain SQL, the
+ * keyset query with the same page read with {@code OFFSET} at {@link #DEEP_OFFSET} rows in. It also checks with
+ * {@code EXPLAIN} that every order is served by one of the {@code V8__case_browse_indexes.sql} indexes.</p>
+ *
+ * <p>Runs against the PostgreSQL database configured through {@code SPRING_DATASOURCE_URL} (migrations are applied
+ * on startup) and is skipped unless the build is started with {@code -Dbenchmark=true}. Synthetic cases are
+ * inserted once and kept, so repeated runs only pay the seeding cost the first time.</p>
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CaseBrowseBenchmarkTests {
+
+    private static final long TARGET_ROWS = 1_000_000;
+    private static final int CATEGORIES = 8;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 50;
+    private static final int DEEP_OFFSET = 20_000;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    /**
+     * The ORDER BY of each sort, as generated by {@code CaseSpecifications.orderBy}.
+     */
+    private static final Map<CaseSort, String> ORDER_BY = Map.of(
+            CaseSort.NEWEST, "id DESC",
+            CaseSort.MOST_FUNDED, "amount_raised DESC, id DESC",
+            CaseSort.CLOSEST_TO_GOAL, "(goal - amount_raised) ASC, id DESC");
+
+    /**
+     * The seek predicate of each sort, as generated by {@code CaseSpecifications.after}; see {@link #seekArgs}.
+     */
+    private static final Map<CaseSort, String> SEEK = Map.of(
+            CaseSort.NEWEST, "id < ?",
+            CaseSort.MOST_FUNDED, "amount_raised <= ? AND (amount_raised < ? OR id < ?)",
+            CaseSort.CLOSEST_TO_GOAL, "(goal - amount_raised) >= ? AND ((goal - amount_raised) > ? OR id < ?)");
+
+    private static final Map<CaseSort, String> SORT_KEY = Map.of(
+            CaseSort.NEWEST, "id",
+            CaseSort.MOST_FUNDED, "amount_raised",
+            CaseSort.CLOSEST_TO_GOAL, "goal - amount_raised");
+
+    private static final String COLUMNS = "id, title, description, image_path, goal, amount_raised, thumbnail_url, "
+            + "card_url, full_url, image_placeholder";
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CaseService caseService;
+    private int categoryId;
+
+    /**
+     * Tops the browse cases up to {@link #TARGET_ROWS} rows over {@link #CATEGORIES} categories (70% approved) and
+     * refreshes planner statistics.
+     */
+    @BeforeEach
+    void seed() {
+        caseService = new CaseServiceImpl(caseRepository, null, null, null, null, new CommonService(), null, null, null,
+                PAGE_SIZE, PAGE_SIZE, 50);
+
+        for (int i = 1; i <= CATEGORIES; i++) {
+            jdbcTemplate.update("INSERT INTO categories (name) SELECT ? WHERE NOT EXISTS (SELECT 1 FROM categories WHERE name = ?)",
+                    "Browse " + i, "Browse " + i);
+        }
+        List<Integer> categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories WHERE name LIKE 'Browse %' ORDER BY id", Integer.class);
+        categoryId = categoryIds.get(0);
+
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM cases WHERE title LIKE 'Browse case #%'", Long.class);
+        long missing = TARGET_ROWS - (existing == null ? 0 : existing);
+        if (missing > 0) {
+            jdbcTemplate.update("""
+                    INSERT INTO cases (title, description, goal, amount_raised, status, category_id)
+                    SELECT 'Browse case #' || g, 'Synthetic case for the browse benchmark',
+                           1000 + (g * 37) % 9000, (g * 53) % 10000,
+                           CASE WHEN g % 10 < 7 THEN 'APPROVED' WHEN g % 10 < 9 THEN 'PENDING' ELSE 'REJECTED' END,
+                           (?::int[])[1 + g % ?]
+                    FROM generate_series(1, ?) AS g
+                    """, categoryIds.toArray(new Integer[0]), categoryIds.size(), missing);
+        }
+        jdbcTemplate.execute("ANALYZE cases");
+    }
+
+    /**
+     * Measures the first and a deep page of every sort through the service, then a page far into the results with
+     * the keyset query against {@code OFFSET}, and prints the percentiles.
+     */
+    @Test
+    void browseCases_keysetPagesStayFlat_oneMillionRows() {
+        for (CaseSort sort : CaseSort.values()) {
+            for (Integer category : Arrays.asList(null, categoryId)) {
+                String label = sort + (category == null ? "" : " in category");
+                String deepCursor = cursorOfPage(sort, category, DEEP_PAGE);
+
+                long[] firstPage = measure(() -> caseService.browseCases(request(sort, category, null)));
+                long[] deepPage = measure(() -> caseService.browseCases(request(sort, category, deepCursor)));
+                report(label + " first page", firstPage);
+                report(label + " page " + DEEP_PAGE + " (cursor)", deepPage);
+
+                Map<String, Object> boundary = jdbcTemplate.queryForMap("SELECT " + SORT_KEY.get(sort) + " AS sort_key, id "
+                        + from(sort, category) + " ORDER BY " + ORDER_BY.get(sort) + " OFFSET ? LIMIT 1", DEEP_OFFSET - 1);
+                long[] keyset = measure(() -> jdbcTemplate.queryForList("SELECT " + COLUMNS + from(sort, category)
+                                + " AND " + SEEK.get(sort) + " ORDER BY " + ORDER_BY.get(sort) + " LIMIT " + (PAGE_SIZE + 1),
+                        seekArgs(sort, boundary)));
+                long[] offset = measure(() -> jdbcTemplate.queryForList("SELECT " + COLUMNS + from(sort, category)
+                        + " ORDER BY " + ORDER_BY.get(sort) + " OFFSET ? LIMIT " + (PAGE_SIZE + 1), DEEP_OFFSET));
+                report(label + " row " + DEEP_OFFSET + " (keyset SQL)", keyset);
+                report(label + " row " + DEEP_OFFSET + " (OFFSET SQL)", offset);
+                assertTrue(percentile(keyset, 50) < percentile(offset, 50),
+                        label + ": the keyset page should beat the OFFSET page at the median");
+            }
+        }
+    }
+
+    /**
+     * Checks that no sort order needs a sequential scan or a sort of the approved cases.
+     */
+    @Test
+    void browseCases_servedByPartialIndexes_everySort() {
+        for (CaseSort sort : CaseSort.values()) {
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + firstPageSql(sort), String.class));
+            System.out.printf("%s:%n%s%n", sort, plan);
+            assertTrue(plan.contains("idx_cases_approved_"), sort + " does not use a browse index:\n" + plan);
+            assertFalse(plan.contains("Sort"), sort + " sorts instead of reading the index in order:\n" + plan);
+        }
+    }
+
+    private String cursorOfPage(CaseSort sort, Integer category, int page) {
+        String cursor = null;
+        for (int i = 0; i < page; i++) {
+            CasePage casePage = caseService.browseCases(request(sort, category, cursor));
+            cursor = casePage.getNextCursor();
+        }
+        return cursor;
+    }
+
+    private static CaseBrowseRequest request(CaseSort sort, Integer category, String cursor) {
+        return new CaseBrowseRequest(category, CaseStatus.APPROVED, null, null, sort, cursor, PAGE_SIZE);
+    }
+
+    private static String firstPageSql(CaseSort sort) {
+        return "SELECT id FROM cases WHERE status = 'APPROVED'" + belowGoal(sort)
+                + " ORDER BY " + ORDER_BY.get(sort) + " LIMIT " + (PAGE_SIZE + 1);
+    }
+
+    private static String from(CaseSort sort, Integer category) {
+        return " FROM cases WHERE status = 'APPROVED'" + belowGoal(sort)
+                + (category == null ? "" : " AND category_id = " + category);
+    }
+
+    private static Object[] seekArgs(CaseSort sort, Map<String, Object> boundary) {
+        return sort == CaseSort.NEWEST
+                ? new Object[]{boundary.get("id")}
+                : new Object[]{boundary.get("sort_key"), boundary.get("sort_key"), boundary.get("id")};
+    }
+
+    private static String belowGoal(CaseSort sort) {
+        return sort == CaseSort.CLOSEST_TO_GOAL ? " AND amount_raised < goal" : "";
+    }
+
+    private static long[] measure(Runnable page) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            page.run();
+        }
+
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            page.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static long percentile(long[] sortedSamples, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedSamples.length) - 1;
+        return sortedSamples[Math.max(index, 0)];
+    }
+
+    private static void report(String name, long[] sortedSamples) {
+        System.out.printf("%-50s p50=%8.2f ms  p95=%8.2f ms  p99=%8.2f ms%n", name,
+                percentile(sortedSamples, 50) / 1e6, percentile(sortedSamples, 95) / 1e6, percentile(sortedSamples, 99) / 1e6);
+    }
+}
@@ -0,0 +1,121 @@
+package com.charity_management_system.benchmark_tests;
+
+import com.charity_management_system.repository.CaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark comparing the full-text case search against the previous {@code LIKE '%q%'} query at one million rows.
+ *
+ * <p>Runs against the PostgreSQL database configured through {@code SPRING_DATASOURCE_URL} (migrations are applied
+ * on startup) and is skipped unless the build is started with {@code -Dbenchmark=true}. Synthetic cases are
+ * inserted once and kept, so repeated runs only pay the seeding cost the first time.</p>
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CaseSearchBenchmarkTests {
+
+    private static final long TARGET_ROWS = 1_000_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 30;
+    private static final List<String> QUERIES = List.of("surgery", "school fees", "flood", "clean water", "orphan");
+
+    /**
+     * The query that {@code findByTitleContainingOrDescriptionContaining} used to generate: the columns of the case
+     * entity at the time, every matching row, in no particular order.
+     */
+    private static final String LIKE_SQL = """
+            SELECT c.id, c.amount_raised, c.category_id, c.description, c.goal, c.image_path, c.status, c.title, c.user_id
+            FROM cases c
+            WHERE c.title LIKE ? ESCAPE '\\' OR c.description LIKE ? ESCAPE '\\'""";
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tops the cases table up to {@link #TARGET_ROWS} synthetic rows and refreshes planner statistics.
+     */
+    @BeforeEach
+    void seed() {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM cases", Long.class);
+        long missing = TARGET_ROWS - (existing == null ? 0 : existing);
+        if (missing > 0) {
+            jdbcTemplate.update("""
+                    INSERT INTO cases (title, description, goal, amount_raised, status)
+                    SELECT (ARRAY['Medical','School','Flood','Shelter','Food','Surgery','Orphan','Water'])[1 + g % 8]
+                               || ' support #' || g,
+                           'Help ' || (ARRAY['children','families','students','patients','villages'])[1 + g % 5]
+                               || ' with ' || (ARRAY['hospital bills','school fees','flood relief','clean water',
+                                                     'winter clothes','surgery costs'])[1 + (g / 7) % 6]
+                               || ' - ref ' || md5(g::text),
+                           1000 + g % 9000, 0, 'APPROVED'
+                    FROM generate_series(1, ?) AS g
+                    """, missing);
+        }
+        jdbcTemplate.execute("ANALYZE cases");
+    }
+
+    /**
+     * Measures both queries over the same query mix and prints per-query latency percentiles.
+     */
+    @Test
+    void fullTextSearch_fasterThanLikeScan_oneMillionRows() {
+        // rows are read and discarded; the old path also turned each of them into an entity and a DTO
+        RowCallbackHandler discard = rs -> {
+        };
+        long[] like = measure(query -> jdbcTemplate.query(LIKE_SQL, discard, "%" + query + "%", "%" + query + "%"));
+        long[] fullText = measure(query -> caseRepository.searchFullText(query, 50));
+
+        report("LIKE '%q%'", like);
+        report("full-text", fullText);
+        assertTrue(percentile(fullText, 50) < percentile(like, 50),
+                "full-text search should beat the LIKE scan at the median");
+    }
+
+    private long[] measure(Consumer<String> search) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            QUERIES.forEach(search);
+        }
+
+        long[] samples = new long[MEASURED_ITERATIONS * QUERIES.size()];
+        int index = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            for (String query : QUERIES) {
+                long start = System.nanoTime();
+                search.accept(query);
+                samples[index++] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static long percentile(long[] sortedSamples, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedSamples.length) - 1;
+        return sortedSamples[Math.max(index, 0)];
+    }
+
+    private static void report(String name, long[] sortedSamples) {
+        System.out.printf("%-12s p50=%8.2f ms  p95=%8.2f ms  p99=%8.2f ms%n", name,
+                percentile(sortedSamples, 50) / 1e6, percentile(sortedSamples, 95) / 1e6, percentile(sortedSamples, 99) / 1e6);
+    }
+}
@@ -0,0 +1,100 @@
+package com.charity_management_system.benchmark_tests;
+
+import com.charity_management_system.controller.ImageProxyController;
+import com.charity_management_system.service_tests.FakeDrive;
+import com.charity_management_system.storage.DriveImageStore;
+import com.charity_management_system.storage.ImageCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JMH load test serving case images to 32 concurrent clients.
+ *
+ * <p>{@code proxy} goes through {@link ImageProxyController} and its disk cache; {@code direct} downloads the image
+ * from the storage backend on every request, which is what each browser did before. The backend is the real Drive
+ * client against {@link FakeDrive}, answering instantly or after a simulated round trip to Google. Response bodies are discarded in both modes: the mock response buffers them byte by byte, which would
+ * dominate the measurement.</p>
+ *
+ * <p>Launched by {@link BenchmarkRunnerTests}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ImageProxyBenchmark {
+
+    @Param({"proxy", "direct"})
+    public String mode;
+
+    @Param({"200"})
+    public int images;
+
+    @Param({"65536"})
+    public int imageBytes;
+
+    @Param({"0", "20"})
+    public long driveLatencyMs;
+
+    private Path cacheDirectory;
+    private DriveImageStore imageStore;
+    private ImageProxyController controller;
+
+    @Setup
+    public void setup() throws IOException {
+        FakeDrive fakeDrive = new FakeDrive();
+        for (int i = 0; i < images; i++) {
+            byte[] jpeg = new byte[imageBytes];
+            ThreadLocalRandom.current().nextBytes(jpeg);
+            jpeg[0] = (byte) 0xFF;
+            jpeg[1] = (byte) 0xD8;
+            jpeg[2] = (byte) 0xFF;
+            fakeDrive.putFile("image" + i, jpeg);
+        }
+        fakeDrive.simulateLatency(driveLatencyMs);
+        cacheDirectory = Files.createTempDirectory("image-proxy-benchmark");
+        imageStore = new DriveImageStore(fakeDrive.client(), "benchmark");
+        controller = new ImageProxyController(new ImageCache(imageStore, new SimpleMeterRegistry(), cacheDirectory, 1L << 30, 0));
+    }
+
+    @Benchmark
+    public int serve() throws IOException {
+        int image = ThreadLocalRandom.current().nextInt(images);
+        if ("direct".equals(mode)) {
+            imageStore.fetch("image" + image, OutputStream.nullOutputStream());
+            return image;
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new DelegatingServletOutputStream(OutputStream.nullOutputStream());
+            }
+        };
+        controller.getImage("https://drive.google.com/thumbnail?id=image" + image + "&sz=w1000",
+                new MockHttpServletRequest("GET", "/api/v1/images/proxy"), response);
+        return response.getStatus();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(cacheDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.charity_management_system.benchmark_tests;
+
+import com.charity_management_system.service_tests.FakeDrive;
+import com.charity_management_system.storage.DriveImageStore;
+import com.charity_management_system.storage.ImageStore;
+import com.charity_management_system.storage.LocalImageStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JMH benchmark storing the same image through each {@link com.charity_management_system.storage.ImageStore}
+ * backend.
+ *
+ * <p>{@code local} writes to a temporary directory. {@code drive} runs the real Drive client (request building,
+ * resumable upload, JSON parsing) against {@link FakeDrive}, so it measures the client-side cost only; the network
+ * round trips to Google come on top of it in production.</p>
+ *
+ * <p>Launched by {@link BenchmarkRunnerTests}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ImageStoreBenchmark {
+
+    @Param({"local", "drive"})
+    public String backend;
+
+    @Param({"262144"})
+    public int imageBytes;
+
+    private Path workDirectory;
+    private Path image;
+    private ImageStore imageStore;
+
+    @Setup
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("image-store-benchmark");
+        byte[] bytes = new byte[imageBytes];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        image = Files.write(workDirectory.resolve("source.jpg"), bytes);
+
+        imageStore = switch (backend) {
+            case "local" -> new LocalImageStore(workDirectory.resolve("store"), "/api/v1/images/");
+            case "drive" -> new DriveImageStore(new FakeDrive().client(), "benchmark");
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        };
+    }
+
+    @Benchmark
+    public String store() throws IOException {
+        return imageStore.store("source.jpg", "image/jpeg", image);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
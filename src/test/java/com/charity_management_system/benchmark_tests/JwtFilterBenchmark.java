@@ -0,0 +1,107 @@
+package com.charity_management_system.benchmark_tests;
+
+import com.charity_management_system.config.JwtService;
+import com.charity_management_system.config.TokenRevocationRegistry;
+import com.charity_management_system.enums.Role;
+import com.charity_management_system.filter.JwtAuthenticationFilter;
+import com.charity_management_system.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the per-request cost of JWT authentication.
+ *
+ * <p>{@code legacyTripleParse} reproduces the previous path: the token was parsed three times (subject in the filter,
+ * subject and expiration again in {@code isTokenValid}) and every parse re-decoded the Base64 secret and rebuilt the
+ * parser. {@code verifyUncached} is a single parse with the precomputed parser, {@code verifyCached} a cache hit, and
+ * {@code filterRequest} the whole {@link JwtAuthenticationFilter} including the security context work.</p>
+ *
+ * <p>Launched by {@link BenchmarkRunnerTests}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "bXlzZWNyZXRrZXlmb3JiZW5jaG1hcmtpbmdteXNlY3JldGtleWZvcmJlbmNobWFya2luZw==";
+
+    private JwtService cachedJwtService;
+    private JwtService uncachedJwtService;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+    private final FilterChain chain = (req, res) -> SecurityContextHolder.clearContext();
+
+    @Setup
+    public void setup() {
+        cachedJwtService = jwtService(10_000);
+        uncachedJwtService = jwtService(0);
+
+        User user = new User();
+        user.setUsername("benchmarkUser");
+        user.setRole(Role.REGULAR_USER);
+        token = cachedJwtService.generateToken(user);
+
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(null, true, 10_000, 3_600_000);
+        filter = new JwtAuthenticationFilter((req, res, handler, ex) -> null, cachedJwtService, registry);
+        request = new MockHttpServletRequest("GET", "/api/v1/users/account");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public Object legacyTripleParse() {
+        String subject = legacyParse(token).getSubject();
+        boolean valid = subject.equals(legacyParse(token).getSubject())
+                && !legacyParse(token).getExpiration().before(new Date());
+        return valid ? subject : null;
+    }
+
+    @Benchmark
+    public Object verifyUncached() {
+        return uncachedJwtService.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return cachedJwtService.verify(token);
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static Claims legacyParse(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(5)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static JwtService jwtService(int cacheEntries) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "verificationCacheMaxEntries", cacheEntries);
+        return jwtService;
+    }
+}
@@ -0,0 +1,154 @@
+package com.charity_management_system.benchmark_tests;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.charity_management_system.aspect.ServiceMetricsAspect;
+import com.charity_management_system.dto.CaseDto;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.service.CaseService;
+import com.charity_management_system.service.impl.CaseServiceImpl;
+import com.charity_management_system.service.impl.CommonService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.*;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@code showCases} latency through the service layer aspect.
+ *
+ * <p>{@code none} calls the service directly, {@code legacyLogging} weaves the removed {@code LoggingAspect} (INFO
+ * logging of arguments and of the returned list, written through a real encoder to a discarded stream), and
+ * {@code metrics} weaves {@link ServiceMetricsAspect} with its default settings. The repository returns 200
+ * in-memory case rows, so no database is involved.</p>
+ *
+ * <p>Launched by {@link BenchmarkRunnerTests}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ShowCasesBenchmark {
+
+    private static final int CASES = 200;
+
+    @Param({"none", "legacyLogging", "metrics"})
+    public String aspect;
+
+    private CaseService caseService;
+
+    @Setup
+    public void setup() {
+        List<CaseDto> cases = sampleCases();
+        CaseRepository caseRepository = (CaseRepository) Proxy.newProxyInstance(CaseRepository.class.getClassLoader(),
+                new Class<?>[]{CaseRepository.class}, (proxy, method, args) -> cases);
+        CaseServiceImpl target = new CaseServiceImpl(caseRepository, null, null, null, null, new CommonService(), null, null, null, 20, 100, 50);
+
+        caseService = switch (aspect) {
+            case "none" -> target;
+            case "legacyLogging" -> {
+                routeLegacyLoggerToDiscardedStream();
+                yield woven(target, new LegacyLoggingAspect());
+            }
+            case "metrics" -> woven(target, new ServiceMetricsAspect(new SimpleMeterRegistry(), true, 0.01));
+            default -> throw new IllegalArgumentException("Unknown aspect: " + aspect);
+        };
+    }
+
+    @Benchmark
+    public Object showCases() {
+        return caseService.showCases();
+    }
+
+    private static CaseService woven(CaseServiceImpl target, Object aspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addInterface(CaseService.class);
+        proxyFactory.addAspect(aspect);
+        return proxyFactory.getProxy();
+    }
+
+    private static List<CaseDto> sampleCases() {
+        List<CaseDto> cases = new ArrayList<>(CASES);
+        for (int i = 1; i <= CASES; i++) {
+            CaseDto c = new CaseDto();
+            c.setId(i);
+            c.setTitle("Case " + i);
+            c.setDescription("Support for family #" + i + " covering surgery, medication and follow-up visits.");
+            c.setGoal(10_000);
+            c.setAmountRaised(i * 10);
+            cases.add(c);
+        }
+        return cases;
+    }
+
+    /**
+     * Keeps the full formatting and encoding cost of the legacy INFO lines without flooding the build output.
+     */
+    private static void routeLegacyLoggerToDiscardedStream() {
+        Logger logger = (Logger) LoggerFactory.getLogger(LegacyLoggingAspect.class);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(logger.getLoggerContext());
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level --- [%thread] %logger{40} : %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(logger.getLoggerContext());
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        logger.detachAndStopAllAppenders();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+    }
+
+    /**
+     * Copy of the {@code LoggingAspect} that {@link ServiceMetricsAspect} replaced, kept as the baseline.
+     */
+    @Aspect
+    public static class LegacyLoggingAspect {
+
+        private static final org.slf4j.Logger log = LoggerFactory.getLogger(LegacyLoggingAspect.class);
+
+        @Pointcut("execution(* com.charity_management_system.service.*.*(..))")
+        public void serviceLayerExecution() {}
+
+        @Before("serviceLayerExecution()")
+        public void logBefore(JoinPoint joinPoint) {
+            log.info("Entering method: {} with arguments: {}", joinPoint.getSignature().toShortString(), joinPoint.getArgs());
+        }
+
+        @AfterReturning(pointcut = "serviceLayerExecution()", returning = "result")
+        public void logAfterReturning(JoinPoint joinPoint, Object result) {
+            log.info("Exiting method: {} with return value: {}", joinPoint.getSignature().toShortString(), result);
+        }
+
+        @AfterThrowing(pointcut = "serviceLayerExecution()", throwing = "error")
+        public void logAfterThrowing(JoinPoint joinPoint, Throwable error) {
+            log.error("Exception in method: {} with message: {}", joinPoint.getSignature().toShortString(), error.getMessage());
+        }
+
+        @Around("serviceLayerExecution()")
+        public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+            long startTime = System.currentTimeMillis();
+            Object result = joinPoint.proceed();
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            log.info("Method {} executed in {} ms", joinPoint.getSignature().toShortString(), elapsedTime);
+            return result;
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.charity_management_system.config_tests;
 
 import io.jsonwebtoken.Claims;
 import com.charity_management_system.config.JwtService;
+import com.charity_management_system.config.VerifiedToken;
+import com.charity_management_system.enums.Role;
+import com.charity_management_system.model.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -11,12 +16,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -67,6 +76,7 @@ class JwtServiceTests {
     void setUp() {
         ReflectionTestUtils.setField(jwtService, "secretKey", secretKey);
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1000 * 60 * 60);
+        ReflectionTestUtils.setField(jwtService, "verificationCacheMaxEntries", 100);
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         signingKey = Keys.hmacShaKeyFor(keyBytes);
     }
@@ -82,7 +92,7 @@ class JwtServiceTests {
         String token = jwtService.generateToken(userDetails);
 
         assertNotNull(token, "Generated token should not be null");
-        String extractedUsername = jwtService.extractUsername(token);
+        String extractedUsername = jwtService.verify(token).username();
         assertEquals("testUser", extractedUsername, "Extracted username should match the provided username");
     }
 
@@ -109,32 +119,29 @@ class JwtServiceTests {
 
     /**
      * Test for validating a JWT token successfully.
-     * Verifies that the token is valid for the provided user details.
+     * Verifies that the token is accepted and carries the subject of the provided user details.
      */
     @Test
     void shouldValidateTokenSuccessfully() {
         when(userDetails.getUsername()).thenReturn("testUser");
         String token = jwtService.generateToken(userDetails);
 
-        boolean isValid = jwtService.isTokenValid(token, userDetails);
+        VerifiedToken verified = jwtService.verify(token);
 
-        assertTrue(isValid, "The token should be valid");
+        assertEquals("testUser", verified.username(), "The token should be valid");
     }
 
     /**
      * Test for invalidating an expired JWT token.
-     * Simulates token expiration by adjusting the expiration time and verifies that the token becomes invalid.
+     * Issues a token that expired longer ago than the allowed clock skew and verifies that it is rejected.
      */
     @Test
-    void shouldInvalidateExpiredToken() throws InterruptedException {
+    void shouldInvalidateExpiredToken() {
         when(userDetails.getUsername()).thenReturn("testUser");
-        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1000);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -10_000);
         String token = jwtService.generateToken(userDetails);
-        Thread.sleep(1000); // Simulate token expiration by waiting
 
-        boolean isValid = jwtService.isTokenValid(token, userDetails);
-
-        assertFalse(isValid, "The token should be invalid due to expiration");
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token), "The token should be invalid due to expiration");
     }
 
     /**
@@ -146,10 +153,120 @@ class JwtServiceTests {
         when(userDetails.getUsername()).thenReturn("testUser");
         String token = jwtService.generateToken(userDetails);
 
-        Date expirationDate = jwtService.extractClaim(token, Claims::getExpiration);
+        Date expirationDate = jwtService.extractAllClaims(token).getExpiration();
 
         assertNotNull(expirationDate, "Expiration date should not be null");
         assertTrue(expirationDate.after(new Date()), "Expiration date should be in the future");
     }
-}
 
+    /**
+     * Test for embedding the authorities and token version of a user in the token.
+     * Verifies that the claims alone are enough to rebuild the user's authorities.
+     */
+    @Test
+    void shouldEmbedAuthoritiesAndTokenVersion() {
+        User user = new User();
+        user.setUsername("testUser");
+        user.setRole(Role.REGULAR_USER);
+        user.setTokenVersion(3);
+
+        String token = jwtService.generateToken(user);
+        Claims claims = jwtService.extractAllClaims(token);
+
+        List<GrantedAuthority> authorities = jwtService.extractAuthorities(claims);
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_REGULAR_USER")), authorities);
+        assertEquals(3, jwtService.extractTokenVersion(claims));
+    }
+
+    /**
+     * Test for reading claims from a token issued without authorities or a version.
+     * Verifies that they default to no authorities and version 0.
+     */
+    @Test
+    void shouldDefaultMissingClaims() {
+        String token = Jwts.builder()
+                .setSubject("legacyUser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(signingKey)
+                .compact();
+
+        Claims claims = jwtService.extractAllClaims(token);
+
+        assertTrue(jwtService.extractAuthorities(claims).isEmpty());
+        assertEquals(0, jwtService.extractTokenVersion(claims));
+    }
+
+    /**
+     * Test for verifying a token twice.
+     * Verifies that the claims are extracted once and the cached verification is reused.
+     */
+    @Test
+    void shouldReuseCachedVerification() {
+        User user = new User();
+        user.setUsername("testUser");
+        user.setRole(Role.ADMIN_USER);
+        user.setTokenVersion(7);
+        String token = jwtService.generateToken(user);
+
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        assertEquals("testUser", first.username());
+        assertEquals(7, first.tokenVersion());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN_USER")), first.authorities());
+        assertSame(first, second, "the second verification should be served from the cache");
+    }
+
+    /**
+     * Test for verifying a token issued without an expiration twice.
+     * Verifies that such a token is cached like any other instead of counting as expired.
+     */
+    @Test
+    void shouldReuseCachedVerification_tokenWithoutExpiration() {
+        String token = Jwts.builder()
+                .setSubject("legacyUser")
+                .signWith(signingKey)
+                .compact();
+
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        assertEquals(Long.MAX_VALUE, first.expiresAtMillis());
+        assertSame(first, second, "the second verification should be served from the cache");
+    }
+
+    /**
+     * Test for verifying a token with the verification cache disabled.
+     * Verifies that every call parses the token again.
+     */
+    @Test
+    void shouldParseEveryTime_cacheDisabled() {
+        ReflectionTestUtils.setField(jwtService, "verificationCacheMaxEntries", 0);
+        when(userDetails.getUsername()).thenReturn("testUser");
+        String token = jwtService.generateToken(userDetails);
+
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    /**
+     * Test for verifying a token whose payload was tampered with after signing.
+     * Verifies that verification fails even though a token with the same header was cached before.
+     */
+    @Test
+    void shouldRejectTamperedToken() {
+        when(userDetails.getUsername()).thenReturn("testUser");
+        String token = jwtService.generateToken(userDetails);
+        jwtService.verify(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\"}".getBytes());
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertThrows(JwtException.class, () -> jwtService.verify(forged));
+    }
+}
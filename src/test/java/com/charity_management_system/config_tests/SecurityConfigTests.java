@@ -3,6 +3,7 @@ package com.charity_management_system.config_tests;
 import com.charity_management_system.dto.CaseDto;
 import com.charity_management_system.model.Case;
 import com.charity_management_system.service.CaseService;
+import com.charity_management_system.storage.StagedImage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,7 +26,6 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
-import java.io.File;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -86,7 +86,7 @@ class SecurityConfigTests {
         mockCase.setTitle("Test Case");
         mockCase.setDescription("Test Description");
         mockCase.setGoal(10000);
-        Mockito.when(caseService.createCase(Mockito.any(CaseDto.class), Mockito.anyString(), Mockito.any(File.class)))
+        Mockito.when(caseService.createCase(Mockito.any(CaseDto.class), Mockito.anyString(), Mockito.any(StagedImage.class)))
                 .thenReturn(mockCase);
 
         // Prepare a mock multipart file (image) and case DTO
@@ -94,7 +94,7 @@ class SecurityConfigTests {
                 "image",
                 "testImage.jpg",
                 MediaType.IMAGE_JPEG_VALUE,
-                "testImageContent".getBytes()
+                new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0}
         );
 
         CaseDto caseDto = new CaseDto();
@@ -128,7 +128,7 @@ class SecurityConfigTests {
         mockCase.setTitle("Test Case");
         mockCase.setDescription("Test Description");
         mockCase.setGoal(10000);
-        Mockito.when(caseService.createCase(Mockito.any(CaseDto.class), Mockito.anyString(), Mockito.any(File.class)))
+        Mockito.when(caseService.createCase(Mockito.any(CaseDto.class), Mockito.anyString(), Mockito.any(StagedImage.class)))
                 .thenReturn(mockCase);
 
         // Prepare a mock multipart file (image) and case DTO
@@ -136,7 +136,7 @@ class SecurityConfigTests {
                 "image",
                 "testImage.jpg",
                 MediaType.IMAGE_JPEG_VALUE,
-                "testImageContent".getBytes()
+                new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0}
         );
 
         CaseDto caseDto = new CaseDto();
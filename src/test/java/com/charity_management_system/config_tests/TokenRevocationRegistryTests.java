@@ -0,0 +1,102 @@
+package com.charity_management_system.config_tests;
+
+import com.charity_management_system.config.TokenRevocationRegistry;
+import com.charity_management_system.repository.UserRepository;
+import com.charity_management_system.repository.projection.TokenRevocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TokenRevocationRegistry} class using Mockito.
+ * This test class verifies that revoked token versions are rejected, that the registry stays bounded,
+ * and that revocations made on other nodes are picked up on refresh.
+ *
+ * <p>Mocks are used to simulate the behavior of the {@link UserRepository}.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationRegistryTests {
+
+    /**
+     * Mocked {@link UserRepository} used to simulate revocations stored by other nodes.
+     */
+    @Mock
+    private UserRepository userRepository;
+
+    /**
+     * Test for checking a token against a local revocation.
+     * Verifies that only versions older than the revocation are rejected.
+     */
+    @Test
+    void isRevoked_rejectOlderVersions_afterRevoke() {
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(userRepository, true, 100, 60_000);
+
+        registry.revoke("testUser", 2);
+
+        assertTrue(registry.isRevoked("testUser", 1));
+        assertFalse(registry.isRevoked("testUser", 2));
+        assertFalse(registry.isRevoked("otherUser", 0));
+        verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Test for checking tokens when revocation checks are disabled.
+     * Verifies that nothing is ever reported as revoked.
+     */
+    @Test
+    void isRevoked_neverRevoked_disabled() {
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(userRepository, false, 100, 60_000);
+
+        registry.revoke("testUser", 2);
+
+        assertFalse(registry.isRevoked("testUser", 1));
+    }
+
+    /**
+     * Test for exceeding the configured capacity.
+     * Verifies that the registry evicts entries instead of growing without bound.
+     */
+    @Test
+    void revoke_evictOldest_capacityExceeded() {
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(userRepository, true, 2, 60_000);
+
+        registry.revoke("first", 1);
+        registry.revoke("second", 1);
+        registry.revoke("third", 1);
+
+        int tracked = 0;
+        for (String username : List.of("first", "second", "third")) {
+            if (registry.isRevoked(username, 0)) {
+                tracked++;
+            }
+        }
+        assertEquals(2, tracked);
+    }
+
+    /**
+     * Test for refreshing revocations stored by other nodes.
+     * Verifies that refreshed revocations are enforced.
+     */
+    @Test
+    void refresh_loadRemoteRevocations_recentRevocationsExist() {
+        TokenRevocation remote = mock(TokenRevocation.class);
+        when(remote.getUsername()).thenReturn("remoteUser");
+        when(remote.getTokenVersion()).thenReturn(5);
+        when(userRepository.findTokenRevocationsSince(any(LocalDateTime.class), eq(Limit.of(100)))).thenReturn(List.of(remote));
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(userRepository, true, 100, 60_000);
+
+        registry.refresh();
+
+        assertTrue(registry.isRevoked("remoteUser", 4));
+        assertFalse(registry.isRevoked("remoteUser", 5));
+    }
+}
@@ -0,0 +1,159 @@
+package com.charity_management_system.controller_tests;
+
+import com.charity_management_system.controller.ImageProxyController;
+import com.charity_management_system.exception.custom.ImageFetchException;
+import com.charity_management_system.exception.custom.ImageNotFoundException;
+import com.charity_management_system.service_tests.FakeDrive;
+import com.charity_management_system.storage.DriveImageStore;
+import com.charity_management_system.storage.ImageCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ImageProxyController}: caching headers, conditional requests and byte ranges.
+ */
+class ImageProxyControllerTests {
+
+    private static final String URL = "https://drive.google.com/thumbnail?id=photo&sz=w1000";
+
+    @TempDir
+    Path tempDir;
+
+    private FakeDrive fakeDrive;
+    private byte[] png;
+    private ImageProxyController controller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fakeDrive = new FakeDrive();
+        png = new byte[1000];
+        System.arraycopy(new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A}, 0, png, 0, 8);
+        for (int i = 8; i < png.length; i++) {
+            png[i] = (byte) i;
+        }
+        fakeDrive.putFile("photo", png);
+        ImageCache imageCache = new ImageCache(new DriveImageStore(fakeDrive.client(), "folder"), new SimpleMeterRegistry(), tempDir, 1024 * 1024, 0);
+        controller = new ImageProxyController(imageCache);
+    }
+
+    @Test
+    void getImage_servesImmutableImageWithEtag() throws IOException {
+        MockHttpServletResponse response = get(new MockHttpServletRequest("GET", "/api/v1/images/proxy"));
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(png, response.getContentAsByteArray());
+        assertEquals("image/png", response.getContentType());
+        assertEquals(png.length, response.getContentLengthLong());
+        assertEquals("public, max-age=31536000, immutable", response.getHeader("Cache-Control"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertNotNull(response.getHeader("ETag"));
+    }
+
+    @Test
+    void getImage_returnsNotModified_etagMatches() throws IOException {
+        String etag = get(new MockHttpServletRequest("GET", "/api/v1/images/proxy")).getHeader("ETag");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/images/proxy");
+        request.addHeader("If-None-Match", "\"other\", " + etag);
+
+        MockHttpServletResponse response = get(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, fakeDrive.downloads());
+    }
+
+    @Test
+    void getImage_servesPartialContent_rangeRequested() throws IOException {
+        assertRange("bytes=100-199", "bytes 100-199/1000", 100, 200);
+        assertRange("bytes=900-", "bytes 900-999/1000", 900, 1000);
+        assertRange("bytes=-10", "bytes 990-999/1000", 990, 1000);
+        assertRange("bytes=990-5000", "bytes 990-999/1000", 990, 1000);
+    }
+
+    @Test
+    void getImage_returnsRangeNotSatisfiable_rangeBeyondImage() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/images/proxy");
+        request.addHeader("Range", "bytes=1000-");
+
+        MockHttpServletResponse response = get(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */1000", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void getImage_servesWholeImage_rangeIsInvalid() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/images/proxy");
+        request.addHeader("Range", "bytes=5-3");
+
+        MockHttpServletResponse response = get(request);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Content-Range"));
+        assertArrayEquals(png, response.getContentAsByteArray());
+    }
+
+    @Test
+    void getImage_servesWholeImage_ifRangeIsStale() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/images/proxy");
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", "\"stale\"");
+
+        MockHttpServletResponse response = get(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(png.length, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void getImage_handsFileToSendfile_connectorSupportsIt() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/images/proxy");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=10-19");
+
+        MockHttpServletResponse response = get(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(20L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void getImage_throws_unknownOrUnavailableImage() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/images/proxy");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(ImageNotFoundException.class, () -> controller.getImage("https://evil.example/x", request, response));
+        assertThrows(ImageNotFoundException.class, () -> controller.getImage("https://drive.google.com/thumbnail?id=gone", request, response));
+        fakeDrive.failNextRequests(1, 503);
+        assertThrows(ImageFetchException.class, () -> controller.getImage("https://drive.google.com/thumbnail?id=other", request, response));
+    }
+
+    private void assertRange(String range, String contentRange, int from, int to) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/images/proxy");
+        request.addHeader("Range", range);
+
+        MockHttpServletResponse response = get(request);
+
+        assertEquals(206, response.getStatus(), range);
+        assertEquals(contentRange, response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(png, from, to), response.getContentAsByteArray(), range);
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.getImage(URL, request, response);
+        return response;
+    }
+}
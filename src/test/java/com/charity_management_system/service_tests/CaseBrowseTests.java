@@ -0,0 +1,162 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.dto.CaseBrowseRequest;
+import com.charity_management_system.dto.CaseDto;
+import com.charity_management_system.dto.CasePage;
+import com.charity_management_system.enums.CaseSort;
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.exception.custom.InvalidCursorException;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.model.Category;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.service.CaseService;
+import com.charity_management_system.service.impl.CaseServiceImpl;
+import com.charity_management_system.service.impl.CommonService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CaseServiceImpl#browseCases(CaseBrowseRequest)} against a real (in-memory H2) database: every
+ * sort order is paged through with its cursor and compared with the same filter and order applied in memory.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.charity_management_system.service_tests.CaseBrowseTests$RecordingInspector"
+})
+class CaseBrowseTests {
+
+    private static final int CASES = 120;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private CaseService caseService;
+    private List<Case> cases;
+    private int categoryId;
+
+    /**
+     * Persists cases over two categories and all statuses, with goals and amounts chosen to produce ties.
+     */
+    @BeforeEach
+    void setup() {
+        caseService = new CaseServiceImpl(caseRepository, null, null, null, null, new CommonService(), null, null, null, 7, 50, 50);
+
+        List<Category> categories = new ArrayList<>();
+        for (String name : List.of("Medical", "Education")) {
+            Category category = new Category();
+            category.setName(name);
+            entityManager.persist(category);
+            categories.add(category);
+        }
+        categoryId = categories.get(0).getId();
+
+        cases = new ArrayList<>();
+        CaseStatus[] statuses = CaseStatus.values();
+        for (int i = 0; i < CASES; i++) {
+            Case userCase = new Case();
+            userCase.setTitle("Case " + i);
+            userCase.setGoal(1_000 * (1 + i % 5));
+            userCase.setAmountRaised(250 * (i % 9));
+            userCase.setCaseStatus(statuses[i % statuses.length]);
+            userCase.setCategory(categories.get(i % 2));
+            entityManager.persist(userCase);
+            cases.add(userCase);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void browseCases_newestFirst_approvedByDefault() {
+        assertPagesMatch(new CaseBrowseRequest(), c -> c.getCaseStatus() == CaseStatus.APPROVED,
+                Comparator.comparing(Case::getId).reversed());
+    }
+
+    @Test
+    void browseCases_mostFundedFirst_givenCategoryAndGoalRange() {
+        CaseBrowseRequest request = new CaseBrowseRequest(categoryId, CaseStatus.APPROVED, 2_000.0, 4_000.0, CaseSort.MOST_FUNDED, null, null);
+
+        assertPagesMatch(request,
+                c -> c.getCaseStatus() == CaseStatus.APPROVED && c.getCategory().getId() == categoryId
+                        && c.getGoal() >= 2_000 && c.getGoal() <= 4_000,
+                Comparator.comparing(Case::getAmountRaised).reversed().thenComparing(Comparator.comparing(Case::getId).reversed()));
+    }
+
+    @Test
+    void browseCases_closestToGoalFirst_withoutFundedCases() {
+        CaseBrowseRequest request = new CaseBrowseRequest(null, CaseStatus.PENDING, null, null, CaseSort.CLOSEST_TO_GOAL, null, null);
+
+        assertPagesMatch(request,
+                c -> c.getCaseStatus() == CaseStatus.PENDING && c.getAmountRaised() < c.getGoal(),
+                Comparator.comparing((Case c) -> c.getGoal() - c.getAmountRaised()).thenComparing(Comparator.comparing(Case::getId).reversed()));
+    }
+
+    @Test
+    void browseCases_statusRenderedAsLiteral_forPartialIndexes() {
+        caseService.browseCases(new CaseBrowseRequest());
+
+        assertTrue(RecordingInspector.STATEMENTS.stream().anyMatch(sql -> sql.contains("'APPROVED'")),
+                () -> "status was bound as a parameter: " + RecordingInspector.STATEMENTS);
+    }
+
+    @Test
+    void browseCases_throwException_cursorOfAnotherSort() {
+        CasePage page = caseService.browseCases(new CaseBrowseRequest());
+        CaseBrowseRequest request = new CaseBrowseRequest(null, CaseStatus.APPROVED, null, null, CaseSort.MOST_FUNDED, page.getNextCursor(), null);
+
+        assertThrows(InvalidCursorException.class, () -> caseService.browseCases(request));
+    }
+
+    /**
+     * Pages through the browse results and checks them, in order, against the cases filtered and sorted in memory.
+     */
+    private void assertPagesMatch(CaseBrowseRequest request, Predicate<Case> filter, Comparator<Case> order) {
+        List<Integer> expected = cases.stream().filter(filter).sorted(order).map(Case::getId).toList();
+
+        List<Integer> actual = new ArrayList<>();
+        int pages = 0;
+        do {
+            CasePage page = caseService.browseCases(request);
+            page.getCases().stream().map(CaseDto::getId).forEach(actual::add);
+            request.setCursor(page.getNextCursor());
+            pages++;
+        } while (request.getCursor() != null);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+        assertEquals(Math.max(1, (expected.size() + 6) / 7), pages);
+    }
+
+    /**
+     * Records the SQL sent to the database.
+     */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
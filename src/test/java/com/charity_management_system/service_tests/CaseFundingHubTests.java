@@ -0,0 +1,290 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.dto.CaseFundingUpdate;
+import com.charity_management_system.exception.custom.CaseNotFoundException;
+import com.charity_management_system.exception.custom.TooManySubscribersException;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.service.impl.CaseFundingHub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CaseFundingHub} class using Mockito.
+ * This test class verifies that donations to a watched case are coalesced into a bounded number of events, that a
+ * slow subscriber only falls behind to the latest total without holding up the others, that a subscriber whose write
+ * hangs is dropped, and that the number of open streams is tracked and capped.
+ *
+ * <p>The {@link CaseRepository} is mocked and the streams are recording emitters, so no servlet container is
+ * involved.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+class CaseFundingHubTests {
+
+    private static final int EVENTS_PER_SECOND = 5;
+
+    /**
+     * Mocked {@link CaseRepository} returning the current total of the case.
+     */
+    @Mock
+    private CaseRepository caseRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicReference<Double> amountRaised = new AtomicReference<>(0.0);
+    private CaseFundingHub hub;
+
+    @AfterEach
+    void shutdown() {
+        if (hub != null) {
+            hub.shutdown();
+        }
+    }
+
+    /**
+     * Test for opening a stream.
+     * Verifies that the current total is sent right away and the stream is counted.
+     */
+    @Test
+    void register_sendCurrentTotal() throws Exception {
+        hub = hub(10);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        hub.register(1, emitter, funding(250.0));
+
+        awaitTrue(() -> emitter.updates.size() == 1);
+        assertEquals(250.0, emitter.updates.get(0).getAmountRaised());
+        assertEquals(1, hub.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("cases.funding.subscribers").gauge().value());
+    }
+
+    /**
+     * Test for opening a stream on a case that does not exist.
+     * Verifies that a {@link CaseNotFoundException} is thrown and nothing is counted.
+     */
+    @Test
+    void subscribe_throwException_invalidCaseId() {
+        hub = hub(10);
+        when(caseRepository.findFundingByIds(List.of(90))).thenReturn(List.of());
+
+        assertThrows(CaseNotFoundException.class, () -> hub.subscribe(90));
+        assertEquals(0, hub.getSubscriberCount());
+    }
+
+    /**
+     * Test for a burst of donations to a watched case.
+     * Verifies that the donations are coalesced into at most one event per tick and the last event carries the
+     * final total.
+     */
+    @Test
+    void caseFunded_coalesceBurst_watchedCase() throws Exception {
+        hub = hub(10);
+        stubCurrentTotal();
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(1, emitter, funding(0.0));
+
+        long start = System.nanoTime();
+        for (int i = 1; i <= 100; i++) {
+            amountRaised.set(i * 10.0);
+            hub.caseFunded(1);
+            Thread.sleep(5);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        awaitTrue(() -> emitter.last() == 1000.0);
+        long ticks = elapsedMs * EVENTS_PER_SECOND / 1000 + 2;
+        assertTrue(emitter.updates.size() <= 1 + ticks, () -> emitter.updates.size() + " events in " + elapsedMs + " ms");
+        verify(caseRepository, atMost((int) ticks)).findFundingByIds(anyCollection());
+    }
+
+    /**
+     * Test for donations to a case nobody watches.
+     * Verifies that the database is not read.
+     */
+    @Test
+    void caseFunded_ignore_unwatchedCase() throws Exception {
+        hub = hub(10);
+        hub.register(2, new RecordingEmitter(), funding(0.0));
+
+        hub.caseFunded(1);
+        Thread.sleep(3 * 1000 / EVENTS_PER_SECOND);
+
+        verifyNoInteractions(caseRepository);
+    }
+
+    /**
+     * Test for a subscriber that cannot keep up.
+     * Verifies that the other subscribers keep receiving events and that the slow one is sent only the latest total
+     * once it catches up, instead of every event it missed.
+     */
+    @Test
+    void caseFunded_skipToLatest_slowSubscriber() throws Exception {
+        hub = hub(10);
+        stubCurrentTotal();
+        RecordingEmitter fast = new RecordingEmitter();
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockAfter(1);
+        hub.register(1, fast, funding(0.0));
+        hub.register(1, slow, funding(0.0));
+        awaitTrue(() -> slow.updates.size() == 1);
+
+        for (int i = 1; i <= 5; i++) {
+            amountRaised.set(i * 10.0);
+            hub.caseFunded(1);
+            double expected = i * 10.0;
+            awaitTrue(() -> fast.last() == expected);
+        }
+        slow.release();
+
+        awaitTrue(() -> slow.last() == 50.0);
+        // the write that was stuck and the latest total; everything in between was replaced
+        assertTrue(slow.updates.size() <= 3, () -> String.valueOf(slow.updates.size()));
+        assertEquals(6, fast.updates.size());
+        assertTrue(meterRegistry.get("cases.funding.events").tag("result", "superseded").counter().count() >= 3);
+    }
+
+    /**
+     * Test for a subscriber whose write hangs, with a single sender thread.
+     * Verifies that it is dropped once the write exceeds the send timeout, that the other subscriber keeps receiving
+     * events meanwhile, and that its stream is ended when the write finally returns.
+     */
+    @Test
+    void caseFunded_dropSubscriber_writeExceedsSendTimeout() throws Exception {
+        hub = new CaseFundingHub(caseRepository, meterRegistry, EVENTS_PER_SECOND, 60_000, 60_000, 10, 1, 200, 2);
+        stubCurrentTotal();
+        RecordingEmitter stalled = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        stalled.blockAfter(1);
+        hub.register(1, stalled, funding(0.0));
+        awaitTrue(() -> stalled.updates.size() == 1);
+        hub.register(1, other, funding(0.0));
+        awaitTrue(() -> other.updates.size() == 1);
+
+        amountRaised.set(10.0);
+        hub.caseFunded(1);
+        awaitTrue(() -> hub.getSubscriberCount() == 1);
+        for (int i = 2; i <= 3; i++) {
+            amountRaised.set(i * 10.0);
+            hub.caseFunded(1);
+            double expected = i * 10.0;
+            awaitTrue(() -> other.last() == expected);
+        }
+        assertEquals(1.0, meterRegistry.get("cases.funding.events").tag("result", "stalled").counter().count());
+
+        stalled.release();
+        awaitTrue(() -> stalled.completed);
+        assertEquals(2, stalled.updates.size());
+    }
+
+    /**
+     * Test for a subscriber whose connection is gone.
+     * Verifies that it is dropped and no longer counted.
+     */
+    @Test
+    void register_dropSubscriber_failedWrite() throws Exception {
+        hub = hub(10);
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+
+        hub.register(1, emitter, funding(0.0));
+
+        awaitTrue(() -> hub.getSubscriberCount() == 0);
+        assertEquals(1.0, meterRegistry.get("cases.funding.events").tag("result", "failed").counter().count());
+    }
+
+    /**
+     * Test for opening more streams than allowed.
+     * Verifies that a {@link TooManySubscribersException} is thrown and the open streams are unaffected.
+     */
+    @Test
+    void register_throwException_subscriberLimitReached() {
+        hub = hub(1);
+        hub.register(1, new RecordingEmitter(), funding(0.0));
+
+        assertThrows(TooManySubscribersException.class, () -> hub.register(2, new RecordingEmitter(), funding(0.0)));
+        assertEquals(1, hub.getSubscriberCount());
+    }
+
+    private CaseFundingHub hub(int maxSubscribers) {
+        return new CaseFundingHub(caseRepository, meterRegistry, EVENTS_PER_SECOND, 60_000, 60_000, maxSubscribers, 2, 60_000, 2);
+    }
+
+    private void stubCurrentTotal() {
+        when(caseRepository.findFundingByIds(anyCollection())).thenAnswer(invocation -> List.of(funding(amountRaised.get())));
+    }
+
+    private static CaseFundingUpdate funding(double amountRaised) {
+        return new CaseFundingUpdate(1, amountRaised, 1000.0);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 5 seconds");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Emitter that records the funding updates written to it, and can fail or block its writes.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<CaseFundingUpdate> updates = new CopyOnWriteArrayList<>();
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile int blockAfter = Integer.MAX_VALUE;
+        private volatile boolean failing;
+        private volatile boolean completed;
+
+        void blockAfter(int events) {
+            blockAfter = events;
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        double last() {
+            return updates.isEmpty() ? Double.NaN : updates.get(updates.size() - 1).getAmountRaised();
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            for (DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof CaseFundingUpdate update) {
+                    if (updates.size() >= blockAfter) {
+                        try {
+                            released.await();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    updates.add(update);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.model.ImageVariants;
+import com.charity_management_system.repository.CaseRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the image columns written by {@link CaseRepository} as uploads and variant generation finish, against a
+ * real (in-memory H2) database.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class CaseImageUpdateTests {
+
+    private static final String FIRST_IMAGE = "/api/v1/images/first.png";
+    private static final String SECOND_IMAGE = "/api/v1/images/second.png";
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void updateImageVariants_dropsVariants_imageReplacedMeanwhile() {
+        Case userCase = new Case();
+        userCase.setTitle("Surgery fund");
+        userCase.setDescription("Help with surgery costs");
+        userCase.setGoal(1000);
+        userCase.setCaseStatus(CaseStatus.PENDING);
+        entityManager.persist(userCase);
+        entityManager.flush();
+        int caseId = userCase.getId();
+
+        caseRepository.markImageReady(caseId, FIRST_IMAGE);
+        caseRepository.markImageReady(caseId, SECOND_IMAGE);
+
+        ImageVariants stale = new ImageVariants("first-thumb", "first-card", "first-full", "data:image/jpeg;base64,AA==");
+        ImageVariants current = new ImageVariants("second-thumb", "second-card", "second-full", "data:image/jpeg;base64,AQ==");
+        assertEquals(0, caseRepository.updateImageVariants(caseId, FIRST_IMAGE, stale));
+        assertEquals(1, caseRepository.updateImageVariants(caseId, SECOND_IMAGE, current));
+
+        entityManager.clear();
+        Case stored = entityManager.find(Case.class, caseId);
+        assertEquals(SECOND_IMAGE, stored.getImagePath());
+        assertEquals("second-thumb", stored.getImageVariants().getThumbnailUrl());
+        assertEquals("second-full", stored.getImageVariants().getFullUrl());
+    }
+}
@@ -0,0 +1,187 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.model.ImageDigest;
+import com.charity_management_system.model.ImageDigestId;
+import com.charity_management_system.model.ImageVariants;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.ImageDigestRepository;
+import com.charity_management_system.service.impl.CaseImageUploader;
+import com.charity_management_system.service.impl.ImageVariantGenerator;
+import com.charity_management_system.storage.DriveImageStore;
+import com.charity_management_system.storage.ImageStager;
+import com.charity_management_system.storage.StagedImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link CaseImageUploader} storing through a {@link DriveImageStore} backed by a {@link FakeDrive}.
+ */
+class CaseImageUploaderTests {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    @TempDir
+    Path tempDir;
+
+    private FakeDrive fakeDrive;
+    private CaseRepository caseRepository;
+    private ImageDigestRepository imageDigestRepository;
+    private ImageStager imageStager;
+    private ImageVariantGenerator imageVariantGenerator;
+    private SimpleMeterRegistry meterRegistry;
+    private CaseImageUploader uploader;
+
+    @BeforeEach
+    void setUp() {
+        fakeDrive = new FakeDrive();
+        caseRepository = mock(CaseRepository.class);
+        imageDigestRepository = inMemoryImageDigestRepository();
+        imageStager = new ImageStager(tempDir, 1024 * 1024, true);
+        imageVariantGenerator = mock(ImageVariantGenerator.class);
+        meterRegistry = new SimpleMeterRegistry();
+        uploader = new CaseImageUploader(new DriveImageStore(fakeDrive.client(), "folder"), caseRepository,
+                imageDigestRepository, imageVariantGenerator, meterRegistry, 2, 10, 3, 1, 5);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        uploader.shutdown();
+    }
+
+    @Test
+    void submit_patchesImagePathAndQueuesVariants_uploadSucceeds() throws Exception {
+        StagedImage image = image(1);
+
+        uploader.submit(1, image);
+
+        verify(caseRepository, timeout(TIMEOUT_MS)).markImageReady(1, "https://drive.google.com/thumbnail?id=fake-file-1&sz=w1000");
+        verify(imageVariantGenerator, timeout(TIMEOUT_MS)).submit(1, "https://drive.google.com/thumbnail?id=fake-file-1&sz=w1000", image);
+        uploader.shutdown();
+        assertEquals(1, fakeDrive.fileCreations());
+        assertEquals(1, fakeDrive.permissionCreations());
+        assertTrue(Files.exists(image.path()), "the staging file belongs to the variant generator now");
+        assertEquals(1, meterRegistry.get("images.upload").tags("backend", "drive", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void submit_deletesUnsharedFileAndRetries_permissionCallFailsOnce() throws Exception {
+        fakeDrive.failNextPermissionCalls(1);
+
+        uploader.submit(1, image(1));
+
+        verify(caseRepository, timeout(TIMEOUT_MS)).markImageReady(1, "https://drive.google.com/thumbnail?id=fake-file-2&sz=w1000");
+        assertEquals(2, fakeDrive.fileCreations());
+        assertEquals(1, fakeDrive.fileDeletions());
+        assertEquals(1, fakeDrive.permissionCreations());
+        assertEquals(1.0, meterRegistry.get("images.upload.retries").counter().count());
+    }
+
+    @Test
+    void submit_marksImageFailed_retriesExhausted() throws Exception {
+        StagedImage image = image(1);
+        fakeDrive.failNextRequests(100, 503);
+
+        uploader.submit(1, image);
+
+        verify(caseRepository, timeout(TIMEOUT_MS)).markImageFailed(1);
+        verify(caseRepository, never()).markImageReady(anyInt(), anyString());
+        verifyNoInteractions(imageVariantGenerator);
+        uploader.shutdown();
+        assertFalse(Files.exists(image.path()));
+        assertEquals(2.0, meterRegistry.get("images.upload.retries").counter().count());
+    }
+
+    @Test
+    void submit_doesNotRetry_clientError() throws Exception {
+        fakeDrive.failNextRequests(100, 403);
+
+        uploader.submit(1, image(1));
+
+        verify(caseRepository, timeout(TIMEOUT_MS)).markImageFailed(1);
+        assertEquals(0.0, meterRegistry.get("images.upload.retries").counter().count());
+    }
+
+    @Test
+    void submit_reusesStoredCopy_sameImageUploadedAgain() throws Exception {
+        String url = "https://drive.google.com/thumbnail?id=fake-file-1&sz=w1000";
+        uploader.submit(1, image(1));
+        verify(caseRepository, timeout(TIMEOUT_MS)).markImageReady(1, url);
+
+        StagedImage duplicate = image(1);
+        uploader.submit(2, duplicate);
+
+        verify(caseRepository).markImageReady(2, url);
+        verify(imageVariantGenerator).submit(2, url, duplicate);
+        uploader.submit(3, image(2));
+        verify(caseRepository, timeout(TIMEOUT_MS)).markImageReady(3, "https://drive.google.com/thumbnail?id=fake-file-2&sz=w1000");
+        assertEquals(2, fakeDrive.fileCreations());
+        assertEquals(2, fakeDrive.permissionCreations());
+        assertEquals(1.0, meterRegistry.get("images.upload.dedup").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("images.upload.dedup").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void submit_reusesStoredVariants_duplicateOfProcessedImage() throws Exception {
+        uploader.submit(1, image(1));
+        verify(caseRepository, timeout(TIMEOUT_MS)).markImageReady(eq(1), anyString());
+        ImageVariants variants = new ImageVariants("thumb", "card", "full", "data:image/jpeg;base64,AA==");
+        imageDigestRepository.findAll().forEach(digest -> digest.setImageVariants(variants));
+
+        StagedImage duplicate = image(1);
+        uploader.submit(2, duplicate);
+
+        verify(caseRepository).updateImageVariants(2, "https://drive.google.com/thumbnail?id=fake-file-1&sz=w1000", variants);
+        verify(imageVariantGenerator, never()).submit(eq(2), anyString(), any());
+        assertFalse(Files.exists(duplicate.path()));
+    }
+
+    @Test
+    void submit_storesOnce_identicalImagesUploadedConcurrently() throws Exception {
+        for (int caseId = 1; caseId <= 6; caseId++) {
+            uploader.submit(caseId, image(7));
+        }
+
+        for (int caseId = 1; caseId <= 6; caseId++) {
+            verify(caseRepository, timeout(TIMEOUT_MS)).markImageReady(caseId, "https://drive.google.com/thumbnail?id=fake-file-1&sz=w1000");
+        }
+        assertEquals(1, fakeDrive.fileCreations());
+        assertEquals(5.0, meterRegistry.get("images.upload.dedup").tag("result", "hit").counter().count());
+    }
+
+    /**
+     * Stages a small JPEG whose content, and therefore digest, is determined by the seed.
+     */
+    private StagedImage image(int seed) throws IOException {
+        byte[] bytes = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, (byte) seed, (byte) (seed >> 8)};
+        return imageStager.stage(new ByteArrayInputStream(bytes));
+    }
+
+    private static ImageDigestRepository inMemoryImageDigestRepository() {
+        Map<ImageDigestId, ImageDigest> digests = new ConcurrentHashMap<>();
+        ImageDigestRepository repository = mock(ImageDigestRepository.class);
+        when(repository.findBySha256AndBackend(anyString(), anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(digests.get(new ImageDigestId(invocation.getArgument(0), invocation.getArgument(1)))));
+        when(repository.findAll()).thenAnswer(invocation -> List.copyOf(digests.values()));
+        when(repository.save(any(ImageDigest.class))).thenAnswer(invocation -> {
+            ImageDigest digest = invocation.getArgument(0);
+            digests.put(new ImageDigestId(digest.getSha256(), digest.getBackend()), digest);
+            return digest;
+        });
+        return repository;
+    }
+}
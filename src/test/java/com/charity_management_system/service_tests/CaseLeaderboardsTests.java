@@ -0,0 +1,257 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.dto.CaseLeaderboard;
+import com.charity_management_system.dto.DonationHistoryEntry;
+import com.charity_management_system.dto.TopDonor;
+import com.charity_management_system.enums.PaymentMethod;
+import com.charity_management_system.exception.custom.CaseNotFoundException;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.model.Donation;
+import com.charity_management_system.model.User;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.DonationRepository;
+import com.charity_management_system.service.impl.CaseLeaderboards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CaseLeaderboards} class using Mockito.
+ * This test class verifies that a leaderboard is built from the database once, kept current by donations, bounded in
+ * size, and rebuilt after its case was dropped from memory.
+ *
+ * <p>Mocks are used to simulate the behavior of the {@link DonationRepository} and {@link CaseRepository}.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+class CaseLeaderboardsTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    /**
+     * Mocked {@link DonationRepository} returning the donor totals and recent donations of a case.
+     */
+    @Mock
+    private DonationRepository donationRepository;
+
+    /**
+     * Mocked {@link CaseRepository} used to check whether a case exists.
+     */
+    @Mock
+    private CaseRepository caseRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CaseLeaderboards caseLeaderboards;
+    private User donor;
+
+    @BeforeEach
+    void setup() {
+        caseLeaderboards = new CaseLeaderboards(donationRepository, caseRepository, meterRegistry, 2, 3, 2);
+        donor = new User();
+        donor.setId("donor-3");
+        donor.setFirstName("Sara");
+        donor.setLastName("Adel");
+    }
+
+    /**
+     * Test for reading a leaderboard twice.
+     * Verifies that it is built from the database once and then served from memory, in ranking order.
+     */
+    @Test
+    void getLeaderboard_loadOnce_repeatedReads() {
+        stubCase(1, List.of(topDonor("donor-1", 500), topDonor("donor-2", 300)), List.of(entry(2, 1), entry(1, 0)));
+
+        CaseLeaderboard first = caseLeaderboards.getLeaderboard(1);
+        CaseLeaderboard second = caseLeaderboards.getLeaderboard(1);
+
+        assertEquals(List.of("donor-1", "donor-2"), second.getTopDonors().stream().map(TopDonor::getDonorId).toList());
+        assertEquals(List.of(2, 1), second.getRecentDonations().stream().map(DonationHistoryEntry::getId).toList());
+        assertEquals(first.getTopDonors().size(), second.getTopDonors().size());
+        verify(donationRepository, times(1)).findTopDonors(1, Limit.of(2));
+        assertEquals(1.0, meterRegistry.get("donations.leaderboard.requests").tag("result", "hit").functionCounter().count());
+    }
+
+    /**
+     * Test for a donation to a case whose leaderboard is in memory.
+     * Verifies that the donor takes the place of the smallest top donor and the donation replaces the oldest recent
+     * donation, so neither list grows past its limit.
+     */
+    @Test
+    void donationsRecorded_updateLeaderboard_cachedCase() {
+        stubCase(1, List.of(topDonor("donor-1", 500), topDonor("donor-2", 300)), List.of(entry(3, 2), entry(2, 1), entry(1, 0)));
+        caseLeaderboards.getLeaderboard(1);
+        when(donationRepository.findDonorTotal(1, "donor-3")).thenReturn(Optional.of(topDonor("donor-3", 400)));
+
+        caseLeaderboards.donationsRecorded(donor, List.of(donation(4, 1, 400, 3)));
+        CaseLeaderboard leaderboard = caseLeaderboards.getLeaderboard(1);
+
+        assertEquals(List.of("donor-1", "donor-3"), leaderboard.getTopDonors().stream().map(TopDonor::getDonorId).toList());
+        assertEquals(List.of(4, 3, 2), leaderboard.getRecentDonations().stream().map(DonationHistoryEntry::getId).toList());
+        assertEquals("Sara A.", leaderboard.getRecentDonations().get(0).getDonorName());
+    }
+
+    /**
+     * Test for donations recorded inside a transaction.
+     * Verifies that the donor's total is read right away, in that transaction, but only applied once it commits.
+     */
+    @Test
+    void donationsRecorded_applyAfterCommit_activeTransaction() {
+        stubCase(1, List.of(topDonor("donor-1", 500)), List.of(entry(1, 0)));
+        caseLeaderboards.getLeaderboard(1);
+        when(donationRepository.findDonorTotal(1, "donor-3")).thenReturn(Optional.of(topDonor("donor-3", 400)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            caseLeaderboards.donationsRecorded(donor, List.of(donation(2, 1, 400, 1)));
+
+            verify(donationRepository).findDonorTotal(1, "donor-3");
+            assertEquals(1, caseLeaderboards.getLeaderboard(1).getTopDonors().size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        CaseLeaderboard leaderboard = caseLeaderboards.getLeaderboard(1);
+        assertEquals(List.of("donor-1", "donor-3"), leaderboard.getTopDonors().stream().map(TopDonor::getDonorId).toList());
+        assertEquals(List.of(2, 1), leaderboard.getRecentDonations().stream().map(DonationHistoryEntry::getId).toList());
+    }
+
+    /**
+     * Test for reading the leaderboard of a deleted case.
+     * Verifies that the deletion drops it from memory, so it is rebuilt from the database.
+     */
+    @Test
+    void caseDeleted_rebuild_cachedCase() {
+        stubCase(1, List.of(topDonor("donor-1", 500)), List.of(entry(1, 0)));
+        caseLeaderboards.getLeaderboard(1);
+
+        caseLeaderboards.caseDeleted(1);
+
+        assertEquals(0.0, meterRegistry.get("donations.leaderboard.cases").gauge().value());
+        caseLeaderboards.getLeaderboard(1);
+        verify(donationRepository, times(2)).findTopDonors(1, Limit.of(2));
+    }
+
+    /**
+     * Test for a donation by a donor who registered without a last name.
+     * Verifies that the donation is listed with an empty initial instead of failing the update.
+     */
+    @Test
+    void donationsRecorded_emptyInitial_donorWithoutLastName() {
+        stubCase(1, List.of(), List.of(entry(1, 0)));
+        caseLeaderboards.getLeaderboard(1);
+        when(donationRepository.findDonorTotal(1, "donor-3")).thenReturn(Optional.of(topDonor("donor-3", 50)));
+        donor.setLastName("");
+
+        caseLeaderboards.donationsRecorded(donor, List.of(donation(2, 1, 50, 1)));
+        CaseLeaderboard leaderboard = caseLeaderboards.getLeaderboard(1);
+
+        assertEquals("Sara .", leaderboard.getRecentDonations().get(0).getDonorName());
+        assertEquals(List.of("donor-3"), leaderboard.getTopDonors().stream().map(TopDonor::getDonorId).toList());
+    }
+
+    /**
+     * Test for an update that arrives after a newer one, and a donation that is already held.
+     * Verifies that the donor keeps the larger total and the donation is not listed twice.
+     */
+    @Test
+    void donationsRecorded_keepLatest_lateOrRepeatedUpdate() {
+        stubCase(1, List.of(topDonor("donor-3", 700)), List.of(entry(5, 3)));
+        caseLeaderboards.getLeaderboard(1);
+        when(donationRepository.findDonorTotal(1, "donor-3")).thenReturn(Optional.of(topDonor("donor-3", 400)));
+
+        caseLeaderboards.donationsRecorded(donor, List.of(donation(5, 1, 300, 3)));
+        CaseLeaderboard leaderboard = caseLeaderboards.getLeaderboard(1);
+
+        assertEquals(700.0, leaderboard.getTopDonors().get(0).getTotalAmount());
+        assertEquals(1, leaderboard.getRecentDonations().size());
+    }
+
+    /**
+     * Test for a donation to a case whose leaderboard is not in memory.
+     * Verifies that nothing is read from the database.
+     */
+    @Test
+    void donationsRecorded_skip_uncachedCase() {
+        caseLeaderboards.donationsRecorded(donor, List.of(donation(1, 9, 50, 0)));
+
+        verifyNoInteractions(donationRepository);
+    }
+
+    /**
+     * Test for reading more cases than are kept in memory.
+     * Verifies that the least recently read case is dropped and rebuilt on its next read.
+     */
+    @Test
+    void getLeaderboard_rebuild_evictedCase() {
+        for (int caseId = 1; caseId <= 3; caseId++) {
+            stubCase(caseId, List.of(topDonor("donor-1", 100)), List.of());
+        }
+
+        caseLeaderboards.getLeaderboard(1);
+        caseLeaderboards.getLeaderboard(2);
+        caseLeaderboards.getLeaderboard(1);
+        caseLeaderboards.getLeaderboard(3);
+        caseLeaderboards.getLeaderboard(1);
+        caseLeaderboards.getLeaderboard(2);
+
+        verify(donationRepository, times(1)).findTopDonors(1, Limit.of(2));
+        verify(donationRepository, times(2)).findTopDonors(2, Limit.of(2));
+        assertEquals(2.0, meterRegistry.get("donations.leaderboard.cases").gauge().value());
+    }
+
+    /**
+     * Test for the leaderboard of a case that does not exist.
+     * Verifies that a {@link CaseNotFoundException} is thrown and nothing is kept in memory.
+     */
+    @Test
+    void getLeaderboard_throwException_invalidCaseId() {
+        when(donationRepository.findTopDonors(anyInt(), any(Limit.class))).thenReturn(List.of());
+        when(donationRepository.findDonationHistory(anyInt(), any(Limit.class))).thenReturn(List.of());
+        when(caseRepository.existsById(90)).thenReturn(false);
+
+        assertThrows(CaseNotFoundException.class, () -> caseLeaderboards.getLeaderboard(90));
+        assertEquals(0.0, meterRegistry.get("donations.leaderboard.cases").gauge().value());
+        verify(donationRepository, never()).findDonorTotal(anyInt(), anyString());
+    }
+
+    private void stubCase(int caseId, List<TopDonor> donors, List<DonationHistoryEntry> recent) {
+        when(donationRepository.findTopDonors(caseId, Limit.of(2))).thenReturn(donors);
+        when(donationRepository.findDonationHistory(caseId, Limit.of(3))).thenReturn(recent);
+    }
+
+    private static TopDonor topDonor(String donorId, double total) {
+        return new TopDonor(donorId, donorId, 1, total);
+    }
+
+    private static DonationHistoryEntry entry(int id, int minutes) {
+        return new DonationHistoryEntry(id, 10, PaymentMethod.PAYPAL, START.plusMinutes(minutes), "Someone E.");
+    }
+
+    private static Donation donation(int id, int caseId, double amount, int minutes) {
+        Case donationCase = new Case();
+        donationCase.setId(caseId);
+        Donation donation = new Donation();
+        donation.setId(id);
+        donation.setAmount(amount);
+        donation.setPaymentMethod(PaymentMethod.PAYPAL);
+        donation.setCreatedAt(START.plusMinutes(minutes));
+        donation.setCaseEntity(donationCase);
+        return donation;
+    }
+}
@@ -0,0 +1,214 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.dto.CaseDto;
+import com.charity_management_system.dto.CasePage;
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.enums.Role;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.model.Category;
+import com.charity_management_system.model.User;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.CategoryRepository;
+import com.charity_management_system.repository.UserRepository;
+import com.charity_management_system.service.CaseService;
+import com.charity_management_system.service.impl.CaseServiceImpl;
+import com.charity_management_system.service.impl.CommonService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the {@link CaseDto} read paths of {@link CaseServiceImpl} with the entity based implementation they
+ * replaced, against a real (in-memory H2) database.
+ *
+ * <p>The entity path loaded managed {@link Case} entities (through {@code findAll}, {@code user.getCaseList()} or
+ * {@code category.getCaseList()}) and copied six fields out of each, which also loads the eager user and category
+ * of every case. The projection path selects the DTO columns only. For each path the number of JDBC statements is
+ * asserted and the bytes allocated by the calling thread are logged and compared.</p>
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CaseReadPathTests {
+
+    private static final int USERS = 20;
+    private static final int CATEGORIES = 5;
+    private static final int CASES = 400;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private CaseService caseService;
+    private Statistics statistics;
+    private int categoryId;
+
+    /**
+     * Persists {@link #CASES} cases spread over {@link #USERS} owners and {@link #CATEGORIES} categories.
+     */
+    @BeforeEach
+    void setup() {
+        caseService = new CaseServiceImpl(caseRepository, userRepository, categoryRepository, null, null, new CommonService(), null, null, null,
+                50, 100, 50);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setPassword("secret");
+            user.setEmail("user" + i + "@example.com");
+            user.setRole(Role.REGULAR_USER);
+            user.setFirstName("First");
+            user.setLastName("Last");
+            user.setCountry("EG");
+            user.setZipCode(11511);
+            entityManager.persist(user);
+            users.add(user);
+        }
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            entityManager.persist(category);
+            categories.add(category);
+        }
+        for (int i = 0; i < CASES; i++) {
+            Case userCase = new Case();
+            userCase.setTitle("Case " + i);
+            userCase.setDescription("Support for family #" + i + " covering surgery, medication and follow-up visits.");
+            userCase.setGoal(10_000);
+            userCase.setAmountRaised(i);
+            userCase.setCaseStatus(CaseStatus.APPROVED);
+            userCase.setUser(users.get(i % USERS));
+            userCase.setCategory(categories.get(i % CATEGORIES));
+            entityManager.persist(userCase);
+        }
+        categoryId = categories.get(0).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void showCases_oneStatementAndFewerAllocations_comparedToEntities() {
+        compare("showCases",
+                () -> toDtos(caseRepository.findAll()),
+                () -> caseService.showCases(),
+                CASES);
+    }
+
+    @Test
+    void getUserCasesByUsername_oneStatementAndFewerAllocations_comparedToEntities() {
+        compare("getUserCasesByUsername",
+                () -> toDtos(userRepository.findByUsername("user3").orElseThrow().getCaseList()),
+                () -> caseService.getUserCasesByUsername("user3"),
+                CASES / USERS);
+    }
+
+    @Test
+    void getCasesByCategory_oneStatementAndFewerAllocations_comparedToEntities() {
+        compare("getCasesByCategory",
+                () -> toDtos(categoryRepository.findById(categoryId).orElseThrow().getCaseList()),
+                () -> caseService.getCasesByCategory(categoryId),
+                CASES / CATEGORIES);
+    }
+
+    /**
+     * Checks that the keyset feed applies its limit to the projection query and pages through every case once.
+     */
+    @Test
+    void getCaseFeed_pagesThroughAllCases_withProjectionQuery() {
+
+        int seen = 0;
+        String cursor = null;
+        do {
+            statistics.clear();
+            CasePage page = caseService.getCaseFeed(cursor, null);
+            assertEquals(1, statistics.getPrepareStatementCount());
+            seen += page.getCases().size();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(CASES, seen);
+    }
+
+    private void compare(String path, Supplier<List<CaseDto>> entityPath, Supplier<List<CaseDto>> projectionPath, int expectedCases) {
+        Measurement entities = measure(entityPath);
+        Measurement projections = measure(projectionPath);
+        log.info("{}: entities {} statements / {} KiB, projection {} statements / {} KiB", path,
+                entities.statements(), entities.allocatedBytes() / 1024,
+                projections.statements(), projections.allocatedBytes() / 1024);
+
+        assertEquals(expectedCases, entities.cases());
+        assertEquals(expectedCases, projections.cases());
+        assertEquals(1, projections.statements());
+        assertTrue(entities.statements() > projections.statements());
+        assertTrue(projections.allocatedBytes() < entities.allocatedBytes(),
+                () -> path + " projection allocated " + projections.allocatedBytes() + " bytes, entities " + entities.allocatedBytes());
+    }
+
+    /**
+     * Runs a read path {@link #ROUNDS} times, each on an empty persistence context, and keeps the statements of
+     * one round and the smallest allocation seen (the first rounds include class loading and query compilation).
+     */
+    private Measurement measure(Supplier<List<CaseDto>> readPath) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long statements = 0;
+        long allocatedBytes = Long.MAX_VALUE;
+        int cases = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            entityManager.clear();
+            statistics.clear();
+            long before = threads.getCurrentThreadAllocatedBytes();
+            cases = readPath.get().size();
+            allocatedBytes = Math.min(allocatedBytes, threads.getCurrentThreadAllocatedBytes() - before);
+            statements = statistics.getPrepareStatementCount();
+        }
+        return new Measurement(statements, allocatedBytes, cases);
+    }
+
+    private static List<CaseDto> toDtos(List<Case> cases) {
+        List<CaseDto> caseDtos = new ArrayList<>(cases.size());
+        for (Case c : cases) {
+            CaseDto caseDto = new CaseDto();
+            caseDto.setId(c.getId());
+            caseDto.setTitle(c.getTitle());
+            caseDto.setGoal(c.getGoal());
+            caseDto.setDescription(c.getDescription());
+            caseDto.setImagePath(c.getImagePath());
+            caseDto.setAmountRaised(c.getAmountRaised());
+            caseDtos.add(caseDto);
+        }
+        return caseDtos;
+    }
+
+    private record Measurement(long statements, long allocatedBytes, int cases) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.projection.CaseSearchHit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CaseRepository#searchFullText} against the PostgreSQL database configured through
+ * {@code SPRING_DATASOURCE_URL}. Skipped when no PostgreSQL datasource is configured.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = "jdbc:postgresql:.*")
+class CaseSearchTests {
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Test
+    void searchFullText_escapesHtml_markupInTitleAndDescription() {
+        Case userCase = new Case();
+        userCase.setTitle("<script>alert(1)</script> Surgery fund");
+        userCase.setDescription("Help \"Amina\" & her family with surgery costs <img src=x onerror=alert(1)>");
+        userCase.setGoal(1000);
+        userCase.setCaseStatus(CaseStatus.APPROVED);
+        userCase = caseRepository.saveAndFlush(userCase);
+
+        List<CaseSearchHit> hits = caseRepository.searchFullText("surgery", 50);
+
+        int caseId = userCase.getId();
+        CaseSearchHit hit = hits.stream().filter(candidate -> candidate.getId() == caseId).findFirst().orElseThrow();
+        assertEquals("&lt;script&gt;alert(1)&lt;/script&gt; <mark>Surgery</mark> fund", hit.getHighlightedTitle());
+        String description = hit.getHighlightedDescription();
+        assertTrue(description.contains("<mark>surgery</mark>"), description);
+        assertFalse(description.replace("<mark>", "").replace("</mark>", "").matches(".*[<>\"].*"), description);
+        assertEquals(userCase.getTitle(), hit.getTitle());
+    }
+}
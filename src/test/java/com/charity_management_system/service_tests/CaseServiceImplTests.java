@@ -1,10 +1,13 @@
 package com.charity_management_system.service_tests;
 
 import com.charity_management_system.dto.CaseDto;
-import com.charity_management_system.dto.ImageSavingResponse;
+import com.charity_management_system.dto.CasePage;
+import com.charity_management_system.dto.CaseSearchResult;
 import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.enums.ImageStatus;
 import com.charity_management_system.exception.custom.CaseNotFoundException;
 import com.charity_management_system.exception.custom.CategoryNotFoundException;
+import com.charity_management_system.exception.custom.InvalidCursorException;
 import com.charity_management_system.exception.custom.UserNotFoundException;
 import com.charity_management_system.model.Case;
 import com.charity_management_system.model.Category;
@@ -12,25 +15,35 @@ import com.charity_management_system.model.User;
 import com.charity_management_system.repository.CaseRepository;
 import com.charity_management_system.repository.CategoryRepository;
 import com.charity_management_system.repository.UserRepository;
+import com.charity_management_system.repository.projection.CaseSearchHit;
+import com.charity_management_system.service.CategoryService;
+import com.charity_management_system.service.impl.CaseImageUploader;
+import com.charity_management_system.service.impl.CaseLeaderboards;
 import com.charity_management_system.service.impl.CaseServiceImpl;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.charity_management_system.service.impl.CommonService;
-import com.google.api.services.drive.Drive;
+import com.charity_management_system.service.impl.CursorCodec;
+import com.charity_management_system.service.impl.DonationAggregates;
+import com.charity_management_system.service.impl.RetryingTransactionExecutor;
+import com.charity_management_system.storage.StagedImage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionOperations;
 
-import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -41,7 +54,7 @@ import java.util.Optional;
  * and deleting cases, as well as retrieving cases by category and user.
  *
  * <p>Mocks are used to simulate the behavior of dependent classes such as {@link CaseRepository}, {@link UserRepository},
- * {@link CategoryRepository}, {@link CommonService}, and {@link Drive}.</p>
+ * {@link CategoryRepository}, {@link CommonService}, {@link CaseImageUploader} and {@link DonationAggregates}.</p>
  *
  * <p>This class uses the {@link MockitoExtension} to enable mock injection and simplify testing.</p>
  *
@@ -68,6 +81,12 @@ class CaseServiceImplTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    /**
+     * Mocked {@link CategoryService} used to simulate the cached category lookups.
+     */
+    @Mock
+    private CategoryService categoryService;
+
     /**
      * Mocked {@link CommonService} used to simulate common service methods.
      */
@@ -75,10 +94,29 @@ class CaseServiceImplTests {
     private CommonService commonService;
 
     /**
-     * Mocked {@link Drive} used to simulate file storage operations.
+     * Mocked {@link CaseImageUploader} used to simulate the background image uploads.
+     */
+    @Mock
+    private CaseImageUploader caseImageUploader;
+
+    /**
+     * Mocked {@link DonationAggregates} standing in for the donation rollups.
+     */
+    @Mock
+    private DonationAggregates donationAggregates;
+
+    /**
+     * Mocked {@link CaseLeaderboards} standing in for the in-memory leaderboards.
      */
     @Mock
-    private Drive drive;
+    private CaseLeaderboards caseLeaderboards;
+
+    /**
+     * Real {@link RetryingTransactionExecutor} running without a transaction manager and without backoff delays.
+     */
+    @Spy
+    private RetryingTransactionExecutor retryingTransactionExecutor =
+            new RetryingTransactionExecutor(TransactionOperations.withoutTransaction(), 3, 0, 0);
 
     /**
      * Captor used to capture {@link Case} objects during test method execution.
@@ -87,9 +125,8 @@ class CaseServiceImplTests {
     private ArgumentCaptor<Case> caseCaptor;
 
     /**
-     * The {@link CaseServiceImpl} instance under test, with dependencies injected via {@link InjectMocks}.
+     * The {@link CaseServiceImpl} instance under test, built from the mocks with small page sizes.
      */
-    @InjectMocks
     private CaseServiceImpl caseService;
 
     /**
@@ -108,9 +145,9 @@ class CaseServiceImplTests {
     private CaseDto testCaseDto;
 
     /**
-     * Sample {@link File} object used for image testing.
+     * Sample {@link StagedImage} object used for image testing.
      */
-    private File testImage;
+    private StagedImage testImage;
 
     /**
      * List of mock {@link Case} objects used in test cases.
@@ -159,7 +196,7 @@ class CaseServiceImplTests {
         testCase.setTitle("Medical Fund");
         testCase.setDescription("help me fund my medication");
 
-        testImage = new File("testImage.jpg");
+        testImage = new StagedImage(Path.of("testImage.jpg"), "image/jpeg", 1024, "ab".repeat(32));
 
         // Set up mock security context for authenticated user
         SecurityContext securityContext = mock(SecurityContext.class);
@@ -167,6 +204,10 @@ class CaseServiceImplTests {
         lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
         lenient().when(authentication.getName()).thenReturn("testUser");
         SecurityContextHolder.setContext(securityContext);
+
+        caseService = new CaseServiceImpl(caseRepository, userRepository, categoryRepository, categoryService,
+                caseImageUploader, commonService, retryingTransactionExecutor, donationAggregates, caseLeaderboards,
+                2, 5, 50);
     }
 
     /**
@@ -176,12 +217,13 @@ class CaseServiceImplTests {
     @Test
     void getCase_returnCase_caseExists(){
         int caseId = 1;
-        when(caseRepository.findById(caseId)).thenReturn(Optional.of(testCase));
+        when(caseRepository.findCaseDtoById(caseId)).thenReturn(Optional.of(testCaseDto));
         CaseDto caseDto = caseService.getCase(caseId);
 
         assertNotNull(caseDto);
-        assertEquals("Medical Fund", caseDto.getTitle());
-        verify(caseRepository, times(1)).findById(caseId);
+        assertEquals(testCaseDto.getTitle(), caseDto.getTitle());
+        verify(caseRepository, times(1)).findCaseDtoById(caseId);
+        verify(caseRepository, never()).findById(anyInt());
     }
 
     /**
@@ -191,7 +233,7 @@ class CaseServiceImplTests {
     @Test
     void getCase_throwException_caseDoesNotExist(){
         int caseId = 1;
-        when(caseRepository.findById(caseId)).thenReturn(Optional.empty());
+        when(caseRepository.findCaseDtoById(caseId)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(CaseNotFoundException.class, () -> caseService.getCase(caseId));
         assertEquals("Case not found with ID: 1", exception.getMessage());
@@ -199,80 +241,131 @@ class CaseServiceImplTests {
 
     /**
      * Test for creating a new case with a category name and image.
-     * Verifies that the case is saved successfully and that the correct data is set.
+     * Verifies that the case is saved in the PENDING state and its image is queued for upload.
      */
     @Test
     void createCase_saveTheCase_givenCaseAndCategoryNameAndImage(){
         when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findByName("Medical")).thenReturn(testCategory);
-        when(caseRepository.save(any(Case.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        ImageSavingResponse imageSavingResponse = new ImageSavingResponse();
-        imageSavingResponse.setUrl("http://testimage.com/image.jpg");
-        imageSavingResponse.setStatus(200);
-
-        CaseServiceImpl caseServiceSpy = spy(caseService);
-        doReturn(imageSavingResponse).when(caseServiceSpy).processingSavingImagesToDrive(testImage);
+        when(categoryService.findCategoryIdByName("Medical")).thenReturn(Optional.of(3));
+        when(categoryRepository.getReferenceById(3)).thenReturn(testCategory);
+        when(caseRepository.save(any(Case.class))).thenAnswer(invocation -> {
+            Case saved = invocation.getArgument(0);
+            saved.setId(7);
+            return saved;
+        });
 
-        Case createdCase = caseServiceSpy.createCase(testCaseDto, "Medical", testImage);
+        Case createdCase = caseService.createCase(testCaseDto, "Medical", testImage);
 
         assertNotNull(createdCase);
         assertEquals("Medical Help", createdCase.getTitle());
         assertEquals(CaseStatus.APPROVED, createdCase.getCaseStatus());
+        assertEquals(ImageStatus.PENDING, createdCase.getImageStatus());
+        assertNull(createdCase.getImagePath());
         assertEquals(testUser, createdCase.getUser());
         assertEquals(testCategory, createdCase.getCategory());
         verify(caseRepository).save(caseCaptor.capture());
+        verify(caseImageUploader).submit(7, testImage);
     }
 
     /**
      * Test for updating an existing case.
-     * Verifies that the case is updated with the new details and image path.
+     * Verifies that only the edited columns are written and the new image is queued for upload.
      */
     @Test
     void updateCase_updateTheCase_givenCaseIdAndCaseAndImage(){
         Case existingCase = new Case();
         existingCase.setId(1);
-        existingCase.setTitle("old title");
-        existingCase.setDescription("old description");
+        existingCase.setTitle("new title");
+        existingCase.setDescription("new description");
+        existingCase.setImagePath("http://testimage.com/oldimage.jpg");
+        existingCase.setImageStatus(ImageStatus.PENDING);
 
         CaseDto updatedCaseDto = new CaseDto();
         updatedCaseDto.setTitle("new title");
         updatedCaseDto.setDescription("new description");
+        updatedCaseDto.setGoal(500.0);
 
-        ImageSavingResponse imageResponse = new ImageSavingResponse();
-        imageResponse.setUrl("http://testimage.com/newimage.jpg");
-        imageResponse.setStatus(200);
-
+        when(caseRepository.updateDetails(1, "new title", "new description", 500.0, true)).thenReturn(1);
         when(caseRepository.findById(1)).thenReturn(Optional.of(existingCase));
-        when(caseRepository.save(any(Case.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        CaseServiceImpl caseServiceSpy = spy(caseService);
-        doReturn(imageResponse).when(caseServiceSpy).processingSavingImagesToDrive(testImage);
-
-        Case updatedCase = caseServiceSpy.updateCase(1, updatedCaseDto, testImage);
+        Case updatedCase = caseService.updateCase(1, updatedCaseDto, testImage);
 
         assertNotNull(updatedCase);
         assertEquals("new title", updatedCase.getTitle());
-        assertEquals("new description", updatedCase.getDescription());
-        assertEquals("http://testimage.com/newimage.jpg", updatedCase.getImagePath());
-        verify(caseRepository).save(caseCaptor.capture());
+        assertEquals("http://testimage.com/oldimage.jpg", updatedCase.getImagePath());
+        verify(caseRepository, never()).save(any(Case.class));
+        verify(caseImageUploader).submit(1, testImage);
+    }
+
+    /**
+     * Test for updating a case without a new image.
+     * Verifies that the image status is left alone and nothing is queued.
+     */
+    @Test
+    void updateCase_keepsImage_noImageGiven(){
+        when(caseRepository.updateDetails(1, "Medical Help", "Need funds for surgery.", 1000.0, false)).thenReturn(1);
+        when(caseRepository.findById(1)).thenReturn(Optional.of(testCase));
+
+        assertSame(testCase, caseService.updateCase(1, testCaseDto, null));
+        verifyNoInteractions(caseImageUploader);
+    }
+
+    /**
+     * Test for updating a case that does not exist.
+     * Verifies that a {@link CaseNotFoundException} is thrown and nothing is queued.
+     */
+    @Test
+    void updateCase_throwException_caseDoesNotExist(){
+        when(caseRepository.updateDetails(anyInt(), any(), any(), anyDouble(), anyBoolean())).thenReturn(0);
+
+        assertThrows(CaseNotFoundException.class, () -> caseService.updateCase(1, testCaseDto, testImage));
+        verifyNoInteractions(caseImageUploader);
+    }
+
+    /**
+     * Test for replacing the image of an existing case.
+     * Verifies that only the image status is written and the new image is queued for upload.
+     */
+    @Test
+    void replaceCaseImage_queuesUpload_caseExists(){
+        when(caseRepository.findById(1)).thenReturn(Optional.of(testCase));
+
+        Case updatedCase = caseService.replaceCaseImage(1, testImage);
+
+        assertEquals(ImageStatus.PENDING, updatedCase.getImageStatus());
+        verify(caseRepository).markImagePending(1);
+        verify(caseRepository, never()).save(any(Case.class));
+        verify(caseImageUploader).submit(1, testImage);
+    }
+
+    /**
+     * Test for replacing the image of a case that does not exist.
+     * Verifies that a {@link CaseNotFoundException} is thrown and nothing is queued.
+     */
+    @Test
+    void replaceCaseImage_throwException_caseDoesNotExist(){
+        when(caseRepository.findById(1)).thenReturn(Optional.empty());
+
+        assertThrows(CaseNotFoundException.class, () -> caseService.replaceCaseImage(1, testImage));
+        verifyNoInteractions(caseImageUploader);
     }
 
     /**
      * Test for searching cases based on a query string.
-     * Verifies that cases are found when a matching title or description exists.
+     * Verifies that the full-text search hits are converted to search results.
      */
     @Test
     void searchCases_foundResults_correctQuery(){
-        when(caseRepository.findByTitleContainingOrDescriptionContaining("help", "help")).thenReturn(mockCases);
-        when(commonService.convertCaseToCaseDTO(any(Case.class))).thenReturn(testCaseDto);
+        List<CaseSearchHit> hits = List.of(mock(CaseSearchHit.class), mock(CaseSearchHit.class));
+        when(caseRepository.searchFullText("help", 50)).thenReturn(hits);
+        when(commonService.convertSearchHitToSearchResult(any(CaseSearchHit.class))).thenReturn(new CaseSearchResult());
 
-        List<CaseDto> result = caseService.searchCases("help");
+        List<CaseSearchResult> result = caseService.searchCases(" help ");
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(caseRepository, times(1)).findByTitleContainingOrDescriptionContaining("help", "help");
-        verify(commonService, times(2)).convertCaseToCaseDTO(any(Case.class));
+        verify(caseRepository, times(1)).searchFullText("help", 50);
+        verify(commonService, times(2)).convertSearchHitToSearchResult(any(CaseSearchHit.class));
     }
 
     /**
@@ -281,29 +374,44 @@ class CaseServiceImplTests {
      */
     @Test
     void searchCases_noResultsFound_falseQuery(){
-        when(caseRepository.findByTitleContainingOrDescriptionContaining("non-existent", "non-existent")).thenReturn(new ArrayList<>());
+        when(caseRepository.searchFullText("non-existent", 50)).thenReturn(new ArrayList<>());
 
-        List<CaseDto> result = caseService.searchCases("non-existent");
+        List<CaseSearchResult> result = caseService.searchCases("non-existent");
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(caseRepository, times(1)).findByTitleContainingOrDescriptionContaining("non-existent", "non-existent");
-        verify(commonService, times(0)).convertCaseToCaseDTO(any(Case.class));
+        verify(caseRepository, times(1)).searchFullText("non-existent", 50);
+        verify(commonService, times(0)).convertSearchHitToSearchResult(any(CaseSearchHit.class));
+    }
+
+    /**
+     * Test for searching cases with a blank query.
+     * Verifies that the search index is not queried at all.
+     */
+    @Test
+    void searchCases_noResultsFound_blankQuery(){
+        List<CaseSearchResult> result = caseService.searchCases("   ");
+
+        assertTrue(result.isEmpty());
+        verify(caseRepository, never()).searchFullText(anyString(), anyInt());
     }
 
     /**
      * Test for deleting a case when it exists.
-     * Verifies that the case is deleted and the appropriate message is returned.
+     * Verifies that the case row is locked, its donations are taken out of the rollups and then the case is deleted.
      */
     @Test
     void deleteCase_caseDeleted_caseExists(){
         int caseId = 1;
-        when(caseRepository.existsById(caseId)).thenReturn(true);
+        when(caseRepository.lockById(caseId)).thenReturn(Optional.of(caseId));
 
         String result = caseService.deleteCase(caseId);
         assertEquals("Case Deleted Successfully", result);
-        verify(caseRepository, times(1)).deleteById(caseId);
-        verify(caseRepository, times(1)).existsById(caseId);
+        InOrder inOrder = inOrder(caseRepository, donationAggregates);
+        inOrder.verify(caseRepository).lockById(caseId);
+        inOrder.verify(donationAggregates).remove(caseId);
+        inOrder.verify(caseRepository).deleteById(caseId);
+        verify(caseLeaderboards).caseDeleted(caseId);
     }
 
     /**
@@ -313,14 +421,15 @@ class CaseServiceImplTests {
     @Test
     void deleteCase_throwException_caseNotFound(){
         int caseId = 9020;
-        when(caseRepository.existsById(caseId)).thenReturn(false);
+        when(caseRepository.lockById(caseId)).thenReturn(Optional.empty());
 
         CaseNotFoundException exception = assertThrows(CaseNotFoundException.class, () -> {
             caseService.deleteCase(caseId);
         });
         assertEquals("Case not found with ID: " + caseId, exception.getMessage());
-        verify(caseRepository, times(1)).existsById(caseId);
+        verify(caseRepository, times(1)).lockById(caseId);
         verify(caseRepository, never()).deleteById(anyInt());
+        verifyNoInteractions(donationAggregates, caseLeaderboards);
     }
 
     /**
@@ -329,15 +438,14 @@ class CaseServiceImplTests {
      */
     @Test
     void showCases_getsAllTheCases_casesExist(){
-        when(caseRepository.findAll()).thenReturn(mockCases);
-        when(commonService.convertCaseToCaseDTO(any(Case.class))).thenReturn(testCaseDto);
+        when(caseRepository.findAllCaseDtos()).thenReturn(List.of(testCaseDto, testCaseDto));
 
         List<CaseDto> result = caseService.showCases();
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(caseRepository, times(1)).findAll();
-        verify(commonService, times(2)).convertCaseToCaseDTO(any(Case.class));
+        verify(caseRepository, times(1)).findAllCaseDtos();
+        verify(caseRepository, never()).findAll();
     }
 
     /**
@@ -346,15 +454,15 @@ class CaseServiceImplTests {
      */
     @Test
     void getUserCasesByUsername_returnCasesOfUser_validUsername(){
-        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(testUser));
-        when(commonService.convertCaseToCaseDTO(any(Case.class))).thenReturn(testCaseDto);
+        when(caseRepository.findCaseDtosByUsername("testUser")).thenReturn(List.of(testCaseDto, testCaseDto));
 
         List<CaseDto> result = caseService.getUserCasesByUsername("testUser");
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(userRepository, times(1)).findByUsername("testUser");
-        verify(commonService, times(2)).convertCaseToCaseDTO(any(Case.class));
+        verify(caseRepository, times(1)).findCaseDtosByUsername("testUser");
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository, never()).existsByUsername(anyString());
     }
 
     /**
@@ -364,15 +472,29 @@ class CaseServiceImplTests {
     @Test
     void getUserCasesByUsername_throwException_invalidUsername(){
         String username = "non-existent";
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+        when(caseRepository.findCaseDtosByUsername(username)).thenReturn(List.of());
+        when(userRepository.existsByUsername(username)).thenReturn(false);
 
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> {
             caseService.getUserCasesByUsername(username);
         });
 
         assertEquals("User Not Found With Username: " + username, exception.getMessage());
-        verify(userRepository, times(1)).findByUsername(username);
-        verify(commonService, never()).convertCaseToCaseDTO(any(Case.class));
+        verify(userRepository, times(1)).existsByUsername(username);
+    }
+
+    /**
+     * Test for retrieving cases by username when the user has no cases.
+     * Verifies that an empty list is returned rather than an exception.
+     */
+    @Test
+    void getUserCasesByUsername_returnEmptyList_userWithoutCases(){
+        when(caseRepository.findCaseDtosByUsername("testUser")).thenReturn(List.of());
+        when(userRepository.existsByUsername("testUser")).thenReturn(true);
+
+        List<CaseDto> result = caseService.getUserCasesByUsername("testUser");
+
+        assertTrue(result.isEmpty());
     }
 
     /**
@@ -382,15 +504,14 @@ class CaseServiceImplTests {
     @Test
     void getCasesByCategory_returnCases_categoryExists(){
         int categoryId = 1;
-        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(testCategory));
-        when(commonService.convertCaseToCaseDTO(any(Case.class))).thenReturn(testCaseDto);
+        when(caseRepository.findCaseDtosByCategoryId(categoryId)).thenReturn(List.of(testCaseDto, testCaseDto));
 
         List<CaseDto> result = caseService.getCasesByCategory(categoryId);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(categoryRepository, times(1)).findById(categoryId);
-        verify(commonService, times(2)).convertCaseToCaseDTO(any(Case.class));
+        verify(caseRepository, times(1)).findCaseDtosByCategoryId(categoryId);
+        verify(categoryRepository, never()).findById(anyInt());
     }
 
     /**
@@ -400,15 +521,61 @@ class CaseServiceImplTests {
     @Test
     void getCasesByCategory_throwsException_categoryNotFound(){
         int categoryId = 900;
-        when(categoryRepository.findById(categoryId)).thenReturn(Optional.empty());
+        when(caseRepository.findCaseDtosByCategoryId(categoryId)).thenReturn(List.of());
+        when(categoryRepository.existsById(categoryId)).thenReturn(false);
 
         CategoryNotFoundException exception = assertThrows(CategoryNotFoundException.class, () -> {
             caseService.getCasesByCategory(categoryId);
         });
 
         assertEquals("Category Not Found With Id: " + categoryId, exception.getMessage());
-        verify(categoryRepository, times(1)).findById(categoryId);
-        verify(commonService, never()).convertCaseToCaseDTO(any(Case.class));
+        verify(categoryRepository, times(1)).existsById(categoryId);
     }
-}
 
+    /**
+     * Test for retrieving the first page of the case feed.
+     * Verifies that one extra row is requested and used only to detect the next page.
+     */
+    @Test
+    void getCaseFeed_returnFirstPageWithCursor_moreCasesExist(){
+        when(caseRepository.findCaseDtoPage(Integer.MAX_VALUE, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(caseDtoWithId(30), caseDtoWithId(20), caseDtoWithId(10))));
+
+        CasePage page = caseService.getCaseFeed(null, null);
+
+        assertEquals(2, page.getCases().size());
+        assertTrue(page.isHasMore());
+        assertEquals(20, CursorCodec.decodeInt(page.getNextCursor()));
+    }
+
+    /**
+     * Test for retrieving the last page of the case feed.
+     * Verifies that the cursor is used as the seek key and that no next cursor is returned.
+     */
+    @Test
+    void getCaseFeed_returnLastPageWithoutCursor_givenCursorAndOversizedPage(){
+        when(caseRepository.findCaseDtoPage(20, Limit.of(6))).thenReturn(List.of(caseDtoWithId(10)));
+
+        CasePage page = caseService.getCaseFeed(CursorCodec.encode(20), 50);
+
+        assertEquals(1, page.getCases().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Test for retrieving the case feed with a tampered cursor.
+     * Verifies that an {@link InvalidCursorException} is thrown and the repository is never queried.
+     */
+    @Test
+    void getCaseFeed_throwException_malformedCursor(){
+        assertThrows(InvalidCursorException.class, () -> caseService.getCaseFeed("not-a-cursor", null));
+        verify(caseRepository, never()).findCaseDtoPage(anyInt(), any(Limit.class));
+    }
+
+    private static CaseDto caseDtoWithId(int id) {
+        CaseDto caseDto = new CaseDto();
+        caseDto.setId(id);
+        return caseDto;
+    }
+}
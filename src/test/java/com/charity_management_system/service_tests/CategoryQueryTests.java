@@ -0,0 +1,110 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.model.Category;
+import com.charity_management_system.repository.CategoryRepository;
+import com.charity_management_system.repository.projection.CategorySummary;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the category listing queries of {@link CategoryRepository} against a real (in-memory H2) database,
+ * checking both the aggregated values and that each listing takes a single statement however many cases exist.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CategoryQueryTests {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    /**
+     * Persists two categories with cases and one without, then clears the persistence context so the queries
+     * under test have to load everything themselves.
+     */
+    @BeforeEach
+    void setup() {
+        Category education = persistCategory("Education");
+        Category medical = persistCategory("Medical");
+        persistCategory("Food");
+        for (int i = 0; i < 10; i++) {
+            persistCase(education, 10);
+        }
+        persistCase(medical, 250.5);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifies the counts and totals per category, including a category without cases.
+     */
+    @Test
+    void findAllSummaries_aggregateCountsAndTotals_inOneStatement() {
+        List<CategorySummary> summaries = categoryRepository.findAllSummaries();
+
+        assertEquals(List.of("Education", "Food", "Medical"), summaries.stream().map(CategorySummary::getName).toList());
+        assertEquals(10L, summaries.get(0).getCaseCount());
+        assertEquals(100.0, summaries.get(0).getTotalRaised());
+        assertEquals(0L, summaries.get(1).getCaseCount());
+        assertEquals(0.0, summaries.get(1).getTotalRaised());
+        assertEquals(1L, summaries.get(2).getCaseCount());
+        assertEquals(250.5, summaries.get(2).getTotalRaised());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Verifies that the categories come back with their cases initialized, without a query per category or case.
+     */
+    @Test
+    void findAllWithCases_fetchCases_inOneStatement() {
+        List<Category> categories = categoryRepository.findAllWithCases();
+
+        assertEquals(3, categories.size());
+        assertEquals(10, categories.get(0).getCaseList().size());
+        assertTrue(categories.get(1).getCaseList().isEmpty());
+        assertEquals(1, categories.get(2).getCaseList().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Category persistCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setCaseList(new ArrayList<>());
+        entityManager.persist(category);
+        return category;
+    }
+
+    private void persistCase(Category category, double amountRaised) {
+        Case userCase = new Case();
+        userCase.setTitle("Case in " + category.getName());
+        userCase.setGoal(1_000);
+        userCase.setAmountRaised(amountRaised);
+        userCase.setCaseStatus(CaseStatus.APPROVED);
+        userCase.setCategory(category);
+        entityManager.persist(userCase);
+    }
+}
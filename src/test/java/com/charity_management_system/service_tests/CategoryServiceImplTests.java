@@ -1,13 +1,17 @@
 package com.charity_management_system.service_tests;
 
+import com.charity_management_system.dto.CategoryCacheStats;
+import com.charity_management_system.dto.CategoryDto;
 import com.charity_management_system.exception.custom.CategoryNotFoundException;
 import com.charity_management_system.model.Category;
+import com.charity_management_system.model.CategoryChangeListener;
 import com.charity_management_system.repository.CategoryRepository;
+import com.charity_management_system.repository.projection.CategorySummary;
 import com.charity_management_system.service.impl.CategoryServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -15,6 +19,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,7 +30,7 @@ import static org.mockito.Mockito.*;
 /**
  * Unit tests for the {@link CategoryServiceImpl} class using Mockito.
  * This test class verifies the behavior of the category service methods, such as retrieving all categories
- * and retrieving a category by its ID.
+ * and retrieving a category by its ID, and that the category cache answers repeated lookups without the database.
  *
  * <p>Mocks are used to simulate the behavior of dependent classes, specifically the {@link CategoryRepository}.</p>
  *
@@ -40,9 +48,8 @@ class CategoryServiceImplTests {
     private CategoryRepository categoryRepository;
 
     /**
-     * The {@link CategoryServiceImpl} instance under test, with dependencies injected via {@link InjectMocks}.
+     * The {@link CategoryServiceImpl} instance under test, created in {@link #setup()}.
      */
-    @InjectMocks
     private CategoryServiceImpl categoryService;
 
     /**
@@ -61,6 +68,8 @@ class CategoryServiceImplTests {
      */
     @BeforeEach
     void setup() {
+        categoryService = new CategoryServiceImpl(categoryRepository, new SimpleMeterRegistry());
+
         // Setup test category data
         testCategory = new Category();
         testCategory.setId(1);
@@ -81,26 +90,149 @@ class CategoryServiceImplTests {
     void getAllCategories_returnListOfCategories_categoriesExist() {
         when(categoryRepository.findAll()).thenReturn(mockCategories);
 
-        List<Category> result = categoryService.getAllCategories();
+        List<CategoryDto> result = categoryService.getAllCategories();
 
         assertNotNull(result);
         assertEquals(2, result.size());
         verify(categoryRepository, times(1)).findAll();
     }
 
+    /**
+     * Test for retrieving all categories repeatedly.
+     * Verifies that the categories are loaded once and then served from the cache.
+     */
+    @Test
+    void getAllCategories_queryOnce_repeatedCalls() {
+        when(categoryRepository.findAll()).thenReturn(mockCategories);
+        categoryService.preload();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(List.of(new CategoryDto(1, "Education"), new CategoryDto(2, "Medical")), categoryService.getAllCategories());
+        }
+
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    /**
+     * Test for retrieving all categories after a category change was committed.
+     * Verifies that the cache is reloaded and returns the new category.
+     */
+    @Test
+    void getAllCategories_reload_categoryChanged() {
+        when(categoryRepository.findAll()).thenReturn(mockCategories);
+        categoryService.preload();
+
+        Category added = new Category(3, "Food", new ArrayList<>());
+        when(categoryRepository.findAll()).thenReturn(List.of(mockCategories.get(0), mockCategories.get(1), added));
+        new CategoryChangeListener().onChange(added);
+
+        List<CategoryDto> result = categoryService.getAllCategories();
+
+        assertEquals(3, result.size());
+        assertEquals(Optional.of(3), categoryService.findCategoryIdByName("Food"));
+        verify(categoryRepository, times(2)).findAll();
+        verify(categoryRepository, never()).findByName(any());
+    }
+
+    /**
+     * Test for retrieving all categories concurrently after a category change was committed.
+     * Verifies that the callers that find the cache stale reload it once between them.
+     */
+    @Test
+    void getAllCategories_reloadOnce_concurrentCallersAfterChange() throws Exception {
+        when(categoryRepository.findAll()).thenReturn(mockCategories);
+        categoryService.preload();
+        new CategoryChangeListener().onChange(testCategory);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<CategoryDto>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return categoryService.getAllCategories();
+                }));
+            }
+            start.countDown();
+            for (Future<List<CategoryDto>> result : results) {
+                assertEquals(2, result.get().size());
+            }
+        } finally {
+            callers.shutdown();
+        }
+
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    /**
+     * Test for resolving a category name.
+     * Verifies that cached names are answered without a query, and unknown names are looked up once per call.
+     */
+    @Test
+    void findCategoryIdByName_readThrough_cachedAndUnknownNames() {
+        when(categoryRepository.findAll()).thenReturn(mockCategories);
+        categoryService.preload();
+
+        assertEquals(Optional.of(2), categoryService.findCategoryIdByName("Medical"));
+        assertEquals(Optional.empty(), categoryService.findCategoryIdByName("Unknown"));
+
+        verify(categoryRepository, never()).findByName("Medical");
+        verify(categoryRepository, times(1)).findByName("Unknown");
+
+        CategoryCacheStats stats = categoryService.getCacheStats();
+        assertEquals(2, stats.getEntries());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getReloads());
+        assertNotNull(stats.getLoadedAt());
+    }
+
+    /**
+     * Test for retrieving the category summaries.
+     * Verifies that they come from the aggregate query rather than from loading the categories and their cases.
+     */
+    @Test
+    void getCategorySummaries_returnSummaries_fromAggregateQuery() {
+        List<CategorySummary> summaries = List.of(mock(CategorySummary.class), mock(CategorySummary.class));
+        when(categoryRepository.findAllSummaries()).thenReturn(summaries);
+
+        List<CategorySummary> result = categoryService.getCategorySummaries();
+
+        assertEquals(summaries, result);
+        verify(categoryRepository, times(1)).findAllSummaries();
+        verify(categoryRepository, never()).findAll();
+    }
+
     /**
      * Test for retrieving a category by its ID when the category exists.
-     * Verifies that the correct category is returned for the provided valid ID.
+     * Verifies that the category is served from the cache without a lookup by ID.
      */
     @Test
     void getCategoryById_returnCategory_validId() {
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findAll()).thenReturn(mockCategories);
 
-        Category result = categoryService.getCategoryById(1);
+        CategoryDto result = categoryService.getCategoryById(1);
 
-        assertNotNull(result);
-        assertEquals("Education", result.getName());
-        verify(categoryRepository, times(1)).findById(1);
+        assertEquals(new CategoryDto(1, "Education"), result);
+        assertEquals(new CategoryDto(2, "Medical"), categoryService.getCategoryById(2));
+        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, never()).existsById(anyInt());
+    }
+
+    /**
+     * Test for retrieving a category by its ID when the category was created since the last reload.
+     * Verifies that the cache is reloaded and the new category returned.
+     */
+    @Test
+    void getCategoryById_reload_categoryCreatedElsewhere() {
+        when(categoryRepository.findAll()).thenReturn(mockCategories, List.of(mockCategories.get(0), mockCategories.get(1),
+                new Category(3, "Housing", new ArrayList<>())));
+        categoryService.preload();
+        when(categoryRepository.existsById(3)).thenReturn(true);
+
+        assertEquals(new CategoryDto(3, "Housing"), categoryService.getCategoryById(3));
+        verify(categoryRepository, times(2)).findAll();
     }
 
     /**
@@ -109,14 +241,16 @@ class CategoryServiceImplTests {
      */
     @Test
     void getCategoryById_throwException_invalidId() {
-        int categoryId = 1;
-        when(categoryRepository.findById(categoryId)).thenReturn(Optional.empty());
+        int categoryId = 9;
+        when(categoryRepository.findAll()).thenReturn(mockCategories);
+        when(categoryRepository.existsById(categoryId)).thenReturn(false);
 
         CategoryNotFoundException exception = assertThrows(CategoryNotFoundException.class, () -> {
             categoryService.getCategoryById(categoryId);
         });
 
         assertEquals("Category Not Found With Id: " + categoryId, exception.getMessage());
-        verify(categoryRepository, times(1)).findById(categoryId);
+        verify(categoryRepository, times(1)).existsById(categoryId);
+        verify(categoryRepository, times(1)).findAll();
     }
 }
@@ -0,0 +1,248 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.dto.CaseDonationStats;
+import com.charity_management_system.dto.DonationStats;
+import com.charity_management_system.dto.ReconciliationReport;
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.enums.ImageStatus;
+import com.charity_management_system.enums.PaymentMethod;
+import com.charity_management_system.enums.Role;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.model.Category;
+import com.charity_management_system.model.Donation;
+import com.charity_management_system.model.User;
+import com.charity_management_system.repository.*;
+import com.charity_management_system.service.impl.CaseLeaderboards;
+import com.charity_management_system.service.impl.CaseServiceImpl;
+import com.charity_management_system.service.impl.CommonService;
+import com.charity_management_system.service.impl.DonationAggregates;
+import com.charity_management_system.service.impl.DonationAggregatesReconciler;
+import com.charity_management_system.service.impl.DonationPartitionMaintainer;
+import com.charity_management_system.service.impl.DonationStatsServiceImpl;
+import com.charity_management_system.service.impl.RetryingTransactionExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link DonationAggregates} and {@link DonationAggregatesReconciler} against the PostgreSQL database
+ * configured through {@code SPRING_DATASOURCE_URL} (the rollups are written with PostgreSQL upserts). Skipped when no
+ * PostgreSQL datasource is configured.
+ *
+ * <p>Donations are recorded from several threads, each in its own committed transaction, over two months; the
+ * rollups must then match the donations exactly, and still match once the funded case has been deleted. The test
+ * removes its donations and their share of the shared rollups afterwards.</p>
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = "jdbc:postgresql:.*")
+class DonationAggregatesTests {
+
+    private static final int DONATIONS = 400;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private DonationAggregateRepository aggregateRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private DonationAggregates donationAggregates;
+    private DonationAggregatesReconciler reconciler;
+    private DonationStatsServiceImpl donationStatsService;
+    private User donor;
+    private Category category;
+    private Case donationCase;
+
+    /**
+     * Makes sure last month has a partition and persists a donor, a category and a case, committed so that the
+     * worker threads can see them.
+     */
+    @BeforeEach
+    void setup() {
+        transaction = new TransactionTemplate(transactionManager);
+        donationAggregates = new DonationAggregates(aggregateRepository, caseRepository, 4);
+        reconciler = new DonationAggregatesReconciler(jdbcTemplate, dataSource, true, 3);
+        donationStatsService = new DonationStatsServiceImpl(aggregateRepository, caseRepository, reconciler);
+        new DonationPartitionMaintainer(jdbcTemplate, transaction, true, 1, 0).createUpcomingPartitions(YearMonth.now().minusMonths(1));
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        donor = new User();
+        donor.setUsername("aggregates-" + suffix);
+        donor.setPassword("secret");
+        donor.setEmail("aggregates-" + suffix + "@example.com");
+        donor.setRole(Role.REGULAR_USER);
+        donor.setFirstName("Agg");
+        donor.setLastName("Regate");
+        donor.setCountry("EG");
+        donor = userRepository.save(donor);
+
+        category = new Category();
+        category.setName("Aggregates " + suffix);
+        category = categoryRepository.save(category);
+
+        donationCase = new Case();
+        donationCase.setTitle("Aggregates case");
+        donationCase.setGoal(1_000_000);
+        donationCase.setCaseStatus(CaseStatus.APPROVED);
+        donationCase.setImageStatus(ImageStatus.READY);
+        donationCase.setCategory(category);
+        donationCase = caseRepository.save(donationCase);
+    }
+
+    /**
+     * Removes the test donations and takes their share out of the shared rollups again.
+     */
+    @AfterEach
+    void cleanup() {
+        transaction.executeWithoutResult(status -> {
+            for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT payment_method, count(*) AS n, sum(amount) AS total "
+                    + "FROM donations WHERE case_id = ? GROUP BY payment_method", donationCase.getId())) {
+                long count = ((Number) row.get("n")).longValue();
+                double total = ((Number) row.get("total")).doubleValue();
+                aggregateRepository.addToRollup(DonationAggregateRepository.GLOBAL, "", 0, -count, -total);
+                aggregateRepository.addToRollup(DonationAggregateRepository.PAYMENT_METHOD, (String) row.get("payment_method"), 0, -count, -total);
+            }
+            jdbcTemplate.update("DELETE FROM donation_rollups WHERE dimension = 'CATEGORY' AND dimension_key = ?", String.valueOf(category.getId()));
+            jdbcTemplate.update("DELETE FROM case_donation_daily WHERE case_id = ?", donationCase.getId());
+            jdbcTemplate.update("DELETE FROM donations WHERE case_id = ?", donationCase.getId());
+        });
+        caseRepository.deleteById(donationCase.getId());
+        categoryRepository.deleteById(category.getId());
+        userRepository.deleteById(donor.getId());
+    }
+
+    @Test
+    void record_concurrentDonations_rollupsMatchDonations() throws Exception {
+        double expectedTotal = recordDonations();
+
+        CaseDonationStats stats = donationStatsService.getCaseDonationStats(donationCase.getId(),
+                YearMonth.now().minusMonths(1).atDay(1), YearMonth.now().atEndOfMonth());
+        assertEquals(DONATIONS, stats.getTotal().getDonationCount());
+        assertEquals(expectedTotal, stats.getTotal().getTotalAmount(), 1e-6);
+        assertEquals(2, stats.getDays().size());
+        assertEquals(DONATIONS, donationStatsService.getDonationStats().getByCategory().get(category.getId()).getDonationCount());
+
+        ReconciliationReport report = reconciler.reconcile();
+        assertEquals(0, report.getCaseDayDrifts(), () -> String.valueOf(report.getSamples()));
+        assertEquals(0, report.getPaymentMethodDrifts(), () -> String.valueOf(report.getSamples()));
+        assertEquals(0, report.getCategoryDrifts(), () -> String.valueOf(report.getSamples()));
+        assertFalse(report.isGlobalDrift(), () -> String.valueOf(report.getSamples()));
+        assertTrue(report.getChunks() >= 2);
+    }
+
+    @Test
+    void reconcile_reportDrift_tamperedRollup() throws Exception {
+        recordDonations();
+        jdbcTemplate.update("UPDATE case_donation_daily SET donation_count = donation_count + 1 WHERE case_id = ? AND day = current_date",
+                donationCase.getId());
+
+        ReconciliationReport report = reconciler.reconcile();
+
+        assertEquals(1, report.getCaseDayDrifts());
+        assertEquals(0, report.getCategoryDrifts());
+        assertTrue(report.getSamples().get(0).startsWith("case " + donationCase.getId()), () -> String.valueOf(report.getSamples()));
+    }
+
+    @Test
+    void deleteCase_fundedCase_rollupsDropItsDonations() throws Exception {
+        recordDonations();
+        CaseServiceImpl caseService = new CaseServiceImpl(caseRepository, userRepository, categoryRepository, null, null,
+                new CommonService(), new RetryingTransactionExecutor(transaction, 3, 0, 0), donationAggregates,
+                mock(CaseLeaderboards.class), 20, 100, 50);
+
+        assertEquals("Case Deleted Successfully", caseService.deleteCase(donationCase.getId()));
+
+        assertFalse(caseRepository.existsById(donationCase.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM donations WHERE case_id = ?", Long.class, donationCase.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM case_donation_daily WHERE case_id = ?", Long.class, donationCase.getId()));
+        DonationStats stats = donationStatsService.getDonationStats().getByCategory().get(category.getId());
+        assertTrue(stats == null || stats.getDonationCount() == 0, () -> String.valueOf(stats));
+
+        ReconciliationReport report = reconciler.reconcile();
+        assertEquals(0, report.getPaymentMethodDrifts(), () -> String.valueOf(report.getSamples()));
+        assertEquals(0, report.getCategoryDrifts(), () -> String.valueOf(report.getSamples()));
+        assertFalse(report.isGlobalDrift(), () -> String.valueOf(report.getSamples()));
+    }
+
+    /**
+     * Records {@link #DONATIONS} donations from {@link #THREADS} threads, alternating payment methods, half of them
+     * dated last month.
+     *
+     * @return The total amount donated.
+     */
+    private double recordDonations() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lastMonth = now.minusMonths(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < DONATIONS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> transaction.executeWithoutResult(status -> {
+                    Donation donation = new Donation();
+                    donation.setAmount(1 + index % 7);
+                    donation.setPaymentMethod(index % 2 == 0 ? PaymentMethod.PAYPAL : PaymentMethod.VODAFONE_CASH);
+                    donation.setCreatedAt(index % 2 == 0 ? now : lastMonth);
+                    donation.setCaseEntity(caseRepository.getReferenceById(donationCase.getId()));
+                    donation.setUser(donor);
+                    donationAggregates.record(List.of(donationRepository.save(donation)));
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        double total = 0;
+        for (int i = 0; i < DONATIONS; i++) {
+            total += 1 + i % 7;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,191 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.dto.BulkDonationResult;
+import com.charity_management_system.dto.CaseLeaderboard;
+import com.charity_management_system.dto.DonationDto;
+import com.charity_management_system.dto.DonationHistoryEntry;
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.enums.PaymentMethod;
+import com.charity_management_system.enums.Role;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.model.User;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.DonationRepository;
+import com.charity_management_system.repository.UserRepository;
+import com.charity_management_system.service.DonationService;
+import com.charity_management_system.service.impl.CaseFundingHub;
+import com.charity_management_system.service.impl.CaseLeaderboards;
+import com.charity_management_system.service.impl.CommonService;
+import com.charity_management_system.service.impl.DonationAggregates;
+import com.charity_management_system.service.impl.DonationServiceImpl;
+import com.charity_management_system.service.impl.RetryingTransactionExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrency test for {@link DonationServiceImpl#makeDonation(DonationDto)} against a real (in-memory H2) database.
+ *
+ * <p>Thousands of donations are fired in parallel at a single case. Every donation runs in its own committed
+ * transaction, so a lost update in the case total would show up as a mismatch with the sum of the donations.
+ * The donation rollups use PostgreSQL upserts and are left out here; see {@link DonationAggregatesTests}.</p>
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({DonationServiceImpl.class, CommonService.class, RetryingTransactionExecutor.class, CaseLeaderboards.class,
+        SimpleMeterRegistry.class})
+@MockBean({DonationAggregates.class, CaseFundingHub.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DonationConcurrencyTests {
+
+    private static final int DONATIONS = 2_000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private CaseLeaderboards caseLeaderboards;
+
+    private int caseId;
+
+    /**
+     * Persists a donor and an empty case, committed so that the worker threads can see them.
+     */
+    @BeforeEach
+    void setup() {
+        User donor = new User();
+        donor.setUsername("donor");
+        donor.setPassword("secret");
+        donor.setEmail("donor@example.com");
+        donor.setRole(Role.REGULAR_USER);
+        donor.setFirstName("Don");
+        donor.setLastName("Or");
+        donor.setCountry("EG");
+        donor.setZipCode(11511);
+        userRepository.save(donor);
+
+        Case hotCase = new Case();
+        hotCase.setTitle("Hot case");
+        hotCase.setGoal(1_000_000);
+        hotCase.setAmountRaised(0);
+        hotCase.setCaseStatus(CaseStatus.APPROVED);
+        caseId = caseRepository.save(hotCase).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        donationRepository.deleteAll();
+        caseRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Fires {@link #DONATIONS} donations from {@link #THREADS} threads at one case and checks the exact total, and
+     * that the case's leaderboard, held in memory throughout, ends up matching the donations.
+     */
+    @Test
+    void makeDonation_noLostUpdates_parallelDonationsToOneCase() throws Exception {
+        assertTrue(caseLeaderboards.getLeaderboard(caseId).getTopDonors().isEmpty());
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(DONATIONS);
+        double expectedTotal = 0;
+
+        for (int i = 0; i < DONATIONS; i++) {
+            double amount = 1 + (i % 10);
+            expectedTotal += amount;
+            DonationDto donation = new DonationDto(amount, PaymentMethod.PAYPAL, caseId);
+            futures.add(pool.submit(() -> {
+                start.await();
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken("donor", null, List.of()));
+                try {
+                    return donationService.makeDonation(donation);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(expectedTotal, caseRepository.findById(caseId).orElseThrow().getAmountRaised());
+        assertEquals(DONATIONS, donationRepository.count());
+
+        CaseLeaderboard leaderboard = caseLeaderboards.getLeaderboard(caseId);
+        assertEquals(DONATIONS, leaderboard.getTopDonors().get(0).getDonationCount());
+        assertEquals(expectedTotal, leaderboard.getTopDonors().get(0).getTotalAmount());
+        assertEquals(donationRepository.findDonationHistory(caseId, Limit.of(10)).stream().map(DonationHistoryEntry::getId).toList(),
+                leaderboard.getRecentDonations().stream().map(DonationHistoryEntry::getId).toList());
+    }
+
+    /**
+     * Ingests bursts of donations in parallel and checks that the aggregated per-case increments add up exactly.
+     */
+    @Test
+    void ingestDonations_noLostUpdates_parallelBursts() throws Exception {
+        int bursts = 20;
+        int burstSize = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<BulkDonationResult>> futures = new ArrayList<>(bursts);
+
+        for (int b = 0; b < bursts; b++) {
+            List<DonationDto> burst = new ArrayList<>(burstSize);
+            for (int i = 0; i < burstSize; i++) {
+                burst.add(new DonationDto(5.0, PaymentMethod.VODAFONE_CASH, caseId));
+            }
+            futures.add(pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken("donor", null, List.of()));
+                try {
+                    return donationService.ingestDonations(burst);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        for (Future<BulkDonationResult> future : futures) {
+            assertEquals(burstSize, future.get(60, TimeUnit.SECONDS).getAccepted());
+        }
+        pool.shutdown();
+
+        assertEquals(bursts * burstSize * 5.0, caseRepository.findById(caseId).orElseThrow().getAmountRaised());
+        assertEquals(bursts * burstSize, donationRepository.count());
+    }
+}
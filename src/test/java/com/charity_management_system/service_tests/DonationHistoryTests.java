@@ -0,0 +1,185 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.dto.DonationHistoryEntry;
+import com.charity_management_system.dto.DonationPage;
+import com.charity_management_system.dto.TopDonor;
+import com.charity_management_system.enums.CaseStatus;
+import com.charity_management_system.enums.PaymentMethod;
+import com.charity_management_system.enums.Role;
+import com.charity_management_system.model.Case;
+import com.charity_management_system.model.Donation;
+import com.charity_management_system.model.User;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.DonationRepository;
+import com.charity_management_system.service.DonationService;
+import com.charity_management_system.service.impl.CommonService;
+import com.charity_management_system.service.impl.DonationServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DonationServiceImpl#getDonationHistory(int, String, Integer)} against a real (in-memory H2)
+ * database: the history of a case is paged through with its cursor and compared with the donations sorted in memory.
+ * The donor totals the leaderboards are built from are checked against the same donations.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.charity_management_system.service_tests.DonationHistoryTests$RecordingInspector"
+})
+class DonationHistoryTests {
+
+    private static final int DONATIONS = 45;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private DonationService donationService;
+    private User donor;
+    private Case popularCase;
+    private List<Donation> donations;
+
+    /**
+     * Persists donations to two cases, several of them sharing a time so the pages have to break ties on the id.
+     */
+    @BeforeEach
+    void setup() {
+        donationService = new DonationServiceImpl(donationRepository, null, caseRepository, new CommonService(), null, null, null, null,
+                5000, 20, 100);
+
+        donor = persistDonor("donor", "Mona", "Hassan");
+
+        popularCase = persistCase();
+        Case otherCase = persistCase();
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        donations = new ArrayList<>();
+        for (int i = 0; i < DONATIONS; i++) {
+            donations.add(persistDonation(popularCase, donor, start.plusMinutes(i / 3), 10 + i));
+            persistDonation(otherCase, donor, start.plusMinutes(i), 1);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void getDonationHistory_pagesNewestFirst_tiesBrokenById() {
+        List<Integer> expected = donations.stream()
+                .sorted(Comparator.comparing(Donation::getCreatedAt).thenComparing(Donation::getId).reversed())
+                .map(Donation::getId)
+                .toList();
+
+        List<Integer> actual = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            DonationPage page = donationService.getDonationHistory(popularCase.getId(), cursor, PAGE_SIZE);
+            page.getDonations().stream().map(DonationHistoryEntry::getId).forEach(actual::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, actual);
+        assertEquals((DONATIONS + PAGE_SIZE - 1) / PAGE_SIZE, pages);
+        assertEquals(pages, RecordingInspector.STATEMENTS.size(), () -> "expected one statement per page: " + RecordingInspector.STATEMENTS);
+    }
+
+    @Test
+    void getDonationHistory_selectsOnlyHistoryColumns() {
+        DonationHistoryEntry newest = donationService.getDonationHistory(popularCase.getId(), null, 1).getDonations().get(0);
+
+        assertEquals("Mona H.", newest.getDonorName());
+        assertEquals(10.0 + DONATIONS - 1, newest.getAmount());
+        assertEquals(1, RecordingInspector.STATEMENTS.size());
+        String sql = RecordingInspector.STATEMENTS.get(0).toLowerCase();
+        assertFalse(sql.contains("password"), () -> "the donor's password was selected: " + sql);
+        assertFalse(sql.contains("goal"), () -> "the case was selected: " + sql);
+    }
+
+    @Test
+    void findTopDonors_rankDonorsByTotal() {
+        User bigDonor = persistDonor("big-donor", "Omar", "Farouk");
+        persistDonation(popularCase, bigDonor, LocalDateTime.of(2024, 2, 1, 10, 0), 600);
+        persistDonation(popularCase, bigDonor, LocalDateTime.of(2024, 2, 2, 10, 0), 900);
+
+        List<TopDonor> top = donationRepository.findTopDonors(popularCase.getId(), Limit.of(2));
+
+        assertEquals(List.of("Omar F.", "Mona H."), top.stream().map(TopDonor::getDonorName).toList());
+        assertEquals(1500.0, top.get(0).getTotalAmount());
+        assertEquals(2, top.get(0).getDonationCount());
+        TopDonor mona = donationRepository.findDonorTotal(popularCase.getId(), donor.getId()).orElseThrow();
+        assertEquals(DONATIONS, mona.getDonationCount());
+        assertEquals(donations.stream().mapToDouble(Donation::getAmount).sum(), mona.getTotalAmount());
+        assertTrue(donationRepository.findDonorTotal(popularCase.getId(), "unknown").isEmpty());
+    }
+
+    private User persistDonor(String username, String firstName, String lastName) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret-hash");
+        user.setEmail(username + "@example.com");
+        user.setRole(Role.REGULAR_USER);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setCountry("Egypt");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Case persistCase() {
+        Case userCase = new Case();
+        userCase.setTitle("Case");
+        userCase.setGoal(1_000);
+        userCase.setCaseStatus(CaseStatus.APPROVED);
+        entityManager.persist(userCase);
+        return userCase;
+    }
+
+    private Donation persistDonation(Case donationCase, User donor, LocalDateTime createdAt, double amount) {
+        Donation donation = new Donation();
+        donation.setAmount(amount);
+        donation.setPaymentMethod(PaymentMethod.PAYPAL);
+        donation.setCreatedAt(createdAt);
+        donation.setCaseEntity(donationCase);
+        donation.setUser(donor);
+        entityManager.persist(donation);
+        return donation;
+    }
+
+    /**
+     * Records the SQL sent to the database.
+     */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.service.impl.DonationPartitionMaintainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the monthly partitioning of {@code donations} and {@link DonationPartitionMaintainer} against the
+ * PostgreSQL database configured through {@code SPRING_DATASOURCE_URL}. Skipped when no PostgreSQL datasource is
+ * configured.
+ *
+ * <p>Runs outside a test transaction because detaching a partition concurrently cannot run inside one; the
+ * partitions created for long past months are dropped again after each test.</p>
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = "jdbc:postgresql:.*")
+class DonationPartitionTests {
+
+    private static final YearMonth PAST = YearMonth.of(2001, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DonationPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setup() {
+        maintainer = new DonationPartitionMaintainer(jdbcTemplate, new TransactionTemplate(transactionManager), true, 1, 0);
+        dropPastPartitions();
+    }
+
+    @AfterEach
+    void dropPastPartitions() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS donations_p2001_01, donations_p2001_02");
+    }
+
+    @Test
+    void createUpcomingPartitions_createMissingMonthsOnce() {
+        maintainer.createUpcomingPartitions(YearMonth.now());
+
+        List<String> partitions = attachedPartitions();
+        assertTrue(partitions.contains(name(YearMonth.now())));
+        assertTrue(partitions.contains(name(YearMonth.now().plusMonths(1))));
+        assertEquals(List.of(), maintainer.createUpcomingPartitions(YearMonth.now()));
+    }
+
+    @Test
+    void timeBoundedQuery_scansOnlyItsMonth() {
+        YearMonth month = YearMonth.now();
+        maintainer.createUpcomingPartitions(month);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT sum(amount) FROM donations WHERE created_at >= '"
+                + month.atDay(1) + "' AND created_at < '" + month.plusMonths(1).atDay(1) + "'", String.class));
+
+        assertTrue(plan.contains(name(month)), plan);
+        assertFalse(plan.contains(name(month.plusMonths(1))), () -> "the next month was not pruned:\n" + plan);
+        assertFalse(plan.contains(name(month.minusMonths(1))), () -> "the previous month was not pruned:\n" + plan);
+    }
+
+    @Test
+    void detachExpiredPartitions_keepRowsInDetachedTable() {
+        assertEquals(List.of(name(PAST), name(PAST.plusMonths(1))), maintainer.createUpcomingPartitions(PAST));
+        jdbcTemplate.update("INSERT INTO donations (amount, payment_method, created_at) VALUES (25, 'PAYPAL', '2001-01-15 12:00')");
+
+        List<String> detached = maintainer.detachExpiredPartitions(PAST.plusMonths(1));
+
+        assertEquals(List.of(name(PAST)), detached);
+        assertFalse(attachedPartitions().contains(name(PAST)));
+        assertTrue(attachedPartitions().contains(name(PAST.plusMonths(1))));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM donations WHERE created_at < '2001-02-01'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM " + name(PAST), Integer.class));
+    }
+
+    private List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = 'donations'::regclass", String.class);
+    }
+
+    private static String name(YearMonth month) {
+        return String.format("donations_p%d_%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -1,8 +1,13 @@
 package com.charity_management_system.service_tests;
 
+import com.charity_management_system.dto.BulkDonationResult;
 import com.charity_management_system.dto.DonationDto;
+import com.charity_management_system.dto.DonationHistoryEntry;
+import com.charity_management_system.dto.DonationPage;
 import com.charity_management_system.enums.PaymentMethod;
 import com.charity_management_system.exception.custom.CaseNotFoundException;
+import com.charity_management_system.exception.custom.InvalidCursorException;
+import com.charity_management_system.exception.custom.TooManyDonationsException;
 import com.charity_management_system.exception.custom.UserNotFoundException;
 import com.charity_management_system.model.Case;
 import com.charity_management_system.model.Donation;
@@ -10,19 +15,29 @@ import com.charity_management_system.model.User;
 import com.charity_management_system.repository.CaseRepository;
 import com.charity_management_system.repository.DonationRepository;
 import com.charity_management_system.repository.UserRepository;
+import com.charity_management_system.service.impl.CaseFundingHub;
+import com.charity_management_system.service.impl.CaseLeaderboards;
 import com.charity_management_system.service.impl.CommonService;
+import com.charity_management_system.service.impl.CursorCodec;
+import com.charity_management_system.service.impl.DonationAggregates;
 import com.charity_management_system.service.impl.DonationServiceImpl;
+import com.charity_management_system.service.impl.RetryingTransactionExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -71,9 +86,33 @@ class DonationServiceImplTests {
     private CommonService commonService;
 
     /**
-     * The {@link DonationServiceImpl} instance under test, with dependencies injected via {@link InjectMocks}.
+     * Mocked {@link DonationAggregates} standing in for the donation rollups.
+     */
+    @Mock
+    private DonationAggregates donationAggregates;
+
+    /**
+     * Mocked {@link CaseFundingHub} standing in for the live funding streams.
+     */
+    @Mock
+    private CaseFundingHub caseFundingHub;
+
+    /**
+     * Mocked {@link CaseLeaderboards} standing in for the in-memory leaderboards.
+     */
+    @Mock
+    private CaseLeaderboards caseLeaderboards;
+
+    /**
+     * Real {@link RetryingTransactionExecutor} running without a transaction manager and without backoff delays.
+     */
+    @Spy
+    private RetryingTransactionExecutor retryingTransactionExecutor =
+            new RetryingTransactionExecutor(TransactionOperations.withoutTransaction(), 3, 0, 0);
+
+    /**
+     * The {@link DonationServiceImpl} instance under test, created in {@link #setup()} with the default limits.
      */
-    @InjectMocks
     private DonationServiceImpl donationService;
 
     /**
@@ -107,11 +146,14 @@ class DonationServiceImplTests {
      */
     @BeforeEach
     void setup(){
+        donationService = new DonationServiceImpl(donationRepository, userRepository, caseRepository, commonService,
+                retryingTransactionExecutor, donationAggregates, caseFundingHub, caseLeaderboards, 5000, 20, 100);
+
         mockCase = new Case();
         mockCase.setId(1);
         mockDonations = Arrays.asList(
-                new Donation(1, 100.0, PaymentMethod.VODAFONE_CASH, mockCase, new User()),
-                new Donation(2, 200.0, PaymentMethod.PAYPAL, mockCase, new User())
+                new Donation(1, 100.0, PaymentMethod.VODAFONE_CASH, null, mockCase, new User()),
+                new Donation(2, 200.0, PaymentMethod.PAYPAL, null, mockCase, new User())
         );
         mockCase.setDonations(mockDonations);
 
@@ -157,6 +199,60 @@ class DonationServiceImplTests {
         verify(caseRepository, times(1)).findById(caseId);
     }
 
+    /**
+     * Test for the first page of a case's donation history.
+     * Verifies that one extra row is fetched to detect the next page and that the cursor resumes after the last
+     * donation of the page.
+     */
+    @Test
+    void getDonationHistory_returnPageAndCursor_moreDonationsThanPageSize() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 0, 30);
+        when(donationRepository.findDonationHistory(1, Limit.of(3))).thenReturn(List.of(
+                new DonationHistoryEntry(9, 50.0, PaymentMethod.PAYPAL, time, "Ali M."),
+                new DonationHistoryEntry(7, 20.0, PaymentMethod.PAYPAL, time, "Sara K."),
+                new DonationHistoryEntry(4, 10.0, PaymentMethod.VODAFONE_CASH, time.minusDays(1), "Omar H.")));
+
+        DonationPage page = donationService.getDonationHistory(1, null, 2);
+
+        assertEquals(2, page.getDonations().size());
+        assertTrue(page.isHasMore());
+        assertEquals(CursorCodec.encode(time, 7), page.getNextCursor());
+        verifyNoInteractions(caseRepository);
+
+        when(donationRepository.findDonationHistoryAfter(1, time, 7, Limit.of(3))).thenReturn(List.of(
+                new DonationHistoryEntry(4, 10.0, PaymentMethod.VODAFONE_CASH, time.minusDays(1), "Omar H.")));
+
+        DonationPage next = donationService.getDonationHistory(1, page.getNextCursor(), 2);
+
+        assertEquals(1, next.getDonations().size());
+        assertFalse(next.isHasMore());
+        assertNull(next.getNextCursor());
+    }
+
+    /**
+     * Test for the donation history of a case that does not exist.
+     * Verifies that a {@link CaseNotFoundException} is thrown.
+     */
+    @Test
+    void getDonationHistory_throwException_invalidCaseId() {
+        when(donationRepository.findDonationHistory(90, Limit.of(21))).thenReturn(List.of());
+        when(caseRepository.existsById(90)).thenReturn(false);
+
+        assertThrows(CaseNotFoundException.class, () -> donationService.getDonationHistory(90, null, null));
+    }
+
+    /**
+     * Test for the donation history with a cursor that does not hold a time and an id.
+     * Verifies that an {@link InvalidCursorException} is thrown.
+     */
+    @Test
+    void getDonationHistory_throwException_malformedCursor() {
+        String cursor = CursorCodec.encode("yesterday", 7);
+
+        assertThrows(InvalidCursorException.class, () -> donationService.getDonationHistory(1, cursor, null));
+        verifyNoInteractions(donationRepository);
+    }
+
     /**
      * Test for retrieving donations by username when the user exists.
      * Verifies that donations are returned for the valid username.
@@ -213,23 +309,64 @@ class DonationServiceImplTests {
 
         /**
          * Test for creating a donation with valid data.
-         * Verifies that the donation is created successfully and that the amount raised for the case is updated.
+         * Verifies that the donation is created successfully and that the amount raised is incremented atomically.
          */
         @Test
         void makeDonation_createDonation_validData() {
             when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+            when(caseRepository.incrementAmountRaised(1, 100.0)).thenReturn(1);
             when(caseRepository.findById(1)).thenReturn(Optional.of(donationCase));
             when(donationRepository.save(any(Donation.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             Donation result = donationService.makeDonation(donationDto);
 
             assertNotNull(result);
-            assertEquals(600.0, donationCase.getAmountRaised());
+            assertEquals(donationCase, result.getCaseEntity());
+            assertEquals(100.0, result.getAmount());
+            assertTrue(donationCase.getDonations().isEmpty(), "the donations collection should not be touched");
+            verify(caseRepository, times(1)).incrementAmountRaised(1, 100.0);
             verify(donationRepository, times(1)).save(any(Donation.class));
-            verify(caseRepository, times(1)).findById(1);
+            verify(donationAggregates, times(1)).record(List.of(result));
+            verify(caseFundingHub, times(1)).caseFunded(1);
+            verify(caseLeaderboards, times(1)).donationsRecorded(user, List.of(result));
             verify(userRepository, times(1)).findByUsername("testUser");
         }
 
+        /**
+         * Test for creating a donation when the case row is locked by a concurrent donation.
+         * Verifies that the whole unit of work is retried and eventually succeeds.
+         */
+        @Test
+        void makeDonation_retryAndSucceed_transientLockFailure() {
+            when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+            when(caseRepository.incrementAmountRaised(1, 100.0))
+                    .thenThrow(new CannotAcquireLockException("lock timeout"))
+                    .thenReturn(1);
+            when(caseRepository.findById(1)).thenReturn(Optional.of(donationCase));
+            when(donationRepository.save(any(Donation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            Donation result = donationService.makeDonation(donationDto);
+
+            assertNotNull(result);
+            verify(caseRepository, times(2)).incrementAmountRaised(1, 100.0);
+            verify(donationRepository, times(1)).save(any(Donation.class));
+        }
+
+        /**
+         * Test for creating a donation when lock contention never clears.
+         * Verifies that the failure is surfaced after the configured number of attempts.
+         */
+        @Test
+        void makeDonation_throwException_retriesExhausted() {
+            when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+            when(caseRepository.incrementAmountRaised(1, 100.0)).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+            assertThrows(CannotAcquireLockException.class, () -> donationService.makeDonation(donationDto));
+
+            verify(caseRepository, times(3)).incrementAmountRaised(1, 100.0);
+            verify(donationRepository, never()).save(any(Donation.class));
+        }
+
         /**
          * Test for creating a donation when the user is not found.
          * Verifies that a {@link UserNotFoundException} is thrown when the user does not exist in the system.
@@ -254,16 +391,113 @@ class DonationServiceImplTests {
         @Test
         void makeDonation_throwException_caseNotFound() {
             when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
-            when(caseRepository.findById(1)).thenReturn(Optional.empty());
+            when(caseRepository.incrementAmountRaised(1, 100.0)).thenReturn(0);
 
             CaseNotFoundException exception = assertThrows(CaseNotFoundException.class, () -> {
                 donationService.makeDonation(donationDto);
             });
 
             assertEquals("case not found", exception.getMessage());
-            verify(caseRepository, times(1)).findById(1);
+            verify(caseRepository, times(1)).incrementAmountRaised(1, 100.0);
+            verify(caseRepository, never()).findById(anyInt());
             verify(userRepository, times(1)).findByUsername("testUser");
             verify(donationRepository, never()).save(any(Donation.class));
         }
+
+        /**
+         * Test for recording a burst of donations.
+         * Verifies that each case receives a single aggregated increment and all donations are saved together.
+         */
+        @Test
+        @SuppressWarnings("unchecked")
+        void ingestDonations_aggregatePerCase_validBatch() {
+            List<DonationDto> batch = List.of(
+                    new DonationDto(100.0, PaymentMethod.PAYPAL, 1),
+                    new DonationDto(200.0, PaymentMethod.VODAFONE_CASH, 2),
+                    new DonationDto(50.0, PaymentMethod.PAYPAL, 1)
+            );
+            when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+            when(caseRepository.incrementAmountRaised(anyInt(), anyDouble())).thenReturn(1);
+
+            BulkDonationResult result = donationService.ingestDonations(batch);
+
+            assertEquals(3, result.getAccepted());
+            assertEquals(0, result.getRejected());
+            verify(caseRepository, times(1)).incrementAmountRaised(1, 150.0);
+            verify(caseRepository, times(1)).incrementAmountRaised(2, 200.0);
+            ArgumentCaptor<List<Donation>> saved = ArgumentCaptor.forClass(List.class);
+            verify(donationRepository, times(1)).saveAll(saved.capture());
+            assertEquals(3, saved.getValue().size());
+            verify(donationAggregates, times(1)).record(saved.getValue());
+            verify(caseFundingHub, times(1)).caseFunded(1);
+            verify(caseFundingHub, times(1)).caseFunded(2);
+            verify(caseLeaderboards, times(1)).donationsRecorded(user, saved.getValue());
+        }
+
+        /**
+         * Test for recording a burst of donations that includes an unknown case.
+         * Verifies that only the donations to the unknown case are rejected.
+         */
+        @Test
+        void ingestDonations_rejectUnknownCase_partiallyValidBatch() {
+            List<DonationDto> batch = List.of(
+                    new DonationDto(100.0, PaymentMethod.PAYPAL, 1),
+                    new DonationDto(200.0, PaymentMethod.PAYPAL, 99),
+                    new DonationDto(10.0, PaymentMethod.PAYPAL, null)
+            );
+            when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+            when(caseRepository.incrementAmountRaised(1, 100.0)).thenReturn(1);
+            when(caseRepository.incrementAmountRaised(99, 200.0)).thenReturn(0);
+
+            BulkDonationResult result = donationService.ingestDonations(batch);
+
+            assertEquals(1, result.getAccepted());
+            assertEquals(2, result.getRejected());
+            assertEquals(List.of(99), result.getUnknownCaseIds());
+            verify(caseRepository, never()).getReferenceById(99);
+            verify(caseFundingHub, never()).caseFunded(99);
+        }
+
+        /**
+         * Test for recording a burst of donations that includes amounts that are not positive.
+         * Verifies that those donations are rejected and do not change the case totals.
+         */
+        @Test
+        void ingestDonations_rejectNonPositiveAmounts_partiallyValidBatch() {
+            List<DonationDto> batch = List.of(
+                    new DonationDto(100.0, PaymentMethod.PAYPAL, 1),
+                    new DonationDto(-500.0, PaymentMethod.PAYPAL, 1),
+                    new DonationDto(0.0, PaymentMethod.PAYPAL, 2),
+                    new DonationDto(Double.NaN, PaymentMethod.PAYPAL, 2)
+            );
+            when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+            when(caseRepository.incrementAmountRaised(1, 100.0)).thenReturn(1);
+
+            BulkDonationResult result = donationService.ingestDonations(batch);
+
+            assertEquals(1, result.getAccepted());
+            assertEquals(3, result.getRejected());
+            assertEquals(List.of(), result.getUnknownCaseIds());
+            verify(caseRepository, times(1)).incrementAmountRaised(anyInt(), anyDouble());
+            verify(caseFundingHub, never()).caseFunded(2);
+        }
+
+        /**
+         * Test for recording more donations than the bulk size limit allows.
+         * Verifies that a {@link TooManyDonationsException} is thrown before anything is written.
+         */
+        @Test
+        void ingestDonations_throwException_batchTooLarge() {
+            donationService = new DonationServiceImpl(donationRepository, userRepository, caseRepository, commonService,
+                    retryingTransactionExecutor, donationAggregates, caseFundingHub, caseLeaderboards, 2, 20, 100);
+            List<DonationDto> batch = List.of(
+                    new DonationDto(1.0, PaymentMethod.PAYPAL, 1),
+                    new DonationDto(2.0, PaymentMethod.PAYPAL, 1),
+                    new DonationDto(3.0, PaymentMethod.PAYPAL, 1)
+            );
+
+            assertThrows(TooManyDonationsException.class, () -> donationService.ingestDonations(batch));
+            verify(caseRepository, never()).incrementAmountRaised(anyInt(), anyDouble());
+        }
     }
 }
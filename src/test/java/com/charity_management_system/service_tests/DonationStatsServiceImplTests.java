@@ -0,0 +1,153 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.dto.CaseDonationStats;
+import com.charity_management_system.dto.DonationStatsSummary;
+import com.charity_management_system.enums.PaymentMethod;
+import com.charity_management_system.exception.custom.CaseNotFoundException;
+import com.charity_management_system.exception.custom.InvalidDateRangeException;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.DonationAggregateRepository;
+import com.charity_management_system.repository.projection.DailyDonationTotals;
+import com.charity_management_system.repository.projection.DonationTotals;
+import com.charity_management_system.service.impl.DonationAggregatesReconciler;
+import com.charity_management_system.service.impl.DonationStatsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.charity_management_system.repository.DonationAggregateRepository.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link DonationStatsServiceImpl} class using Mockito.
+ * This test class verifies that the donation stats are assembled from the rollups.
+ *
+ * <p>Mocks are used to simulate the behavior of dependent classes such as {@link DonationAggregateRepository} and
+ * {@link CaseRepository}.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+class DonationStatsServiceImplTests {
+
+    /**
+     * Mocked {@link DonationAggregateRepository} used to simulate the rollups.
+     */
+    @Mock
+    private DonationAggregateRepository aggregateRepository;
+
+    /**
+     * Mocked {@link CaseRepository} used to check whether a case exists.
+     */
+    @Mock
+    private CaseRepository caseRepository;
+
+    /**
+     * Mocked {@link DonationAggregatesReconciler}, not used by the read paths.
+     */
+    @Mock
+    private DonationAggregatesReconciler reconciler;
+
+    /**
+     * The {@link DonationStatsServiceImpl} instance under test, with dependencies injected via {@link InjectMocks}.
+     */
+    @InjectMocks
+    private DonationStatsServiceImpl donationStatsService;
+
+    /**
+     * Test for the global stats.
+     * Verifies that the totals are keyed by payment method and category id.
+     */
+    @Test
+    void getDonationStats_returnTotalsPerDimension() {
+        when(aggregateRepository.findRollups(GLOBAL)).thenReturn(List.of(totals("", 3, 60.0)));
+        when(aggregateRepository.findRollups(PAYMENT_METHOD)).thenReturn(List.of(totals("PAYPAL", 2, 50.0), totals("VODAFONE_CASH", 1, 10.0)));
+        when(aggregateRepository.findRollups(CATEGORY)).thenReturn(List.of(totals("7", 3, 60.0)));
+
+        DonationStatsSummary result = donationStatsService.getDonationStats();
+
+        assertEquals(3, result.getTotal().getDonationCount());
+        assertEquals(60.0, result.getTotal().getTotalAmount());
+        assertEquals(50.0, result.getByPaymentMethod().get(PaymentMethod.PAYPAL).getTotalAmount());
+        assertEquals(1, result.getByPaymentMethod().get(PaymentMethod.VODAFONE_CASH).getDonationCount());
+        assertEquals(3, result.getByCategory().get(7).getDonationCount());
+    }
+
+    /**
+     * Test for the global stats before any donation was made.
+     * Verifies that zero totals are returned.
+     */
+    @Test
+    void getDonationStats_returnZeros_noDonations() {
+        when(aggregateRepository.findRollups(anyString())).thenReturn(List.of());
+
+        DonationStatsSummary result = donationStatsService.getDonationStats();
+
+        assertEquals(0, result.getTotal().getDonationCount());
+        assertTrue(result.getByPaymentMethod().isEmpty());
+        assertTrue(result.getByCategory().isEmpty());
+    }
+
+    /**
+     * Test for the stats of a case.
+     * Verifies that the totals and the days of the requested range are returned.
+     */
+    @Test
+    void getCaseDonationStats_returnTotalsAndDays_validCaseId() {
+        LocalDate from = LocalDate.of(2024, 5, 1);
+        LocalDate to = LocalDate.of(2024, 5, 31);
+        when(aggregateRepository.findCaseTotals(1)).thenReturn(totals("", 4, 80.0));
+        when(aggregateRepository.findCaseDays(1, from, to)).thenReturn(List.of(day(LocalDate.of(2024, 5, 3), 4, 80.0)));
+
+        CaseDonationStats result = donationStatsService.getCaseDonationStats(1, from, to);
+
+        assertEquals(4, result.getTotal().getDonationCount());
+        assertEquals(1, result.getDays().size());
+        assertEquals(LocalDate.of(2024, 5, 3), result.getDays().get(0).getDay());
+        verifyNoInteractions(caseRepository);
+    }
+
+    /**
+     * Test for the stats of a case that does not exist.
+     * Verifies that a {@link CaseNotFoundException} is thrown.
+     */
+    @Test
+    void getCaseDonationStats_throwException_invalidCaseId() {
+        when(aggregateRepository.findCaseTotals(90)).thenReturn(totals("", 0, 0));
+        when(caseRepository.existsById(90)).thenReturn(false);
+
+        assertThrows(CaseNotFoundException.class, () -> donationStatsService.getCaseDonationStats(90, null, null));
+    }
+
+    /**
+     * Test for the stats of a case with a reversed date range.
+     * Verifies that an {@link InvalidDateRangeException} is thrown.
+     */
+    @Test
+    void getCaseDonationStats_throwException_fromAfterTo() {
+        when(aggregateRepository.findCaseTotals(1)).thenReturn(totals("", 1, 5.0));
+
+        assertThrows(InvalidDateRangeException.class,
+                () -> donationStatsService.getCaseDonationStats(1, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 5, 1)));
+    }
+
+    private static DonationTotals totals(String key, long count, double amount) {
+        return new DonationTotals() {
+            public String getDimensionKey() { return key; }
+            public Long getDonationCount() { return count; }
+            public Double getTotalAmount() { return amount; }
+        };
+    }
+
+    private static DailyDonationTotals day(LocalDate day, long count, double amount) {
+        return new DailyDonationTotals() {
+            public LocalDate getDay() { return day; }
+            public Long getDonationCount() { return count; }
+            public Double getTotalAmount() { return amount; }
+        };
+    }
+}
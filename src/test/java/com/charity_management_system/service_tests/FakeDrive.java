@@ -0,0 +1,204 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.storage.ResilientDriveClient;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.drive.Drive;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for the Google Drive API, built on the HTTP client's {@link MockHttpTransport}.
+ *
+ * <p>The real {@link Drive} client is used end to end (request building, resumable media upload, JSON parsing); only
+ * the wire is replaced. File uploads answer with generated ids, permission and delete calls succeed, and downloads serve
+ * the files seeded with {@link #putFile(String, byte[])}, unless failures have been queued with
+ * {@link #failNextRequests(int, int)} or {@link #failNextPermissionCalls(int)}.</p>
+ */
+public class FakeDrive extends MockHttpTransport {
+
+    private static final String UPLOAD_SESSION_URL = "https://fake-drive.local/upload/session";
+
+    private final AtomicInteger fileCreations = new AtomicInteger();
+    private final AtomicInteger permissionCreations = new AtomicInteger();
+    private final AtomicInteger fileDeletions = new AtomicInteger();
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final AtomicInteger remainingFailures = new AtomicInteger();
+    private final AtomicInteger remainingPermissionFailures = new AtomicInteger();
+    private volatile int failureStatus = 503;
+    private volatile long latencyMillis;
+    private volatile long stallMillis;
+
+    /**
+     * @return A Drive client whose requests are answered by this fake.
+     */
+    public Drive drive() {
+        return new Drive.Builder(this, GsonFactory.getDefaultInstance(), null)
+                .setApplicationName("charity-management-system-tests")
+                .build();
+    }
+
+    /**
+     * @return A resilient client around {@link #drive()} that makes each call once, with a generous deadline and a
+     * breaker that only opens after a long run of failures, so tests of the callers see the fake's answers as they are.
+     */
+    public ResilientDriveClient client() {
+        return new ResilientDriveClient(this::drive, new SimpleMeterRegistry(), 10_000, 64, 1, 0, 0, 100, 100, 100, 1000);
+    }
+
+    /**
+     * Makes the next requests fail with the given HTTP status.
+     *
+     * @param count  The number of requests to fail.
+     * @param status The HTTP status to answer with.
+     */
+    public void failNextRequests(int count, int status) {
+        failureStatus = status;
+        remainingFailures.set(count);
+    }
+
+    /**
+     * Makes the next permission calls fail with a 503, leaving file uploads untouched.
+     *
+     * @param count The number of permission calls to fail.
+     */
+    public void failNextPermissionCalls(int count) {
+        remainingPermissionFailures.set(count);
+    }
+
+    /**
+     * Makes a file available for download. Uploaded content is not kept, so downloads only see seeded files.
+     *
+     * @param fileId  The Drive file id.
+     * @param content The file content.
+     */
+    public void putFile(String fileId, byte[] content) {
+        files.put(fileId, content);
+    }
+
+    /**
+     * Delays every answer, to stand in for the round trip to Google.
+     *
+     * @param millis The delay per request in milliseconds.
+     */
+    public void simulateLatency(long millis) {
+        latencyMillis = millis;
+    }
+
+    /**
+     * Delays every answer without reacting to interrupts, like a blocking socket read.
+     *
+     * @param millis The delay per request in milliseconds.
+     */
+    public void simulateStall(long millis) {
+        stallMillis = millis;
+    }
+
+    public int fileCreations() {
+        return fileCreations.get();
+    }
+
+    public int permissionCreations() {
+        return permissionCreations.get();
+    }
+
+    public int fileDeletions() {
+        return fileDeletions.get();
+    }
+
+    public int downloads() {
+        return downloads.get();
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, String url) {
+        return new MockLowLevelHttpRequest(url) {
+            @Override
+            public LowLevelHttpResponse execute() throws IOException {
+                requests.incrementAndGet();
+                // consume the body like a real server would, so uploads pay for reading the image
+                if (getStreamingContent() != null) {
+                    getStreamingContent().writeTo(OutputStream.nullOutputStream());
+                }
+                if (latencyMillis > 0) {
+                    try {
+                        Thread.sleep(latencyMillis);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted", ex);
+                    }
+                }
+                if (stallMillis > 0) {
+                    stall(stallMillis);
+                }
+                if (remainingFailures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                    return json(failureStatus, "{\"error\":{\"code\":" + failureStatus + ",\"message\":\"fake failure\"}}");
+                }
+                if (url.contains("uploadType=resumable")) {
+                    return new MockLowLevelHttpResponse().setStatusCode(200).addHeader("Location", UPLOAD_SESSION_URL);
+                }
+                if (url.startsWith(UPLOAD_SESSION_URL) || url.contains("uploadType=multipart")) {
+                    return json(200, "{\"id\":\"fake-file-" + fileCreations.incrementAndGet() + "\"}");
+                }
+                if (url.contains("/permissions")) {
+                    if (remainingPermissionFailures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                        return json(503, "{\"error\":{\"code\":503,\"message\":\"fake failure\"}}");
+                    }
+                    return json(200, "{\"id\":\"fake-permission-" + permissionCreations.incrementAndGet() + "\"}");
+                }
+                if ("GET".equals(method) && url.contains("alt=media")) {
+                    downloads.incrementAndGet();
+                    String fileId = url.substring(url.indexOf("/files/") + "/files/".length(), url.indexOf('?'));
+                    byte[] content = files.get(fileId);
+                    if (content == null) {
+                        return json(404, "{\"error\":{\"code\":404,\"message\":\"File not found\"}}");
+                    }
+                    return new MockLowLevelHttpResponse().setStatusCode(200).setContentType("application/octet-stream").setContent(content);
+                }
+                if ("DELETE".equals(method)) {
+                    fileDeletions.incrementAndGet();
+                    return new MockLowLevelHttpResponse().setStatusCode(204);
+                }
+                return json(404, "{\"error\":{\"code\":404,\"message\":\"unknown fake endpoint\"}}");
+            }
+        };
+    }
+
+    private static void stall(long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        boolean interrupted = false;
+        for (long remaining; (remaining = deadline - System.nanoTime()) > 0; ) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockLowLevelHttpResponse json(int status, String body) {
+        return new MockLowLevelHttpResponse()
+                .setStatusCode(status)
+                .setContentType("application/json; charset=UTF-8")
+                .setContent(body);
+    }
+}
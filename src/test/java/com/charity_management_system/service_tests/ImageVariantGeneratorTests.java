@@ -0,0 +1,146 @@
+package com.charity_management_system.service_tests;
+
+import com.charity_management_system.model.ImageDigest;
+import com.charity_management_system.model.ImageVariants;
+import com.charity_management_system.repository.CaseRepository;
+import com.charity_management_system.repository.ImageDigestRepository;
+import com.charity_management_system.service.impl.ImageVariantGenerator;
+import com.charity_management_system.storage.ImageResizer;
+import com.charity_management_system.storage.ImageStager;
+import com.charity_management_system.storage.LocalImageStore;
+import com.charity_management_system.storage.StagedImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link ImageVariantGenerator} storing through a {@link LocalImageStore} in a temporary directory.
+ */
+class ImageVariantGeneratorTests {
+
+    private static final long TIMEOUT_MS = 5000;
+    private static final String SOURCE_URL = "/api/v1/images/original.png";
+
+    @TempDir
+    Path tempDir;
+
+    private CaseRepository caseRepository;
+    private ImageDigestRepository imageDigestRepository;
+    private ImageStager imageStager;
+    private SimpleMeterRegistry meterRegistry;
+    private ImageVariantGenerator generator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        caseRepository = mock(CaseRepository.class);
+        imageDigestRepository = mock(ImageDigestRepository.class);
+        imageStager = new ImageStager(Files.createDirectories(tempDir.resolve("staging")), 10 * 1024 * 1024, true);
+        meterRegistry = new SimpleMeterRegistry();
+        LocalImageStore imageStore = new LocalImageStore(tempDir.resolve("images"), "/api/v1/images/");
+        generator = new ImageVariantGenerator(imageStore, new ImageResizer(), caseRepository, imageDigestRepository,
+                meterRegistry, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        generator.shutdown();
+    }
+
+    @Test
+    void submit_storesVariantsAndIndexesThem_newImage() throws Exception {
+        StagedImage image = image(2000, 1200);
+        ImageDigest digest = new ImageDigest(image.sha256(), "local", "/api/v1/images/original.png", image.size(),
+                image.contentType(), null, LocalDateTime.now());
+        when(imageDigestRepository.findBySha256AndBackend(image.sha256(), "local")).thenReturn(Optional.of(digest));
+
+        generator.submit(1, SOURCE_URL, image);
+
+        ArgumentCaptor<ImageVariants> variants = ArgumentCaptor.forClass(ImageVariants.class);
+        verify(caseRepository, timeout(TIMEOUT_MS)).updateImageVariants(eq(1), eq(SOURCE_URL), variants.capture());
+        generator.shutdown();
+        assertTrue(variants.getValue().getThumbnailUrl().startsWith("/api/v1/images/"));
+        assertNotEquals(variants.getValue().getThumbnailUrl(), variants.getValue().getCardUrl());
+        assertNotEquals(variants.getValue().getCardUrl(), variants.getValue().getFullUrl());
+        assertTrue(variants.getValue().getPlaceholder().startsWith("data:image/jpeg;base64,"));
+        assertEquals(variants.getValue(), digest.getImageVariants());
+        verify(imageDigestRepository).save(digest);
+        assertFalse(Files.exists(image.path()));
+        try (var staged = Files.list(tempDir.resolve("staging"))) {
+            assertEquals(0, staged.count(), "temporary variant files are cleaned up");
+        }
+        assertEquals(1, meterRegistry.get("images.variants").timer().count());
+    }
+
+    @Test
+    void submit_reusesIndexedVariants_knownImage() throws Exception {
+        StagedImage image = image(400, 300);
+        ImageVariants stored = new ImageVariants("thumb", "card", "full", "data:image/jpeg;base64,AA==");
+        ImageDigest digest = new ImageDigest(image.sha256(), "local", "/api/v1/images/original.png", image.size(),
+                image.contentType(), stored, LocalDateTime.now());
+        when(imageDigestRepository.findBySha256AndBackend(image.sha256(), "local")).thenReturn(Optional.of(digest));
+
+        generator.submit(2, SOURCE_URL, image);
+
+        verify(caseRepository, timeout(TIMEOUT_MS)).updateImageVariants(2, SOURCE_URL, stored);
+        verify(imageDigestRepository, never()).save(any());
+        assertFalse(Files.exists(tempDir.resolve("images")), "nothing is stored again");
+    }
+
+    @Test
+    void submit_generatesOnce_identicalImagesSubmittedTogether() throws Exception {
+        StagedImage first = image(2000, 1200);
+        StagedImage second = image(2000, 1200);
+        ImageDigest digest = new ImageDigest(first.sha256(), "local", "/api/v1/images/original.png", first.size(),
+                first.contentType(), null, LocalDateTime.now());
+        when(imageDigestRepository.findBySha256AndBackend(first.sha256(), "local")).thenReturn(Optional.of(digest));
+
+        generator.submit(1, SOURCE_URL, first);
+        generator.submit(2, SOURCE_URL, second);
+
+        ArgumentCaptor<ImageVariants> variants = ArgumentCaptor.forClass(ImageVariants.class);
+        verify(caseRepository, timeout(TIMEOUT_MS)).updateImageVariants(eq(1), eq(SOURCE_URL), variants.capture());
+        verify(caseRepository, timeout(TIMEOUT_MS)).updateImageVariants(2, SOURCE_URL, variants.getValue());
+        generator.shutdown();
+        verify(imageDigestRepository).save(digest);
+        try (var stored = Files.walk(tempDir.resolve("images"))) {
+            assertEquals(3, stored.filter(Files::isRegularFile).count(), "the variants are stored once");
+        }
+        assertFalse(Files.exists(first.path()));
+        assertFalse(Files.exists(second.path()));
+    }
+
+    @Test
+    void submit_countsFailureAndDeletesStagingFile_undecodableImage() throws Exception {
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes();
+        StagedImage image = imageStager.stage(new ByteArrayInputStream(webp));
+
+        generator.submit(3, SOURCE_URL, image);
+
+        generator.shutdown();
+        verify(caseRepository, never()).updateImageVariants(anyInt(), anyString(), any());
+        assertEquals(1.0, meterRegistry.get("images.variants.failures").counter().count());
+        assertFalse(Files.exists(image.path()));
+    }
+
+    private StagedImage image(int width, int height) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", png);
+        return imageStager.stage(new ByteArrayInputStream(png.toByteArray()));
+    }
+}
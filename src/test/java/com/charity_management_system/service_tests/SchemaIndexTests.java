@@ -0,0 +1,107 @@
+package com.charity_management_system.service_tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the migrated schema against the PostgreSQL database configured through {@code SPRING_DATASOURCE_URL}:
+ * starting the context applies the Flyway migrations and validates every entity against them
+ * ({@code ddl-auto: validate}), and each lookup below must be answerable from an index.
+ *
+ * <p>The test tables are small, so the planner would rightly prefer a sequential scan; sequential scans are
+ * therefore disabled for the test transaction, which makes {@code EXPLAIN} show an index whenever one can serve
+ * the query. Skipped when no PostgreSQL datasource is configured.</p>
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = "jdbc:postgresql:.*")
+class SchemaIndexTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    /**
+     * {@code DonationRepository.findByCaseEntityId}, the lazy {@code Case.donations} collection and the donation
+     * history of a case.
+     */
+    @Test
+    void donationsByCase_useIndex() {
+        assertIndexScan("SELECT * FROM donations WHERE case_id = 1", "idx_donations_case_created");
+    }
+
+    /**
+     * {@code DonationRepository.findDonationHistoryAfter}: the seek past the previous page, read in index order.
+     */
+    @Test
+    void donationHistoryPage_useIndex() {
+        String sql = "SELECT * FROM donations WHERE case_id = 1 AND created_at <= now() AND (created_at < now() OR id < 100) "
+                + "ORDER BY created_at DESC, id DESC LIMIT 21";
+        assertIndexScan(sql, "idx_donations_case_created");
+        assertFalse(String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).contains("Sort"),
+                "the history is sorted instead of read in index order");
+    }
+
+    /**
+     * {@code DonationRepository.findAllByUserUsername}: the user by its unique username, then their donations.
+     */
+    @Test
+    void donationsByUsername_useIndexes() {
+        assertIndexScan("SELECT d.* FROM donations d JOIN users u ON u.id = d.user_id WHERE u.username = 'donor'",
+                "idx_donations_user_id");
+    }
+
+    /**
+     * {@code CaseRepository.findCaseDtosByUsername} and the lazy {@code User.caseList} collection.
+     */
+    @Test
+    void casesByUser_useIndex() {
+        assertIndexScan("SELECT * FROM cases WHERE user_id = 'user'", "idx_cases_user_id");
+    }
+
+    /**
+     * {@code CaseRepository.findCaseDtosByCategoryId} and the lazy {@code Category.caseList} collection, over
+     * every status.
+     */
+    @Test
+    void casesByCategory_useIndex() {
+        assertIndexScan("SELECT * FROM cases WHERE category_id = 1", "idx_cases_category_id");
+    }
+
+    /**
+     * {@code CategoryRepository.findByName}.
+     */
+    @Test
+    void categoryByName_useIndex() {
+        assertIndexScan("SELECT * FROM categories WHERE name = 'Medical'", "idx_categories_name");
+    }
+
+    /**
+     * Asserts that the query is answered without a sequential scan and through the given index. On a partitioned
+     * table the plan names the index of each partition, so those count as the given index too.
+     */
+    private void assertIndexScan(String sql, String index) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        String text = String.join("\n", plan);
+        List<String> indexes = new ArrayList<>(jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass", String.class, index));
+        indexes.add(index);
+        assertFalse(text.contains("Seq Scan"), () -> sql + " needs a sequential scan:\n" + text);
+        assertTrue(indexes.stream().anyMatch(text::contains), () -> sql + " does not use " + index + ":\n" + text);
+    }
+}
@@ -1,5 +1,6 @@
 package com.charity_management_system.service_tests;
 
+import com.charity_management_system.config.TokenRevocationRegistry;
 import com.charity_management_system.dto.UserProfile;
 import com.charity_management_system.exception.custom.UserNotFoundException;
 import com.charity_management_system.model.User;
@@ -37,6 +38,12 @@ class UserServiceImplTests {
     @Mock
     private UserRepository userRepository;
 
+    /**
+     * Mocked {@link TokenRevocationRegistry} used to verify revocations are published to the filter.
+     */
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
     /**
      * The {@link UserServiceImpl} instance under test, with dependencies injected via {@link InjectMocks}.
      */
@@ -96,5 +103,32 @@ class UserServiceImplTests {
 
         verify(userRepository, times(1)).findByUsername("testUser");
     }
-}
 
+    /**
+     * Test for revoking the tokens of an existing user.
+     * Verifies that the token version is bumped and the new version is published to the revocation registry.
+     */
+    @Test
+    void revokeTokens_publishNewVersion_userExists() {
+        mockUser.setTokenVersion(4);
+        when(userRepository.incrementTokenVersion(eq("testUser"), any())).thenReturn(1);
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(mockUser));
+
+        String result = userService.revokeTokens("testUser");
+
+        assertEquals("All sessions signed out", result);
+        verify(tokenRevocationRegistry, times(1)).revoke("testUser", 4);
+    }
+
+    /**
+     * Test for revoking the tokens of a user that does not exist.
+     * Verifies that a {@link UserNotFoundException} is thrown and nothing is published.
+     */
+    @Test
+    void revokeTokens_throwException_userNotFound() {
+        when(userRepository.incrementTokenVersion(eq("ghost"), any())).thenReturn(0);
+
+        assertThrows(UserNotFoundException.class, () -> userService.revokeTokens("ghost"));
+        verify(tokenRevocationRegistry, never()).revoke(anyString(), anyInt());
+    }
+}
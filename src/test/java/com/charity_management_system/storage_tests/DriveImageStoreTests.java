@@ -0,0 +1,76 @@
+package com.charity_management_system.storage_tests;
+
+import com.charity_management_system.service_tests.FakeDrive;
+import com.charity_management_system.storage.DriveImageStore;
+import com.charity_management_system.storage.ResilientDriveClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DriveImageStore} against a {@link FakeDrive}.
+ */
+class DriveImageStoreTests {
+
+    @TempDir
+    Path tempDir;
+
+    private FakeDrive fakeDrive;
+    private ResilientDriveClient client;
+    private Path image;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fakeDrive = new FakeDrive();
+        // retries allowed, so a create that is still retried would show up as a second upload
+        client = new ResilientDriveClient(fakeDrive::drive, new SimpleMeterRegistry(), 100, 64, 3, 0, 0, 100, 100, 100, 1000);
+        image = Files.write(tempDir.resolve("image.jpg"), new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 1});
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    void store_uploadsOnceAndDeletesLateFile_uploadOutlivesDeadline() throws Exception {
+        DriveImageStore store = new DriveImageStore(client, "folder");
+        fakeDrive.simulateStall(300);
+
+        assertThrows(SocketTimeoutException.class, () -> store.store("image.jpg", "image/jpeg", image));
+
+        awaitCondition(() -> fakeDrive.fileDeletions() == 1);
+        assertEquals(1, fakeDrive.fileCreations());
+        assertEquals(0, fakeDrive.permissionCreations());
+    }
+
+    @Test
+    void store_sharesUploadedFile_driveAnswersInTime() throws IOException {
+        DriveImageStore store = new DriveImageStore(client, "folder");
+
+        String url = store.store("image.jpg", "image/jpeg", image);
+
+        assertEquals("https://drive.google.com/thumbnail?id=fake-file-1&sz=w1000", url);
+        assertEquals(1, fakeDrive.permissionCreations());
+        assertEquals(0, fakeDrive.fileDeletions());
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 s");
+            Thread.sleep(10);
+        }
+    }
+}
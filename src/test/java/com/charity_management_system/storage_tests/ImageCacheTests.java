@@ -0,0 +1,210 @@
+package com.charity_management_system.storage_tests;
+
+import com.charity_management_system.service_tests.FakeDrive;
+import com.charity_management_system.storage.DriveImageStore;
+import com.charity_management_system.storage.ImageCache;
+import com.charity_management_system.storage.ImageCache.CachedImage;
+import com.charity_management_system.storage.ResilientDriveClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ImageCache} in front of a {@link DriveImageStore} backed by a {@link FakeDrive}.
+ */
+class ImageCacheTests {
+
+    private static final int IMAGE_BYTES = 4096;
+
+    @TempDir
+    Path tempDir;
+
+    private FakeDrive fakeDrive;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        fakeDrive = new FakeDrive();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void get_fetchesOnceAndServesFromDisk_repeatedRequests() throws IOException {
+        byte[] jpeg = putImage("abc");
+        ImageCache cache = cache(1024 * 1024);
+
+        CachedImage first = cache.get(url("abc")).orElseThrow();
+        CachedImage second = cache.get(url("abc")).orElseThrow();
+
+        assertEquals(1, fakeDrive.downloads());
+        assertArrayEquals(jpeg, Files.readAllBytes(first.path()));
+        assertEquals("image/jpeg", first.contentType());
+        assertEquals(IMAGE_BYTES, first.size());
+        assertTrue(first.etag().matches("\"[0-9a-f]{64}\""), first.etag());
+        assertEquals(first, second);
+        assertEquals(1.0, meterRegistry.get("images.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("images.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void get_returnsEmpty_urlNotIssuedByStore() throws IOException {
+        ImageCache cache = cache(1024 * 1024);
+
+        assertEquals(Optional.empty(), cache.get("https://example.com/thumbnail?id=abc"));
+        assertEquals(Optional.empty(), cache.get("https://drive.google.com/thumbnail?id=../../etc/passwd"));
+        assertEquals(0, fakeDrive.downloads());
+    }
+
+    @Test
+    void get_throwsNoSuchFile_imageMissingFromStore() throws IOException {
+        ImageCache cache = cache(1024 * 1024);
+
+        assertThrows(NoSuchFileException.class, () -> cache.get(url("missing")));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "no partial download is left behind");
+        }
+    }
+
+    @Test
+    void get_leavesNothingBehind_downloadOutlivesDeadline() throws Exception {
+        byte[] jpeg = putImage("slow");
+        SimpleMeterRegistry clientRegistry = new SimpleMeterRegistry();
+        ResilientDriveClient client = new ResilientDriveClient(fakeDrive::drive, clientRegistry, 100, 64, 1, 0, 0, 100, 100, 100, 1000);
+        try {
+            ImageCache cache = new ImageCache(new DriveImageStore(client, "folder"), meterRegistry, tempDir, 1024 * 1024, 0);
+            fakeDrive.simulateStall(500);
+
+            assertThrows(SocketTimeoutException.class, () -> cache.get(url("slow")));
+
+            // the abandoned call is still reading from Drive; let it finish before looking at what it left behind
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (clientRegistry.get("drive.bulkhead.available").gauge().value() < 64) {
+                assertTrue(System.nanoTime() < deadline, "stalled call did not finish within 5 s");
+                Thread.sleep(10);
+            }
+            try (var files = Files.list(tempDir)) {
+                assertEquals(0, files.count(), "no partial download is left behind");
+            }
+            fakeDrive.simulateStall(0);
+            assertArrayEquals(jpeg, Files.readAllBytes(cache.get(url("slow")).orElseThrow().path()));
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsed_sizeCapExceeded() throws IOException {
+        putImage("a");
+        putImage("b");
+        putImage("c");
+        ImageCache cache = cache(2 * IMAGE_BYTES);
+
+        Path a = cache.get(url("a")).orElseThrow().path();
+        Path b = cache.get(url("b")).orElseThrow().path();
+        cache.get(url("a"));
+        cache.get(url("c"));
+
+        assertTrue(Files.exists(a));
+        assertFalse(Files.exists(b));
+        assertEquals(1.0, meterRegistry.get("images.cache.evictions").counter().count());
+        assertEquals(2.0 * IMAGE_BYTES, meterRegistry.get("images.cache.size").gauge().value());
+        cache.get(url("b"));
+        assertEquals(4, fakeDrive.downloads());
+    }
+
+    @Test
+    void get_keepsEvictedFileReadable_withinGracePeriod() throws IOException {
+        byte[] jpeg = putImage("a");
+        putImage("b");
+        ImageCache cache = cache(IMAGE_BYTES, 60_000);
+
+        Path a = cache.get(url("a")).orElseThrow().path();
+        cache.get(url("b"));
+        cache.deleteEvicted();
+
+        // a request that looked "a" up just before the eviction can still open it
+        assertArrayEquals(jpeg, Files.readAllBytes(a));
+        Path refetched = cache.get(url("a")).orElseThrow().path();
+        assertNotEquals(a, refetched);
+        assertArrayEquals(jpeg, Files.readAllBytes(refetched));
+        assertEquals(1.0 * IMAGE_BYTES, meterRegistry.get("images.cache.size").gauge().value());
+    }
+
+    @Test
+    void get_emptiesCacheDirectory_onStartup() throws IOException {
+        Path stale = Files.write(tempDir.resolve("stale"), new byte[]{1});
+
+        cache(1024);
+
+        assertFalse(Files.exists(stale));
+    }
+
+    @Test
+    void get_fetchesEachImageOnce_manyConcurrentRequests() throws Exception {
+        int images = 20;
+        for (int i = 0; i < images; i++) {
+            putImage("image" + i);
+        }
+        ImageCache cache = cache(1024 * 1024);
+
+        ExecutorService clients = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                String url = url("image" + ThreadLocalRandom.current().nextInt(images));
+                requests.add(clients.submit(() -> {
+                    CachedImage image = cache.get(url).orElseThrow();
+                    assertEquals(IMAGE_BYTES, Files.size(image.path()));
+                    return image;
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+
+        assertEquals(images, fakeDrive.downloads());
+        assertEquals(images, meterRegistry.get("images.cache.entries").gauge().value());
+    }
+
+    private ImageCache cache(long maxBytes) throws IOException {
+        return cache(maxBytes, 0);
+    }
+
+    private ImageCache cache(long maxBytes, long evictionGraceMs) throws IOException {
+        return new ImageCache(new DriveImageStore(fakeDrive.client(), "folder"), meterRegistry, tempDir, maxBytes, evictionGraceMs);
+    }
+
+    private byte[] putImage(String fileId) {
+        byte[] jpeg = new byte[IMAGE_BYTES];
+        ThreadLocalRandom.current().nextBytes(jpeg);
+        jpeg[0] = (byte) 0xFF;
+        jpeg[1] = (byte) 0xD8;
+        jpeg[2] = (byte) 0xFF;
+        fakeDrive.putFile(fileId, jpeg);
+        return jpeg;
+    }
+
+    private static String url(String fileId) {
+        return "https://drive.google.com/thumbnail?id=" + fileId + "&sz=w1000";
+    }
+}
@@ -0,0 +1,83 @@
+package com.charity_management_system.storage_tests;
+
+import com.charity_management_system.storage.ImageResizer;
+import com.charity_management_system.storage.ImageResizer.ResizedImage;
+import com.charity_management_system.storage.ImageResizer.Variant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageResizerTests {
+
+    @TempDir
+    Path tempDir;
+
+    private final ImageResizer imageResizer = new ImageResizer();
+
+    @Test
+    void resize_producesEveryVariantAtItsWidth_largeJpeg() throws IOException {
+        Path source = write(image(3000, 2000, BufferedImage.TYPE_INT_RGB), "jpeg", "large.jpg");
+
+        ResizedImage resized = imageResizer.resize(source);
+
+        for (Variant variant : Variant.values()) {
+            BufferedImage decoded = decode(resized.variants().get(variant));
+            assertEquals(variant.width(), decoded.getWidth(), variant.name());
+            assertEquals(Math.round(variant.width() * 2 / 3.0), decoded.getHeight(), 1, variant.name());
+        }
+        assertTrue(resized.placeholder().startsWith("data:image/jpeg;base64,"));
+        BufferedImage placeholder = decode(Base64.getDecoder().decode(resized.placeholder().substring("data:image/jpeg;base64,".length())));
+        assertEquals(16, placeholder.getWidth());
+        assertTrue(resized.placeholder().length() < 2048, "placeholder is " + resized.placeholder().length() + " chars");
+    }
+
+    @Test
+    void resize_doesNotUpscale_smallTransparentPng() throws IOException {
+        Path source = write(image(300, 300, BufferedImage.TYPE_INT_ARGB), "png", "small.png");
+
+        ResizedImage resized = imageResizer.resize(source);
+
+        assertEquals(300, decode(resized.variants().get(Variant.FULL)).getWidth());
+        assertEquals(300, decode(resized.variants().get(Variant.CARD)).getWidth());
+        assertEquals(160, decode(resized.variants().get(Variant.THUMBNAIL)).getWidth());
+    }
+
+    @Test
+    void resize_throws_unsupportedContent() throws IOException {
+        Path source = Files.write(tempDir.resolve("fake.webp"), "RIFF\0\0\0\0WEBPVP8 ".getBytes());
+
+        assertThrows(IOException.class, () -> imageResizer.resize(source));
+    }
+
+    private static BufferedImage image(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.setColor(Color.BLUE);
+        graphics.fillOval(width / 4, height / 4, width / 2, height / 2);
+        graphics.dispose();
+        return image;
+    }
+
+    private Path write(BufferedImage image, String format, String name) throws IOException {
+        Path path = tempDir.resolve(name);
+        assertTrue(ImageIO.write(image, format, path.toFile()));
+        return path;
+    }
+
+    private static BufferedImage decode(byte[] jpeg) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(jpeg));
+    }
+}
@@ -0,0 +1,138 @@
+package com.charity_management_system.storage_tests;
+
+import com.charity_management_system.exception.custom.ImageTooLargeException;
+import com.charity_management_system.exception.custom.ImageUploadsDisabledException;
+import com.charity_management_system.exception.custom.UnsupportedImageTypeException;
+import com.charity_management_system.storage.ImageStager;
+import com.charity_management_system.storage.StagedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageStagerTests {
+
+    private static final byte[] JPEG_HEADER = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+
+    @TempDir
+    Path stagingDirectory;
+
+    private ImageStager imageStager;
+
+    @BeforeEach
+    void setUp() {
+        imageStager = new ImageStager(stagingDirectory, 1024, true);
+    }
+
+    @Test
+    void stage_copiesImageAndSniffsType_jpeg() throws Exception {
+        byte[] image = image(JPEG_HEADER, 1000);
+
+        StagedImage staged = imageStager.stage(new ByteArrayInputStream(image));
+
+        assertEquals("image/jpeg", staged.contentType());
+        assertEquals(1000, staged.size());
+        assertArrayEquals(image, Files.readAllBytes(staged.path()));
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image)), staged.sha256());
+    }
+
+    @Test
+    void stage_sniffsOtherFormats() throws IOException {
+        assertEquals("image/png", imageStager.stage(new ByteArrayInputStream(image(PNG_HEADER, 100))).contentType());
+        assertEquals("image/gif", imageStager.stage(stream("GIF89a......")).contentType());
+        assertEquals("image/webp", imageStager.stage(stream("RIFF\0\0\0\0WEBPVP8 ")).contentType());
+    }
+
+    @Test
+    void stage_rejectsUnknownContent_noFileLeft() throws IOException {
+        assertThrows(UnsupportedImageTypeException.class, () -> imageStager.stage(stream("<html><body>")));
+        assertThrows(UnsupportedImageTypeException.class, () -> imageStager.stage(new ByteArrayInputStream(new byte[0])));
+        assertEquals(0, stagedFiles());
+    }
+
+    @Test
+    void stage_stopsReadingAtLimit_imageTooLarge() throws IOException {
+        CountingInputStream content = new CountingInputStream(new ByteArrayInputStream(image(JPEG_HEADER, 1024 * 1024)));
+
+        assertThrows(ImageTooLargeException.class, () -> imageStager.stage(content));
+        assertTrue(content.bytesRead < 128 * 1024, "read " + content.bytesRead + " bytes of an oversized upload");
+        assertEquals(0, stagedFiles());
+    }
+
+    @Test
+    void stage_rejectsWithoutReading_readOnlyNode() throws IOException {
+        ImageStager readOnlyStager = new ImageStager(stagingDirectory, 1024, false);
+        CountingInputStream content = new CountingInputStream(new ByteArrayInputStream(image(JPEG_HEADER, 100)));
+
+        assertThrows(ImageUploadsDisabledException.class, () -> readOnlyStager.stage(content));
+        assertEquals(0, content.bytesRead);
+        assertEquals(0, stagedFiles());
+    }
+
+    @Test
+    void discard_deletesStagedImage() throws IOException {
+        StagedImage staged = imageStager.stage(new ByteArrayInputStream(image(JPEG_HEADER, 10)));
+
+        imageStager.discard(staged);
+        imageStager.discard(null);
+
+        assertFalse(Files.exists(staged.path()));
+    }
+
+    private long stagedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(stagingDirectory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] image(byte[] header, int size) {
+        byte[] image = Arrays.copyOf(header, size);
+        Arrays.fill(image, header.length, size, (byte) 7);
+        return image;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static final class CountingInputStream extends InputStream {
+
+        private final InputStream delegate;
+        private long bytesRead;
+
+        private CountingInputStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            if (read > 0) {
+                bytesRead += read;
+            }
+            return read;
+        }
+    }
+}
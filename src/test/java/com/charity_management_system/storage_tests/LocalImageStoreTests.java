@@ -0,0 +1,93 @@
+package com.charity_management_system.storage_tests;
+
+import com.charity_management_system.storage.LocalImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalImageStoreTests {
+
+    @TempDir
+    Path tempDir;
+
+    private Path rootDirectory;
+    private LocalImageStore imageStore;
+
+    @BeforeEach
+    void setUp() {
+        rootDirectory = tempDir.resolve("images");
+        imageStore = new LocalImageStore(rootDirectory, "/api/v1/images");
+    }
+
+    @Test
+    void store_writesImageAndReturnsUrl() throws IOException {
+        byte[] bytes = new byte[256 * 1024];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        Path source = Files.write(tempDir.resolve("upload.tmp"), bytes);
+
+        String url = imageStore.store("photo.jpg", "image/jpeg", source);
+
+        assertTrue(url.matches("/api/v1/images/[0-9a-f]{32}\\.jpg"), url);
+        String key = url.substring(url.lastIndexOf('/') + 1);
+        Optional<Path> stored = imageStore.resolve(key);
+        assertTrue(stored.isPresent());
+        assertArrayEquals(bytes, Files.readAllBytes(stored.get()));
+        assertTrue(Files.exists(source));
+        assertEquals("image/jpeg", imageStore.contentTypeOf(key));
+    }
+
+    @Test
+    void store_leavesNoTemporaryFiles() throws IOException {
+        Path source = Files.write(tempDir.resolve("upload.tmp"), new byte[]{1, 2, 3});
+
+        imageStore.store("a.png", "image/png", source);
+        imageStore.store("b.png", "image/png", source);
+
+        try (Stream<Path> files = Files.walk(rootDirectory)) {
+            assertTrue(files.filter(Files::isRegularFile).allMatch(path -> path.getFileName().toString().endsWith(".png")));
+        }
+    }
+
+    @Test
+    void store_cleansUp_sourceMissing() throws IOException {
+        assertThrows(IOException.class, () -> imageStore.store("missing.jpg", "image/jpeg", tempDir.resolve("missing")));
+
+        try (Stream<Path> files = Files.walk(rootDirectory)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void resolve_returnsEmpty_malformedOrUnknownKey() {
+        assertTrue(imageStore.resolve("../../etc/passwd").isEmpty());
+        assertTrue(imageStore.resolve("0123456789abcdef0123456789abcdef.jpg").isEmpty());
+        assertTrue(imageStore.resolve(null).isEmpty());
+    }
+
+    @Test
+    void fetch_copiesImage_keyOfStoredUrl() throws IOException {
+        Path source = Files.write(tempDir.resolve("upload.tmp"), new byte[]{4, 5, 6});
+        String url = imageStore.store("photo.png", "image/png", source);
+
+        String key = imageStore.keyOf(url).orElseThrow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        imageStore.fetch(key, out);
+
+        assertArrayEquals(new byte[]{4, 5, 6}, out.toByteArray());
+        assertTrue(imageStore.keyOf("/api/v1/images/../secret.png").isEmpty());
+        assertTrue(imageStore.keyOf("https://drive.google.com/thumbnail?id=abc").isEmpty());
+        assertThrows(NoSuchFileException.class, () -> imageStore.fetch("0123456789abcdef0123456789abcdef.jpg", out));
+    }
+}
@@ -0,0 +1,192 @@
+package com.charity_management_system.storage_tests;
+
+import com.charity_management_system.service_tests.FakeDrive;
+import com.charity_management_system.storage.CircuitBreaker;
+import com.charity_management_system.storage.DriveUnavailableException;
+import com.charity_management_system.storage.ResilientDriveClient;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.Permission;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanCreationException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ResilientDriveClient} against a {@link FakeDrive}.
+ */
+class ResilientDriveClientTests {
+
+    private FakeDrive fakeDrive;
+    private SimpleMeterRegistry meterRegistry;
+    private ResilientDriveClient client;
+
+    @BeforeEach
+    void setUp() {
+        fakeDrive = new FakeDrive();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void execute_retriesUntilSuccess_transientServerErrors() throws IOException {
+        client = client(1000, 4, 3, 4, 10_000);
+        fakeDrive.failNextRequests(2, 503);
+
+        String permissionId = client.execute("permissions.create", this::createPermission);
+
+        assertEquals("fake-permission-1", permissionId);
+        assertEquals(3, fakeDrive.requests());
+        assertEquals(2.0, meterRegistry.get("drive.calls.retries").counter().count());
+        assertEquals(CircuitBreaker.State.CLOSED, client.circuitState());
+    }
+
+    @Test
+    void execute_doesNotRetry_clientError() {
+        client = client(1000, 4, 3, 4, 10_000);
+        fakeDrive.failNextRequests(10, 403);
+
+        HttpResponseException ex = assertThrows(HttpResponseException.class, () -> client.execute("permissions.create", this::createPermission));
+
+        assertEquals(403, ex.getStatusCode());
+        assertEquals(1, fakeDrive.requests());
+    }
+
+    @Test
+    void execute_failsAtDeadlineAndReleasesPermit_driveStalls() throws Exception {
+        client = client(100, 1, 1, 100, 10_000);
+        fakeDrive.simulateLatency(2000);
+
+        long startTime = System.nanoTime();
+        assertThrows(SocketTimeoutException.class, () -> client.execute("permissions.create", this::createPermission));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) < 1000);
+        fakeDrive.simulateLatency(0);
+        // the stalled attempt is interrupted, which gives its bulkhead permit back
+        awaitCondition(() -> meterRegistry.get("drive.bulkhead.available").gauge().value() == 1.0);
+        assertEquals("fake-permission-1", client.execute("permissions.create", this::createPermission));
+    }
+
+    @Test
+    void execute_failsFast_bulkheadFull() throws Exception {
+        client = client(5000, 2, 1, 100, 10_000);
+        fakeDrive.simulateLatency(500);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> createQuietly());
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> createQuietly());
+        awaitCondition(() -> meterRegistry.get("drive.bulkhead.available").gauge().value() == 0.0);
+
+        assertThrows(DriveUnavailableException.class, () -> client.execute("permissions.create", this::createPermission));
+
+        assertNotNull(first.get());
+        assertNotNull(second.get());
+        assertEquals(2, fakeDrive.requests());
+    }
+
+    @Test
+    void execute_opensBreakerAndRecovers_driveFailsRepeatedly() throws Exception {
+        client = client(1000, 4, 1, 4, 200);
+        fakeDrive.failNextRequests(4, 503);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpResponseException.class, () -> client.execute("permissions.create", this::createPermission));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.circuitState());
+
+        assertThrows(DriveUnavailableException.class, () -> client.execute("permissions.create", this::createPermission));
+        assertEquals(4, fakeDrive.requests(), "an open breaker does not reach Drive");
+        assertEquals(1.0, meterRegistry.get("drive.circuit.state").gauge().value());
+
+        Thread.sleep(250);
+        assertEquals("fake-permission-1", client.execute("permissions.create", this::createPermission));
+        assertEquals(CircuitBreaker.State.CLOSED, client.circuitState());
+    }
+
+    @Test
+    void execute_reopensBreaker_trialCallFails() throws Exception {
+        client = client(1000, 4, 1, 2, 100);
+        fakeDrive.failNextRequests(3, 503);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(HttpResponseException.class, () -> client.execute("permissions.create", this::createPermission));
+        }
+        Thread.sleep(150);
+
+        assertThrows(HttpResponseException.class, () -> client.execute("permissions.create", this::createPermission));
+
+        assertEquals(CircuitBreaker.State.OPEN, client.circuitState());
+        assertThrows(DriveUnavailableException.class, () -> client.execute("permissions.create", this::createPermission));
+    }
+
+    @Test
+    void execute_countsOnlyServerSideFailures_breakerWindow() {
+        client = client(1000, 4, 1, 2, 10_000);
+        fakeDrive.failNextRequests(5, 404);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpResponseException.class, () -> client.execute("permissions.create", this::createPermission));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, client.circuitState());
+    }
+
+    @Test
+    void execute_createsDriveOnFirstCallOnly_retryingAfterFailedCreation() throws IOException {
+        AtomicInteger creations = new AtomicInteger();
+        client = new ResilientDriveClient(() -> {
+            if (creations.incrementAndGet() == 1) {
+                throw new BeanCreationException("driveService", "cred.json not found");
+            }
+            return fakeDrive.drive();
+        }, meterRegistry, 1000, 4, 1, 1, 5, 50, 10, 10, 10_000);
+        assertEquals(0, creations.get());
+
+        IOException ex = assertThrows(IOException.class, () -> client.execute("permissions.create", this::createPermission));
+        assertTrue(ex.getMessage().contains("cred.json not found"), ex.getMessage());
+        client.execute("permissions.create", this::createPermission);
+        client.execute("permissions.create", this::createPermission);
+
+        assertEquals(2, creations.get());
+    }
+
+    private ResilientDriveClient client(long callTimeoutMs, int maxConcurrentCalls, int maxAttempts, int windowSize, long openDurationMs) {
+        return new ResilientDriveClient(fakeDrive::drive, meterRegistry, callTimeoutMs, maxConcurrentCalls, maxAttempts,
+                1, 5, 50, windowSize, windowSize, openDurationMs);
+    }
+
+    private String createPermission(Drive drive) throws IOException {
+        Permission permission = new Permission();
+        permission.setType("anyone");
+        permission.setRole("reader");
+        return drive.permissions().create("file", permission).execute().getId();
+    }
+
+    private String createQuietly() {
+        try {
+            return client.execute("permissions.create", this::createPermission);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 s");
+            Thread.sleep(10);
+        }
+    }
+}